@@ -92,7 +92,8 @@ public class DeconzBridgeHandler extends BaseBridgeHandler implements WebSocketC
         } else if (websocketID.length() > 20) {
             websocketID = websocketID.substring(websocketID.length() - 20);
         }
-        this.websocket = new WebSocketConnection(this, webSocketFactory.createWebSocketClient(websocketID), gson);
+        this.websocket = new WebSocketConnection(this, webSocketFactory.createWebSocketClient(websocketID), gson,
+                scheduler);
     }
 
     @Override
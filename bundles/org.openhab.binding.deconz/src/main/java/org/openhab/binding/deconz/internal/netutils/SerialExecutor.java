@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.deconz.internal.netutils;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link SerialExecutor} runs its tasks in order on a shared executor. At most one task of a serial executor runs
+ * at a time, but the tasks of different serial executors run concurrently.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class SerialExecutor implements Executor {
+    private final Executor executor;
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private boolean running = false;
+
+    SerialExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public synchronized void execute(Runnable task) {
+        tasks.add(task);
+        if (!running) {
+            start();
+        }
+    }
+
+    private void start() {
+        running = true;
+        try {
+            executor.execute(this::runTasks);
+        } catch (RejectedExecutionException e) {
+            running = false;
+            throw e;
+        }
+    }
+
+    private void runTasks() {
+        boolean failed = true;
+        try {
+            while (true) {
+                Runnable task;
+                synchronized (this) {
+                    task = tasks.poll();
+                    if (task == null) {
+                        running = false;
+                        failed = false;
+                        return;
+                    }
+                }
+                task.run();
+            }
+        } finally {
+            if (failed) {
+                // the exception or error of a task is passed on to the executor, the remaining tasks run on
+                synchronized (this) {
+                    running = false;
+                    if (!tasks.isEmpty()) {
+                        start();
+                    }
+                }
+            }
+        }
+    }
+}
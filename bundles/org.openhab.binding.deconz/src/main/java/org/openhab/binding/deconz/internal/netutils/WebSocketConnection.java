@@ -12,10 +12,12 @@
  */
 package org.openhab.binding.deconz.internal.netutils;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.net.URI;
 import java.util.Map;
-import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -33,12 +35,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 /**
  * Establishes and keeps a websocket connection to the deCONZ software.
  *
  * The connection is closed by deCONZ now and then and needs to be re-established.
  *
+ * The websocket thread only reads the resource type and id of a message to find its listener. The message is decoded
+ * into the message type of the resource and passed to the listener by the executor, serialized per resource, so a slow
+ * listener does not delay the messages of the other resources.
+ *
  * @author David Graeff - Initial contribution
  */
 @WebSocket
@@ -50,18 +59,22 @@ public class WebSocketConnection {
     private final WebSocketClient client;
     private final String socketName;
     private final Gson gson;
+    private final Executor executor;
 
     private final WebSocketConnectionListener connectionListener;
     private final Map<String, WebSocketMessageListener> listeners = new ConcurrentHashMap<>();
+    private final Map<String, SerialExecutor> listenerExecutors = new ConcurrentHashMap<>();
 
     private ConnectionState connectionState = ConnectionState.DISCONNECTED;
     private @Nullable Session session;
 
-    public WebSocketConnection(WebSocketConnectionListener listener, WebSocketClient client, Gson gson) {
+    public WebSocketConnection(WebSocketConnectionListener listener, WebSocketClient client, Gson gson,
+            Executor executor) {
         this.connectionListener = listener;
         this.client = client;
         this.client.setMaxIdleTimeout(0);
         this.gson = gson;
+        this.executor = executor;
         this.socketName = "Websocket$" + System.currentTimeMillis() + "-" + INSTANCE_COUNTER.incrementAndGet();
     }
 
@@ -99,7 +112,10 @@ public class WebSocketConnection {
     }
 
     public void unregisterListener(ResourceType resourceType, String sensorID) {
-        listeners.remove(getListenerId(resourceType, sensorID));
+        String listenerId = getListenerId(resourceType, sensorID);
+        // the serial executor is kept, so the queued messages do not run concurrently with the ones of a listener
+        // registered again
+        listeners.remove(listenerId);
     }
 
     @SuppressWarnings("unused")
@@ -122,40 +138,83 @@ public class WebSocketConnection {
         logger.trace("{} received raw data: {}", socketName, message);
 
         try {
-            DeconzBaseMessage changedMessage = Objects.requireNonNull(gson.fromJson(message, DeconzBaseMessage.class));
-            if (changedMessage.r == ResourceType.UNKNOWN) {
+            String[] routingKeys = readRoutingKeys(message);
+            ResourceType resourceType = ResourceType.fromString(routingKeys[0]);
+            String id = routingKeys[1];
+            if (resourceType == ResourceType.UNKNOWN) {
                 logger.trace("Received message has unknown resource type. Skipping message.");
                 return;
             }
 
-            WebSocketMessageListener listener = listeners.get(getListenerId(changedMessage.r, changedMessage.id));
-            if (listener == null) {
+            String listenerId = getListenerId(resourceType, id);
+            if (!listeners.containsKey(listenerId)) {
                 logger.debug(
                         "Couldn't find listener for id {} with resource type {}. Either no thing for this id has been defined or this is a bug.",
-                        changedMessage.id, changedMessage.r);
+                        id, resourceType);
                 return;
             }
 
-            Class<? extends DeconzBaseMessage> expectedMessageType = changedMessage.r.getExpectedMessageType();
+            Class<? extends DeconzBaseMessage> expectedMessageType = resourceType.getExpectedMessageType();
             if (expectedMessageType == null) {
                 logger.warn(
                         "BUG! Could not get expected message type for resource type {}. Please report this incident.",
-                        changedMessage.r);
+                        resourceType);
                 return;
             }
 
+            listenerExecutors.computeIfAbsent(listenerId, k -> new SerialExecutor(executor))
+                    .execute(() -> decodeAndDispatch(listenerId, id, message, expectedMessageType));
+        } catch (IOException | RuntimeException e) {
+            // we need to catch all processing exceptions, otherwise they could affect the connection
+            logger.warn("{} encountered an error while processing the message {}: {}", socketName, message,
+                    e.getMessage());
+        }
+    }
+
+    private void decodeAndDispatch(String listenerId, String id, String message,
+            Class<? extends DeconzBaseMessage> expectedMessageType) {
+        // the listener may have been unregistered in the meantime
+        WebSocketMessageListener listener = listeners.get(listenerId);
+        if (listener == null) {
+            return;
+        }
+        try {
             DeconzBaseMessage deconzMessage = gson.fromJson(message, expectedMessageType);
             if (deconzMessage != null) {
-                listener.messageReceived(changedMessage.id, deconzMessage);
-
+                listener.messageReceived(id, deconzMessage);
             }
         } catch (RuntimeException e) {
-            // we need to catch all processing exceptions, otherwise they could affect the connection
             logger.warn("{} encountered an error while processing the message {}: {}", socketName, message,
                     e.getMessage());
         }
     }
 
+    /**
+     * Read the resource type and id of a message. deCONZ sends them before the changed values, so only the beginning
+     * of the message is read.
+     *
+     * @param message the message
+     * @return the resource type and the id, empty if not found
+     * @throws IOException if the message is no JSON object
+     */
+    static String[] readRoutingKeys(String message) throws IOException {
+        String[] routingKeys = { "", "" };
+        try (JsonReader reader = new JsonReader(new StringReader(message))) {
+            reader.beginObject();
+            while (reader.hasNext() && (routingKeys[0].isEmpty() || routingKeys[1].isEmpty())) {
+                String name = reader.nextName();
+                if (("r".equals(name) || "id".equals(name)) && reader.peek() == JsonToken.STRING) {
+                    routingKeys["r".equals(name) ? 0 : 1] = reader.nextString();
+                } else {
+                    reader.skipValue();
+                }
+            }
+        } catch (IllegalStateException | JsonParseException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        return routingKeys;
+    }
+
     @SuppressWarnings("unused")
     @OnWebSocketError
     public void onError(Session session, Throwable cause) {
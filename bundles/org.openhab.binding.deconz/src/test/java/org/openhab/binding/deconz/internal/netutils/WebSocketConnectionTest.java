@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.deconz.internal.netutils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class provides tests for the message routing of the {@link WebSocketConnection}
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class WebSocketConnectionTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void readRoutingKeys() throws IOException {
+        assertArrayEquals(new String[] { "sensors", "3" }, WebSocketConnection.readRoutingKeys(
+                "{\"e\":\"changed\",\"id\":\"3\",\"r\":\"sensors\",\"state\":{\"buttonevent\":1002},\"t\":\"event\"}"));
+    }
+
+    @Test
+    public void readReorderedRoutingKeys() throws IOException {
+        assertArrayEquals(new String[] { "lights", "7" }, WebSocketConnection.readRoutingKeys(
+                "{\"state\":{\"on\":true,\"xy\":[0.1,0.2]},\"r\":\"lights\",\"e\":\"changed\",\"id\":\"7\"}"));
+    }
+
+    @Test
+    public void readRoutingKeysSkipsNestedFields() throws IOException {
+        // the nested objects contain fields with the same names
+        assertArrayEquals(new String[] { "groups", "12" },
+                WebSocketConnection.readRoutingKeys("{\"e\":\"changed\",\"group\":{\"id\":\"99\",\"r\":\"scenes\"},"
+                        + "\"state\":{\"r\":[\"lights\"],\"id\":{}},\"id\":\"12\",\"r\":\"groups\",\"t\":\"event\"}"));
+        assertArrayEquals(new String[] { "sensors", "" },
+                WebSocketConnection.readRoutingKeys("{\"r\":\"sensors\",\"config\":{\"id\":\"5\"}}"));
+    }
+
+    @Test
+    public void readRoutingKeysWithEscapes() throws IOException {
+        // the name contains the routing keys of another resource
+        String message = "{\"name\":\"\\\"id\\\":\\\"1\\\",\\\"r\\\":\\\"lights\\\"\","
+                + "\"\\u0072\":\"sensors\",\"id\":\"\\u0034\"}";
+        assertArrayEquals(new String[] { "sensors", "4" }, WebSocketConnection.readRoutingKeys(message));
+    }
+
+    @Test
+    public void readRoutingKeysOfInvalidMessage() throws IOException {
+        assertArrayEquals(new String[] { "", "" }, WebSocketConnection.readRoutingKeys("{\"r\":1,\"id\":null}"));
+        assertThrows(IOException.class, () -> WebSocketConnection.readRoutingKeys("[\"r\",\"lights\"]"));
+        assertThrows(IOException.class, () -> WebSocketConnection.readRoutingKeys("{\"r\" \"lights\"}"));
+    }
+
+    @Test
+    public void serialExecutorKeepsOrder() throws InterruptedException {
+        SerialExecutor serialExecutor = new SerialExecutor(executor);
+        List<Integer> results = new ArrayList<>();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1000);
+
+        for (int i = 0; i < 1000; i++) {
+            int value = i;
+            serialExecutor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                results.add(value);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, maxRunning.get());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, results.get(i));
+        }
+    }
+
+    @Test
+    public void serialExecutorsRunConcurrently() throws InterruptedException {
+        SerialExecutor slow = new SerialExecutor(executor);
+        SerialExecutor fast = new SerialExecutor(executor);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fastDone = new CountDownLatch(1);
+
+        slow.execute(() -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        fast.execute(fastDone::countDown);
+
+        // a blocked serial executor does not delay the tasks of the others
+        assertTrue(fastDone.await(5, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    public void serialExecutorContinuesAfterFailedTask() throws InterruptedException {
+        SerialExecutor serialExecutor = new SerialExecutor(executor);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+
+        serialExecutor.execute(() -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new StackOverflowError("test");
+        });
+        // queued while the failing task runs, and after it failed
+        serialExecutor.execute(done::countDown);
+        release.countDown();
+        Thread.sleep(100);
+        serialExecutor.execute(done::countDown);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+}
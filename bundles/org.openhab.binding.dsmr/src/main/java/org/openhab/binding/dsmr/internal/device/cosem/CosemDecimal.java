@@ -12,9 +12,11 @@
  */
 package org.openhab.binding.dsmr.internal.device.cosem;
 
+import java.math.BigDecimal;
 import java.text.ParseException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.library.types.DecimalType;
 
 /**
@@ -66,4 +68,21 @@ class CosemDecimal extends CosemValueDescriptor<DecimalType> {
             throw new ParseException("Failed to parse value '" + cosemValue + "' as integer", 0);
         }
     }
+
+    @Override
+    protected DecimalType getStateValue(CharSequence cosemValues, int start, int end) throws ParseException {
+        int valueEnd = end;
+
+        if (expectUnit) {
+            for (int i = start + 1; i < end; i++) {
+                if (cosemValues.charAt(i) == '*') {
+                    valueEnd = i;
+                    break;
+                }
+            }
+        }
+        final @Nullable BigDecimal value = parseDecimal(cosemValues, start, valueEnd);
+
+        return value == null ? super.getStateValue(cosemValues, start, end) : new DecimalType(value);
+    }
 }
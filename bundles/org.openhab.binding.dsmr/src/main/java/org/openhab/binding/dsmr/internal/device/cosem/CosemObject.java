@@ -16,8 +16,6 @@ import java.text.ParseException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.core.types.State;
@@ -32,11 +30,6 @@ import org.slf4j.LoggerFactory;
 @NonNullByDefault
 public class CosemObject {
 
-    /**
-     * Regular expression for finding CosemValues
-     */
-    private static final Pattern COSEM_VALUES_PATTERN = Pattern.compile("(\\(([^\\(\\)]*)\\))");
-
     private final Logger logger = LoggerFactory.getLogger(CosemObject.class);
 
     /**
@@ -112,19 +105,25 @@ public class CosemObject {
      * @param cosemValueString the List of COSEM String values
      * @throws ParseException if parsing fails
      */
-    public void parseCosemValues(String cosemValueString) throws ParseException {
+    public void parseCosemValues(CharSequence cosemValueString) throws ParseException {
         logger.trace("Parsing CosemValue string {}", cosemValueString);
 
-        Matcher cosemValueMatcher = COSEM_VALUES_PATTERN.matcher(cosemValueString);
-        int nrOfCosemValues = countCosemValues(cosemValueMatcher);
+        int nrOfCosemValues = 0;
+        for (int start = nextCosemValue(cosemValueString, 0); start >= 0; start = nextCosemValue(cosemValueString,
+                endOfCosemValue(cosemValueString, start) + 1)) {
+            nrOfCosemValues++;
+        }
 
         if (type.supportsNrOfValues(nrOfCosemValues)) {
             logger.trace("Received items: {} is supported", nrOfCosemValues);
 
             int cosemValueItr = 0;
-            while (cosemValueMatcher.find()) {
+            int start = nextCosemValue(cosemValueString, 0);
+            while (start >= 0) {
+                final int end = endOfCosemValue(cosemValueString, start);
                 final Entry<String, CosemValueDescriptor<?>> valueDescriptorEntry = type.getDescriptor(cosemValueItr);
-                final State cosemValue = valueDescriptorEntry.getValue().getStateValue(cosemValueMatcher.group(2));
+                final State cosemValue = valueDescriptorEntry.getValue().getStateValue(cosemValueString, start + 1,
+                        end);
 
                 if (!cosemValues.containsKey(valueDescriptorEntry.getKey())) {
                     cosemValues.put(valueDescriptorEntry.getKey(), cosemValue);
@@ -133,20 +132,42 @@ public class CosemObject {
                             cosemValue);
                 }
                 cosemValueItr++;
+                start = nextCosemValue(cosemValueString, end + 1);
             }
         } else {
             throw new ParseException(type + " does not support " + nrOfCosemValues + " items", 0);
         }
     }
 
-    private int countCosemValues(Matcher cosemValueMatcher) {
-        int nrOfCosemValues = 0;
+    /**
+     * Finds the next value, a '(' followed by a ')' without another parenthesis in between.
+     *
+     * @return the position of the '(' or -1 if there are no more values
+     */
+    private static int nextCosemValue(CharSequence cosemValueString, int from) {
+        int start = -1;
 
-        while (cosemValueMatcher.find()) {
-            nrOfCosemValues++;
+        for (int i = from; i < cosemValueString.length(); i++) {
+            final char c = cosemValueString.charAt(i);
+
+            if (c == '(') {
+                start = i;
+            } else if (c == ')' && start >= 0) {
+                return start;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the position of the ')' of the value starting at the given position
+     */
+    private static int endOfCosemValue(CharSequence cosemValueString, int start) {
+        int end = start + 1;
+
+        while (cosemValueString.charAt(end) != ')') {
+            end++;
         }
-        // We need the matcher again, reset to initial state
-        cosemValueMatcher.reset();
-        return nrOfCosemValues;
+        return end;
     }
 }
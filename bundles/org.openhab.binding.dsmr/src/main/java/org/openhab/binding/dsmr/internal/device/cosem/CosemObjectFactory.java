@@ -14,9 +14,11 @@ package org.openhab.binding.dsmr.internal.device.cosem;
 
 import java.text.ParseException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -26,48 +28,82 @@ import org.slf4j.LoggerFactory;
 /**
  * Factory for constructing Cosem Objects from Strings
  *
+ * The OBIS identifiers are parsed to packed keys (see {@link OBISIdentifier}) and looked up in a table of the sorted
+ * keys of all {@link CosemObjectType}s. The received identifiers are interned, so a telegram line doesn't create an
+ * {@link OBISIdentifier} once the identifier has been seen.
+ *
  * @author M. Volaart - Initial contribution
  */
 @NonNullByDefault
 public class CosemObjectFactory {
+    private static final CosemObjectType[] NO_TYPES = new CosemObjectType[0];
+
+    /**
+     * Maximum number of interned OBIS identifiers, a meter sends a few dozen different identifiers.
+     */
+    private static final int MAX_INTERNED = 256;
+
     private final Logger logger = LoggerFactory.getLogger(CosemObjectFactory.class);
 
     /**
-     * Lookup cache for fixed OBIS Identifiers
+     * Sorted keys of the reduced OBIS identifiers of the CosemObjectTypes
+     */
+    private final long[] lookupKeys;
+
+    /**
+     * CosemObjectType with a fixed OBIS Identifier by index of the key, or null
+     */
+    private final @Nullable CosemObjectType[] lookupTableFixed;
+
+    /**
+     * CosemObjectTypes with a fixed OBIS Identifier that has the same id for different data types by index of the key
      */
-    private final Map<OBISIdentifier, CosemObjectType> obisLookupTableFixed = new HashMap<>();
+    private final CosemObjectType[][] lookupTableMultipleFixed;
 
     /**
-     * Lookup cache for fixed OBIS Identifiers that has the same id for different data types
+     * Open addressing hash table of the interned OBIS identifiers by packed key
      */
-    private final Map<OBISIdentifier, List<CosemObjectType>> obisLookupTableMultipleFixed = new HashMap<>();
+    private long[] internedKeys = new long[64];
+    private @Nullable OBISIdentifier[] interned = new OBISIdentifier[64];
+    private int internedSize;
 
     /**
      * Creates a new CosemObjectFactory
      */
     public CosemObjectFactory() {
         /*
-         * Fill lookup tables. There are 3 entities:
-         * - obisLookupTableFixed. This lookup table contains all CosemObjectType with a fixed OBISIdentifier
+         * Fill lookup tables. There are 2 entities:
+         * - lookupTableFixed. This lookup table contains all CosemObjectType with a fixed OBISIdentifier
          * (i.e. groupA != null && groupB != null && groupC != null).
-         * - obisLookupTableDynamic. This lookup table contains all CosemObjectType with a wildcard OBISIdentifier
-         * (i.e. groupA == null || groupB == null || groupC == null). This lookuptable will be filled
-         * dynamically with unique wildcard OBISIdentifiers when values are received and matches a particular real
-         * device (if the device is changed, this lookupTable must be cleared by removing the corresponding DSMRDevice
-         * Thing from the configuration.)
-         * - obisWildCardCosemTypeList. This is the list of all wild card Cosem Object types. Multiple Cosem Object
-         * Types can have the same wild card OBISIdentifer.
-         *
-         * To facilitate autodiscovery the list has all supported CosemObjectTypes. To improve performance once the
-         * correct OBISIdentifier is discovered for a certain OBISMsgType this is added to the obisLookupTableDynamic.
+         * - lookupTableMultipleFixed. This lookup table contains the CosemObjectTypes with an OBISIdentifier used for
+         * different types of data. The types are tried in the order of declaration.
          */
+        final Map<Long, CosemObjectType> fixed = new LinkedHashMap<>();
+        final Map<Long, List<CosemObjectType>> multipleFixed = new LinkedHashMap<>();
+
         for (CosemObjectType msgType : CosemObjectType.values()) {
+            final long key = msgType.obisId.getKey();
+
+            if (key == OBISIdentifier.INVALID_KEY) {
+                continue;
+            }
+            final long reducedKey = OBISIdentifier.getReducedKey(key);
+
             if (msgType.obisId.isConflict()) {
-                obisLookupTableMultipleFixed.computeIfAbsent(msgType.obisId, r -> new ArrayList<>()).add(msgType);
+                multipleFixed.computeIfAbsent(reducedKey, r -> new ArrayList<>()).add(msgType);
             } else {
-                obisLookupTableFixed.put(msgType.obisId, msgType);
+                fixed.put(reducedKey, msgType);
             }
         }
+        lookupKeys = Stream.concat(fixed.keySet().stream(), multipleFixed.keySet().stream())
+                .mapToLong(Long::longValue).distinct().sorted().toArray();
+        lookupTableFixed = new CosemObjectType[lookupKeys.length];
+        lookupTableMultipleFixed = new CosemObjectType[lookupKeys.length][];
+        for (int i = 0; i < lookupKeys.length; i++) {
+            lookupTableFixed[i] = fixed.get(lookupKeys[i]);
+            final List<CosemObjectType> types = multipleFixed.get(lookupKeys[i]);
+            lookupTableMultipleFixed[i] = types == null ? NO_TYPES : types.toArray(NO_TYPES);
+        }
     }
 
     /**
@@ -78,42 +114,40 @@ public class CosemObjectFactory {
      * @param cosemStringValues String containing Cosem values
      * @return CosemObject or null if parsing failed
      */
-    public @Nullable CosemObject getCosemObject(String obisIdString, String cosemStringValues) {
-        OBISIdentifier obisId;
-        OBISIdentifier reducedObisId;
-        OBISIdentifier reducedObisIdGroupE;
+    public @Nullable CosemObject getCosemObject(CharSequence obisIdString, CharSequence cosemStringValues) {
+        final long key = OBISIdentifier.parseKey(obisIdString);
 
-        try {
-            obisId = new OBISIdentifier(obisIdString);
-            reducedObisId = obisId.getReducedOBISIdentifier();
-            reducedObisIdGroupE = obisId.getReducedOBISIdentifierGroupE();
-        } catch (final ParseException pe) {
+        if (key == OBISIdentifier.INVALID_KEY) {
             logger.debug("Received invalid OBIS identifier: {}", obisIdString);
             return null;
         }
+        final OBISIdentifier obisId = intern(key);
 
         logger.trace("Received obisIdString {}, obisId: {}, values: {}", obisIdString, obisId, cosemStringValues);
 
-        CosemObjectType objectType = obisLookupTableFixed.get(reducedObisId);
-        if (objectType != null) {
-            logger.trace("Found obisId {} in the fixed lookup table", reducedObisId);
-            return getCosemObjectInternal(objectType, obisId, cosemStringValues);
-        }
+        int index = Arrays.binarySearch(lookupKeys, OBISIdentifier.getReducedKey(key));
+        if (index >= 0) {
+            final CosemObjectType objectType = lookupTableFixed[index];
+            if (objectType != null) {
+                logger.trace("Found obisId {} in the fixed lookup table", obisId);
+                return getCosemObjectInternal(objectType, obisId, cosemStringValues);
+            }
 
-        List<CosemObjectType> objectTypeList = obisLookupTableMultipleFixed.get(reducedObisId);
-        if (objectTypeList != null) {
-            for (CosemObjectType cosemObjectType : objectTypeList) {
+            for (CosemObjectType cosemObjectType : lookupTableMultipleFixed[index]) {
                 CosemObject cosemObject = getCosemObjectInternal(cosemObjectType, obisId, cosemStringValues);
                 if (cosemObject != null) {
-                    logger.trace("Found obisId {} in the fixed lookup table", reducedObisId);
+                    logger.trace("Found obisId {} in the fixed lookup table", obisId);
                     return cosemObject;
                 }
             }
         }
 
-        objectType = obisLookupTableFixed.get(reducedObisIdGroupE);
-        if (objectType != null) {
-            return getCosemObjectInternal(objectType, obisId, cosemStringValues);
+        index = Arrays.binarySearch(lookupKeys, OBISIdentifier.getReducedKeyGroupE(key));
+        if (index >= 0) {
+            final CosemObjectType objectType = lookupTableFixed[index];
+            if (objectType != null) {
+                return getCosemObjectInternal(objectType, obisId, cosemStringValues);
+            }
         }
 
         logger.debug("Received unknown Cosem Object(OBIS id: {})", obisId);
@@ -121,6 +155,58 @@ public class CosemObjectFactory {
         return null;
     }
 
+    /**
+     * Returns the interned OBIS identifier of a packed key.
+     *
+     * @param key valid packed key
+     * @return the OBIS identifier
+     */
+    private OBISIdentifier intern(long key) {
+        final int mask = internedKeys.length - 1;
+        int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+
+        while (true) {
+            final OBISIdentifier obisId = interned[slot];
+
+            if (obisId == null) {
+                break;
+            } else if (internedKeys[slot] == key) {
+                return obisId;
+            }
+            slot = (slot + 1) & mask;
+        }
+        final OBISIdentifier obisId = OBISIdentifier.ofKey(key);
+
+        if (internedSize < MAX_INTERNED) {
+            internedKeys[slot] = key;
+            interned[slot] = obisId;
+            if (++internedSize * 2 > internedKeys.length) {
+                growInterned();
+            }
+        }
+        return obisId;
+    }
+
+    private void growInterned() {
+        final long[] oldKeys = internedKeys;
+        final @Nullable OBISIdentifier[] oldInterned = interned;
+
+        internedKeys = new long[oldKeys.length * 2];
+        interned = new OBISIdentifier[oldKeys.length * 2];
+        final int mask = internedKeys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldInterned[i] != null) {
+                int slot = Long.hashCode(oldKeys[i] * 0x9E3779B97F4A7C15L) & mask;
+
+                while (interned[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                internedKeys[slot] = oldKeys[i];
+                interned[slot] = oldInterned[i];
+            }
+        }
+    }
+
     /**
      * Constructs a CosemObject from the given type, OBISIdentifier and the values
      *
@@ -131,7 +217,7 @@ public class CosemObjectFactory {
      * @return a CosemObject or null if parsing failed
      */
     private @Nullable CosemObject getCosemObjectInternal(CosemObjectType cosemObjectType, OBISIdentifier obisIdentifier,
-            String cosemStringValues) {
+            CharSequence cosemStringValues) {
         CosemObject obj = new CosemObject(cosemObjectType, obisIdentifier);
 
         try {
@@ -12,6 +12,7 @@
  */
 package org.openhab.binding.dsmr.internal.device.cosem;
 
+import java.math.BigDecimal;
 import java.text.ParseException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -71,6 +72,12 @@ class CosemQuantity<Q extends @Nullable Quantity<Q>> extends CosemValueDescripto
      */
     private final Unit<Q> unit;
 
+    /**
+     * Unit text of the last value that was received in the unit of this CosemValue, values with this unit text are
+     * decoded without parsing the unit.
+     */
+    private volatile @Nullable String receivedUnit;
+
     /**
      * Creates a new {@link CosemDouble}.
      *
@@ -113,6 +120,55 @@ class CosemQuantity<Q extends @Nullable Quantity<Q>> extends CosemValueDescripto
         }
     }
 
+    /**
+     * Decodes the value directly if it has the unit text seen before for values in the unit of this CosemValue. The
+     * unit text of a meter is learned from the first value parsed by {@link #getStateValue(String)}.
+     */
+    @Override
+    protected QuantityType<Q> getStateValue(CharSequence cosemValues, int start, int end) throws ParseException {
+        int numberEnd = start;
+        while (numberEnd < end && isNumberCharacter(cosemValues.charAt(numberEnd))) {
+            numberEnd++;
+        }
+        int unitStart = numberEnd;
+        if (unitStart < end && (cosemValues.charAt(unitStart) == '*' || cosemValues.charAt(unitStart) == '_')) {
+            unitStart++;
+        }
+        final @Nullable BigDecimal number = numberEnd == start || unitStart == end ? null
+                : parseDecimal(cosemValues, start, numberEnd);
+
+        if (number == null) {
+            return super.getStateValue(cosemValues, start, end);
+        }
+        final String knownUnit = receivedUnit;
+        if (knownUnit != null && regionEquals(cosemValues, unitStart, end, knownUnit)) {
+            return new QuantityType<>(number, unit);
+        }
+        final QuantityType<Q> qt = super.getStateValue(cosemValues, start, end);
+
+        // a zero value doesn't show if the value was converted from another unit
+        if (number.signum() != 0 && qt.toBigDecimal().compareTo(number) == 0) {
+            receivedUnit = cosemValues.subSequence(unitStart, end).toString();
+        }
+        return qt;
+    }
+
+    private static boolean isNumberCharacter(char c) {
+        return (c >= '0' && c <= '9') || c == '.';
+    }
+
+    private static boolean regionEquals(CharSequence chars, int start, int end, String text) {
+        if (end - start != text.length()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (chars.charAt(start + i) != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Check if COSEM value has a unit, check and parse the value. We assume here numbers (float or integers)
      * The specification states that the delimiter between the value and the unit is a '*'-character.
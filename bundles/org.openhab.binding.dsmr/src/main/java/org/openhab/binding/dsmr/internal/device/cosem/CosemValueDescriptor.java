@@ -12,9 +12,11 @@
  */
 package org.openhab.binding.dsmr.internal.device.cosem;
 
+import java.math.BigDecimal;
 import java.text.ParseException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.types.State;
 
 /**
@@ -55,6 +57,61 @@ abstract class CosemValueDescriptor<S extends State> {
      */
     protected abstract S getStateValue(String cosemValue) throws ParseException;
 
+    /**
+     * Parses a part of the received characters to the {@link State} value. Descriptors of numbers override this to
+     * decode the value without creating a String.
+     *
+     * @param cosemValues the received characters
+     * @param start start of the Cosem value to parse
+     * @param end end (exclusive) of the Cosem value to parse
+     * @return S the {@link State} object instance of the Cosem value
+     * @throws ParseException if parsing failed
+     */
+    protected S getStateValue(CharSequence cosemValues, int start, int end) throws ParseException {
+        return getStateValue(cosemValues.subSequence(start, end).toString());
+    }
+
+    /**
+     * Decodes a decimal number of the form [-]digits[.digits].
+     *
+     * @param cosemValues the received characters
+     * @param start start of the number
+     * @param end end (exclusive) of the number
+     * @return the number or null if the characters are not a number of this form or have more than 18 digits
+     */
+    static @Nullable BigDecimal parseDecimal(CharSequence cosemValues, int start, int end) {
+        int pos = start;
+        final boolean negative = pos < end && cosemValues.charAt(pos) == '-';
+
+        if (negative) {
+            pos++;
+        }
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; pos < end; pos++) {
+            final char c = cosemValues.charAt(pos);
+
+            if (c >= '0' && c <= '9') {
+                if (++digits > 18) {
+                    return null;
+                }
+                unscaled = unscaled * 10 + c - '0';
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                return null;
+            }
+        }
+        if (digits == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+
     /**
      * Returns the channel id for this {@link CosemValueDescriptor}
      *
@@ -14,8 +14,6 @@ package org.openhab.binding.dsmr.internal.device.cosem;
 
 import java.text.ParseException;
 import java.util.Objects;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -23,20 +21,29 @@ import org.eclipse.jdt.annotation.Nullable;
 /**
  * Class representing an OBISIdentifier
  *
+ * An OBIS identifier can also be represented by a packed key, a long with 9 bits for each group. A group holds its
+ * value + 1, or 0 if the group is absent. The key is parsed directly from the received characters, so identifiers can
+ * be looked up without creating objects.
+ *
  * @author M. Volaart - Initial contribution
  * @author Hilbrand Bouwkamp - Simplified, groupF not relevant, and groupB renamed to channel.
  */
 @NonNullByDefault
 public class OBISIdentifier {
     /**
-     * String representing a-channel:c.d.e.f OBIS ID
+     * Key returned for invalid OBIS identifiers
      */
-    private static final String OBISID_REGEX = "((\\d+)\\-)?((\\d+):)?((\\d+)\\.)(\\d+)(\\.(\\d+))?(.(\\d+))?";
+    public static final long INVALID_KEY = -1;
 
-    /**
-     * OBIS ID pattern
-     */
-    private static final Pattern OBIS_ID_PATTERN = Pattern.compile(OBISID_REGEX);
+    private static final int GROUP_BITS = 9;
+    private static final long GROUP_MASK = (1L << GROUP_BITS) - 1;
+    private static final int MAX_GROUP_VALUE = (int) GROUP_MASK - 1;
+    private static final int SHIFT_A = 5 * GROUP_BITS;
+    private static final int SHIFT_CHANNEL = 4 * GROUP_BITS;
+    private static final int SHIFT_C = 3 * GROUP_BITS;
+    private static final int SHIFT_D = 2 * GROUP_BITS;
+    private static final int SHIFT_E = GROUP_BITS;
+    private static final int SHIFT_F = 0;
 
     /* the six individual group values of the OBIS ID */
     private final int groupA;
@@ -87,27 +94,206 @@ public class OBISIdentifier {
      * @throws ParseException if obisIDString is not a valid OBIS Identifier
      */
     public OBISIdentifier(final String obisIDString) throws ParseException {
-        final Matcher m = OBIS_ID_PATTERN.matcher(obisIDString);
-
-        if (m.matches()) {
-            // Optional value A
-            this.groupA = m.group(2) == null ? null : Integer.parseInt(m.group(2));
+        this(parseValidKey(obisIDString));
+    }
 
-            // Optional value B
-            this.channel = m.group(4) == null ? null : Integer.valueOf(m.group(4));
+    /**
+     * Creates a new {@link OBISIdentifier} of a packed key.
+     *
+     * @param key valid packed key
+     */
+    private OBISIdentifier(final long key) {
+        this.groupA = getGroup(key, SHIFT_A);
+        this.channel = getOptionalGroup(key, SHIFT_CHANNEL);
+        this.groupC = getGroup(key, SHIFT_C);
+        this.groupD = getGroup(key, SHIFT_D);
+        this.groupE = getOptionalGroup(key, SHIFT_E);
+        this.groupF = getOptionalGroup(key, SHIFT_F);
+    }
 
-            // Required value C & D
-            this.groupC = Integer.parseInt(m.group(6));
-            this.groupD = Integer.parseInt(m.group(7));
+    /**
+     * Creates a new {@link OBISIdentifier} of a packed key as returned by {@link #parseKey(CharSequence)}.
+     *
+     * @param key the packed key
+     * @return the OBIS Identifier
+     * @throws IllegalArgumentException if the key is invalid
+     */
+    public static OBISIdentifier ofKey(final long key) {
+        if (key < 0 || getGroup(key, SHIFT_A) < 0 || getGroup(key, SHIFT_C) < 0 || getGroup(key, SHIFT_D) < 0) {
+            throw new IllegalArgumentException("Invalid OBIS identifier key:" + key);
+        }
+        return new OBISIdentifier(key);
+    }
 
-            // Optional value E
-            this.groupE = m.group(9) == null ? null : Integer.valueOf(m.group(9));
+    private static long parseValidKey(final String obisIDString) throws ParseException {
+        final long key = parseKey(obisIDString);
 
-            // Optional value F
-            this.groupF = m.group(11) == null ? null : Integer.valueOf(m.group(11));
-        } else {
+        if (key == INVALID_KEY) {
             throw new ParseException("Invalid OBIS identifier:" + obisIDString, 0);
         }
+        return key;
+    }
+
+    /**
+     * Parses an OBIS identifier (a-channel:c.d.e.f, with optional channel, e and f) to a packed key without creating
+     * any objects. Any single character may separate group f.
+     *
+     * @param obisId the OBIS identifier characters
+     * @return the packed key or {@link #INVALID_KEY} if obisId is not a valid OBIS Identifier
+     */
+    public static long parseKey(final CharSequence obisId) {
+        final int length = obisId.length();
+        int pos = 0;
+        int groupA = -1;
+        int channel = -1;
+        int groupE = -1;
+        int groupF = -1;
+
+        // number and position after the number, packed to avoid allocations
+        long number = parseGroup(obisId, pos);
+        if (number < 0) {
+            return INVALID_KEY;
+        }
+        pos = nextPos(number);
+        if (pos < length && obisId.charAt(pos) == '-') {
+            groupA = value(number);
+            number = parseGroup(obisId, pos + 1);
+            if (number < 0) {
+                return INVALID_KEY;
+            }
+            pos = nextPos(number);
+        }
+        if (pos < length && obisId.charAt(pos) == ':') {
+            channel = value(number);
+            number = parseGroup(obisId, pos + 1);
+            if (number < 0) {
+                return INVALID_KEY;
+            }
+            pos = nextPos(number);
+        }
+        if (groupA < 0 || pos >= length || obisId.charAt(pos) != '.') {
+            // group a is optional by the syntax, but required by this binding
+            return INVALID_KEY;
+        }
+        final int groupC = value(number);
+        number = parseGroup(obisId, pos + 1);
+        if (number < 0) {
+            return INVALID_KEY;
+        }
+        pos = nextPos(number);
+        final int groupD = value(number);
+
+        if (pos < length && obisId.charAt(pos) == '.') {
+            number = parseGroup(obisId, pos + 1);
+            if (number >= 0) {
+                pos = nextPos(number);
+                groupE = value(number);
+            }
+        }
+        if (groupE >= 0 && pos + 1 < length) {
+            number = parseGroup(obisId, pos + 1);
+            if (number >= 0) {
+                pos = nextPos(number);
+                groupF = value(number);
+            }
+        }
+        return pos == length ? pack(groupA, channel, groupC, groupD, groupE, groupF) : INVALID_KEY;
+    }
+    /**
+     * Parses the digits of a group.
+     *
+     * @return the value in the upper and the position after the digits in the lower 32 bits, or -1 if there are no
+     *         digits or the value is too large
+     */
+    private static long parseGroup(final CharSequence obisId, final int start) {
+        int pos = start;
+        int value = 0;
+
+        while (pos < obisId.length()) {
+            final char c = obisId.charAt(pos);
+
+            if (c < '0' || c > '9') {
+                break;
+            }
+            value = value * 10 + c - '0';
+            if (value > MAX_GROUP_VALUE) {
+                return -1;
+            }
+            pos++;
+        }
+        return pos == start ? -1 : ((long) value << 32) | pos;
+    }
+
+    private static int value(final long number) {
+        return (int) (number >>> 32);
+    }
+
+    private static int nextPos(final long number) {
+        return (int) number;
+    }
+
+    /**
+     * Packs the groups to a key, absent groups are given as -1.
+     */
+    private static long pack(final int groupA, final int channel, final int groupC, final int groupD, final int groupE,
+            final int groupF) {
+        return ((groupA + 1L) << SHIFT_A) | ((channel + 1L) << SHIFT_CHANNEL) | ((groupC + 1L) << SHIFT_C)
+                | ((groupD + 1L) << SHIFT_D) | ((groupE + 1L) << SHIFT_E) | ((groupF + 1L) << SHIFT_F);
+    }
+
+    private static int getGroup(final long key, final int shift) {
+        return (int) ((key >>> shift) & GROUP_MASK) - 1;
+    }
+
+    private static @Nullable Integer getOptionalGroup(final long key, final int shift) {
+        final int value = getGroup(key, shift);
+
+        return value < 0 ? null : Integer.valueOf(value);
+    }
+
+    private static int groupOrAbsent(final @Nullable Integer group) {
+        return group == null ? -1 : group.intValue();
+    }
+
+    /**
+     * Returns the packed key of a reduced OBIS Identifier (channel and group F removed).
+     *
+     * @param key packed key
+     * @return packed key of the reduced OBIS Identifier
+     */
+    public static long getReducedKey(final long key) {
+        return key & ~((GROUP_MASK << SHIFT_CHANNEL) | (GROUP_MASK << SHIFT_F));
+    }
+
+    /**
+     * Returns the packed key of a reduced OBIS Identifier with group E removed.
+     *
+     * @param key packed key
+     * @return packed key of the reduced OBIS Identifier
+     */
+    public static long getReducedKeyGroupE(final long key) {
+        return getReducedKey(key) & ~(GROUP_MASK << SHIFT_E);
+    }
+
+    /**
+     * Returns the packed key of this OBIS Identifier.
+     *
+     * @return the packed key or {@link #INVALID_KEY} if a group is out of the range of a key
+     */
+    public long getKey() {
+        final int channel = groupOrAbsent(this.channel);
+        final int groupE = groupOrAbsent(this.groupE);
+        final int groupF = groupOrAbsent(this.groupF);
+
+        if (!isKeyRange(groupA, false) || !isKeyRange(channel, true) || !isKeyRange(groupC, false)
+                || !isKeyRange(groupD, false) || !isKeyRange(groupE, true) || !isKeyRange(groupF, true)) {
+            return INVALID_KEY;
+        }
+        return pack(groupA, channel, groupC, groupD, groupE, groupF);
+    }
+
+    private static boolean isKeyRange(final int value, final boolean optional) {
+        return value >= (optional ? -1 : 0) && value <= MAX_GROUP_VALUE;
     }
 
     public boolean isConflict() {
@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.dsmr.internal.device.cosem;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.text.ParseException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test class for the packed keys of {@link OBISIdentifier}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class OBISIdentifierTest {
+
+    @Test
+    public void testParseKey() throws ParseException {
+        final OBISIdentifier obisId = OBISIdentifier.ofKey(OBISIdentifier.parseKey("0-1:24.2.1*255"));
+
+        assertEquals(0, obisId.getGroupA());
+        assertEquals(1, obisId.getChannel());
+        assertEquals(24, obisId.getGroupC());
+        assertEquals(2, obisId.getGroupD());
+        assertEquals(1, obisId.getGroupE());
+        assertEquals(255, obisId.getGroupF());
+        assertEquals(new OBISIdentifier("0-1:24.2.1*255"), obisId);
+        assertEquals(obisId.getKey(), OBISIdentifier.parseKey("0-1:24.2.1*255"));
+    }
+
+    @Test
+    public void testOptionalGroups() {
+        final OBISIdentifier obisId = OBISIdentifier.ofKey(OBISIdentifier.parseKey("1-3:0.2.8"));
+
+        assertEquals(1, obisId.getGroupA());
+        assertEquals(3, obisId.getChannel());
+        assertNull(obisId.getGroupF());
+
+        final OBISIdentifier noChannel = OBISIdentifier.ofKey(OBISIdentifier.parseKey("0-96.13"));
+        assertNull(noChannel.getChannel());
+        assertNull(noChannel.getGroupE());
+    }
+
+    @Test
+    public void testReducedKeys() {
+        final long key = OBISIdentifier.parseKey("0-1:24.2.1*255");
+
+        assertEquals(new OBISIdentifier(0, 24, 2, 1).getKey(), OBISIdentifier.getReducedKey(key));
+        assertEquals(new OBISIdentifier(0, 24, 2, null).getKey(), OBISIdentifier.getReducedKeyGroupE(key));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "1-0:", "1-0:1", "1-0:1.", "1-0:1.8.", "1-0:1.8.0*", "1.8.0", "1-0:1.8.0.1.2",
+            "1-0:1.8.0 ", "1-0:1.8.999" })
+    public void testInvalidIdentifiers(String obisId) {
+        assertEquals(OBISIdentifier.INVALID_KEY, OBISIdentifier.parseKey(obisId));
+        assertThrows(ParseException.class, () -> new OBISIdentifier(obisId));
+    }
+}
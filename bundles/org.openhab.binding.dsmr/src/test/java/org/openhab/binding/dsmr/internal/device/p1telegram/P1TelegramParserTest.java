@@ -14,14 +14,19 @@ package org.openhab.binding.dsmr.internal.device.p1telegram;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.openhab.binding.dsmr.internal.TelegramReaderUtil;
 import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram.TelegramState;
+import org.openhab.core.types.State;
 
 /**
  * Test class for {@link P1TelegramParser}.
@@ -31,6 +36,8 @@ import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram.TelegramSt
 @NonNullByDefault
 public class P1TelegramParserTest {
 
+    private static final int REPEATED_ROUNDS = 3;
+
     // @formatter:off
     public static final List<Object[]> data() {
         return Arrays.asList(new Object[][] {
@@ -62,4 +69,36 @@ public class P1TelegramParserTest {
                 telegram.getCosemObjects().stream().mapToInt(co -> co.getCosemValues().size()).sum(),
                 "Expected number of objects");
     }
+
+    /**
+     * Parses all telegrams (DSMR 2.2 to 5.0 and some meters not following the specification) repeatedly with the same
+     * parser. Values are decoded differently once the units of a meter are known, so the repeated results must match
+     * the first results.
+     */
+    @Test
+    public void testRepeatedParsing() {
+        final List<byte[]> telegrams = data().stream().map(d -> TelegramReaderUtil.readRawTelegram((String) d[0]))
+                .collect(Collectors.toList());
+        final List<P1Telegram> received = new ArrayList<>();
+        final P1TelegramParser parser = new P1TelegramParser(received::add, true);
+
+        for (byte[] telegram : telegrams) {
+            parser.parse(telegram, telegram.length);
+        }
+        final List<List<Map<String, ? extends State>>> expected = values(received);
+        for (int i = 0; i < REPEATED_ROUNDS; i++) {
+            received.clear();
+            for (byte[] telegram : telegrams) {
+                parser.parse(telegram, telegram.length);
+            }
+            assertEquals(expected, values(received), "Repeated parsing should give the same values");
+        }
+    }
+
+    private static List<List<Map<String, ? extends State>>> values(List<P1Telegram> telegrams) {
+        return telegrams.stream()
+                .map(t -> t.getCosemObjects().stream().<Map<String, ? extends State>> map(co -> co.getCosemValues())
+                        .collect(Collectors.toList()))
+                .collect(Collectors.toList());
+    }
 }
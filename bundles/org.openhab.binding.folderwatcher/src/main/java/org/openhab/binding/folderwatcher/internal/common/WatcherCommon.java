@@ -12,12 +12,16 @@
  */
 package org.openhab.binding.folderwatcher.internal.common;
 
+import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
-import java.util.List;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
@@ -36,24 +40,52 @@ public class WatcherCommon {
         }
     }
 
-    public static List<String> initStorage(File file, String watchDir) throws IOException {
-        List<String> returnList = List.of();
-        List<String> currentFileListing = List.of();
+    /**
+     * Load the listing of the files seen before. The listing file starts with the watched directory followed by one
+     * file per line, new files are appended to it.
+     *
+     * @param file the listing file
+     * @param watchDir the watched directory, the listing is discarded if it belongs to another directory
+     * @return the files seen before
+     */
+    public static Set<String> initStorage(File file, String watchDir) throws IOException {
+        Set<String> returnSet = new HashSet<>();
         if (!file.exists()) {
             Files.createDirectories(file.toPath().getParent());
             initFile(file, watchDir);
         } else {
-            currentFileListing = Files.readAllLines(file.toPath().toAbsolutePath());
-            if (currentFileListing.get(0).equals(watchDir)) {
-                returnList = currentFileListing;
-            } else {
-                initFile(file, watchDir);
+            try (BufferedReader reader = Files.newBufferedReader(file.toPath().toAbsolutePath())) {
+                if (watchDir.equals(reader.readLine())) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        returnSet.add(line);
+                    }
+                    return returnSet;
+                }
             }
+            initFile(file, watchDir);
         }
-        return returnList;
+        return returnSet;
+    }
+
+    /**
+     * Replace the listing file by one containing the given files only, to remove the files which no longer exist.
+     * The new listing is written to a temporary file first, which then replaces the listing file.
+     *
+     * @param listing the files to keep
+     * @param listingFile the listing file
+     * @param watchDir the watched directory
+     */
+    public static void compactListing(Collection<String> listing, File listingFile, String watchDir)
+            throws IOException {
+        File tempFile = new File(listingFile.getPath() + ".tmp");
+        initFile(tempFile, watchDir);
+        saveNewListing(listing, tempFile);
+        Files.move(tempFile.toPath(), listingFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
     }
 
-    public static void saveNewListing(List<String> newList, File listingFile) throws IOException {
+    public static void saveNewListing(Collection<String> newList, File listingFile) throws IOException {
         try (BufferedWriter fileWriter = new BufferedWriter(new FileWriter(listingFile, true))) {
             for (String newFile : newList) {
                 fileWriter.write(newFile);
@@ -19,7 +19,9 @@ import java.io.IOException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -55,7 +57,7 @@ public class FtpFolderWatcherHandler extends BaseThingHandler {
     private @Nullable File currentFtpListingFile;
     private @Nullable ScheduledFuture<?> executionJob, initJob;
     private FTPClient ftp = new FTPClient();
-    private List<String> previousFtpListing = new ArrayList<>();
+    private Set<String> previousFtpListing = new HashSet<>();
 
     public FtpFolderWatcherHandler(Thing thing) {
         super(thing);
@@ -220,8 +222,12 @@ public class FtpFolderWatcherHandler extends BaseThingHandler {
                 }
                 List<String> currentFtpListing = new ArrayList<>();
                 listDirectory(ftp, ftpRootDir, config.listRecursiveFtp, currentFtpListing);
-                List<String> diffFtpListing = new ArrayList<>(currentFtpListing);
-                diffFtpListing.removeAll(previousFtpListing);
+                List<String> diffFtpListing = new ArrayList<>();
+                for (String file : currentFtpListing) {
+                    if (!previousFtpListing.contains(file)) {
+                        diffFtpListing.add(file);
+                    }
+                }
                 diffFtpListing.forEach(file -> triggerChannel(CHANNEL_NEWFILE, file));
                 if (!diffFtpListing.isEmpty() && currentFtpListingFile != null) {
                     try {
@@ -230,7 +236,7 @@ public class FtpFolderWatcherHandler extends BaseThingHandler {
                         logger.debug("Can't save new listing into file: {}", e2.getMessage());
                     }
                 }
-                previousFtpListing = new ArrayList<>(currentFtpListing);
+                previousFtpListing = new HashSet<>(currentFtpListing);
             } catch (IOException e) {
                 updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
                         "FTP connection lost. " + e.getMessage());
@@ -12,18 +12,29 @@
  */
 package org.openhab.binding.folderwatcher.internal.handler;
 
+import static java.nio.file.StandardWatchEventKinds.*;
 import static org.openhab.binding.folderwatcher.internal.FolderWatcherBindingConstants.CHANNEL_NEWFILE;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
 import java.nio.file.FileVisitResult;
 import java.nio.file.FileVisitor;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -46,16 +57,30 @@ import org.slf4j.LoggerFactory;
  * The {@link LocalFolderWatcherHandler} is responsible for handling commands, which are
  * sent to one of the channels.
  *
+ * The folder is either walked completely at each poll, or watched by a {@link WatchService} whose events are processed
+ * at each poll. In the latter case the folder is still walked completely from time to time and whenever events were
+ * lost.
+ *
  * @author Alexandr Salamatov - Initial contribution
  */
 @NonNullByDefault
 public class LocalFolderWatcherHandler extends BaseThingHandler {
+    // full walk in watch mode, to catch changes not reported by the watch service
+    private static final long FULL_WALK_INTERVAL_NANOS = TimeUnit.HOURS.toNanos(1);
+    // the listing file is compacted when it contains more than twice the existing files plus this many entries
+    private static final int COMPACT_THRESHOLD = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(LocalFolderWatcherHandler.class);
     private LocalFolderWatcherConfiguration config = new LocalFolderWatcherConfiguration();
     private File currentLocalListingFile = new File(OpenHAB.getUserDataFolder() + File.separator + "FolderWatcher"
             + File.separator + thing.getUID().getAsString().replace(':', '_') + ".data");
     private @Nullable ScheduledFuture<?> executionJob;
-    private List<String> previousLocalListing = new ArrayList<>();
+    private Set<String> previousLocalListing = new HashSet<>();
+    private int storedListingEntries;
+    private @Nullable WatchService watchService;
+    private final Map<WatchKey, Path> watchKeys = new HashMap<>();
+    private boolean fullWalkRequired = true;
+    private long lastFullWalk;
 
     public LocalFolderWatcherHandler(Thing thing) {
         super(thing);
@@ -80,6 +105,7 @@ public class LocalFolderWatcherHandler extends BaseThingHandler {
         }
         try {
             previousLocalListing = WatcherCommon.initStorage(currentLocalListingFile, config.localDir);
+            storedListingEntries = previousLocalListing.size();
         } catch (IOException e) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, e.getMessage());
             logger.debug("Can't write file {}: {}", currentLocalListingFile, e.getMessage());
@@ -87,6 +113,14 @@ public class LocalFolderWatcherHandler extends BaseThingHandler {
         }
 
         if (config.pollIntervalLocal > 0) {
+            fullWalkRequired = true;
+            if (config.useWatchServiceLocal) {
+                try {
+                    watchService = FileSystems.getDefault().newWatchService();
+                } catch (IOException | UnsupportedOperationException e) {
+                    logger.debug("Can't create watch service, falling back to polling: {}", e.getMessage());
+                }
+            }
             updateStatus(ThingStatus.ONLINE);
             executionJob = scheduler.scheduleWithFixedDelay(this::refreshFolderInformation, config.pollIntervalLocal,
                     config.pollIntervalLocal, TimeUnit.SECONDS);
@@ -103,60 +137,173 @@ public class LocalFolderWatcherHandler extends BaseThingHandler {
         if (executionJob != null) {
             executionJob.cancel(true);
         }
+        synchronized (this) {
+            watchKeys.keySet().forEach(WatchKey::cancel);
+            watchKeys.clear();
+            WatchService watchService = this.watchService;
+            if (watchService != null) {
+                try {
+                    watchService.close();
+                } catch (IOException e) {
+                    logger.debug("Can't close watch service: {}", e.getMessage());
+                }
+                this.watchService = null;
+            }
+        }
     }
 
-    private void refreshFolderInformation() {
-        final String rootDir = config.localDir;
+    private synchronized void refreshFolderInformation() {
+        WatchService watchService = this.watchService;
         try {
-            List<String> currentLocalListing = new ArrayList<>();
-
-            Files.walkFileTree(Paths.get(rootDir), new FileVisitor<@Nullable Path>() {
-                @Override
-                public FileVisitResult preVisitDirectory(@Nullable Path dir, @Nullable BasicFileAttributes attrs)
-                        throws IOException {
-                    if (dir != null) {
-                        if (!dir.equals(Paths.get(rootDir)) && !config.listRecursiveLocal) {
-                            return FileVisitResult.SKIP_SUBTREE;
-                        }
-                    }
-                    return FileVisitResult.CONTINUE;
-                }
+            if (watchService == null || fullWalkRequired
+                    || System.nanoTime() - lastFullWalk >= FULL_WALK_INTERVAL_NANOS) {
+                refreshFullListing(watchService);
+            } else {
+                processWatchEvents(watchService);
+            }
+        } catch (ClosedWatchServiceException e) {
+            logger.debug("Watch service closed");
+        } catch (IOException e) {
+            logger.debug("File manipulation error: {}", e.getMessage());
+        }
+    }
+
+    private void refreshFullListing(@Nullable WatchService watchService) throws IOException {
+        if (watchService != null) {
+            // pending events are covered by the walk
+            WatchKey key;
+            while ((key = watchService.poll()) != null) {
+                key.pollEvents();
+                resetKey(key);
+            }
+        }
+        Set<String> currentLocalListing = new HashSet<>();
+        walkDirectory(Paths.get(config.localDir), watchService, currentLocalListing);
+        fullWalkRequired = false;
+        lastFullWalk = System.nanoTime();
+
+        List<String> diffLocalListing = new ArrayList<>();
+        for (String file : currentLocalListing) {
+            if (!previousLocalListing.contains(file)) {
+                diffLocalListing.add(file);
+            }
+        }
+        previousLocalListing = currentLocalListing;
+        notifyNewFiles(diffLocalListing);
+
+        if (storedListingEntries > 2 * previousLocalListing.size() + COMPACT_THRESHOLD) {
+            logger.debug("Compacting listing file {}", currentLocalListingFile);
+            WatcherCommon.compactListing(previousLocalListing, currentLocalListingFile, config.localDir);
+            storedListingEntries = previousLocalListing.size();
+        }
+    }
 
-                @Override
-                public FileVisitResult visitFile(@Nullable Path file, @Nullable BasicFileAttributes attrs)
-                        throws IOException {
-                    if (file != null) {
-                        if (Files.isHidden(file) && !config.listHiddenLocal) {
-                            return FileVisitResult.CONTINUE;
+    private void processWatchEvents(WatchService watchService) throws IOException {
+        List<String> newFiles = new ArrayList<>();
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            Path dir = watchKeys.get(key);
+            if (dir == null) {
+                key.cancel();
+                continue;
+            }
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    logger.debug("Events of {} were lost", dir);
+                    fullWalkRequired = true;
+                    continue;
+                }
+                Path child = dir.resolve((Path) event.context());
+                if (event.kind() == ENTRY_CREATE) {
+                    if (Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+                        if (config.listRecursiveLocal) {
+                            // files may have been created before the directory is watched
+                            Set<String> files = new HashSet<>();
+                            walkDirectory(child, watchService, files);
+                            for (String file : files) {
+                                if (previousLocalListing.add(file)) {
+                                    newFiles.add(file);
+                                }
+                            }
+                        }
+                    } else if (isListed(child)) {
+                        String file = child.toAbsolutePath().toString();
+                        if (previousLocalListing.add(file)) {
+                            newFiles.add(file);
                         }
-                        currentLocalListing.add(file.toAbsolutePath().toString());
                     }
-                    return FileVisitResult.CONTINUE;
+                } else if (event.kind() == ENTRY_DELETE) {
+                    previousLocalListing.remove(child.toAbsolutePath().toString());
                 }
+            }
+            resetKey(key);
+        }
+        notifyNewFiles(newFiles);
+    }
 
-                @Override
-                public FileVisitResult visitFileFailed(@Nullable Path file, @Nullable IOException exc)
-                        throws IOException {
-                    return FileVisitResult.CONTINUE;
+    private void resetKey(WatchKey key) {
+        if (!key.reset()) {
+            Path dir = watchKeys.remove(key);
+            if (dir != null && dir.equals(Paths.get(config.localDir))) {
+                // the watched folder was removed or replaced
+                fullWalkRequired = true;
+            }
+        }
+    }
+
+    private void notifyNewFiles(List<String> newFiles) throws IOException {
+        newFiles.forEach(file -> triggerChannel(CHANNEL_NEWFILE, file));
+        if (!newFiles.isEmpty()) {
+            WatcherCommon.saveNewListing(newFiles, currentLocalListingFile);
+            storedListingEntries += newFiles.size();
+        }
+    }
+
+    private boolean isListed(Path file) throws IOException {
+        return config.listHiddenLocal || !Files.isHidden(file);
+    }
+
+    /**
+     * Add the files of the directory to the listing and register the visited directories with the watch service.
+     */
+    private void walkDirectory(Path start, @Nullable WatchService watchService, Set<String> currentLocalListing)
+            throws IOException {
+        final Path rootDir = Paths.get(config.localDir);
+        Files.walkFileTree(start, new FileVisitor<@Nullable Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(@Nullable Path dir, @Nullable BasicFileAttributes attrs)
+                    throws IOException {
+                if (dir != null) {
+                    if (!dir.equals(rootDir) && !config.listRecursiveLocal) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    if (watchService != null) {
+                        watchKeys.put(dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE), dir);
+                    }
                 }
+                return FileVisitResult.CONTINUE;
+            }
 
-                @Override
-                public FileVisitResult postVisitDirectory(@Nullable Path dir, @Nullable IOException exc)
-                        throws IOException {
-                    return FileVisitResult.CONTINUE;
+            @Override
+            public FileVisitResult visitFile(@Nullable Path file, @Nullable BasicFileAttributes attrs)
+                    throws IOException {
+                if (file != null && isListed(file)) {
+                    currentLocalListing.add(file.toAbsolutePath().toString());
                 }
-            });
+                return FileVisitResult.CONTINUE;
+            }
 
-            List<String> diffLocalListing = new ArrayList<>(currentLocalListing);
-            diffLocalListing.removeAll(previousLocalListing);
-            diffLocalListing.forEach(file -> triggerChannel(CHANNEL_NEWFILE, file));
+            @Override
+            public FileVisitResult visitFileFailed(@Nullable Path file, @Nullable IOException exc)
+                    throws IOException {
+                return FileVisitResult.CONTINUE;
+            }
 
-            if (!diffLocalListing.isEmpty()) {
-                WatcherCommon.saveNewListing(diffLocalListing, currentLocalListingFile);
+            @Override
+            public FileVisitResult postVisitDirectory(@Nullable Path dir, @Nullable IOException exc)
+                    throws IOException {
+                return FileVisitResult.CONTINUE;
             }
-            previousLocalListing = new ArrayList<>(currentLocalListing);
-        } catch (IOException e) {
-            logger.debug("File manipulation error: {}", e.getMessage());
-        }
+        });
     }
 }
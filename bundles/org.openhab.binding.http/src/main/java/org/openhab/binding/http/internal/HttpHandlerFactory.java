@@ -15,15 +15,18 @@ package org.openhab.binding.http.internal;
 import static org.openhab.binding.http.internal.HttpBindingConstants.THING_TYPE_URL;
 
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.openhab.binding.http.internal.http.HostRequestScheduler;
 import org.openhab.binding.http.internal.transform.CascadedValueTransformationImpl;
 import org.openhab.binding.http.internal.transform.NoOpValueTransformation;
 import org.openhab.binding.http.internal.transform.ValueTransformation;
 import org.openhab.binding.http.internal.transform.ValueTransformationProvider;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.io.net.http.HttpClientFactory;
 import org.openhab.core.thing.Thing;
 import org.openhab.core.thing.ThingTypeUID;
@@ -53,6 +56,8 @@ public class HttpHandlerFactory extends BaseThingHandlerFactory
 
     private final HttpClient secureClient;
     private final HttpClient insecureClient;
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("thingHandler");
+    private final HostRequestScheduler requestScheduler = new HostRequestScheduler(scheduler);
 
     private final HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider;
 
@@ -74,6 +79,7 @@ public class HttpHandlerFactory extends BaseThingHandlerFactory
 
     @Deactivate
     public void deactivate() {
+        requestScheduler.dispose();
         try {
             secureClient.stop();
             insecureClient.stop();
@@ -93,7 +99,7 @@ public class HttpHandlerFactory extends BaseThingHandlerFactory
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (THING_TYPE_URL.equals(thingTypeUID)) {
-            return new HttpThingHandler(thing, this, this, httpDynamicStateDescriptionProvider);
+            return new HttpThingHandler(thing, this, this, httpDynamicStateDescriptionProvider, requestScheduler);
         }
 
         return null;
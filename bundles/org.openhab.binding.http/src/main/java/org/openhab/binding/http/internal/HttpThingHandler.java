@@ -15,12 +15,15 @@ package org.openhab.binding.http.internal;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
@@ -48,6 +51,7 @@ import org.openhab.binding.http.internal.converter.NumberItemConverter;
 import org.openhab.binding.http.internal.converter.PlayerItemConverter;
 import org.openhab.binding.http.internal.converter.RollershutterItemConverter;
 import org.openhab.binding.http.internal.http.Content;
+import org.openhab.binding.http.internal.http.HostRequestScheduler;
 import org.openhab.binding.http.internal.http.HttpAuthException;
 import org.openhab.binding.http.internal.http.HttpResponseListener;
 import org.openhab.binding.http.internal.http.RateLimitedHttpClient;
@@ -88,17 +92,18 @@ public class HttpThingHandler extends BaseThingHandler {
     private final HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider;
 
     private HttpThingConfig config = new HttpThingConfig();
-    private final Map<String, RefreshingUrlCache> urlHandlers = new HashMap<>();
+    private final Map<String, RefreshingUrlCache> urlHandlers = new ConcurrentHashMap<>();
     private final Map<ChannelUID, ItemValueConverter> channels = new HashMap<>();
     private final Map<ChannelUID, String> channelUrls = new HashMap<>();
 
     public HttpThingHandler(Thing thing, HttpClientProvider httpClientProvider,
             ValueTransformationProvider valueTransformationProvider,
-            HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider) {
+            HttpDynamicStateDescriptionProvider httpDynamicStateDescriptionProvider,
+            HostRequestScheduler requestScheduler) {
         super(thing);
         this.httpClientProvider = httpClientProvider;
         this.httpClient = httpClientProvider.getSecureClient();
-        this.rateLimitedHttpClient = new RateLimitedHttpClient(httpClient, scheduler);
+        this.rateLimitedHttpClient = new RateLimitedHttpClient(httpClient, requestScheduler);
         this.valueTransformationProvider = valueTransformationProvider;
         this.httpDynamicStateDescriptionProvider = httpDynamicStateDescriptionProvider;
     }
@@ -154,6 +159,8 @@ public class HttpThingHandler extends BaseThingHandler {
         }
         rateLimitedHttpClient.setHttpClient(httpClient);
         rateLimitedHttpClient.setDelay(config.delay);
+        rateLimitedHttpClient.setTimeout(config.timeout);
+        rateLimitedHttpClient.setMaxConcurrentRequests(config.maxConcurrentRequests);
 
         int channelCount = thing.getChannels().size();
         if (channelCount * config.delay > config.refresh * 1000) {
@@ -206,6 +213,19 @@ public class HttpThingHandler extends BaseThingHandler {
         updateStatus(ThingStatus.ONLINE);
     }
 
+    public List<String> listStatisticsForConsole() {
+        List<String> statistics = new ArrayList<>();
+        for (RefreshingUrlCache cache : urlHandlers.values()) {
+            statistics.add(cache.getUrl() + ": " + cache.getBytesSaved() + " bytes not transferred, "
+                    + cache.getConversionsSkipped() + " conversions skipped");
+        }
+        if (statistics.isEmpty()) {
+            statistics.add("No state URL is refreshed");
+        }
+        statistics.addAll(rateLimitedHttpClient.listHostStatisticsForConsole());
+        return statistics;
+    }
+
     @Override
     public void dispose() {
         // stop update tasks
@@ -293,7 +313,7 @@ public class HttpThingHandler extends BaseThingHandler {
             String key = channelConfig.stateContent + "$" + stateUrl;
             channelUrls.put(channelUID, key);
             urlHandlers.computeIfAbsent(key, k -> new RefreshingUrlCache(scheduler, rateLimitedHttpClient, stateUrl,
-                    config, channelConfig.stateContent)).addConsumer(itemValueConverter::process);
+                    config, channelConfig.stateContent)).addConsumer(itemValueConverter);
         }
 
         StateDescription stateDescription = StateDescriptionFragmentBuilder.create()
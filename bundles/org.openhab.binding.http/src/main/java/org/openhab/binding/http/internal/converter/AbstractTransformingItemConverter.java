@@ -30,6 +30,9 @@ import org.openhab.core.types.State;
  */
 @NonNullByDefault
 public abstract class AbstractTransformingItemConverter implements ItemValueConverter {
+    private static final Runnable NO_UPDATE = () -> {
+    };
+
     private final Consumer<State> updateState;
     private final Consumer<Command> postCommand;
     private final @Nullable Consumer<String> sendHttpValue;
@@ -38,6 +41,9 @@ public abstract class AbstractTransformingItemConverter implements ItemValueConv
 
     protected HttpChannelConfig channelConfig;
 
+    // re-posts the result of the last conversion
+    private @Nullable Runnable lastUpdate;
+
     public AbstractTransformingItemConverter(Consumer<State> updateState, Consumer<Command> postCommand,
             @Nullable Consumer<String> sendHttpValue, ValueTransformation stateTransformations,
             ValueTransformation commandTransformations, HttpChannelConfig channelConfig) {
@@ -52,19 +58,37 @@ public abstract class AbstractTransformingItemConverter implements ItemValueConv
     @Override
     public void process(Content content) {
         if (channelConfig.mode != HttpChannelMode.WRITEONLY) {
-            stateTransformations.apply(content.getAsString()).ifPresent(transformedValue -> {
-                Command command = toCommand(transformedValue);
-                if (command != null) {
-                    postCommand.accept(command);
-                } else {
-                    updateState.accept(toState(transformedValue));
-                }
-            });
+            Runnable update = stateTransformations.apply(content.getAsString()).map(this::toUpdate).orElse(NO_UPDATE);
+            lastUpdate = update;
+            update.run();
         } else {
             throw new IllegalStateException("Write-only channel");
         }
     }
 
+    @Override
+    public void processUnchanged(Content content) {
+        Runnable update = lastUpdate;
+        if (update != null) {
+            update.run();
+        } else {
+            process(content);
+        }
+    }
+
+    private Runnable toUpdate(String value) {
+        Command command = toCommand(value);
+        if (command != null) {
+            return postCommand(command);
+        }
+        State state = toState(value);
+        return () -> updateState.accept(state);
+    }
+
+    private Runnable postCommand(Command command) {
+        return () -> postCommand.accept(command);
+    }
+
     @Override
     public void send(Command command) {
         Consumer<String> sendHttpValue = this.sendHttpValue;
@@ -15,6 +15,7 @@ package org.openhab.binding.http.internal.converter;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.http.internal.http.Content;
 import org.openhab.core.library.types.RawType;
 import org.openhab.core.types.Command;
@@ -29,6 +30,7 @@ import org.openhab.core.types.State;
 @NonNullByDefault
 public class ImageItemConverter implements ItemValueConverter {
     private final Consumer<State> updateState;
+    private @Nullable State lastState;
 
     public ImageItemConverter(Consumer<State> updateState) {
         this.updateState = updateState;
@@ -37,8 +39,19 @@ public class ImageItemConverter implements ItemValueConverter {
     @Override
     public void process(Content content) {
         String mediaType = content.getMediaType();
-        updateState.accept(
-                new RawType(content.getRawContent(), mediaType != null ? mediaType : RawType.DEFAULT_MIME_TYPE));
+        State state = new RawType(content.getRawContent(), mediaType != null ? mediaType : RawType.DEFAULT_MIME_TYPE);
+        lastState = state;
+        updateState.accept(state);
+    }
+
+    @Override
+    public void processUnchanged(Content content) {
+        State state = lastState;
+        if (state != null) {
+            updateState.accept(state);
+        } else {
+            process(content);
+        }
     }
 
     @Override
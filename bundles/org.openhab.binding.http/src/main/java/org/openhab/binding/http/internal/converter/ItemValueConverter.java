@@ -32,6 +32,16 @@ public interface ItemValueConverter {
      */
     void process(Content content);
 
+    /**
+     * called to process content which is unchanged since the last call of {@link #process(Content)}, the result of
+     * the last conversion can be posted again instead of converting the content again
+     *
+     * @param content content of the HTTP request
+     */
+    default void processUnchanged(Content content) {
+        process(content);
+    }
+
     /**
      * called to send a command to this channel
      *
@@ -14,6 +14,8 @@ package org.openhab.binding.http.internal.http;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -28,10 +30,26 @@ public class Content {
     private final byte[] rawContent;
     private final Charset encoding;
     private final @Nullable String mediaType;
+    private final @Nullable String eTag;
+    private final @Nullable String lastModified;
 
     public Content(byte[] rawContent, String encoding, @Nullable String mediaType) {
+        this(rawContent, encoding, mediaType, null, null);
+    }
+
+    /**
+     * @param rawContent the content
+     * @param encoding the encoding of the content
+     * @param mediaType the media type of the content
+     * @param eTag the ETag header of the response, if any
+     * @param lastModified the Last-Modified header of the response, if any
+     */
+    public Content(byte[] rawContent, String encoding, @Nullable String mediaType, @Nullable String eTag,
+            @Nullable String lastModified) {
         this.rawContent = rawContent;
         this.mediaType = mediaType;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
 
         Charset finalEncoding = StandardCharsets.UTF_8;
         try {
@@ -52,4 +70,23 @@ public class Content {
     public @Nullable String getMediaType() {
         return mediaType;
     }
+
+    public @Nullable String getETag() {
+        return eTag;
+    }
+
+    public @Nullable String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Check if this content is identical to other content, disregarding the response headers
+     *
+     * @param other the content to compare with
+     * @return true if the raw content, encoding and media type are equal
+     */
+    public boolean hasSameContent(Content other) {
+        return Arrays.equals(rawContent, other.rawContent) && encoding.equals(other.encoding)
+                && Objects.equals(mediaType, other.mediaType);
+    }
 }
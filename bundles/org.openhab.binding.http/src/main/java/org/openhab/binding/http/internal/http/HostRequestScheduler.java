@@ -0,0 +1,380 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.util.StringContentProvider;
+import org.eclipse.jetty.http.HttpMethod;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link HostRequestScheduler} schedules the requests of all things of the binding per host (and port). It limits
+ * the number of concurrent requests to each host as configured by the things and spaces the requests of each thing by
+ * the delay configured by the thing. Identical requests of different things which are in flight at the same time are
+ * only sent once.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HostRequestScheduler {
+    private static final int MAX_QUEUE_SIZE = 1000; // maximum queue size per host
+    // a request which has not completed after twice its timeout no longer counts as in flight, e.g. when it was
+    // never sent, requests without timeout expire after this time
+    private static final long MAX_REQUEST_DURATION = TimeUnit.SECONDS.toNanos(60);
+    private static final int STATISTICS_LOG_PERIOD = 300; // in s
+
+    private final Logger logger = LoggerFactory.getLogger(HostRequestScheduler.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, HostQueue> hostQueues = new ConcurrentHashMap<>();
+    private final Map<Object, CompletableFuture<@Nullable Content>> inFlightRequests = new ConcurrentHashMap<>();
+    private final ScheduledFuture<?> statisticsJob;
+
+    public HostRequestScheduler(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+        statisticsJob = scheduler.scheduleWithFixedDelay(this::logStatistics, STATISTICS_LOG_PERIOD,
+                STATISTICS_LOG_PERIOD, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stop the scheduler and cancel all queued requests
+     */
+    public void dispose() {
+        statisticsJob.cancel(false);
+        hostQueues.values().forEach(hostQueue -> hostQueue.cancel(null));
+        hostQueues.clear();
+    }
+
+    /**
+     * Create a new request to the given URL as soon as the host accepts another request
+     *
+     * @param owner the client the request is created for
+     * @param httpClient the client to create the request
+     * @param finalUrl the request URL
+     * @param method http request method GET/PUT/POST
+     * @param content the content (if method PUT/POST)
+     * @param delay in ms before the next request of the same owner to the same host may be created
+     * @param timeout in ms of the request, 0 for none
+     * @param maxConcurrentRequests the maximum number of requests in flight to the host when the request is created
+     * @return a CompletableFuture that completes with the request
+     */
+    public CompletableFuture<Request> newRequest(Object owner, HttpClient httpClient, URI finalUrl, HttpMethod method,
+            String content, int delay, int timeout, int maxConcurrentRequests) {
+        CompletableFuture<Request> future = new CompletableFuture<>();
+        RequestQueueEntry queueEntry = new RequestQueueEntry(owner, httpClient, finalUrl, method, content, delay,
+                timeout, maxConcurrentRequests, future);
+        String host = finalUrl.getHost() + ":" + finalUrl.getPort();
+        hostQueues.computeIfAbsent(host, HostQueue::new).add(queueEntry);
+        return future;
+    }
+
+    /**
+     * Cancel all queued requests of the given owner
+     *
+     * @param owner the client the requests were created for
+     */
+    public void cancel(Object owner) {
+        hostQueues.values().forEach(hostQueue -> hostQueue.cancel(owner));
+    }
+
+    /**
+     * Join an identical request which is already in flight. If there is none, the given future is registered as in
+     * flight until it is completed, and the caller has to send the request.
+     *
+     * @param key the key identifying identical requests
+     * @param future the future completed with the content of the request
+     * @return true if an identical request is in flight, which will complete the given future
+     */
+    public boolean joinInFlightRequest(Object key, CompletableFuture<@Nullable Content> future) {
+        CompletableFuture<@Nullable Content> inFlightRequest = inFlightRequests.putIfAbsent(key, future);
+        if (inFlightRequest == null) {
+            future.whenComplete((content, e) -> inFlightRequests.remove(key, future));
+            return false;
+        }
+        inFlightRequest.whenComplete((content, e) -> {
+            if (e != null) {
+                future.completeExceptionally(e);
+            } else {
+                future.complete(content);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * @return the request statistics of every host since the binding started
+     */
+    public List<String> listStatisticsForConsole() {
+        List<String> statistics = new ArrayList<>();
+        hostQueues.values().forEach(hostQueue -> statistics.add(hostQueue.getStatistics()));
+        return statistics;
+    }
+
+    private void logStatistics() {
+        hostQueues.values().forEach(HostQueue::logStatistics);
+    }
+
+    private class HostQueue {
+        private final String host;
+        private final Deque<RequestQueueEntry> queue = new ArrayDeque<>();
+        // time after which the requests in flight no longer count as in flight
+        private final Map<Request, Long> inFlight = new IdentityHashMap<>();
+        // start time of the requests in flight
+        private final Map<Request, Long> startTimes = new IdentityHashMap<>();
+        // time before which no further request of an owner may be created, because of its delay
+        private final Map<Object, Long> nextRequestTimes = new IdentityHashMap<>();
+        private @Nullable ScheduledFuture<?> serveJob;
+        private long serveJobTime;
+
+        // statistics since last log
+        private long requests = 0;
+        private long totalLatency = 0;
+        private long maxLatency = 0;
+
+        // statistics since the binding started
+        private long allRequests = 0;
+        private long allTotalLatency = 0;
+        private long allMaxLatency = 0;
+
+        public HostQueue(String host) {
+            this.host = host;
+        }
+
+        public void add(RequestQueueEntry queueEntry) {
+            synchronized (this) {
+                if (queue.size() >= MAX_QUEUE_SIZE) {
+                    queueEntry.future
+                            .completeExceptionally(new RejectedExecutionException("Maximum queue size exceeded."));
+                    return;
+                }
+                queue.add(queueEntry);
+            }
+            serve();
+        }
+
+        public void cancel(@Nullable Object owner) {
+            List<RequestQueueEntry> cancelled = new ArrayList<>();
+            synchronized (this) {
+                queue.removeIf(queueEntry -> {
+                    if (owner == null || queueEntry.owner == owner) {
+                        cancelled.add(queueEntry);
+                        return true;
+                    }
+                    return false;
+                });
+                if (owner == null) {
+                    nextRequestTimes.clear();
+                } else {
+                    nextRequestTimes.remove(owner);
+                }
+            }
+            cancelled.forEach(queueEntry -> queueEntry.future.completeExceptionally(new CancellationException()));
+        }
+
+        /**
+         * Create the requests the host is ready for, the futures are completed outside of the lock as the callers
+         * send the requests from there
+         */
+        private void serve() {
+            List<RequestQueueEntry> ready = new ArrayList<>();
+            List<Request> created = new ArrayList<>();
+            synchronized (this) {
+                long now = System.nanoTime();
+                inFlight.entrySet().removeIf(entry -> {
+                    if (now - entry.getValue() > 0) {
+                        startTimes.remove(entry.getKey());
+                        return true;
+                    }
+                    return false;
+                });
+                nextRequestTimes.values().removeIf(time -> now - time >= 0);
+                // the earliest time at which a waiting request may become ready
+                Long wakeUpTime = null;
+                Iterator<RequestQueueEntry> iterator = queue.iterator();
+                while (iterator.hasNext()) {
+                    RequestQueueEntry queueEntry = iterator.next();
+                    Long nextRequestTime = nextRequestTimes.get(queueEntry.owner);
+                    if (nextRequestTime != null) {
+                        wakeUpTime = earliest(wakeUpTime, nextRequestTime);
+                        continue;
+                    }
+                    if (inFlight.size() >= queueEntry.maxConcurrentRequests) {
+                        // waits for a request to complete, or to expire
+                        wakeUpTime = earliest(wakeUpTime, inFlight.values().stream().min(Long::compare).orElse(now));
+                        continue;
+                    }
+                    iterator.remove();
+                    Request request = queueEntry.createRequest();
+                    // the slot is released by the first of these listeners, a failed request may only complete when
+                    // its response has failed, too
+                    request.onRequestFailure((failedRequest, failure) -> completed(request));
+                    request.onResponseFailure((response, failure) -> completed(request));
+                    request.onComplete(result -> completed(request));
+                    inFlight.put(request, now + queueEntry.maxDuration());
+                    startTimes.put(request, now);
+                    if (queueEntry.delay > 0) {
+                        nextRequestTimes.put(queueEntry.owner, now + TimeUnit.MILLISECONDS.toNanos(queueEntry.delay));
+                    }
+                    ready.add(queueEntry);
+                    created.add(request);
+                }
+                if (wakeUpTime != null) {
+                    scheduleServe(now, wakeUpTime);
+                }
+            }
+            for (int i = 0; i < ready.size(); i++) {
+                Request request = created.get(i);
+                if (!ready.get(i).future.complete(request)) {
+                    // the request was cancelled by the caller and will never be sent
+                    completed(request);
+                }
+            }
+        }
+
+        private Long earliest(@Nullable Long time, long other) {
+            return time == null || other - time < 0 ? other : time;
+        }
+
+        /**
+         * Schedule serving the queue at the given time, unless it is already scheduled for an earlier time
+         */
+        private void scheduleServe(long now, long time) {
+            ScheduledFuture<?> serveJob = this.serveJob;
+            if (serveJob != null) {
+                if (serveJobTime - time <= 0) {
+                    return;
+                }
+                serveJob.cancel(false);
+            }
+            serveJobTime = time;
+            this.serveJob = scheduler.schedule(this::serveDelayed, Math.max(0, time - now), TimeUnit.NANOSECONDS);
+        }
+
+        private void serveDelayed() {
+            synchronized (this) {
+                serveJob = null;
+            }
+            serve();
+        }
+
+        private void completed(Request request) {
+            synchronized (this) {
+                inFlight.remove(request);
+                Long startTime = startTimes.remove(request);
+                if (startTime == null) {
+                    // already released
+                    return;
+                }
+                long latency = System.nanoTime() - startTime;
+                requests++;
+                totalLatency += latency;
+                maxLatency = Math.max(maxLatency, latency);
+                allRequests++;
+                allTotalLatency += latency;
+                allMaxLatency = Math.max(allMaxLatency, latency);
+                if (queue.isEmpty()) {
+                    return;
+                }
+            }
+            serve();
+        }
+
+        public String getStatistics() {
+            synchronized (this) {
+                return String.format("Host %s: %d requests, average latency %d ms, maximum latency %d ms, %d queued, "
+                        + "%d in flight", host, allRequests,
+                        allRequests > 0 ? TimeUnit.NANOSECONDS.toMillis(allTotalLatency / allRequests) : 0,
+                        TimeUnit.NANOSECONDS.toMillis(allMaxLatency), queue.size(), inFlight.size());
+            }
+        }
+
+        public void logStatistics() {
+            synchronized (this) {
+                if (requests > 0) {
+                    logger.debug("Host {}: {} requests, average latency {} ms, maximum latency {} ms, {} queued", host,
+                            requests, TimeUnit.NANOSECONDS.toMillis(totalLatency / requests),
+                            TimeUnit.NANOSECONDS.toMillis(maxLatency), queue.size());
+                }
+                requests = 0;
+                totalLatency = 0;
+                maxLatency = 0;
+            }
+        }
+    }
+
+    private static class RequestQueueEntry {
+        private final Object owner;
+        private final HttpClient httpClient;
+        private final URI finalUrl;
+        private final HttpMethod method;
+        private final String content;
+        private final int delay;
+        private final int timeout;
+        private final int maxConcurrentRequests;
+        private final CompletableFuture<Request> future;
+
+        public RequestQueueEntry(Object owner, HttpClient httpClient, URI finalUrl, HttpMethod method, String content,
+                int delay, int timeout, int maxConcurrentRequests, CompletableFuture<Request> future) {
+            this.owner = owner;
+            this.httpClient = httpClient;
+            this.finalUrl = finalUrl;
+            this.method = method;
+            this.content = content;
+            this.delay = delay;
+            this.timeout = timeout;
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            this.future = future;
+        }
+
+        /**
+         * @return the time in ns after which the request no longer counts as in flight
+         */
+        public long maxDuration() {
+            return timeout > 0 ? 2 * TimeUnit.MILLISECONDS.toNanos(timeout) : MAX_REQUEST_DURATION;
+        }
+
+        /**
+         * create the request
+         */
+        public Request createRequest() {
+            Request request = httpClient.newRequest(finalUrl).method(method);
+            if (timeout > 0) {
+                request.timeout(timeout, TimeUnit.MILLISECONDS);
+            }
+            if (method != HttpMethod.GET && !content.isEmpty()) {
+                request.content(new StringContentProvider(content));
+            }
+            return request;
+        }
+    }
+}
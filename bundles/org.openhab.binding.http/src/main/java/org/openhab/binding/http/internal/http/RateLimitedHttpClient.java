@@ -13,49 +13,40 @@
 package org.openhab.binding.http.internal.http;
 
 import java.net.URI;
-import java.util.concurrent.CancellationException;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.AuthenticationStore;
 import org.eclipse.jetty.client.api.Request;
-import org.eclipse.jetty.client.util.StringContentProvider;
 import org.eclipse.jetty.http.HttpMethod;
 
 /**
  * The {@link RateLimitedHttpClient} is a wrapper for a Jetty HTTP client that limits the number of requests by delaying
- * the request creation
+ * the request creation. The requests are queued per host by the binding wide {@link HostRequestScheduler}.
  *
  * @author Jan N. Klug - Initial contribution
  */
 @NonNullByDefault
 public class RateLimitedHttpClient {
-    private static final int MAX_QUEUE_SIZE = 1000; // maximum queue size
     private HttpClient httpClient;
     private int delay = 0; // in ms
-    private final ScheduledExecutorService scheduler;
-    private final LinkedBlockingQueue<RequestQueueEntry> requestQueue = new LinkedBlockingQueue<>(MAX_QUEUE_SIZE);
+    private int timeout = 0; // in ms
+    private int maxConcurrentRequests = 4; // per host
+    private final HostRequestScheduler requestScheduler;
 
-    private @Nullable ScheduledFuture<?> processJob;
-
-    public RateLimitedHttpClient(HttpClient httpClient, ScheduledExecutorService scheduler) {
+    public RateLimitedHttpClient(HttpClient httpClient, HostRequestScheduler requestScheduler) {
         this.httpClient = httpClient;
-        this.scheduler = scheduler;
+        this.requestScheduler = requestScheduler;
     }
 
     /**
      * Stop processing the queue and clear it
      */
     public void shutdown() {
-        stopProcessJob();
-        requestQueue.forEach(queueEntry -> queueEntry.future.completeExceptionally(new CancellationException()));
+        requestScheduler.cancel(this);
     }
 
     /**
@@ -68,10 +59,30 @@ public class RateLimitedHttpClient {
             throw new IllegalArgumentException("Delay needs to be larger or equal to zero");
         }
         this.delay = delay;
-        stopProcessJob();
-        if (delay != 0) {
-            processJob = scheduler.scheduleWithFixedDelay(this::processQueue, 0, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Set the request timeout
+     *
+     * @param timeout in ms, 0 for none
+     */
+    public void setTimeout(int timeout) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("Timeout needs to be larger or equal to zero");
         }
+        this.timeout = timeout;
+    }
+
+    /**
+     * Set the maximum number of concurrent requests to a host
+     *
+     * @param maxConcurrentRequests the maximum number of requests in flight to the host of a new request
+     */
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("Maximum number of concurrent requests needs to be at least one");
+        }
+        this.maxConcurrentRequests = maxConcurrentRequests;
     }
 
     /**
@@ -92,67 +103,35 @@ public class RateLimitedHttpClient {
      * @return a CompletableFuture that completes with the request
      */
     public CompletableFuture<Request> newRequest(URI finalUrl, HttpMethod method, String content) {
-        // if no delay is set, return a completed CompletableFuture
-        CompletableFuture<Request> future = new CompletableFuture<>();
-        RequestQueueEntry queueEntry = new RequestQueueEntry(finalUrl, method, content, future);
-        if (delay == 0) {
-            queueEntry.completeFuture(httpClient);
-        } else {
-            if (!requestQueue.offer(queueEntry)) {
-                future.completeExceptionally(new RejectedExecutionException("Maximum queue size exceeded."));
-            }
-        }
-        return future;
+        return requestScheduler.newRequest(this, httpClient, finalUrl, method, content, delay, timeout,
+                maxConcurrentRequests);
     }
 
     /**
-     * Get the AuthenticationStore from the wrapped client
+     * Join an identical request of any thing which is already in flight, see
+     * {@link HostRequestScheduler#joinInFlightRequest(Object, CompletableFuture)}
      *
-     * @return
+     * @param key the key identifying identical requests made with the same HTTP client
+     * @param future the future completed with the content of the request
+     * @return true if an identical request is in flight, which will complete the given future
      */
-    public AuthenticationStore getAuthenticationStore() {
-        return httpClient.getAuthenticationStore();
+    public boolean joinInFlightRequest(Object key, CompletableFuture<@Nullable Content> future) {
+        return requestScheduler.joinInFlightRequest(List.of(httpClient, key), future);
     }
 
-    private void stopProcessJob() {
-        ScheduledFuture<?> processJob = this.processJob;
-        if (processJob != null) {
-            processJob.cancel(false);
-            this.processJob = null;
-        }
-    }
-
-    private void processQueue() {
-        RequestQueueEntry queueEntry = requestQueue.poll();
-        if (queueEntry != null) {
-            queueEntry.completeFuture(httpClient);
-        }
+    /**
+     * @return the request statistics of every host, see {@link HostRequestScheduler#listStatisticsForConsole()}
+     */
+    public List<String> listHostStatisticsForConsole() {
+        return requestScheduler.listStatisticsForConsole();
     }
 
-    private static class RequestQueueEntry {
-        private URI finalUrl;
-        private HttpMethod method;
-        private String content;
-        private CompletableFuture<Request> future;
-
-        public RequestQueueEntry(URI finalUrl, HttpMethod method, String content, CompletableFuture<Request> future) {
-            this.finalUrl = finalUrl;
-            this.method = method;
-            this.content = content;
-            this.future = future;
-        }
-
-        /**
-         * complete the future with a request
-         *
-         * @param httpClient the client to create the request
-         */
-        public void completeFuture(HttpClient httpClient) {
-            Request request = httpClient.newRequest(finalUrl).method(method);
-            if (method != HttpMethod.GET && !content.isEmpty()) {
-                request.content(new StringContentProvider(content));
-            }
-            future.complete(request);
-        }
+    /**
+     * Get the AuthenticationStore from the wrapped client
+     *
+     * @return
+     */
+    public AuthenticationStore getAuthenticationStore() {
+        return httpClient.getAuthenticationStore();
     }
 }
@@ -17,6 +17,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Date;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
@@ -25,15 +26,17 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.api.Authentication;
 import org.eclipse.jetty.client.api.AuthenticationStore;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
 import org.openhab.binding.http.internal.Util;
 import org.openhab.binding.http.internal.config.HttpThingConfig;
+import org.openhab.binding.http.internal.converter.ItemValueConverter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,6 +48,8 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class RefreshingUrlCache {
+    private static final long INITIAL_REFRESH_DELAY = 1000; // in ms
+
     private final Logger logger = LoggerFactory.getLogger(RefreshingUrlCache.class);
 
     private final String url;
@@ -52,14 +57,20 @@ public class RefreshingUrlCache {
     private final int timeout;
     private final int bufferSize;
     private final @Nullable String fallbackEncoding;
-    private final Set<Consumer<Content>> consumers = ConcurrentHashMap.newKeySet();
+    private final Set<ItemValueConverter> consumers = ConcurrentHashMap.newKeySet();
+    // consumers which have not yet processed the last content
+    private final Set<ItemValueConverter> pendingConsumers = ConcurrentHashMap.newKeySet();
     private final List<String> headers;
     private final HttpMethod httpMethod;
     private final String httpContent;
 
     private final ScheduledFuture<?> future;
+    private final @Nullable ScheduledFuture<?> initialRefreshFuture;
     private @Nullable Content lastContent;
 
+    private final AtomicLong bytesSaved = new AtomicLong();
+    private final AtomicLong conversionsSkipped = new AtomicLong();
+
     public RefreshingUrlCache(ScheduledExecutorService executor, RateLimitedHttpClient httpClient, String url,
             HttpThingConfig thingConfig, String httpContent) {
         this.httpClient = httpClient;
@@ -71,8 +82,17 @@ public class RefreshingUrlCache {
         this.httpContent = httpContent;
         fallbackEncoding = thingConfig.encoding;
 
-        future = executor.scheduleWithFixedDelay(this::refresh, 1, thingConfig.refresh, TimeUnit.SECONDS);
-        logger.trace("Started refresh task for URL '{}' with interval {}s", url, thingConfig.refresh);
+        // The refreshes of the same URL are aligned to the same phase of the interval in all things, so that they
+        // can share their requests, while the refreshes of different URLs are spread over the interval.
+        long refreshMillis = TimeUnit.SECONDS.toMillis(thingConfig.refresh);
+        long phase = Math.floorMod((httpContent + "$" + url).hashCode(), refreshMillis);
+        long initialDelay = Math.floorMod(phase - System.currentTimeMillis(), refreshMillis);
+        future = executor.scheduleAtFixedRate(this::refresh, initialDelay, refreshMillis, TimeUnit.MILLISECONDS);
+        initialRefreshFuture = initialDelay > 2 * INITIAL_REFRESH_DELAY
+                ? executor.schedule(() -> refresh(false), INITIAL_REFRESH_DELAY, TimeUnit.MILLISECONDS)
+                : null;
+        logger.trace("Started refresh task for URL '{}' with interval {}s, first aligned refresh in {}ms", url,
+                thingConfig.refresh, initialDelay);
     }
 
     private void refresh() {
@@ -90,6 +110,36 @@ public class RefreshingUrlCache {
             URI uri = Util.uriFromString(String.format(this.url, new Date()));
             logger.trace("Requesting refresh (retry={}) from '{}' with timeout {}ms", isRetry, uri, timeout);
 
+            CompletableFuture<@Nullable Content> response = new CompletableFuture<>();
+            response.exceptionally(e -> {
+                if (e instanceof HttpAuthException) {
+                    if (isRetry) {
+                        logger.warn("Retry after authentication failure failed again for '{}', failing here", uri);
+                    } else {
+                        AuthenticationStore authStore = httpClient.getAuthenticationStore();
+                        Authentication.Result authResult = authStore.findAuthenticationResult(uri);
+                        if (authResult != null) {
+                            authStore.removeAuthenticationResult(authResult);
+                            logger.debug("Cleared authentication result for '{}', retrying immediately", uri);
+                            refresh(true);
+                        } else {
+                            logger.warn("Could not find authentication result for '{}', failing here", uri);
+                        }
+                    }
+                }
+                return null;
+            }).thenAccept(this::processResult);
+
+            // share the response of an identical request from another thing, if one is in flight, only requests
+            // without side effects are shared
+            boolean shareable = httpMethod == HttpMethod.GET || httpMethod == HttpMethod.HEAD;
+            List<Object> requestKey = List.of(uri, httpMethod, httpContent, List.copyOf(headers), timeout, bufferSize,
+                    Objects.toString(fallbackEncoding));
+            if (shareable && !isRetry && httpClient.joinInFlightRequest(requestKey, response)) {
+                logger.trace("Sharing in-flight request to '{}'", uri);
+                return;
+            }
+
             httpClient.newRequest(uri, httpMethod, httpContent).thenAccept(request -> {
                 request.timeout(timeout, TimeUnit.MILLISECONDS);
 
@@ -102,37 +152,32 @@ public class RefreshingUrlCache {
                     }
                 });
 
-                CompletableFuture<@Nullable Content> response = new CompletableFuture<>();
-                response.exceptionally(e -> {
-                    if (e instanceof HttpAuthException) {
-                        if (isRetry) {
-                            logger.warn("Retry after authentication failure failed again for '{}', failing here", uri);
-                        } else {
-                            AuthenticationStore authStore = httpClient.getAuthenticationStore();
-                            Authentication.Result authResult = authStore.findAuthenticationResult(uri);
-                            if (authResult != null) {
-                                authStore.removeAuthenticationResult(authResult);
-                                logger.debug("Cleared authentication result for '{}', retrying immediately", uri);
-                                refresh(true);
-                            } else {
-                                logger.warn("Could not find authentication result for '{}', failing here", uri);
-                            }
-                        }
+                // conditional request, the last content is reused if the server reports it as not modified
+                Content cachedContent = httpMethod == HttpMethod.GET ? lastContent : null;
+                if (cachedContent != null) {
+                    String eTag = cachedContent.getETag();
+                    if (eTag != null) {
+                        request.header(HttpHeader.IF_NONE_MATCH, eTag);
                     }
-                    return null;
-                }).thenAccept(this::processResult);
+                    String lastModified = cachedContent.getLastModified();
+                    if (lastModified != null) {
+                        request.header(HttpHeader.IF_MODIFIED_SINCE, lastModified);
+                    }
+                }
 
                 if (logger.isTraceEnabled()) {
                     logger.trace("Sending to '{}': {}", uri, Util.requestToLogString(request));
                 }
 
-                request.send(new HttpResponseListener(response, fallbackEncoding, bufferSize));
+                request.send(new HttpResponseListener(response, fallbackEncoding, bufferSize, cachedContent));
             }).exceptionally(e -> {
                 if (e instanceof CancellationException) {
                     logger.debug("Request to URL {} was cancelled by thing handler.", uri);
                 } else {
                     logger.warn("Request to URL {} failed: {}", uri, e.getMessage());
                 }
+                // release things sharing this request
+                response.completeExceptionally(e);
                 return null;
             });
         } catch (IllegalArgumentException | URISyntaxException | MalformedURLException e) {
@@ -143,12 +188,37 @@ public class RefreshingUrlCache {
     public void stop() {
         // clearing all listeners to prevent further updates
         consumers.clear();
+        pendingConsumers.clear();
         future.cancel(false);
-        logger.trace("Stopped refresh task for URL '{}'", url);
+        ScheduledFuture<?> initialRefreshFuture = this.initialRefreshFuture;
+        if (initialRefreshFuture != null) {
+            initialRefreshFuture.cancel(false);
+        }
+        logger.debug("Stopped refresh task for URL '{}' ({} bytes not transferred, {} conversions skipped)", url,
+                bytesSaved.get(), conversionsSkipped.get());
     }
 
-    public void addConsumer(Consumer<Content> consumer) {
+    public void addConsumer(ItemValueConverter consumer) {
         consumers.add(consumer);
+        pendingConsumers.add(consumer);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return the number of bytes which did not have to be transferred because the content was not modified
+     */
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    /**
+     * @return the number of consumer conversions skipped because the content was unchanged
+     */
+    public long getConversionsSkipped() {
+        return conversionsSkipped.get();
     }
 
     public Optional<Content> get() {
@@ -162,14 +232,44 @@ public class RefreshingUrlCache {
 
     private void processResult(@Nullable Content content) {
         if (content != null) {
-            for (Consumer<Content> consumer : consumers) {
-                try {
-                    consumer.accept(content);
-                } catch (IllegalArgumentException | IllegalStateException e) {
-                    logger.warn("Failed processing result for URL {}: {}", url, e.getMessage());
+            Content previousContent = lastContent;
+            if (previousContent == null || (content != previousContent && !content.hasSameContent(previousContent))) {
+                consumers.forEach(consumer -> process(consumer, content));
+            } else {
+                // unchanged content only needs to be converted by consumers added since the last change, all other
+                // consumers post the result of their last conversion again
+                if (content == previousContent) {
+                    bytesSaved.addAndGet(content.getRawContent().length);
                 }
+                conversionsSkipped.addAndGet(consumers.size() - pendingConsumers.size());
+                consumers.forEach(consumer -> {
+                    if (pendingConsumers.contains(consumer)) {
+                        process(consumer, content);
+                    } else {
+                        processUnchanged(consumer, content);
+                    }
+                });
+                logger.trace("Content of URL '{}' is unchanged ({}), skipped conversions", url,
+                        content == previousContent ? "not modified" : "same content");
             }
         }
         lastContent = content;
     }
+
+    private void process(ItemValueConverter consumer, Content content) {
+        pendingConsumers.remove(consumer);
+        try {
+            consumer.process(content);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            logger.warn("Failed processing result for URL {}: {}", url, e.getMessage());
+        }
+    }
+
+    private void processUnchanged(ItemValueConverter consumer, Content content) {
+        try {
+            consumer.processUnchanged(content);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            logger.warn("Failed processing result for URL {}: {}", url, e.getMessage());
+        }
+    }
 }
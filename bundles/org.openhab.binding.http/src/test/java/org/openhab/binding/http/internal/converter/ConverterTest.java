@@ -12,12 +12,17 @@
  */
 package org.openhab.binding.http.internal.converter;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.openhab.binding.http.internal.config.HttpChannelConfig;
+import org.openhab.binding.http.internal.http.Content;
 import org.openhab.binding.http.internal.transform.NoOpValueTransformation;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.PointType;
@@ -36,6 +41,7 @@ import org.openhab.core.types.UnDefType;
  */
 @NonNullByDefault
 public class ConverterTest {
+    private final List<State> updatedStates = new ArrayList<>();
 
     @Test
     public void numberItemConverter() {
@@ -90,10 +96,30 @@ public class ConverterTest {
                 converter.toState("51.1, 7.2, 100"));
     }
 
+    @Test
+    public void unchangedContentRepostsState() {
+        AtomicInteger conversions = new AtomicInteger();
+        GenericItemConverter converter = createConverter(value -> {
+            conversions.incrementAndGet();
+            return new StringType(value);
+        });
+        Content content = new Content("Test".getBytes(StandardCharsets.UTF_8), "UTF-8", null);
+
+        // the first unchanged content is converted, as there is no previous state
+        converter.processUnchanged(content);
+        converter.process(content);
+        converter.processUnchanged(content);
+
+        Assertions.assertEquals(2, conversions.get());
+        Assertions.assertEquals(List.of(new StringType("Test"), new StringType("Test"), new StringType("Test")),
+                updatedStates);
+    }
+
     private void sendHttpValue(String value) {
     }
 
     private void updateState(State state) {
+        updatedStates.add(state);
     }
 
     public void postCommand(Command command) {
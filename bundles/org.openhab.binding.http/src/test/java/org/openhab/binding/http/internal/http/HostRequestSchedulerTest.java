@@ -0,0 +1,272 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.http.internal.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.http.HttpMethod;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * The {@link HostRequestSchedulerTest} tests the per host scheduling of requests
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HostRequestSchedulerTest {
+    private static final int TIMEOUT = 5; // in s
+    private static final int TIMEOUT_MS = 5000;
+
+    private @NonNullByDefault({}) ScheduledExecutorService scheduler;
+    private @NonNullByDefault({}) ExecutorService serverExecutor;
+    private @NonNullByDefault({}) HttpServer server;
+    private @NonNullByDefault({}) HttpClient httpClient;
+    private @NonNullByDefault({}) HostRequestScheduler requestScheduler;
+
+    private final AtomicInteger activeRequests = new AtomicInteger();
+    private final AtomicInteger maxActiveRequests = new AtomicInteger();
+    private final CountDownLatch serverRelease = new CountDownLatch(1);
+    private final Object owner = new Object();
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> {
+            maxActiveRequests.accumulateAndGet(activeRequests.incrementAndGet(), Math::max);
+            try {
+                if (exchange.getRequestURI().getPath().startsWith("/slow")) {
+                    serverRelease.await(TIMEOUT, TimeUnit.SECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            activeRequests.decrementAndGet();
+            byte[] body = "OK".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        httpClient = new HttpClient();
+        httpClient.start();
+        requestScheduler = new HostRequestScheduler(scheduler);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        serverRelease.countDown();
+        requestScheduler.dispose();
+        httpClient.stop();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void concurrentRequestsPerHostAreLimited() throws Exception {
+        List<CompletableFuture<@Nullable Content>> responses = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            responses.add(send(requestScheduler.newRequest(owner, httpClient, uri("/slow"), HttpMethod.GET, "", 0,
+                    TIMEOUT_MS, 4)));
+        }
+
+        // only four requests are created until the first ones complete
+        waitFor(() -> activeRequests.get() == 4);
+        Thread.sleep(200);
+        assertEquals(4, activeRequests.get());
+
+        serverRelease.countDown();
+        for (CompletableFuture<@Nullable Content> response : responses) {
+            assertNotNull(response.get(TIMEOUT, TimeUnit.SECONDS));
+        }
+        assertEquals(4, maxActiveRequests.get());
+    }
+
+    @Test
+    public void concurrentRequestsPerHostAreConfigurable() throws Exception {
+        List<CompletableFuture<@Nullable Content>> responses = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            responses.add(send(requestScheduler.newRequest(owner, httpClient, uri("/slow"), HttpMethod.GET, "", 0,
+                    TIMEOUT_MS, 2)));
+        }
+
+        waitFor(() -> activeRequests.get() == 2);
+        Thread.sleep(200);
+        assertEquals(2, activeRequests.get());
+
+        serverRelease.countDown();
+        for (CompletableFuture<@Nullable Content> response : responses) {
+            assertNotNull(response.get(TIMEOUT, TimeUnit.SECONDS));
+        }
+        assertEquals(2, maxActiveRequests.get());
+    }
+
+    @Test
+    public void delayOnlyThrottlesItsOwner() throws Exception {
+        Object otherOwner = new Object();
+        assertNotNull(send(requestScheduler.newRequest(owner, httpClient, uri("/"), HttpMethod.GET, "", 10000,
+                TIMEOUT_MS, 4)).get(TIMEOUT, TimeUnit.SECONDS));
+        CompletableFuture<Request> delayed = requestScheduler.newRequest(owner, httpClient, uri("/"), HttpMethod.GET,
+                "", 0, TIMEOUT_MS, 4);
+
+        // the request of the other thing is not held back by the delay of the first thing
+        assertNotNull(send(requestScheduler.newRequest(otherOwner, httpClient, uri("/"), HttpMethod.GET, "", 0,
+                TIMEOUT_MS, 4)).get(TIMEOUT, TimeUnit.SECONDS));
+        assertFalse(delayed.isDone());
+    }
+
+    @Test
+    public void unsentRequestsExpireAfterTwiceTheirTimeout() throws Exception {
+        // the first request is created but never sent, so it never completes
+        requestScheduler.newRequest(owner, httpClient, uri("/"), HttpMethod.GET, "", 0, 100, 1).get(TIMEOUT,
+                TimeUnit.SECONDS);
+        long start = System.nanoTime();
+
+        CompletableFuture<@Nullable Content> next = send(
+                requestScheduler.newRequest(owner, httpClient, uri("/"), HttpMethod.GET, "", 0, 100, 1));
+
+        assertNotNull(next.get(TIMEOUT, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    @Test
+    public void failedRequestsReleaseTheirSlot() throws Exception {
+        URI unreachable = URI.create("http://127.0.0.1:" + unusedPort() + "/");
+        List<CompletableFuture<@Nullable Content>> responses = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            responses.add(send(requestScheduler.newRequest(owner, httpClient, unreachable, HttpMethod.GET, "", 0,
+                    TIMEOUT_MS, 4)));
+        }
+
+        for (CompletableFuture<@Nullable Content> response : responses) {
+            assertNull(response.get(TIMEOUT, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void cancelledRequestsReleaseTheirSlot() throws Exception {
+        // the delay keeps the following requests queued until they are cancelled
+        CompletableFuture<@Nullable Content> first = send(
+                requestScheduler.newRequest(owner, httpClient, uri("/"), HttpMethod.GET, "", 100, TIMEOUT_MS, 4));
+        List<CompletableFuture<Request>> cancelled = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            CompletableFuture<Request> request = requestScheduler.newRequest(owner, httpClient, uri("/"),
+                    HttpMethod.GET, "", 0, TIMEOUT_MS, 4);
+            request.cancel(false);
+            cancelled.add(request);
+        }
+        assertNotNull(first.get(TIMEOUT, TimeUnit.SECONDS));
+
+        // the slots of the cancelled requests which were never sent are free again
+        CompletableFuture<@Nullable Content> last = send(
+                requestScheduler.newRequest(owner, httpClient, uri("/"), HttpMethod.GET, "", 0, TIMEOUT_MS, 4));
+        assertNotNull(last.get(TIMEOUT, TimeUnit.SECONDS));
+        cancelled.forEach(request -> assertThrows(CancellationException.class, request::join));
+    }
+
+    @Test
+    public void cancelOwnerCompletesQueuedRequests() throws Exception {
+        Object otherOwner = new Object();
+        // the delays keep the following requests of both owners queued
+        send(requestScheduler.newRequest(owner, httpClient, uri("/"), HttpMethod.GET, "", 1000, TIMEOUT_MS, 4));
+        send(requestScheduler.newRequest(otherOwner, httpClient, uri("/"), HttpMethod.GET, "", 1000, TIMEOUT_MS, 4));
+        CompletableFuture<Request> queued = requestScheduler.newRequest(owner, httpClient, uri("/"), HttpMethod.GET,
+                "", 0, TIMEOUT_MS, 4);
+        CompletableFuture<Request> other = requestScheduler.newRequest(otherOwner, httpClient, uri("/"),
+                HttpMethod.GET, "", 0, TIMEOUT_MS, 4);
+
+        requestScheduler.cancel(owner);
+
+        assertThrows(CancellationException.class, () -> queued.get(TIMEOUT, TimeUnit.SECONDS));
+        assertFalse(other.isDone());
+    }
+
+    @Test
+    public void identicalRequestsInFlightAreJoined() {
+        CompletableFuture<@Nullable Content> first = new CompletableFuture<>();
+        CompletableFuture<@Nullable Content> second = new CompletableFuture<>();
+        CompletableFuture<@Nullable Content> other = new CompletableFuture<>();
+
+        assertFalse(requestScheduler.joinInFlightRequest("key", first));
+        assertTrue(requestScheduler.joinInFlightRequest("key", second));
+        assertFalse(requestScheduler.joinInFlightRequest("other", other));
+
+        Content content = new Content(new byte[] { 1 }, "UTF-8", null);
+        first.complete(content);
+        assertSame(content, second.join());
+        assertFalse(other.isDone());
+
+        // the completed request is no longer in flight
+        assertFalse(requestScheduler.joinInFlightRequest("key", new CompletableFuture<>()));
+    }
+
+    private CompletableFuture<@Nullable Content> send(CompletableFuture<Request> request) {
+        CompletableFuture<@Nullable Content> response = new CompletableFuture<>();
+        request.thenAccept(r -> r.timeout(TIMEOUT, TimeUnit.SECONDS).send(new HttpResponseListener(response, null, 1)));
+        return response;
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+    }
+
+    private static int unusedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void waitFor(Condition condition) throws InterruptedException, TimeoutException {
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT);
+        while (!condition.isMet()) {
+            if (System.nanoTime() - end > 0) {
+                throw new TimeoutException();
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Condition {
+        boolean isMet();
+    }
+}
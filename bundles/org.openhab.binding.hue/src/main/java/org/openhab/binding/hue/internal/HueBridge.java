@@ -25,9 +25,11 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Collectors;
@@ -73,7 +75,7 @@ public class HueBridge {
 
     private final Gson gson = new GsonBuilder().setDateFormat(DATE_FORMAT).create();
     private HttpClient http = new HttpClient();
-    private final ScheduledExecutorService scheduler;
+    private final HueCommandQueue commandQueue;
 
     @Nullable
     private Config cachedConfig;
@@ -96,7 +98,7 @@ public class HueBridge {
             baseUrl = protocol + "://" + ip + ":" + port + "/api";
         }
         this.baseUrl = baseUrl;
-        this.scheduler = scheduler;
+        this.commandQueue = new HueCommandQueue(http, scheduler);
     }
 
     /**
@@ -124,8 +126,8 @@ public class HueBridge {
         this.ip = ip;
         this.baseUrl = baseUrl;
         this.username = username;
-        this.scheduler = scheduler;
         this.http = http;
+        this.commandQueue = new HueCommandQueue(http, scheduler);
     }
 
     /**
@@ -137,6 +139,13 @@ public class HueBridge {
         http.setTimeout(timeout);
     }
 
+    /**
+     * Cancel the queued state changes.
+     */
+    public void dispose() {
+        commandQueue.dispose();
+    }
+
     /**
      * Returns the IP address of the bridge.
      *
@@ -258,6 +267,61 @@ public class HueBridge {
         return sensorList;
     }
 
+    /**
+     * Returns the state of one light.
+     *
+     * @param id id of the light
+     * @return light as {@link FullLight}
+     * @throws UnauthorizedException thrown if the user no longer exists
+     * @throws EntityNotAvailableException thrown if a light with the given id doesn't exist
+     */
+    public FullLight getFullLight(String id) throws IOException, ApiException {
+        requireAuthentication();
+
+        Result result = http.get(getRelativeURL("lights/" + enc(id)));
+
+        handleErrors(result);
+
+        FullLight fullLight = safeFromJson(result.getBody(), FullLight.class);
+        fullLight.setId(id);
+        return fullLight;
+    }
+
+    /**
+     * Returns the state of one sensor.
+     *
+     * @param id id of the sensor
+     * @return sensor as {@link FullSensor}
+     * @throws UnauthorizedException thrown if the user no longer exists
+     * @throws EntityNotAvailableException thrown if a sensor with the given id doesn't exist
+     */
+    public FullSensor getSensor(String id) throws IOException, ApiException {
+        requireAuthentication();
+
+        Result result = http.get(getRelativeURL("sensors/" + enc(id)));
+
+        handleErrors(result);
+
+        FullSensor sensor = safeFromJson(result.getBody(), FullSensor.class);
+        sensor.setId(id);
+        return sensor;
+    }
+
+    /**
+     * Creates the event stream of the bridge. The stream is not started.
+     *
+     * @param listener receives the events
+     * @return event stream using the protocol, address and user of this bridge
+     * @throws IllegalStateException thrown if the bridge is not authenticated
+     */
+    public HueEventStream createEventStream(HueEventStream.EventListener listener) {
+        requireAuthentication();
+
+        String root = baseUrl.endsWith("/api") ? baseUrl.substring(0, baseUrl.length() - "/api".length()) : baseUrl;
+        String url = root + "/eventstream/clip/v2";
+        return new HueEventStream(url, Objects.requireNonNull(username), http.getTimeout(), listener);
+    }
+
     /**
      * Returns the last time a search for new lights was started.
      * If a search is currently running, the current time will be
@@ -381,8 +445,8 @@ public class HueBridge {
         requireAuthentication();
 
         String body = update.toJson();
-        return http.putAsync(getRelativeURL("lights/" + enc(light.getId()) + "/state"), body, update.getMessageDelay(),
-                scheduler);
+        return commandQueue.putLightState(getRelativeURL("lights/" + enc(light.getId()) + "/state"), light.getId(),
+                body, update.getMessageDelay());
     }
 
     /**
@@ -399,8 +463,8 @@ public class HueBridge {
         requireAuthentication();
 
         String body = update.toJson();
-        return http.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/state"), body,
-                update.getMessageDelay(), scheduler);
+        return commandQueue.put(getRelativeURL("sensors/" + enc(sensor.getId()) + "/state"), body,
+                update.getMessageDelay());
     }
 
     /**
@@ -416,8 +480,8 @@ public class HueBridge {
         requireAuthentication();
 
         String body = update.toJson();
-        return http.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/config"), body,
-                update.getMessageDelay(), scheduler);
+        return commandQueue.put(getRelativeURL("sensors/" + enc(sensor.getId()) + "/config"), body,
+                update.getMessageDelay());
     }
 
     /**
@@ -463,6 +527,15 @@ public class HueBridge {
             groupList.add(group);
         });
 
+        // commands for the lights of a group are sent to the group if possible, and kept in order with the group
+        // actions
+        Map<String, Set<String>> groupLights = new HashMap<>();
+        for (FullGroup group : groupList) {
+            groupLights.put(getRelativeURL("groups/" + enc(group.getId()) + "/action"),
+                    Set.copyOf(group.getLightIds()));
+        }
+        commandQueue.setGroups(groupLights);
+
         return groupList;
     }
 
@@ -643,8 +716,7 @@ public class HueBridge {
         requireAuthentication();
 
         String body = update.toJson();
-        return http.putAsync(getRelativeURL("groups/" + enc(group.getId()) + "/action"), body, update.getMessageDelay(),
-                scheduler);
+        return commandQueue.putGroupAction(getRelativeURL("groups/" + enc(group.getId()) + "/action"), body);
     }
 
     /**
@@ -0,0 +1,411 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * The {@link HueCommandQueue} sends the state changes to the bridge at the rate the bridge can handle, see
+ * https://developers.meethue.com/documentation/hue-system-performance (about 10 commands per second to lights and one
+ * per second to groups).
+ *
+ * Light, sensor and group commands are queued separately, each queue is shaped by a token bucket: the tokens are
+ * milliseconds of bridge time, a command costs its recommended message delay and the bucket refills in real time.
+ * Commands are sent by scheduled jobs as soon as enough tokens are available, no thread waits in between.
+ *
+ * A command for a resource with a command still queued is merged into it, so only the latest values are sent (e.g.
+ * while a dimmer is dragged). If several queued light commands have the same body and a group consists of these
+ * lights, a single group command is sent instead.
+ *
+ * A light command and a group action for a group containing the light are sent in the order they were queued,
+ * although they are in different queues. Otherwise a throttled group action would overwrite a later light command.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HueCommandQueue {
+    // bursts allowed by the queues in milliseconds of bridge time
+    private static final long LIGHT_BURST = 500;
+    private static final long GROUP_BURST = 2000;
+    private static final long GROUP_COMMAND_COST = 1000;
+    // less lights with the same state are not replaced by a group command
+    private static final int MIN_GROUP_LIGHTS = 3;
+
+    private final Logger logger = LoggerFactory.getLogger(HueCommandQueue.class);
+
+    private final HttpClient http;
+    private final ScheduledExecutorService scheduler;
+    // guards both queues, as the order of their commands depends on each other
+    private final Object lock = new Object();
+    private final Lane lights = new Lane("light", LIGHT_BURST);
+    private final Lane groups = new Lane("group", GROUP_BURST);
+
+    // light ids by group action address
+    private volatile Map<String, Set<String>> groupLights = Map.of();
+
+    public HueCommandQueue(HttpClient http, ScheduledExecutorService scheduler) {
+        this.http = http;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Set the lights of the groups, which may receive the commands for several lights.
+     *
+     * @param groupLights light ids by group action address
+     */
+    public void setGroups(Map<String, Set<String>> groupLights) {
+        this.groupLights = groupLights;
+    }
+
+    /**
+     * Queue a light state change.
+     *
+     * @param address light state address
+     * @param lightId id of the light
+     * @param body JSON object with the changed attributes
+     * @param cost recommended message delay in milliseconds
+     * @return result of the request, which may be shared with merged commands
+     */
+    public CompletableFuture<Result> putLightState(String address, String lightId, String body, long cost) {
+        return lights.add(new Command(address, lightId, true, body, cost));
+    }
+
+    /**
+     * Queue a change of a sensor state or config.
+     *
+     * @param address sensor state or config address
+     * @param body JSON object with the changed attributes
+     * @param cost recommended message delay in milliseconds
+     * @return result of the request, which may be shared with merged commands
+     */
+    public CompletableFuture<Result> put(String address, String body, long cost) {
+        return lights.add(new Command(address, null, false, body, cost));
+    }
+
+    /**
+     * Queue a group action.
+     *
+     * @param address group action address
+     * @param body JSON object with the changed attributes
+     * @return result of the request, which may be shared with merged commands
+     */
+    public CompletableFuture<Result> putGroupAction(String address, String body) {
+        return groups.add(new Command(address, null, true, body, GROUP_COMMAND_COST));
+    }
+
+    /**
+     * Cancel the queued commands. Commands queued afterwards are cancelled immediately.
+     */
+    public void dispose() {
+        synchronized (lock) {
+            lights.dispose();
+            groups.dispose();
+        }
+    }
+
+    /**
+     * Merge a command into a queued command for the same address.
+     *
+     * @param lightState true for a light state or group action, which replaces the queued attributes when it turns
+     *            the lights off
+     * @return the merged body, or null if the bodies cannot be merged
+     */
+    static @Nullable String merge(String queuedBody, String body, boolean lightState) {
+        try {
+            JsonElement queued = JsonParser.parseString(queuedBody);
+            JsonElement update = JsonParser.parseString(body);
+            if (!queued.isJsonObject() || !update.isJsonObject()) {
+                return null;
+            }
+            JsonObject updateObject = update.getAsJsonObject();
+            JsonElement on = updateObject.get("on");
+            if (lightState && on != null && on.isJsonPrimitive() && !on.getAsBoolean()) {
+                // the other attributes cannot be changed while the light is off, see DeviceOffException
+                return body;
+            }
+            JsonObject merged = queued.getAsJsonObject().deepCopy();
+            updateObject.entrySet().forEach(e -> merged.add(e.getKey(), e.getValue()));
+            return merged.toString();
+        } catch (JsonParseException | IllegalStateException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    private void send(Command command) {
+        logger.debug("Async sending put to address: {} body: {}", command.address, command.body);
+        try {
+            Result result = http.put(command.address, command.body);
+            command.futures.forEach(f -> f.complete(result));
+        } catch (IOException | RuntimeException e) {
+            command.futures.forEach(f -> f.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Whether a light command and a group action change the same light. The lights of an unknown group, e.g. of the
+     * group of all lights if the bridge did not return it, are assumed to include every light.
+     */
+    private boolean changesSameLight(Command lightCommand, Command groupCommand) {
+        Set<String> members = groupLights.get(groupCommand.address);
+        return members == null || members.contains(lightCommand.lightId);
+    }
+
+    /**
+     * Find the largest group consisting of the given lights only, containing the given light.
+     *
+     * @return group action address or null
+     */
+    private @Nullable String findGroup(String lightId, Set<String> lightIds) {
+        String best = null;
+        int bestSize = MIN_GROUP_LIGHTS - 1;
+        for (Map.Entry<String, Set<String>> group : groupLights.entrySet()) {
+            Set<String> members = group.getValue();
+            if (members.size() > bestSize && members.contains(lightId) && lightIds.containsAll(members)) {
+                best = group.getKey();
+                bestSize = members.size();
+            }
+        }
+        return best;
+    }
+
+    private static class Command {
+        final String address;
+        final @Nullable String lightId;
+        final boolean lightState;
+        String body;
+        long cost;
+        // the result of this command, completed when it was sent itself or as part of another command
+        final CompletableFuture<Result> future = new CompletableFuture<>();
+        final List<CompletableFuture<Result>> futures = new ArrayList<>(1);
+        // commands of the other queue for the same lights, which were queued before and are sent first
+        final List<Command> predecessors = new ArrayList<>(0);
+
+        Command(String address, @Nullable String lightId, boolean lightState, String body, long cost) {
+            this.address = address;
+            this.lightId = lightId;
+            this.lightState = lightState;
+            this.body = body;
+            this.cost = cost;
+            futures.add(future);
+        }
+
+        boolean isReady() {
+            return predecessors.stream().allMatch(predecessor -> predecessor.future.isDone());
+        }
+    }
+
+    /**
+     * Queue of commands shaped by a token bucket. At most one command of a queue is sent at a time.
+     */
+    private class Lane {
+        private final String name;
+        private final long capacity;
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+        // queued commands by address, or by a unique key if they could not be merged
+        private final Map<String, Command> pending = new LinkedHashMap<>();
+        private int unmerged = 0;
+        private @Nullable ScheduledFuture<?> job;
+        private boolean sending = false;
+        private boolean disposed = false;
+
+        Lane(String name, long capacity) {
+            this.name = name;
+            this.capacity = capacity;
+            this.tokens = capacity;
+        }
+
+        CompletableFuture<Result> add(Command command) {
+            synchronized (lock) {
+                CompletableFuture<Result> future = command.future;
+                if (disposed) {
+                    future.cancel(false);
+                    return future;
+                }
+                Lane other = other();
+                Command queued = pending.get(command.address);
+                // a command of the other queue, which waits for the queued command, is sent in between
+                String merged = queued != null && !other.waitsFor(queued)
+                        ? merge(queued.body, command.body, command.lightState)
+                        : null;
+                if (queued != null && merged != null) {
+                    logger.trace("Merging {} command for {} into queued command", name, command.address);
+                    queued.body = merged;
+                    queued.cost = Math.max(queued.cost, command.cost);
+                    queued.futures.add(future);
+                } else {
+                    other.pending.values().stream().filter(predecessor -> conflicts(command, predecessor))
+                            .forEach(command.predecessors::add);
+                    pending.put(queued == null ? command.address : command.address + "#" + unmerged++, command);
+                }
+                scheduleNext();
+                return future;
+            }
+        }
+
+        /**
+         * Consume the tokens for a command if available.
+         *
+         * @return milliseconds until enough tokens are available, 0 if they were consumed
+         */
+        long tryConsume(long cost) {
+            synchronized (lock) {
+                long now = System.nanoTime();
+                tokens = Math.min(capacity, tokens + (now - lastRefill) / 1_000_000.0);
+                lastRefill = now;
+                // a command costing more than the bucket holds waits until the bucket is full
+                double required = Math.min(cost, capacity);
+                if (tokens >= required) {
+                    tokens -= cost;
+                    return 0;
+                }
+                return (long) Math.ceil(required - tokens);
+            }
+        }
+
+        void dispose() {
+            disposed = true;
+            ScheduledFuture<?> job = this.job;
+            if (job != null) {
+                job.cancel(false);
+                this.job = null;
+            }
+            pending.values().forEach(command -> command.futures.forEach(f -> f.cancel(false)));
+            pending.clear();
+        }
+
+        private Lane other() {
+            return this == lights ? groups : lights;
+        }
+
+        /**
+         * Whether the command of this queue changes the same light as the command of the other queue.
+         */
+        private boolean conflicts(Command command, Command otherCommand) {
+            if (this == lights) {
+                return command.lightId != null && changesSameLight(command, otherCommand);
+            }
+            return otherCommand.lightId != null && changesSameLight(otherCommand, command);
+        }
+
+        private boolean waitsFor(Command command) {
+            return pending.values().stream().anyMatch(queued -> queued.predecessors.contains(command));
+        }
+
+        private void scheduleNext() {
+            if (job != null || sending || disposed || pending.isEmpty()) {
+                return;
+            }
+            job = scheduler.schedule(this::dispatch, 0, TimeUnit.MILLISECONDS);
+        }
+
+        private void dispatch() {
+            Command command;
+            synchronized (lock) {
+                job = null;
+                // commands waiting for the other queue are skipped, it schedules this queue again after sending
+                Iterator<Command> iterator = pending.values().iterator();
+                command = null;
+                while (iterator.hasNext() && command == null) {
+                    Command queued = iterator.next();
+                    if (queued.isReady()) {
+                        command = queued;
+                    }
+                }
+                if (command == null) {
+                    return;
+                }
+                long wait = tryConsume(command.cost);
+                if (wait > 0) {
+                    job = scheduler.schedule(this::dispatch, wait, TimeUnit.MILLISECONDS);
+                    return;
+                }
+                iterator.remove();
+                String lightId = command.lightId;
+                if (lightId != null) {
+                    command = groupCommand(command, lightId);
+                }
+                sending = true;
+            }
+            try {
+                send(command);
+            } finally {
+                synchronized (lock) {
+                    sending = false;
+                    scheduleNext();
+                    other().scheduleNext();
+                }
+            }
+        }
+
+        /**
+         * Replace the command and the queued commands for other lights with the same body by a group command.
+         *
+         * @return the group command or the given command
+         */
+        private Command groupCommand(Command command, String lightId) {
+            Set<String> lightIds = new HashSet<>();
+            lightIds.add(lightId);
+            for (Command queued : pending.values()) {
+                if (queued.lightId != null && queued.body.equals(command.body) && queued.isReady()) {
+                    lightIds.add(queued.lightId);
+                }
+            }
+            if (lightIds.size() < MIN_GROUP_LIGHTS) {
+                return command;
+            }
+            String groupAddress = findGroup(lightId, lightIds);
+            if (groupAddress == null || groups.tryConsume(GROUP_COMMAND_COST) > 0) {
+                return command;
+            }
+            Set<String> members = groupLights.getOrDefault(groupAddress, Set.of());
+            Command group = new Command(groupAddress, null, true, command.body, GROUP_COMMAND_COST);
+            group.futures.clear();
+            group.futures.addAll(command.futures);
+            Collection<Command> queued = pending.values();
+            for (Iterator<Command> iterator = queued.iterator(); iterator.hasNext();) {
+                Command other = iterator.next();
+                if (other.lightId != null && members.contains(other.lightId) && other.body.equals(command.body)
+                        && other.isReady()) {
+                    group.futures.addAll(other.futures);
+                    iterator.remove();
+                }
+            }
+            logger.debug("Sending the state of {} lights to group {}", members.size(), groupAddress);
+            return group;
+        }
+    }
+}
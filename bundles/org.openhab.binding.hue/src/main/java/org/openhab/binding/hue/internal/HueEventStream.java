@@ -0,0 +1,277 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * The {@link HueEventStream} receives the server-sent events of the bridge (CLIP API v2, bridge firmware 1.948 or
+ * later) and notifies the listener about the changed resources. The resources are identified by their API v1 path,
+ * e.g. "/lights/1" or "/sensors/5".
+ *
+ * The stream is read by its own thread and reconnected with an increasing delay after errors. As the bridge does not
+ * send events while nothing changes, an idle connection is reopened after the read timeout. The listener is only
+ * notified about the reconnect if the stream was disconnected before.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HueEventStream {
+    public static final String EVENT_UPDATE = "update";
+    public static final String EVENT_ADD = "add";
+    public static final String EVENT_DELETE = "delete";
+
+    private static final String APPLICATION_KEY_HEADER = "hue-application-key";
+    private static final int READ_TIMEOUT = (int) TimeUnit.MINUTES.toMillis(5);
+    private static final long MIN_RETRY_DELAY = TimeUnit.SECONDS.toMillis(5);
+    private static final long MAX_RETRY_DELAY = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * Receives the events and the state of the stream.
+     */
+    public interface EventListener {
+        /**
+         * The stream was connected, events are received from now on.
+         */
+        void onEventStreamConnected();
+
+        /**
+         * The stream was closed or could not be opened, it is reconnected after a delay.
+         *
+         * @param reason description of the error
+         */
+        void onEventStreamDisconnected(String reason);
+
+        /**
+         * Resources were added, changed or deleted.
+         *
+         * @param type event type, one of {@link #EVENT_UPDATE}, {@link #EVENT_ADD} and {@link #EVENT_DELETE}
+         * @param resources API v1 paths of the resources
+         * @param creationTime time the bridge created the event, null if unknown
+         * @param receivedNanos {@link System#nanoTime()} when the event was received
+         */
+        void onEvent(String type, List<String> resources, @Nullable Instant creationTime, long receivedNanos);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(HueEventStream.class);
+
+    private final String url;
+    private final String applicationKey;
+    private final int connectTimeout;
+    private final int readTimeout;
+    private final EventListener listener;
+
+    private volatile boolean running = false;
+    private @Nullable Thread thread;
+    private volatile @Nullable HttpURLConnection connection;
+
+    /**
+     * @param url URL of the event stream
+     * @param applicationKey user name registered on the bridge
+     * @param connectTimeout connect timeout in milliseconds
+     * @param listener receives the events
+     */
+    public HueEventStream(String url, String applicationKey, int connectTimeout, EventListener listener) {
+        this(url, applicationKey, connectTimeout, READ_TIMEOUT, listener);
+    }
+
+    // with the read timeout in milliseconds after which an idle connection is reopened
+    HueEventStream(String url, String applicationKey, int connectTimeout, int readTimeout, EventListener listener) {
+        this.url = url;
+        this.applicationKey = applicationKey;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.listener = listener;
+    }
+
+    public synchronized void start() {
+        if (thread == null) {
+            running = true;
+            Thread streamThread = new Thread(this::run, "OH-binding-hue-eventstream");
+            streamThread.setDaemon(true);
+            thread = streamThread;
+            streamThread.start();
+        }
+    }
+
+    public synchronized void stop() {
+        running = false;
+        HttpURLConnection conn = connection;
+        if (conn != null) {
+            // unblocks the reading thread
+            conn.disconnect();
+        }
+        Thread streamThread = thread;
+        if (streamThread != null) {
+            streamThread.interrupt();
+            thread = null;
+        }
+    }
+
+    private void run() {
+        long retryDelay = MIN_RETRY_DELAY;
+        // whether the listener was notified about the connection, kept while an idle connection is reopened
+        boolean notified = false;
+        while (running) {
+            boolean connected = false;
+            String reason;
+            HttpURLConnection conn = null;
+            try {
+                conn = (HttpURLConnection) new URL(url).openConnection();
+                connection = conn;
+                conn.setRequestProperty(APPLICATION_KEY_HEADER, applicationKey);
+                conn.setRequestProperty("Accept", "text/event-stream");
+                conn.setConnectTimeout(connectTimeout);
+                conn.setReadTimeout(readTimeout);
+                int responseCode = conn.getResponseCode();
+                if (responseCode != HttpURLConnection.HTTP_OK) {
+                    throw new IOException("HTTP status " + responseCode);
+                }
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8))) {
+                    connected = true;
+                    retryDelay = MIN_RETRY_DELAY;
+                    if (!notified) {
+                        logger.debug("Event stream {} connected", url);
+                        notified = true;
+                        listener.onEventStreamConnected();
+                    }
+                    read(reader);
+                }
+                reason = "closed by the bridge";
+            } catch (SocketTimeoutException e) {
+                if (connected && running) {
+                    // idle connection, reconnect at once
+                    logger.trace("Event stream {} idle, reconnecting", url);
+                    continue;
+                }
+                reason = "timeout";
+            } catch (IOException | RuntimeException e) {
+                reason = String.valueOf(e.getMessage());
+            } finally {
+                if (conn != null) {
+                    conn.disconnect();
+                }
+                connection = null;
+            }
+            if (!running) {
+                break;
+            }
+            logger.debug("Event stream {} disconnected ({}), retry in {} ms", url, reason, retryDelay);
+            notified = false;
+            listener.onEventStreamDisconnected(reason);
+            try {
+                Thread.sleep(retryDelay);
+            } catch (InterruptedException e) {
+                break;
+            }
+            retryDelay = Math.min(2 * retryDelay, MAX_RETRY_DELAY);
+        }
+    }
+
+    /**
+     * Read the server-sent events until the end of the stream.
+     */
+    void read(BufferedReader reader) throws IOException {
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                if (data.length() > 0) {
+                    dispatch(data.toString(), System.nanoTime());
+                    data.setLength(0);
+                }
+            } else if (line.startsWith("data:")) {
+                if (data.length() > 0) {
+                    data.append('\n');
+                }
+                data.append(line, line.startsWith("data: ") ? 6 : 5, line.length());
+            }
+            // comments, event ids and retry fields are not used
+        }
+    }
+
+    /**
+     * Parse the data of one server-sent event, a list of event containers like
+     * [{"creationtime":"2021-10-20T10:00:00Z","data":[{"id_v1":"/lights/1","type":"light",...}],"type":"update"}]
+     */
+    void dispatch(String data, long receivedNanos) {
+        try {
+            JsonElement json = JsonParser.parseString(data);
+            if (!json.isJsonArray()) {
+                logger.debug("Unexpected event {}", data);
+                return;
+            }
+            for (JsonElement element : json.getAsJsonArray()) {
+                if (!element.isJsonObject()) {
+                    continue;
+                }
+                JsonObject event = element.getAsJsonObject();
+                String type = getString(event, "type");
+                List<String> resources = new ArrayList<>();
+                JsonElement eventData = event.get("data");
+                if (eventData != null && eventData.isJsonArray()) {
+                    for (JsonElement resource : (JsonArray) eventData) {
+                        if (resource.isJsonObject()) {
+                            String idV1 = getString(resource.getAsJsonObject(), "id_v1");
+                            if (!idV1.isEmpty() && !resources.contains(idV1)) {
+                                resources.add(idV1);
+                            }
+                        }
+                    }
+                }
+                Instant creationTime = null;
+                String created = getString(event, "creationtime");
+                if (!created.isEmpty()) {
+                    try {
+                        creationTime = Instant.parse(created);
+                    } catch (DateTimeParseException e) {
+                        logger.trace("Invalid event creation time {}", created);
+                    }
+                }
+                if (!type.isEmpty() && !resources.isEmpty()) {
+                    listener.onEvent(type, resources, creationTime, receivedNanos);
+                }
+            }
+        } catch (JsonParseException | IllegalStateException e) {
+            logger.debug("Unable to parse event {}: {}", data, e.getMessage());
+        }
+    }
+
+    private static String getString(JsonObject object, String member) {
+        JsonElement element = object.get(member);
+        return element != null && element.isJsonPrimitive() ? element.getAsString() : "";
+    }
+}
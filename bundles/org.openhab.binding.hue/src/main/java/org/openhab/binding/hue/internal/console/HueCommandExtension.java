@@ -41,6 +41,7 @@ public class HueCommandExtension extends AbstractConsoleCommandExtension {
 
     private static final String USER_NAME = "username";
     private static final String SCENES = "scenes";
+    private static final String UPDATES = "updates";
 
     private final ThingRegistry thingRegistry;
 
@@ -98,6 +99,14 @@ public class HueCommandExtension extends AbstractConsoleCommandExtension {
                             groupHandler.listScenesForConsole().forEach(console::println);
                         }
                         break;
+                    case UPDATES:
+                        if (bridgeHandler != null) {
+                            bridgeHandler.listUpdateStatisticsForConsole().forEach(console::println);
+                        } else {
+                            console.println("'" + args[0] + "' is not a Hue bridgeUID");
+                            printUsage(console);
+                        }
+                        break;
                     default:
                         printUsage(console);
                         break;
@@ -112,6 +121,7 @@ public class HueCommandExtension extends AbstractConsoleCommandExtension {
     public List<String> getUsages() {
         return Arrays.asList(new String[] { buildCommandUsage("<bridgeUID> " + USER_NAME, "show the user name"),
                 buildCommandUsage("<bridgeUID> " + SCENES, "list all the scenes with their id"),
+                buildCommandUsage("<bridgeUID> " + UPDATES, "show the update mode and the event statistics"),
                 buildCommandUsage("<groupThingUID> " + SCENES, "list all the scenes from this group with their id") });
     }
 }
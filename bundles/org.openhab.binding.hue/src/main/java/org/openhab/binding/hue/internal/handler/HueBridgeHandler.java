@@ -16,6 +16,7 @@ import static org.openhab.binding.hue.internal.HueBindingConstants.*;
 import static org.openhab.core.thing.Thing.*;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -42,6 +43,7 @@ import org.openhab.binding.hue.internal.FullLight;
 import org.openhab.binding.hue.internal.FullSensor;
 import org.openhab.binding.hue.internal.HueBridge;
 import org.openhab.binding.hue.internal.HueConfigStatusMessage;
+import org.openhab.binding.hue.internal.HueEventStream;
 import org.openhab.binding.hue.internal.Scene;
 import org.openhab.binding.hue.internal.State;
 import org.openhab.binding.hue.internal.StateUpdate;
@@ -96,6 +98,13 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
     private static final long SCENE_POLLING_INTERVAL = TimeUnit.SECONDS.convert(10, TimeUnit.MINUTES);
 
+    // polling interval while the event stream is connected, only to catch up with missed events
+    private static final long RECONCILIATION_POLLING_INTERVAL = TimeUnit.MINUTES.toSeconds(1);
+    // collects the events of a scene recall or group command before fetching the changed resources
+    private static final long EVENT_DELAY = 50;
+    // more changed lights or sensors are fetched by a single request for all of them
+    private static final int MAX_SINGLE_REQUESTS = 10;
+
     private final Logger logger = LoggerFactory.getLogger(HueBridgeHandler.class);
     private final HueStateDescriptionProvider stateDescriptionOptionProvider;
 
@@ -108,6 +117,18 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private final Map<String, SensorStatusListener> sensorStatusListeners = new ConcurrentHashMap<>();
     private final Map<String, GroupStatusListener> groupStatusListeners = new ConcurrentHashMap<>();
 
+    // resources changed by events, not yet fetched from the bridge
+    private final Set<String> pendingLights = ConcurrentHashMap.newKeySet();
+    private final Set<String> pendingSensors = ConcurrentHashMap.newKeySet();
+    private volatile boolean pendingGroups = false;
+    private volatile boolean pendingReconciliation = false;
+    private long firstPendingEventNanos;
+    private @Nullable ScheduledFuture<?> eventJob;
+
+    private @Nullable HueEventStream eventStream;
+    private volatile boolean eventStreamConnected = false;
+    private final UpdateStatistics updateStatistics = new UpdateStatistics();
+
     final ReentrantLock pollingLock = new ReentrantLock();
 
     abstract class PollingRunnable implements Runnable {
@@ -180,192 +201,289 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private final Runnable sensorPollingRunnable = new PollingRunnable() {
         @Override
         protected void doConnectedRun() throws IOException, ApiException {
-            Map<String, FullSensor> lastSensorStateCopy = new HashMap<>(lastSensorStates);
+            updateSensors(hueBridge.getSensors(), true);
+        }
+    };
 
-            final HueDeviceDiscoveryService discovery = discoveryService;
+    /**
+     * Notify the listeners about the sensor states.
+     *
+     * @param sensors sensor states received from the bridge
+     * @param complete true if all sensors of the bridge were received, missing sensors are removed then
+     */
+    private void updateSensors(List<FullSensor> sensors, boolean complete) {
+        Map<String, FullSensor> lastSensorStateCopy = complete ? new HashMap<>(lastSensorStates) : new HashMap<>();
 
-            for (final FullSensor sensor : hueBridge.getSensors()) {
-                String sensorId = sensor.getId();
+        final HueDeviceDiscoveryService discovery = discoveryService;
 
-                final SensorStatusListener sensorStatusListener = sensorStatusListeners.get(sensorId);
-                if (sensorStatusListener == null) {
-                    logger.trace("Hue sensor '{}' added.", sensorId);
+        for (final FullSensor sensor : sensors) {
+            String sensorId = sensor.getId();
 
-                    if (discovery != null && !lastSensorStateCopy.containsKey(sensorId)) {
-                        discovery.addSensorDiscovery(sensor);
-                    }
+            final SensorStatusListener sensorStatusListener = sensorStatusListeners.get(sensorId);
+            if (sensorStatusListener == null) {
+                logger.trace("Hue sensor '{}' added.", sensorId);
 
+                if (discovery != null && !lastSensorStates.containsKey(sensorId)) {
+                    discovery.addSensorDiscovery(sensor);
+                }
+
+                lastSensorStates.put(sensorId, sensor);
+            } else {
+                if (sensorStatusListener.onSensorStateChanged(sensor)) {
                     lastSensorStates.put(sensorId, sensor);
-                } else {
-                    if (sensorStatusListener.onSensorStateChanged(sensor)) {
-                        lastSensorStates.put(sensorId, sensor);
-                    }
                 }
-                lastSensorStateCopy.remove(sensorId);
             }
+            lastSensorStateCopy.remove(sensorId);
+        }
 
-            // Check for removed sensors
-            lastSensorStateCopy.forEach((sensorId, sensor) -> {
-                logger.trace("Hue sensor '{}' removed.", sensorId);
-                lastSensorStates.remove(sensorId);
+        // Check for removed sensors
+        lastSensorStateCopy.forEach((sensorId, sensor) -> {
+            logger.trace("Hue sensor '{}' removed.", sensorId);
+            lastSensorStates.remove(sensorId);
 
-                final SensorStatusListener sensorStatusListener = sensorStatusListeners.get(sensorId);
-                if (sensorStatusListener != null) {
-                    sensorStatusListener.onSensorRemoved();
-                }
+            final SensorStatusListener sensorStatusListener = sensorStatusListeners.get(sensorId);
+            if (sensorStatusListener != null) {
+                sensorStatusListener.onSensorRemoved();
+            }
 
-                if (discovery != null && sensor != null) {
-                    discovery.removeSensorDiscovery(sensor);
-                }
-            });
-        }
-    };
+            if (discovery != null && sensor != null) {
+                discovery.removeSensorDiscovery(sensor);
+            }
+        });
+    }
 
     private final Runnable lightPollingRunnable = new PollingRunnable() {
         @Override
         protected void doConnectedRun() throws IOException, ApiException {
-            updateLights();
+            updateLights(getAllLights(), true);
             updateGroups();
         }
+    };
 
-        private void updateLights() throws IOException, ApiException {
-            Map<String, FullLight> lastLightStateCopy = new HashMap<>(lastLightStates);
+    /**
+     * Fetch the lights, groups and sensors changed by the events received since the last run. Single resources are
+     * fetched if only a few of them changed, otherwise (and after resources were added or deleted) all of them.
+     */
+    private final Runnable eventRunnable = new PollingRunnable() {
+        @Override
+        protected void doConnectedRun() throws IOException, ApiException {
+            long firstEventNanos;
+            synchronized (pendingLights) {
+                eventJob = null;
+                firstEventNanos = firstPendingEventNanos;
+            }
+            boolean reconcile = pendingReconciliation;
+            pendingReconciliation = false;
+            boolean groupsChanged = pendingGroups;
+            pendingGroups = false;
+            List<String> lightIds = new ArrayList<>(pendingLights);
+            pendingLights.removeAll(lightIds);
+            List<String> sensorIds = new ArrayList<>(pendingSensors);
+            pendingSensors.removeAll(sensorIds);
+
+            if (reconcile || !lightIds.isEmpty()) {
+                @Nullable
+                List<FullLight> lights = reconcile || lightIds.size() > MAX_SINGLE_REQUESTS ? null
+                        : getLights(lightIds);
+                if (lights != null) {
+                    updateLights(lights, false);
+                } else {
+                    updateLights(getAllLights(), true);
+                }
+                groupsChanged = true;
+            }
+            if (groupsChanged) {
+                // the group states are derived from the light states
+                updateGroups();
+            }
+            if ((reconcile || !sensorIds.isEmpty()) && hueBridgeConfig.getSensorPollingInterval() > 0) {
+                @Nullable
+                List<FullSensor> sensors = reconcile || sensorIds.size() > MAX_SINGLE_REQUESTS ? null
+                        : getSensors(sensorIds);
+                if (sensors != null) {
+                    updateSensors(sensors, false);
+                } else {
+                    updateSensors(hueBridge.getSensors(), true);
+                }
+            }
+            updateStatistics.eventsProcessed(System.nanoTime() - firstEventNanos);
+        }
 
-            List<FullLight> lights;
-            if (ApiVersionUtils.supportsFullLights(hueBridge.getVersion())) {
-                lights = hueBridge.getFullLights();
-            } else {
-                lights = hueBridge.getFullConfig().getLights();
+        /**
+         * @return the lights or null if one of them is not available anymore
+         */
+        private @Nullable List<FullLight> getLights(List<String> lightIds) throws IOException, ApiException {
+            List<FullLight> lights = new ArrayList<>(lightIds.size());
+            try {
+                for (String lightId : lightIds) {
+                    lights.add(hueBridge.getFullLight(lightId));
+                }
+            } catch (EntityNotAvailableException e) {
+                return null;
             }
+            return lights;
+        }
 
-            final HueDeviceDiscoveryService discovery = discoveryService;
+        /**
+         * @return the sensors or null if one of them is not available anymore
+         */
+        private @Nullable List<FullSensor> getSensors(List<String> sensorIds) throws IOException, ApiException {
+            List<FullSensor> sensors = new ArrayList<>(sensorIds.size());
+            try {
+                for (String sensorId : sensorIds) {
+                    sensors.add(hueBridge.getSensor(sensorId));
+                }
+            } catch (EntityNotAvailableException e) {
+                return null;
+            }
+            return sensors;
+        }
+    };
 
-            for (final FullLight fullLight : lights) {
-                final String lightId = fullLight.getId();
+    private List<FullLight> getAllLights() throws IOException, ApiException {
+        if (ApiVersionUtils.supportsFullLights(hueBridge.getVersion())) {
+            return hueBridge.getFullLights();
+        } else {
+            return hueBridge.getFullConfig().getLights();
+        }
+    }
 
-                final LightStatusListener lightStatusListener = lightStatusListeners.get(lightId);
-                if (lightStatusListener == null) {
-                    logger.trace("Hue light '{}' added.", lightId);
+    /**
+     * Notify the listeners about the light states.
+     *
+     * @param lights light states received from the bridge
+     * @param complete true if all lights of the bridge were received, missing lights are removed then
+     */
+    private void updateLights(List<FullLight> lights, boolean complete) {
+        Map<String, FullLight> lastLightStateCopy = complete ? new HashMap<>(lastLightStates) : new HashMap<>();
 
-                    if (discovery != null && !lastLightStateCopy.containsKey(lightId)) {
-                        discovery.addLightDiscovery(fullLight);
-                    }
+        final HueDeviceDiscoveryService discovery = discoveryService;
 
-                    lastLightStates.put(lightId, fullLight);
-                } else {
-                    if (lightStatusListener.onLightStateChanged(fullLight)) {
-                        lastLightStates.put(lightId, fullLight);
-                    }
-                }
-                lastLightStateCopy.remove(lightId);
-            }
+        for (final FullLight fullLight : lights) {
+            final String lightId = fullLight.getId();
 
-            // Check for removed lights
-            lastLightStateCopy.forEach((lightId, light) -> {
-                logger.trace("Hue light '{}' removed.", lightId);
-                lastLightStates.remove(lightId);
+            final LightStatusListener lightStatusListener = lightStatusListeners.get(lightId);
+            if (lightStatusListener == null) {
+                logger.trace("Hue light '{}' added.", lightId);
 
-                final LightStatusListener lightStatusListener = lightStatusListeners.get(lightId);
-                if (lightStatusListener != null) {
-                    lightStatusListener.onLightRemoved();
+                if (discovery != null && !lastLightStates.containsKey(lightId)) {
+                    discovery.addLightDiscovery(fullLight);
                 }
 
-                if (discovery != null && light != null) {
-                    discovery.removeLightDiscovery(light);
+                lastLightStates.put(lightId, fullLight);
+            } else {
+                if (lightStatusListener.onLightStateChanged(fullLight)) {
+                    lastLightStates.put(lightId, fullLight);
                 }
-            });
+            }
+            lastLightStateCopy.remove(lightId);
         }
 
-        private void updateGroups() throws IOException, ApiException {
-            Map<String, FullGroup> lastGroupStateCopy = new HashMap<>(lastGroupStates);
+        // Check for removed lights
+        lastLightStateCopy.forEach((lightId, light) -> {
+            logger.trace("Hue light '{}' removed.", lightId);
+            lastLightStates.remove(lightId);
 
-            List<FullGroup> groups = hueBridge.getGroups();
+            final LightStatusListener lightStatusListener = lightStatusListeners.get(lightId);
+            if (lightStatusListener != null) {
+                lightStatusListener.onLightRemoved();
+            }
 
-            final HueDeviceDiscoveryService discovery = discoveryService;
+            if (discovery != null && light != null) {
+                discovery.removeLightDiscovery(light);
+            }
+        });
+    }
 
-            for (final FullGroup fullGroup : groups) {
-                State groupState = new State();
-                boolean on = false;
-                int sumBri = 0;
-                int nbBri = 0;
-                State colorRef = null;
-                HSBType firstColorHsb = null;
-                for (String lightId : fullGroup.getLightIds()) {
-                    FullLight light = lastLightStates.get(lightId);
-                    if (light != null) {
-                        final State lightState = light.getState();
-                        logger.trace("Group {}: light {}: on {} bri {} hue {} sat {} temp {} mode {} XY {}",
-                                fullGroup.getName(), light.getName(), lightState.isOn(), lightState.getBrightness(),
-                                lightState.getHue(), lightState.getSaturation(), lightState.getColorTemperature(),
-                                lightState.getColorMode(), lightState.getXY());
-                        if (lightState.isOn()) {
-                            on = true;
-                            sumBri += lightState.getBrightness();
-                            nbBri++;
-                            if (lightState.getColorMode() != null) {
-                                HSBType lightHsb = LightStateConverter.toHSBType(lightState);
-                                if (firstColorHsb == null) {
-                                    // first color light
-                                    firstColorHsb = lightHsb;
-                                    colorRef = lightState;
-                                } else if (!lightHsb.equals(firstColorHsb)) {
-                                    colorRef = null;
-                                }
+    private void updateGroups() throws IOException, ApiException {
+        Map<String, FullGroup> lastGroupStateCopy = new HashMap<>(lastGroupStates);
+
+        List<FullGroup> groups = hueBridge.getGroups();
+
+        final HueDeviceDiscoveryService discovery = discoveryService;
+
+        for (final FullGroup fullGroup : groups) {
+            State groupState = new State();
+            boolean on = false;
+            int sumBri = 0;
+            int nbBri = 0;
+            State colorRef = null;
+            HSBType firstColorHsb = null;
+            for (String lightId : fullGroup.getLightIds()) {
+                FullLight light = lastLightStates.get(lightId);
+                if (light != null) {
+                    final State lightState = light.getState();
+                    logger.trace("Group {}: light {}: on {} bri {} hue {} sat {} temp {} mode {} XY {}",
+                            fullGroup.getName(), light.getName(), lightState.isOn(), lightState.getBrightness(),
+                            lightState.getHue(), lightState.getSaturation(), lightState.getColorTemperature(),
+                            lightState.getColorMode(), lightState.getXY());
+                    if (lightState.isOn()) {
+                        on = true;
+                        sumBri += lightState.getBrightness();
+                        nbBri++;
+                        if (lightState.getColorMode() != null) {
+                            HSBType lightHsb = LightStateConverter.toHSBType(lightState);
+                            if (firstColorHsb == null) {
+                                // first color light
+                                firstColorHsb = lightHsb;
+                                colorRef = lightState;
+                            } else if (!lightHsb.equals(firstColorHsb)) {
+                                colorRef = null;
                             }
                         }
                     }
                 }
-                groupState.setOn(on);
-                groupState.setBri(nbBri == 0 ? 0 : sumBri / nbBri);
-                if (colorRef != null) {
-                    groupState.setColormode(colorRef.getColorMode());
-                    groupState.setHue(colorRef.getHue());
-                    groupState.setSaturation(colorRef.getSaturation());
-                    groupState.setColorTemperature(colorRef.getColorTemperature());
-                    groupState.setXY(colorRef.getXY());
-                }
-                fullGroup.setState(groupState);
-                logger.trace("Group {} ({}): on {} bri {} hue {} sat {} temp {} mode {} XY {}", fullGroup.getName(),
-                        fullGroup.getType(), groupState.isOn(), groupState.getBrightness(), groupState.getHue(),
-                        groupState.getSaturation(), groupState.getColorTemperature(), groupState.getColorMode(),
-                        groupState.getXY());
+            }
+            groupState.setOn(on);
+            groupState.setBri(nbBri == 0 ? 0 : sumBri / nbBri);
+            if (colorRef != null) {
+                groupState.setColormode(colorRef.getColorMode());
+                groupState.setHue(colorRef.getHue());
+                groupState.setSaturation(colorRef.getSaturation());
+                groupState.setColorTemperature(colorRef.getColorTemperature());
+                groupState.setXY(colorRef.getXY());
+            }
+            fullGroup.setState(groupState);
+            logger.trace("Group {} ({}): on {} bri {} hue {} sat {} temp {} mode {} XY {}", fullGroup.getName(),
+                    fullGroup.getType(), groupState.isOn(), groupState.getBrightness(), groupState.getHue(),
+                    groupState.getSaturation(), groupState.getColorTemperature(), groupState.getColorMode(),
+                    groupState.getXY());
 
-                String groupId = fullGroup.getId();
+            String groupId = fullGroup.getId();
 
-                final GroupStatusListener groupStatusListener = groupStatusListeners.get(groupId);
-                if (groupStatusListener == null) {
-                    logger.trace("Hue group '{}' ({}) added (nb lights {}).", groupId, fullGroup.getName(),
-                            fullGroup.getLightIds().size());
+            final GroupStatusListener groupStatusListener = groupStatusListeners.get(groupId);
+            if (groupStatusListener == null) {
+                logger.trace("Hue group '{}' ({}) added (nb lights {}).", groupId, fullGroup.getName(),
+                        fullGroup.getLightIds().size());
 
-                    if (discovery != null && !lastGroupStateCopy.containsKey(groupId)) {
-                        discovery.addGroupDiscovery(fullGroup);
-                    }
+                if (discovery != null && !lastGroupStateCopy.containsKey(groupId)) {
+                    discovery.addGroupDiscovery(fullGroup);
+                }
 
+                lastGroupStates.put(groupId, fullGroup);
+            } else {
+                if (groupStatusListener.onGroupStateChanged(fullGroup)) {
                     lastGroupStates.put(groupId, fullGroup);
-                } else {
-                    if (groupStatusListener.onGroupStateChanged(fullGroup)) {
-                        lastGroupStates.put(groupId, fullGroup);
-                    }
                 }
-                lastGroupStateCopy.remove(groupId);
             }
+            lastGroupStateCopy.remove(groupId);
+        }
 
-            // Check for removed groups
-            lastGroupStateCopy.forEach((groupId, group) -> {
-                logger.trace("Hue group '{}' removed.", groupId);
-                lastGroupStates.remove(groupId);
+        // Check for removed groups
+        lastGroupStateCopy.forEach((groupId, group) -> {
+            logger.trace("Hue group '{}' removed.", groupId);
+            lastGroupStates.remove(groupId);
 
-                final GroupStatusListener groupStatusListener = groupStatusListeners.get(groupId);
-                if (groupStatusListener != null) {
-                    groupStatusListener.onGroupRemoved();
-                }
+            final GroupStatusListener groupStatusListener = groupStatusListeners.get(groupId);
+            if (groupStatusListener != null) {
+                groupStatusListener.onGroupRemoved();
+            }
 
-                if (discovery != null && group != null) {
-                    discovery.removeGroupDiscovery(group);
-                }
-            });
-        }
-    };
+            if (discovery != null && group != null) {
+                discovery.removeGroupDiscovery(group);
+            }
+        });
+    }
 
     private final Runnable scenePollingRunnable = new PollingRunnable() {
         @Override
@@ -597,6 +715,9 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             } else {
                 lightPollingInterval = configPollingInterval;
             }
+            if (eventStreamConnected) {
+                lightPollingInterval = Math.max(lightPollingInterval, RECONCILIATION_POLLING_INTERVAL);
+            }
             // Delay the first execution to give a chance to have all light and group things registered
             lightPollingJob = scheduler.scheduleWithFixedDelay(lightPollingRunnable, 3, lightPollingInterval,
                     TimeUnit.SECONDS);
@@ -624,6 +745,10 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 } else {
                     sensorPollingInterval = configSensorPollingInterval;
                 }
+                if (eventStreamConnected) {
+                    sensorPollingInterval = Math.max(sensorPollingInterval,
+                            TimeUnit.SECONDS.toMillis(RECONCILIATION_POLLING_INTERVAL));
+                }
                 // Delay the first execution to give a chance to have all sensor things registered
                 sensorPollingJob = scheduler.scheduleWithFixedDelay(sensorPollingRunnable, 4000, sensorPollingInterval,
                         TimeUnit.MILLISECONDS);
@@ -663,10 +788,12 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         if (job != null) {
             job.cancel(true);
         }
+        stopEventStream();
         stopLightPolling();
         stopSensorPolling();
         stopScenePolling();
         if (hueBridge != null) {
+            hueBridge.dispose();
             hueBridge = null;
         }
     }
@@ -711,6 +838,102 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         }
     }
 
+    /**
+     * Restart the polling of lights and sensors with the interval for the current state of the event stream.
+     */
+    private synchronized void restartPolling() {
+        // the stream may call back while it is stopped
+        if (hueBridge != null && eventStream != null) {
+            stopLightPolling();
+            stopSensorPolling();
+            startLightPolling();
+            startSensorPolling();
+        }
+    }
+
+    private synchronized void startEventStream() {
+        if (!hueBridgeConfig.isUseEventStream() || eventStream != null || !hueBridge.isAuthenticated()) {
+            return;
+        }
+        if (!HueBridgeConfig.HTTPS.equals(hueBridgeConfig.getProtocol())) {
+            logger.warn("The event stream of Hue bridge {} requires the protocol https, polling is used instead.",
+                    hueBridgeConfig.getIpAddress());
+            updateStatistics.setEventStreamState("not available, protocol https required");
+            return;
+        }
+        HueEventStream stream = hueBridge.createEventStream(new EventStreamListener());
+        eventStream = stream;
+        updateStatistics.setEventStreamState("connecting");
+        stream.start();
+    }
+
+    private synchronized void stopEventStream() {
+        HueEventStream stream = eventStream;
+        if (stream != null) {
+            stream.stop();
+            eventStream = null;
+        }
+        eventStreamConnected = false;
+        synchronized (pendingLights) {
+            ScheduledFuture<?> job = eventJob;
+            if (job != null) {
+                job.cancel(false);
+                eventJob = null;
+            }
+        }
+    }
+
+    private void scheduleEventUpdate(long receivedNanos) {
+        synchronized (pendingLights) {
+            ScheduledFuture<?> job = eventJob;
+            // a job is done without resetting it if the bridge was not connected
+            if (job == null || job.isDone()) {
+                firstPendingEventNanos = receivedNanos;
+                eventJob = scheduler.schedule(eventRunnable, EVENT_DELAY, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private class EventStreamListener implements HueEventStream.EventListener {
+        @Override
+        public void onEventStreamConnected() {
+            updateStatistics.setEventStreamState("connected");
+            eventStreamConnected = true;
+            restartPolling();
+            // catch up with the changes made while the stream was not connected
+            pendingReconciliation = true;
+            scheduleEventUpdate(System.nanoTime());
+        }
+
+        @Override
+        public void onEventStreamDisconnected(String reason) {
+            updateStatistics.setEventStreamState("disconnected (" + reason + ")");
+            if (eventStreamConnected) {
+                updateStatistics.disconnected();
+                eventStreamConnected = false;
+                restartPolling();
+            }
+        }
+
+        @Override
+        public void onEvent(String type, List<String> resources, @Nullable Instant creationTime, long receivedNanos) {
+            updateStatistics.eventReceived();
+            for (String resource : resources) {
+                if (resource.startsWith("/lights/")) {
+                    pendingLights.add(resource.substring("/lights/".length()));
+                } else if (resource.startsWith("/sensors/")) {
+                    pendingSensors.add(resource.substring("/sensors/".length()));
+                } else if (resource.startsWith("/groups/")) {
+                    pendingGroups = true;
+                }
+            }
+            if (!HueEventStream.EVENT_UPDATE.equals(type)) {
+                pendingReconciliation = true;
+            }
+            scheduleEventUpdate(receivedNanos);
+        }
+    }
+
     /**
      * This method is called whenever the connection to the {@link HueBridge} is lost.
      */
@@ -728,6 +951,8 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private void onConnectionResumed() throws IOException, ApiException {
         logger.debug("Bridge connection resumed.");
 
+        startEventStream();
+
         if (!propertiesInitializedSuccessfully) {
             FullConfig fullConfig = hueBridge.getFullConfig();
             Config config = fullConfig.getConfig();
@@ -1028,6 +1253,15 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         return consoleScenesList;
     }
 
+    public List<String> listUpdateStatisticsForConsole() {
+        List<String> lines = new ArrayList<>();
+        lines.add("Update mode: " + (eventStreamConnected ? "event stream" : "polling"));
+        if (hueBridgeConfig != null && hueBridgeConfig.isUseEventStream()) {
+            updateStatistics.appendTo(lines);
+        }
+        return lines;
+    }
+
     @Override
     public Collection<ConfigStatusMessage> getConfigStatus() {
         // The bridge IP address to be used for checks
@@ -1040,4 +1274,45 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             return List.of();
         }
     }
+
+    /**
+     * Counts the received events and measures the time from receiving an event until the listeners were notified.
+     * The creation time sent by the bridge has a resolution of seconds only, so it is not used.
+     */
+    private static class UpdateStatistics {
+        private String eventStreamState = "not started";
+        private int disconnects = 0;
+        private long events = 0;
+        private long batches = 0;
+        private long totalLatencyNanos = 0;
+        private long maxLatencyNanos = 0;
+        private @Nullable Instant lastEvent;
+
+        synchronized void setEventStreamState(String state) {
+            eventStreamState = state;
+        }
+
+        synchronized void disconnected() {
+            disconnects++;
+        }
+
+        synchronized void eventReceived() {
+            events++;
+            lastEvent = Instant.now();
+        }
+
+        synchronized void eventsProcessed(long latencyNanos) {
+            batches++;
+            totalLatencyNanos += latencyNanos;
+            maxLatencyNanos = Math.max(maxLatencyNanos, latencyNanos);
+        }
+
+        synchronized void appendTo(List<String> lines) {
+            lines.add("Event stream: " + eventStreamState + ", disconnected " + disconnects + " times");
+            lines.add("Events received: " + events + ", last at " + (lastEvent != null ? lastEvent : "-"));
+            lines.add("Updates: " + batches + ", latency average "
+                    + (batches > 0 ? TimeUnit.NANOSECONDS.toMillis(totalLatencyNanos / batches) : 0) + " ms, maximum "
+                    + TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos) + " ms");
+        }
+    }
 }
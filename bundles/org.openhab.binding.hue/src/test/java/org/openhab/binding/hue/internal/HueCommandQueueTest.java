@@ -0,0 +1,199 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+
+/**
+ * Tests the merging, grouping and ordering of the commands by {@link HueCommandQueue}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HueCommandQueueTest {
+
+    /**
+     * Records the requests, the first request blocks until it is released.
+     */
+    private static class RecordingHttpClient extends HttpClient {
+        final List<String> requests = new CopyOnWriteArrayList<>();
+        final CountDownLatch firstRequestStarted = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public Result put(String address, String body) {
+            requests.add(address + " " + body);
+            if (requests.size() == 1) {
+                firstRequestStarted.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new Result("[]", 200);
+        }
+    }
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+    private final RecordingHttpClient http = new RecordingHttpClient();
+    private final HueCommandQueue queue = new HueCommandQueue(http, scheduler);
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private void blockQueue() throws InterruptedException {
+        queue.putLightState("lights/9/state", "9", "{\"on\":true}", 40);
+        assertThat(http.firstRequestStarted.await(5, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    public void testMergeQueuedCommands() throws Exception {
+        blockQueue();
+        CompletableFuture<Result> first = queue.putLightState("lights/2/state", "2", "{\"on\":true,\"bri\":10}", 80);
+        CompletableFuture<Result> second = queue.putLightState("lights/2/state", "2", "{\"bri\":20}", 40);
+        CompletableFuture<Result> third = queue.putLightState("lights/2/state", "2", "{\"bri\":30}", 40);
+        http.release.countDown();
+
+        third.get(5, TimeUnit.SECONDS);
+        assertThat(first.isDone(), is(true));
+        assertThat(second.isDone(), is(true));
+        assertThat(http.requests.size(), is(2));
+        assertThat(http.requests.get(1), is("lights/2/state {\"on\":true,\"bri\":30}"));
+    }
+
+    @Test
+    public void testMergeTurnOff() {
+        assertThat(HueCommandQueue.merge("{\"bri\":100,\"transitiontime\":4}", "{\"on\":false}", true),
+                is("{\"on\":false}"));
+        assertThat(HueCommandQueue.merge("{\"on\":false}", "{\"on\":true,\"bri\":100}", true),
+                is("{\"on\":true,\"bri\":100}"));
+        assertThat(HueCommandQueue.merge("{\"bri\":100}", "invalid", true), is(nullValue()));
+        // disabling a sensor keeps the queued config changes
+        assertThat(HueCommandQueue.merge("{\"sensitivity\":2}", "{\"on\":false}", false),
+                is("{\"sensitivity\":2,\"on\":false}"));
+    }
+
+    @Test
+    public void testMergeSensorConfig() throws Exception {
+        blockQueue();
+        CompletableFuture<Result> first = queue.put("sensors/4/config", "{\"sensitivity\":2}", 40);
+        CompletableFuture<Result> second = queue.put("sensors/4/config", "{\"on\":false}", 40);
+        http.release.countDown();
+
+        second.get(5, TimeUnit.SECONDS);
+        assertThat(first.isDone(), is(true));
+        assertThat(http.requests.size(), is(2));
+        assertThat(http.requests.get(1), is("sensors/4/config {\"sensitivity\":2,\"on\":false}"));
+    }
+
+    @Test
+    public void testDisposeCancelsQueuedCommands() throws Exception {
+        blockQueue();
+        CompletableFuture<Result> light = queue.putLightState("lights/2/state", "2", "{\"bri\":10}", 40);
+        queue.dispose();
+        CompletableFuture<Result> late = queue.putGroupAction("groups/1/action", "{\"on\":true}");
+        http.release.countDown();
+
+        assertThat(light.isCancelled(), is(true));
+        assertThat(late.isCancelled(), is(true));
+        Thread.sleep(100);
+        assertThat(http.requests.size(), is(1));
+    }
+
+    @Test
+    public void testGroupCommand() throws Exception {
+        queue.setGroups(Map.of("groups/1/action", Set.of("1", "2", "3"), "groups/2/action", Set.of("3", "4", "5")));
+        blockQueue();
+        CompletableFuture<Result> light1 = queue.putLightState("lights/1/state", "1", "{\"on\":false}", 40);
+        CompletableFuture<Result> light2 = queue.putLightState("lights/2/state", "2", "{\"on\":false}", 40);
+        CompletableFuture<Result> light4 = queue.putLightState("lights/4/state", "4", "{\"on\":false}", 40);
+        CompletableFuture<Result> light3 = queue.putLightState("lights/3/state", "3", "{\"on\":false}", 40);
+        http.release.countDown();
+
+        CompletableFuture.allOf(light1, light2, light3, light4).get(5, TimeUnit.SECONDS);
+        assertThat(http.requests.size(), is(3));
+        assertThat(http.requests.get(1), is("groups/1/action {\"on\":false}"));
+        assertThat(http.requests.get(2), is("lights/4/state {\"on\":false}"));
+    }
+
+    @Test
+    public void testNoGroupCommandForDifferentStates() throws Exception {
+        queue.setGroups(Map.of("groups/1/action", Set.of("1", "2", "3")));
+        blockQueue();
+        CompletableFuture<Result> light1 = queue.putLightState("lights/1/state", "1", "{\"on\":false}", 40);
+        CompletableFuture<Result> light2 = queue.putLightState("lights/2/state", "2", "{\"on\":false}", 40);
+        CompletableFuture<Result> light3 = queue.putLightState("lights/3/state", "3", "{\"bri\":10}", 40);
+        http.release.countDown();
+
+        CompletableFuture.allOf(light1, light2, light3).get(5, TimeUnit.SECONDS);
+        assertThat(http.requests.size(), is(4));
+        assertThat(http.requests.get(3), is("lights/3/state {\"bri\":10}"));
+    }
+
+    @Test
+    public void testThrottledGroupActionIsSentBeforeLaterLightCommand() throws Exception {
+        queue.setGroups(Map.of("groups/1/action", Set.of("1", "2"), "groups/2/action", Set.of("4", "5")));
+        blockQueue();
+        // the group queue allows two actions at once, the third one is throttled
+        queue.putGroupAction("groups/2/action", "{\"bri\":1}").get(5, TimeUnit.SECONDS);
+        queue.putGroupAction("groups/2/action", "{\"bri\":2}").get(5, TimeUnit.SECONDS);
+        CompletableFuture<Result> group = queue.putGroupAction("groups/1/action", "{\"on\":false}");
+        CompletableFuture<Result> light = queue.putLightState("lights/1/state", "1", "{\"on\":true}", 40);
+        http.release.countDown();
+
+        CompletableFuture.allOf(group, light).get(5, TimeUnit.SECONDS);
+        assertThat(http.requests.size(), is(5));
+        assertThat(http.requests.get(3), is("groups/1/action {\"on\":false}"));
+        assertThat(http.requests.get(4), is("lights/1/state {\"on\":true}"));
+    }
+
+    @Test
+    public void testQueuedLightCommandIsSentBeforeLaterGroupAction() throws Exception {
+        queue.setGroups(Map.of("groups/1/action", Set.of("1", "2")));
+        blockQueue();
+        CompletableFuture<Result> light = queue.putLightState("lights/1/state", "1", "{\"bri\":10}", 40);
+        CompletableFuture<Result> group = queue.putGroupAction("groups/1/action", "{\"on\":false}");
+        // not merged into the queued command, as it would be sent before the group action then
+        CompletableFuture<Result> laterLight = queue.putLightState("lights/1/state", "1", "{\"bri\":20}", 40);
+        CompletableFuture<Result> otherLight = queue.putLightState("lights/3/state", "3", "{\"bri\":30}", 40);
+        http.release.countDown();
+
+        CompletableFuture.allOf(light, group, laterLight, otherLight).get(5, TimeUnit.SECONDS);
+        // the command for another light may be sent in between
+        List<String> requests = http.requests.stream().filter(request -> !request.startsWith("lights/3/"))
+                .collect(Collectors.toList());
+        assertThat(http.requests.size(), is(5));
+        assertThat(requests, is(List.of("lights/9/state {\"on\":true}", "lights/1/state {\"bri\":10}",
+                "groups/1/action {\"on\":false}", "lights/1/state {\"bri\":20}")));
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests the parsing of the server-sent events and the reconnects of idle connections by {@link HueEventStream}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HueEventStreamTest {
+
+    private static class RecordingListener implements HueEventStream.EventListener {
+        final List<String> events = new ArrayList<>();
+        final List<@Nullable Instant> creationTimes = new ArrayList<>();
+        final AtomicInteger connected = new AtomicInteger();
+        final AtomicInteger disconnected = new AtomicInteger();
+
+        @Override
+        public void onEventStreamConnected() {
+            connected.incrementAndGet();
+        }
+
+        @Override
+        public void onEventStreamDisconnected(String reason) {
+            disconnected.incrementAndGet();
+        }
+
+        @Override
+        public void onEvent(String type, List<String> resources, @Nullable Instant creationTime, long receivedNanos) {
+            events.add(type + " " + resources);
+            creationTimes.add(creationTime);
+        }
+    }
+
+    private final RecordingListener listener = new RecordingListener();
+    private final HueEventStream eventStream = new HueEventStream("https://bridge/eventstream/clip/v2", "username",
+            5000, listener);
+
+    @Test
+    public void testReadEvents() throws IOException {
+        String stream = ": hi\n\n" //
+                + "id: 1634576695:0\n" //
+                + "data: [{\"creationtime\":\"2021-10-18T17:04:55Z\",\"data\":[{\"id\":\"a1\",\"id_v1\":\"/lights/1\","
+                + "\"on\":{\"on\":true},\"type\":\"light\"},{\"id\":\"a2\",\"id_v1\":\"/lights/1\","
+                + "\"dimming\":{\"brightness\":50.0},\"type\":\"light\"}],\"id\":\"e1\",\"type\":\"update\"}]\n\n" //
+                + "id: 1634576696:0\n" //
+                + "data: [{\"creationtime\":\"2021-10-18T17:04:56Z\",\"data\":[{\"id\":\"b1\",\"id_v1\":\"/sensors/5\","
+                + "\"type\":\"motion\"},{\"id\":\"b2\",\"id_v1\":\"/groups/2\",\"type\":\"grouped_light\"}],"
+                + "\"id\":\"e2\",\"type\":\"update\"},\n" //
+                + "data: {\"creationtime\":\"2021-10-18T17:04:56Z\",\"data\":[{\"id\":\"c1\",\"id_v1\":\"/lights/7\","
+                + "\"type\":\"light\"}],\"id\":\"e3\",\"type\":\"add\"}]\n\n";
+
+        eventStream.read(new BufferedReader(new StringReader(stream)));
+
+        assertThat(listener.events.size(), is(3));
+        assertThat(listener.events.get(0), is("update [/lights/1]"));
+        assertThat(listener.events.get(1), is("update [/sensors/5, /groups/2]"));
+        assertThat(listener.events.get(2), is("add [/lights/7]"));
+        assertThat(listener.creationTimes.get(0), is(Instant.parse("2021-10-18T17:04:55Z")));
+    }
+
+    @Test
+    public void testIgnoreInvalidEvents() {
+        eventStream.dispatch("not json", System.nanoTime());
+        eventStream.dispatch("{\"type\":\"update\"}", System.nanoTime());
+        eventStream.dispatch("[{\"data\":[{\"id\":\"a1\",\"type\":\"bridge\"}],\"type\":\"update\"}]",
+                System.nanoTime());
+        eventStream.dispatch(
+                "[{\"creationtime\":\"yesterday\",\"data\":[{\"id_v1\":\"/lights/1\"}],\"type\":\"delete\"}]",
+                System.nanoTime());
+
+        assertThat(listener.events.size(), is(1));
+        assertThat(listener.events.get(0), is("delete [/lights/1]"));
+        assertThat(listener.creationTimes.get(0), is(nullValue()));
+    }
+
+    @Test
+    public void testIdleReconnectIsNotNotified() throws Exception {
+        ExecutorService serverExecutor = Executors.newCachedThreadPool();
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(serverExecutor);
+        CountDownLatch requests = new CountDownLatch(3);
+        CountDownLatch release = new CountDownLatch(1);
+        server.createContext("/", exchange -> {
+            // send the greeting of the bridge, but no events
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            exchange.getResponseBody().write(": hi\n\n".getBytes(StandardCharsets.UTF_8));
+            exchange.getResponseBody().flush();
+            requests.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        server.start();
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/eventstream/clip/v2";
+        HueEventStream idleStream = new HueEventStream(url, "username", 5000, 500, listener);
+        try {
+            idleStream.start();
+
+            assertThat(requests.await(10, TimeUnit.SECONDS), is(true));
+            assertThat(listener.connected.get(), is(1));
+            assertThat(listener.disconnected.get(), is(0));
+        } finally {
+            idleStream.stop();
+            release.countDown();
+            server.stop(0);
+            serverExecutor.shutdownNow();
+        }
+    }
+}
@@ -127,10 +127,15 @@ public class EventFilterHandler extends BaseThingHandler implements CalendarUpda
     }
 
     @Override
-    public void onCalendarUpdated() {
+    public void onCalendarUpdated(AbstractPresentableCalendar calendar) {
         updateStates();
     }
 
+    @Override
+    public void onCalendarUnchanged() {
+        // the states are updated by the periodic refresh
+    }
+
     /**
      * Consists of a set of channels and their group for describing a filtered event. *
      */
@@ -66,6 +66,7 @@ import org.slf4j.LoggerFactory;
  * @author Andrew Fiddian-Green - Support for Command Tags embedded in the Event description
  * @author Michael Wodniok - Added last_update-channel and additional needed handling of it
  * @author Michael Wodniok - Changed calculation of Future for refresh of channels
+ * @author Michael Wodniok - Calendar is passed from the PullJob instead of being parsed again
  */
 @NonNullByDefault
 public class ICalendarHandler extends BaseBridgeHandler implements CalendarUpdateListener {
@@ -201,13 +202,27 @@ public class ICalendarHandler extends BaseBridgeHandler implements CalendarUpdat
     }
 
     @Override
-    public void onCalendarUpdated() {
-        if (reloadCalendar()) {
-            updateStates();
-            updateChildren();
-        } else {
-            logger.trace("Calendar was updated, but loading failed.");
+    public void onCalendarUpdated(AbstractPresentableCalendar calendar) {
+        runtimeCalendar = calendar;
+        rescheduleCalendarStateUpdate();
+        calendarDownloadedTime = Instant.ofEpochMilli(calendarFile.lastModified());
+        updateStates();
+        updateChildren();
+    }
+
+    @Override
+    public void onCalendarUnchanged() {
+        if (runtimeCalendar == null) {
+            // the local copy could not be loaded before
+            if (reloadCalendar()) {
+                updateStates();
+                updateChildren();
+            }
+            return;
         }
+        final Instant lastUpdate = Instant.ofEpochMilli(calendarFile.lastModified());
+        calendarDownloadedTime = lastUpdate;
+        updateState(CHANNEL_LAST_UPDATE, new DateTimeType(lastUpdate.atZone(tzProvider.getTimeZone())));
     }
 
     /**
@@ -451,10 +466,11 @@ public class ICalendarHandler extends BaseBridgeHandler implements CalendarUpdat
      * @param childHandler the handler to be updated
      */
     private void updateChild(@Nullable ThingHandler childHandler) {
-        if (childHandler instanceof CalendarUpdateListener) {
+        final AbstractPresentableCalendar calendar = runtimeCalendar;
+        if (calendar != null && childHandler instanceof CalendarUpdateListener) {
             logger.trace("Notifying {} about fresh calendar.", childHandler.getThing().getUID());
             try {
-                ((CalendarUpdateListener) childHandler).onCalendarUpdated();
+                ((CalendarUpdateListener) childHandler).onCalendarUpdated(calendar);
             } catch (Exception e) {
                 logger.trace("The update of a child handler failed. Ignoring.", e);
             }
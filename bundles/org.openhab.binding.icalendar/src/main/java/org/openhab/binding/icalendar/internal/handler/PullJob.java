@@ -22,6 +22,9 @@ import java.io.InputStream;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -44,15 +47,21 @@ import org.slf4j.LoggerFactory;
 
 /**
  * The Job for pulling an update of a calendar. Fires
- * {@link CalendarUpdateListener#onCalendarUpdated()} after successful update.
+ * {@link CalendarUpdateListener#onCalendarUpdated(AbstractPresentableCalendar)} after successful update.
+ *
+ * The calendar is requested conditionally with the entity tag and modification date of the last download. A
+ * calendar which was downloaded again is only parsed if its content changed. In both cases
+ * {@link CalendarUpdateListener#onCalendarUnchanged()} is fired instead.
  *
  * @author Michael Wodniok - Initial contribution
  * @author Michael Wodniok - Added better descriptions for some errors while
  *         downloading calendar
+ * @author Michael Wodniok - Conditional requests and detection of unchanged calendars
  */
 @NonNullByDefault
 class PullJob implements Runnable {
     private static final String TMP_FILE_PREFIX = "icalendardld";
+    private static final String HASH_ALGORITHM = "SHA-256";
 
     private final Authentication.@Nullable Result authentication;
     private final File destination;
@@ -62,6 +71,11 @@ class PullJob implements Runnable {
     private final int maxSize;
     private final URI sourceURI;
 
+    // validators and hash of the calendar in the destination file
+    private @Nullable String entityTag;
+    private @Nullable String lastModified;
+    private byte @Nullable [] contentHash;
+
     /**
      * Constructor of PullJob for creating a single pull of a calendar.
      *
@@ -94,6 +108,15 @@ class PullJob implements Runnable {
         if (currentAuthentication != null) {
             currentAuthentication.apply(request);
         }
+        final boolean destinationExists = destination.isFile();
+        final String currentEntityTag = entityTag;
+        final String currentLastModified = lastModified;
+        if (destinationExists && currentEntityTag != null) {
+            request.header(HttpHeader.IF_NONE_MATCH, currentEntityTag);
+        }
+        if (destinationExists && currentLastModified != null) {
+            request.header(HttpHeader.IF_MODIFIED_SINCE, currentLastModified);
+        }
 
         final InputStreamResponseListener asyncListener = new InputStreamResponseListener();
         request.send(asyncListener);
@@ -115,6 +138,11 @@ class PullJob implements Runnable {
             return;
         }
 
+        if (response.getStatus() == HttpStatus.NOT_MODIFIED_304 && destinationExists) {
+            logger.debug("Calendar at \"{}\" was not modified.", sourceURI);
+            notifyUnchanged();
+            return;
+        }
         if (response.getStatus() != HttpStatus.OK_200) {
             logger.warn("Response status for getting \"{}\" was {} instead of 200. Ignoring it.", sourceURI,
                     response.getStatus());
@@ -146,8 +174,16 @@ class PullJob implements Runnable {
             return;
         }
 
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            logger.warn("Not able to compare downloaded iCal. Error message is: {}", e.getMessage());
+            return;
+        }
+
         try (final FileOutputStream tmpOutStream = new FileOutputStream(tmpTargetFile);
-                final InputStream httpInputStream = asyncListener.getInputStream()) {
+                final InputStream httpInputStream = new DigestInputStream(asyncListener.getInputStream(), digest)) {
             final byte[] buffer = new byte[1024];
             int readBytesTotal = 0;
             int currentReadBytes = -1;
@@ -158,21 +194,35 @@ class PullJob implements Runnable {
                             "Calendar is too big (> {} bytes). Stopping receiving calendar. You may change the maximum calendar size in configuration, if appropriate.",
                             maxSize);
                     response.abort(new ResponseTooBigException());
+                    tmpTargetFile.delete();
                     return;
                 }
                 tmpOutStream.write(buffer, 0, currentReadBytes);
             }
         } catch (IOException e) {
             logger.warn("Not able to write temporary file with downloaded iCal. Error Message is: {}", e.getMessage());
+            tmpTargetFile.delete();
+            return;
+        }
+
+        final byte[] downloadedHash = digest.digest();
+        if (destinationExists && MessageDigest.isEqual(downloadedHash, getDestinationHash(digest))) {
+            logger.debug("Content of calendar at \"{}\" is unchanged.", sourceURI);
+            tmpTargetFile.delete();
+            entityTag = response.getHeaders().get(HttpHeader.ETAG);
+            lastModified = response.getHeaders().get(HttpHeader.LAST_MODIFIED);
+            notifyUnchanged();
             return;
         }
 
+        final AbstractPresentableCalendar calendar;
         try (final FileInputStream tmpInput = new FileInputStream(tmpTargetFile)) {
-            AbstractPresentableCalendar.create(tmpInput);
+            calendar = AbstractPresentableCalendar.create(tmpInput);
         } catch (IOException | CalendarException e) {
             logger.warn(
                     "Not able to read downloaded iCal. Validation failed or file not readable. Error message is: {}",
                     e.getMessage());
+            tmpTargetFile.delete();
             return;
         }
 
@@ -180,11 +230,52 @@ class PullJob implements Runnable {
             Files.move(tmpTargetFile.toPath(), destination.toPath(), StandardCopyOption.REPLACE_EXISTING);
         } catch (IOException e) {
             logger.warn("Failed to replace iCal file. Error message is: {}", e.getMessage());
+            tmpTargetFile.delete();
             return;
         }
+        contentHash = downloadedHash;
+        entityTag = response.getHeaders().get(HttpHeader.ETAG);
+        lastModified = response.getHeaders().get(HttpHeader.LAST_MODIFIED);
 
         try {
-            listener.onCalendarUpdated();
+            listener.onCalendarUpdated(calendar);
+        } catch (Exception e) {
+            logger.debug("An Exception was thrown while calling back", e);
+        }
+    }
+
+    /**
+     * Returns the hash of the destination file, which is calculated once after the start.
+     *
+     * @param digest The digest to use for calculation.
+     * @return The hash of the destination file or an empty array if it could not be read.
+     */
+    private byte[] getDestinationHash(MessageDigest digest) {
+        byte[] currentContentHash = contentHash;
+        if (currentContentHash == null) {
+            digest.reset();
+            try (final InputStream destinationStream = new DigestInputStream(new FileInputStream(destination),
+                    digest)) {
+                final byte[] buffer = new byte[8192];
+                while (destinationStream.read(buffer) > -1) {
+                    // only the digest is of interest
+                }
+                currentContentHash = digest.digest();
+            } catch (IOException e) {
+                logger.debug("Not able to read iCal file for comparison. Error message is: {}", e.getMessage());
+                return new byte[0];
+            }
+            contentHash = currentContentHash;
+        }
+        return currentContentHash;
+    }
+
+    private void notifyUnchanged() {
+        if (!destination.setLastModified(System.currentTimeMillis())) {
+            logger.debug("Not able to update modification time of iCal file.");
+        }
+        try {
+            listener.onCalendarUnchanged();
         } catch (Exception e) {
             logger.debug("An Exception was thrown while calling back", e);
         }
@@ -196,8 +287,15 @@ class PullJob implements Runnable {
     public static interface CalendarUpdateListener {
         /**
          * Callback when update was successful and result was placed onto target file.
+         *
+         * @param calendar The calendar parsed from the target file.
+         */
+        public void onCalendarUpdated(AbstractPresentableCalendar calendar);
+
+        /**
+         * Callback when update was successful, but the calendar did not change.
          */
-        public void onCalendarUpdated();
+        public void onCalendarUnchanged();
     }
 
     /**
@@ -19,8 +19,11 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.TimeZone;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -61,10 +64,24 @@ import biweekly.util.com.google.ical.compat.javautil.DateIterator;
  * @author Michael Wodniok - Added logic for events moved with "RECURRENCE-ID" (issue 9647)
  * @author Michael Wodniok - Extended logic for defined behavior with parallel current events
  *         (issue 10808)
+ * @author Michael Wodniok - Index of expanded occurrences
  */
 @NonNullByDefault
 class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
+    /**
+     * Part of the index horizon before the begin of the query which created it.
+     */
+    private static final Duration INDEX_PAST = Duration.ofDays(1);
+    /**
+     * Part of the index horizon after the begin of the query which created it. Queries over longer time frames are
+     * answered by expanding the events.
+     */
+    private static final Duration INDEX_FUTURE = Duration.ofDays(62);
+
     private final ICalendar usedCalendar;
+    private @Nullable OccurrenceIndex occurrenceIndex;
+    // for tests comparing the index to the expansion of the events
+    boolean indexEnabled = true;
 
     BiweeklyPresentableCalendar(InputStream streamed) throws IOException, CalendarException {
         try (final ICalReader reader = new ICalReader(streamed)) {
@@ -100,6 +117,15 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
 
     @Override
     public @Nullable Event getNextEvent(Instant instant) {
+        final OccurrenceIndex index = getOccurrenceIndex(instant, instant);
+        if (index != null) {
+            final VEventWPeriod nextEvent = index.getNext(instant);
+            // an event after the horizon of the index has to be searched by expanding the events
+            if (nextEvent != null) {
+                return nextEvent.toEvent();
+            }
+        }
+
         final Collection<VEventWPeriod> candidates = new ArrayList<VEventWPeriod>();
         final Collection<VEvent> negativeEvents = new ArrayList<VEvent>();
         final Collection<VEvent> positiveEvents = new ArrayList<VEvent>();
@@ -220,6 +246,11 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
      */
     private List<VEventWPeriod> getVEventWPeriodsBetween(Instant frameBegin, Instant frameEnd, int maximumPerSeries,
             boolean searchByEnd) {
+        final OccurrenceIndex index = getOccurrenceIndex(frameBegin, frameEnd);
+        if (index != null) {
+            return index.getBetween(frameBegin, frameEnd, maximumPerSeries, searchByEnd);
+        }
+
         final List<VEvent> positiveEvents = new ArrayList<>();
         final List<VEvent> negativeEvents = new ArrayList<>();
         classifyEvents(positiveEvents, negativeEvents);
@@ -297,6 +328,11 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
      * @return A VEventWPeriod describing the event or null if there is none.
      */
     private @Nullable VEventWPeriod getCurrentComponentWPeriod(Instant instant) {
+        final OccurrenceIndex index = getOccurrenceIndex(instant, instant);
+        if (index != null) {
+            return index.getCurrent(instant);
+        }
+
         final List<VEvent> negativeEvents = new ArrayList<VEvent>();
         final List<VEvent> positiveEvents = new ArrayList<VEvent>();
         classifyEvents(positiveEvents, negativeEvents);
@@ -330,6 +366,84 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
         return earliestEndingEvent;
     }
 
+    /**
+     * Returns the index of the occurrences for a time frame. The index is created on first use and recreated when a
+     * time frame outside of its horizon is requested, so that it follows the current time.
+     *
+     * @param frameBegin The begin of the time frame.
+     * @param frameEnd The end of the time frame.
+     * @return The index covering the time frame or null if the time frame is too long to be indexed.
+     */
+    private synchronized @Nullable OccurrenceIndex getOccurrenceIndex(Instant frameBegin, Instant frameEnd) {
+        if (!indexEnabled) {
+            return null;
+        }
+        OccurrenceIndex index = occurrenceIndex;
+        if (index != null && index.covers(frameBegin, frameEnd)) {
+            return index;
+        }
+        final Instant horizonBegin = frameBegin.minus(INDEX_PAST);
+        final Instant horizonEnd = frameBegin.plus(INDEX_FUTURE);
+        if (frameEnd.isAfter(horizonEnd)) {
+            return null;
+        }
+        index = createOccurrenceIndex(horizonBegin, horizonEnd);
+        occurrenceIndex = index;
+        return index;
+    }
+
+    /**
+     * Expands all events into their occurrences overlapping the horizon. Countered occurrences are left out.
+     *
+     * @param horizonBegin The begin of the horizon.
+     * @param horizonEnd The end of the horizon.
+     * @return The index of the occurrences.
+     */
+    private OccurrenceIndex createOccurrenceIndex(Instant horizonBegin, Instant horizonEnd) {
+        final List<VEvent> positiveEvents = new ArrayList<>();
+        final List<VEvent> negativeEvents = new ArrayList<>();
+        classifyEvents(positiveEvents, negativeEvents);
+        final Map<String, List<VEvent>> negativeEventsByUid = new HashMap<>();
+        for (final VEvent negativeEvent : negativeEvents) {
+            final Uid negativeEventUid = negativeEvent.getUid();
+            if (negativeEventUid != null) {
+                negativeEventsByUid.computeIfAbsent(negativeEventUid.getValue(), uid -> new ArrayList<>())
+                        .add(negativeEvent);
+            }
+        }
+
+        final List<Occurrence> occurrences = new ArrayList<>();
+        for (int series = 0; series < positiveEvents.size(); series++) {
+            final VEvent positiveEvent = positiveEvents.get(series);
+            final Duration eventLength = getEventLength(positiveEvent);
+            final Duration duration = eventLength != null ? eventLength : Duration.ZERO;
+            final Uid eventUid = positiveEvent.getUid();
+            final List<VEvent> counterEvents = eventUid != null
+                    ? negativeEventsByUid.getOrDefault(eventUid.getValue(), List.of())
+                    : List.of();
+
+            final DateIterator startDates = getRecurredEventDateIterator(positiveEvent);
+            // biweekly is not as precise as java.time, the exact check is done below.
+            startDates.advanceTo(Date.from(horizonBegin.minus(duration).minus(Duration.ofDays(1))));
+            while (startDates.hasNext()) {
+                final Instant startInstant = startDates.next().toInstant();
+                if (startInstant.isAfter(horizonEnd)) {
+                    break;
+                }
+                final Instant endInstant = startInstant.plus(duration);
+                if (endInstant.isBefore(horizonBegin)) {
+                    continue;
+                }
+                if (eventUid != null && isCounteredBy(startInstant, eventUid, counterEvents)) {
+                    continue;
+                }
+                occurrences.add(new Occurrence(new VEventWPeriod(positiveEvent, startInstant, endInstant), series,
+                        eventLength != null));
+            }
+        }
+        return new OccurrenceIndex(horizonBegin, horizonEnd, occurrences);
+    }
+
     /**
      * Finds a duration of the event.
      *
@@ -415,6 +529,108 @@ class BiweeklyPresentableCalendar extends AbstractPresentableCalendar {
         return false;
     }
 
+    /**
+     * An occurrence of an event within the horizon of the {@link OccurrenceIndex}.
+     *
+     * @author Michael Wodniok - Initial contribution.
+     */
+    private static class Occurrence {
+        final VEventWPeriod period;
+        /**
+         * Position of the event in the calendar, which decides between otherwise equal occurrences.
+         */
+        final int series;
+        /**
+         * Whether the length of the event is known. Events without are not considered as current or next events.
+         */
+        final boolean lengthKnown;
+
+        public Occurrence(VEventWPeriod period, int series, boolean lengthKnown) {
+            this.period = period;
+            this.series = series;
+            this.lengthKnown = lengthKnown;
+        }
+    }
+
+    /**
+     * The occurrences of all events overlapping a horizon, which answers the queries for time frames within it.
+     *
+     * @author Michael Wodniok - Initial contribution.
+     */
+    private static class OccurrenceIndex {
+        private static final Comparator<Occurrence> BY_SERIES = Comparator.<Occurrence> comparingInt(o -> o.series)
+                .thenComparing(o -> o.period.start);
+        private static final Comparator<Occurrence> BY_END = Comparator
+                .<Occurrence, Instant> comparing(o -> o.period.end).thenComparing(BY_SERIES);
+
+        private final Instant horizonBegin;
+        private final Instant horizonEnd;
+        private final IntervalIndex<Occurrence> occurrences;
+
+        public OccurrenceIndex(Instant horizonBegin, Instant horizonEnd, List<Occurrence> occurrences) {
+            this.horizonBegin = horizonBegin;
+            this.horizonEnd = horizonEnd;
+            this.occurrences = new IntervalIndex<>(occurrences, o -> o.period.start, o -> o.period.end);
+        }
+
+        public boolean covers(Instant frameBegin, Instant frameEnd) {
+            return !frameBegin.isBefore(horizonBegin) && !frameEnd.isAfter(horizonEnd);
+        }
+
+        /**
+         * @return The current occurrence ending first, or null if there is none.
+         */
+        public @Nullable VEventWPeriod getCurrent(Instant instant) {
+            Occurrence earliestEnding = null;
+            for (final Occurrence occurrence : occurrences.getContaining(instant)) {
+                if (occurrence.lengthKnown
+                        && (earliestEnding == null || BY_END.compare(occurrence, earliestEnding) < 0)) {
+                    earliestEnding = occurrence;
+                }
+            }
+            return earliestEnding != null ? earliestEnding.period : null;
+        }
+
+        /**
+         * @return The next occurrence within the horizon, or null if there is none.
+         */
+        public @Nullable VEventWPeriod getNext(Instant instant) {
+            // occurrences with equal start are ordered by series
+            for (final Occurrence occurrence : occurrences.getStartingAfter(instant)) {
+                if (occurrence.lengthKnown) {
+                    return occurrence.period;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * @return The occurrences beginning or ending in the time frame, ordered by series and start.
+         */
+        public List<VEventWPeriod> getBetween(Instant frameBegin, Instant frameEnd, int maximumPerSeries,
+                boolean searchByEnd) {
+            final List<Occurrence> candidates = new ArrayList<>(searchByEnd
+                    ? occurrences.getEndingBetween(frameBegin, frameEnd)
+                    : occurrences.getStartingBetween(frameBegin, frameEnd));
+            candidates.sort(BY_SERIES);
+
+            final List<VEventWPeriod> eventList = new ArrayList<>(candidates.size());
+            int series = -1;
+            int foundInSeries = 0;
+            for (final Occurrence candidate : candidates) {
+                if (candidate.series != series) {
+                    series = candidate.series;
+                    foundInSeries = 0;
+                }
+                if (maximumPerSeries == 0 || foundInSeries < maximumPerSeries) {
+                    eventList.add(candidate.period);
+                    foundInSeries++;
+                }
+            }
+            return eventList;
+        }
+    }
+
     /**
      * A Class describing an event together with a start and end instant.
      *
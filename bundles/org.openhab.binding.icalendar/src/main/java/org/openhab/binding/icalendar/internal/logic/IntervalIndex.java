@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.icalendar.internal.logic;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * An immutable index of intervals, allowing to find the intervals containing an instant and the intervals beginning
+ * or ending in a time frame with logarithmic lookups.
+ *
+ * The intervals are kept sorted by begin and by end. Intervals with equal begin (respectively end) keep the order in
+ * which they were given. A tree holding the maximum end of the intervals below each node allows to find the
+ * intervals containing an instant without visiting intervals which ended before.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class IntervalIndex<T> {
+    private final List<T> byStart;
+    private final Instant[] starts;
+    private final Instant[] ends;
+    private final Instant[] maxEnds;
+    private final List<T> byEnd;
+    private final Instant[] sortedEnds;
+
+    /**
+     * Creates the index.
+     *
+     * @param intervals The intervals to index.
+     * @param startOf Function returning the begin of an interval.
+     * @param endOf Function returning the end of an interval, which must not be before its begin.
+     */
+    IntervalIndex(Collection<T> intervals, Function<T, Instant> startOf, Function<T, Instant> endOf) {
+        byStart = new ArrayList<>(intervals);
+        byStart.sort(Comparator.comparing(startOf));
+        starts = byStart.stream().map(startOf).toArray(Instant[]::new);
+        ends = byStart.stream().map(endOf).toArray(Instant[]::new);
+        maxEnds = new Instant[Math.max(1, 4 * byStart.size())];
+        if (!byStart.isEmpty()) {
+            buildMaxEnds(0, 0, byStart.size());
+        }
+
+        byEnd = new ArrayList<>(byStart);
+        byEnd.sort(Comparator.comparing(endOf));
+        sortedEnds = byEnd.stream().map(endOf).toArray(Instant[]::new);
+    }
+
+    /**
+     * @return The number of indexed intervals.
+     */
+    int size() {
+        return byStart.size();
+    }
+
+    /**
+     * Finds the intervals containing an instant, excluding their begin and end.
+     *
+     * @param instant The instant to search for.
+     * @return The intervals with begin before and end after the instant, ordered by begin.
+     */
+    List<T> getContaining(Instant instant) {
+        final List<T> result = new ArrayList<>();
+        final int candidates = lowerBound(starts, instant);
+        if (candidates > 0) {
+            collectContaining(0, 0, byStart.size(), candidates, instant, result);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the intervals beginning after an instant.
+     *
+     * @param instant The instant after which the intervals begin.
+     * @return The intervals beginning after the instant, ordered by begin.
+     */
+    List<T> getStartingAfter(Instant instant) {
+        return byStart.subList(upperBound(starts, instant), byStart.size());
+    }
+
+    /**
+     * Finds the intervals beginning in a time frame.
+     *
+     * @param frameBegin The begin of the time frame, inclusive.
+     * @param frameEnd The end of the time frame, exclusive.
+     * @return The intervals beginning in the time frame, ordered by begin.
+     */
+    List<T> getStartingBetween(Instant frameBegin, Instant frameEnd) {
+        final int from = lowerBound(starts, frameBegin);
+        return byStart.subList(from, Math.max(from, lowerBound(starts, frameEnd)));
+    }
+
+    /**
+     * Finds the intervals ending in a time frame.
+     *
+     * @param frameBegin The begin of the time frame, inclusive.
+     * @param frameEnd The end of the time frame, inclusive.
+     * @return The intervals ending in the time frame, ordered by end.
+     */
+    List<T> getEndingBetween(Instant frameBegin, Instant frameEnd) {
+        final int from = lowerBound(sortedEnds, frameBegin);
+        return byEnd.subList(from, Math.max(from, upperBound(sortedEnds, frameEnd)));
+    }
+
+    private Instant buildMaxEnds(int node, int from, int to) {
+        if (to - from == 1) {
+            maxEnds[node] = ends[from];
+        } else {
+            final int middle = (from + to) >>> 1;
+            final Instant left = buildMaxEnds(2 * node + 1, from, middle);
+            final Instant right = buildMaxEnds(2 * node + 2, middle, to);
+            maxEnds[node] = left.isAfter(right) ? left : right;
+        }
+        return maxEnds[node];
+    }
+
+    private void collectContaining(int node, int from, int to, int limit, Instant instant, List<T> result) {
+        if (from >= limit || !maxEnds[node].isAfter(instant)) {
+            return;
+        }
+        if (to - from == 1) {
+            result.add(byStart.get(from));
+            return;
+        }
+        final int middle = (from + to) >>> 1;
+        collectContaining(2 * node + 1, from, middle, limit, instant, result);
+        collectContaining(2 * node + 2, middle, to, limit, instant, result);
+    }
+
+    /**
+     * @return The index of the first element not before the instant.
+     */
+    private static int lowerBound(Instant[] sorted, Instant instant) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (sorted[middle].isBefore(instant)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return The index of the first element after the instant.
+     */
+    private static int upperBound(Instant[] sorted, Instant instant) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (sorted[middle].isAfter(instant)) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.icalendar.internal.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.client.HttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.binding.icalendar.internal.handler.PullJob.CalendarUpdateListener;
+import org.openhab.binding.icalendar.internal.logic.AbstractPresentableCalendar;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * The {@link PullJobTest} tests the conditional download of calendars and the detection of unchanged calendars.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PullJobTest {
+    private static final String ETAG = "\"v1\"";
+    private static final String LAST_MODIFIED = "Tue, 19 Oct 2021 10:00:00 GMT";
+
+    private @NonNullByDefault({}) @TempDir Path tempDir;
+    private @NonNullByDefault({}) HttpServer server;
+    private @NonNullByDefault({}) HttpClient httpClient;
+    private @NonNullByDefault({}) File destination;
+    private @NonNullByDefault({}) PullJob pullJob;
+
+    private final List<String> events = new CopyOnWriteArrayList<>();
+    private final List<@Nullable String> ifNoneMatchHeaders = new CopyOnWriteArrayList<>();
+    private final List<@Nullable String> ifModifiedSinceHeaders = new CopyOnWriteArrayList<>();
+
+    // the response of the server, 304 is only sent if the entity tag matches
+    private volatile byte[] content = new byte[0];
+    private volatile boolean supportsValidators = true;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        content = Files.readAllBytes(Path.of("src/test/resources/test.ics"));
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            ifNoneMatchHeaders.add(ifNoneMatch);
+            ifModifiedSinceHeaders.add(exchange.getRequestHeaders().getFirst("If-Modified-Since"));
+            if (supportsValidators) {
+                exchange.getResponseHeaders().add("ETag", ETAG);
+                exchange.getResponseHeaders().add("Last-Modified", LAST_MODIFIED);
+            }
+            if (supportsValidators && ETAG.equals(ifNoneMatch)) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                byte[] body = content;
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+            exchange.close();
+        });
+        server.start();
+        httpClient = new HttpClient();
+        httpClient.start();
+
+        destination = tempDir.resolve("calendar.ics").toFile();
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/calendar.ics");
+        pullJob = new PullJob(httpClient, uri, null, null, destination, 1024 * 1024, new CalendarUpdateListener() {
+            @Override
+            public void onCalendarUpdated(AbstractPresentableCalendar calendar) {
+                events.add("updated");
+            }
+
+            @Override
+            public void onCalendarUnchanged() {
+                events.add("unchanged");
+            }
+        });
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        httpClient.stop();
+        server.stop(0);
+    }
+
+    @Test
+    public void firstDownloadUpdatesCalendar() throws Exception {
+        pullJob.run();
+
+        assertEquals(List.of("updated"), events);
+        assertArrayEquals(content, Files.readAllBytes(destination.toPath()));
+        assertNull(ifNoneMatchHeaders.get(0));
+        assertNull(ifModifiedSinceHeaders.get(0));
+    }
+
+    @Test
+    public void notModifiedResponseKeepsCalendar() throws Exception {
+        pullJob.run();
+        pullJob.run();
+
+        assertEquals(List.of("updated", "unchanged"), events);
+        assertEquals(ETAG, ifNoneMatchHeaders.get(1));
+        assertEquals(LAST_MODIFIED, ifModifiedSinceHeaders.get(1));
+        assertArrayEquals(content, Files.readAllBytes(destination.toPath()));
+    }
+
+    @Test
+    public void validatorsAreNotSentWithoutDestination() throws Exception {
+        pullJob.run();
+        assertTrue(destination.delete());
+        pullJob.run();
+
+        assertEquals(List.of("updated", "updated"), events);
+        assertNull(ifNoneMatchHeaders.get(1));
+        assertNull(ifModifiedSinceHeaders.get(1));
+        assertArrayEquals(content, Files.readAllBytes(destination.toPath()));
+    }
+
+    @Test
+    public void unchangedContentIsNotParsedAgain() throws Exception {
+        supportsValidators = false;
+        pullJob.run();
+        pullJob.run();
+
+        assertEquals(List.of("updated", "unchanged"), events);
+        assertNull(ifNoneMatchHeaders.get(1));
+    }
+
+    @Test
+    public void unchangedContentOfExistingFileIsDetected() throws Exception {
+        // the file of a previous run is compared by its hash on the first download
+        Files.write(destination.toPath(), content);
+        supportsValidators = false;
+        pullJob.run();
+
+        assertEquals(List.of("unchanged"), events);
+    }
+
+    @Test
+    public void changedContentUpdatesCalendar() throws Exception {
+        supportsValidators = false;
+        pullJob.run();
+        content = Files.readAllBytes(Path.of("src/test/resources/test2.ics"));
+        pullJob.run();
+        pullJob.run();
+
+        assertEquals(List.of("updated", "updated", "unchanged"), events);
+        assertArrayEquals(content, Files.readAllBytes(destination.toPath()));
+    }
+}
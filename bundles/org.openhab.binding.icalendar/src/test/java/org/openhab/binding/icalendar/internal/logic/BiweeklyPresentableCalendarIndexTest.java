@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.icalendar.internal.logic;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the occurrence index of {@link BiweeklyPresentableCalendar} against the expansion of the events on a
+ * generated calendar with many recurring events.
+ *
+ * @author agent - Initial contribution.
+ */
+public class BiweeklyPresentableCalendarIndexTest {
+    private static final int SERIES_COUNT = 100;
+    private static final Instant QUERY_BEGIN = Instant.parse("2022-03-01T00:00:00Z");
+    private static final Duration QUERY_STEP = Duration.ofMinutes(37);
+    private static final int QUERY_COUNT = 40;
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+            .withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private BiweeklyPresentableCalendar indexedCalendar;
+    private BiweeklyPresentableCalendar expandedCalendar;
+
+    @BeforeEach
+    public void setUp() throws IOException, CalendarException {
+        final byte[] calendarData = createLargeCalendar().getBytes(StandardCharsets.UTF_8);
+        indexedCalendar = new BiweeklyPresentableCalendar(new ByteArrayInputStream(calendarData));
+        expandedCalendar = new BiweeklyPresentableCalendar(new ByteArrayInputStream(calendarData));
+        expandedCalendar.indexEnabled = false;
+    }
+
+    /**
+     * Creates a calendar with daily, weekly, monthly and yearly series, single events, cancelled and moved
+     * occurrences.
+     */
+    private static String createLargeCalendar() {
+        final StringBuilder ics = new StringBuilder(
+                "BEGIN:VCALENDAR\r\nVERSION:2.0\r\nPRODID:-//openHAB//test//EN\r\n");
+        final Instant seriesStart = Instant.parse("2022-01-03T06:00:00Z");
+        for (int i = 0; i < SERIES_COUNT; i++) {
+            final String uid = "series-" + i + "@openhab.org";
+            final Instant start = seriesStart.plus(Duration.ofMinutes(15 * (i % 48)));
+            ics.append("BEGIN:VEVENT\r\nUID:").append(uid).append("\r\nSUMMARY:Event ").append(i).append("\r\n");
+            switch (i % 5) {
+                case 0:
+                    appendPeriod(ics, start, Duration.ofMinutes(30));
+                    ics.append("RRULE:FREQ=DAILY").append(i % 10 == 0 ? ";COUNT=80" : "").append("\r\n");
+                    break;
+                case 1:
+                    appendPeriod(ics, start, Duration.ofHours(1));
+                    ics.append("RRULE:FREQ=WEEKLY;BYDAY=MO,WE,FR\r\n");
+                    break;
+                case 2:
+                    appendPeriod(ics, start, Duration.ofHours(2));
+                    ics.append("RRULE:FREQ=MONTHLY;BYMONTHDAY=").append(i % 28 + 1).append("\r\n");
+                    break;
+                case 3:
+                    final LocalDate day = LocalDate.parse("2021-02-20").plusDays(i % 20);
+                    ics.append("DTSTART;VALUE=DATE:").append(DATE.format(day)).append("\r\nDTEND;VALUE=DATE:")
+                            .append(DATE.format(day.plusDays(1))).append("\r\nRRULE:FREQ=YEARLY\r\n");
+                    break;
+                default:
+                    appendPeriod(ics, QUERY_BEGIN.plus(Duration.ofMinutes(7 * i)), Duration.ofMinutes(45));
+                    break;
+            }
+            ics.append("END:VEVENT\r\n");
+
+            if (i % 10 == 0) {
+                // cancel one occurrence and move another one of the daily series
+                final Instant cancelled = start.plus(Duration.ofDays(57));
+                ics.append("BEGIN:VEVENT\r\nUID:").append(uid).append("\r\nSUMMARY:Event ").append(i)
+                        .append("\r\nRECURRENCE-ID:").append(DATE_TIME.format(cancelled)).append("\r\n");
+                appendPeriod(ics, cancelled, Duration.ofMinutes(30));
+                ics.append("STATUS:CANCELLED\r\nEND:VEVENT\r\n");
+
+                final Instant moved = start.plus(Duration.ofDays(58));
+                ics.append("BEGIN:VEVENT\r\nUID:").append(uid).append("\r\nSUMMARY:Moved event ").append(i)
+                        .append("\r\nRECURRENCE-ID:").append(DATE_TIME.format(moved)).append("\r\n");
+                appendPeriod(ics, moved.plus(Duration.ofMinutes(90)), Duration.ofMinutes(30));
+                ics.append("END:VEVENT\r\n");
+            }
+        }
+        return ics.append("END:VCALENDAR\r\n").toString();
+    }
+
+    private static void appendPeriod(StringBuilder ics, Instant start, Duration duration) {
+        ics.append("DTSTART:").append(DATE_TIME.format(start)).append("\r\nDTEND:")
+                .append(DATE_TIME.format(start.plus(duration))).append("\r\n");
+    }
+
+    @Test
+    public void testIndexMatchesExpansion() {
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            final Instant instant = QUERY_BEGIN.plus(QUERY_STEP.multipliedBy(i));
+            final Instant frameEnd = instant.plus(QUERY_STEP);
+            final String message = "Query at " + instant;
+
+            assertEquals(expandedCalendar.isEventPresent(instant), indexedCalendar.isEventPresent(instant), message);
+            assertEquals(expandedCalendar.getCurrentEvent(instant), indexedCalendar.getCurrentEvent(instant), message);
+            assertEquals(expandedCalendar.getNextEvent(instant), indexedCalendar.getNextEvent(instant), message);
+            assertEquals(expandedCalendar.getJustBegunEvents(instant, frameEnd),
+                    indexedCalendar.getJustBegunEvents(instant, frameEnd), message);
+            assertEquals(expandedCalendar.getJustEndedEvents(instant, frameEnd),
+                    indexedCalendar.getJustEndedEvents(instant, frameEnd), message);
+            assertEquals(expandedCalendar.getFilteredEventsBetween(instant, instant.plus(Duration.ofDays(7)), null, 5),
+                    indexedCalendar.getFilteredEventsBetween(instant, instant.plus(Duration.ofDays(7)), null, 5),
+                    message);
+        }
+    }
+}
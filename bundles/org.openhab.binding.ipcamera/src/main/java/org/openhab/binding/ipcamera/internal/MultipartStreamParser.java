@@ -0,0 +1,200 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * The {@link MultipartStreamParser} splits a multipart stream that never ends, like the alarm streams of Hikvision
+ * and Dahua cameras, into its parts. The stream is fed in chunks as they arrive and each part is returned as soon as
+ * it is complete, either when its Content-Length has been received or, without that header, when the next boundary
+ * arrives. Each part is returned including its boundary and headers.
+ *
+ * Received data is only scanned once, so the work is linear in the size of the stream.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MultipartStreamParser {
+    // a part that is not complete after this many bytes is discarded
+    private static final int MAX_PART_SIZE = 512 * 1024;
+    private static final byte[] HEADERS_END = "\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final String CONTENT_LENGTH = "content-length:";
+
+    private final byte[] delimiter;
+    private final ByteBuf buffer = Unpooled.buffer();
+    // index of the boundary of the current part, -1 when the start of a part is still searched
+    private int partStart = -1;
+    // index of the body of the current part, -1 when its headers are not complete yet
+    private int bodyStart = -1;
+    private int contentLength = -1;
+    // index from which the data has not been searched yet
+    private int searchIndex = 0;
+
+    public MultipartStreamParser(String boundary) {
+        delimiter = ("--" + boundary).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Feed the next chunk of the stream.
+     *
+     * @param chunk the received data, which is not consumed nor released
+     * @return the parts completed by this chunk, in order
+     */
+    public List<String> parse(ByteBuf chunk) {
+        compact();
+        buffer.writeBytes(chunk, chunk.readerIndex(), chunk.readableBytes());
+        List<String> parts = new ArrayList<>(1);
+        while (parseNext(parts)) {
+            // parse all parts completed by the chunk
+        }
+        if (buffer.readableBytes() > MAX_PART_SIZE) {
+            reset();
+        }
+        return parts;
+    }
+
+    /**
+     * Take the data of an incomplete part, when the stream ends.
+     *
+     * @return the received data not returned as a part yet, trimmed to the first boundary if any
+     */
+    public String flush() {
+        int start = partStart >= 0 ? partStart : buffer.readerIndex();
+        String rest = buffer.toString(start, buffer.writerIndex() - start, StandardCharsets.UTF_8);
+        reset();
+        return rest;
+    }
+
+    /**
+     * Release the buffer of the parser, when the stream was closed. The parser must not be used afterwards.
+     */
+    public void release() {
+        if (buffer.refCnt() > 0) {
+            buffer.release();
+        }
+    }
+
+    public void reset() {
+        buffer.clear();
+        partStart = -1;
+        bodyStart = -1;
+        contentLength = -1;
+        searchIndex = 0;
+    }
+
+    private boolean parseNext(List<String> parts) {
+        if (partStart < 0) {
+            int index = indexOf(delimiter, searchIndex);
+            if (index < 0) {
+                // keep what could be the beginning of a boundary split between chunks
+                int keep = Math.min(delimiter.length - 1, buffer.readableBytes());
+                buffer.readerIndex(buffer.writerIndex() - keep);
+                searchIndex = buffer.readerIndex();
+                return false;
+            }
+            buffer.readerIndex(index);
+            partStart = index;
+            searchIndex = index + delimiter.length;
+        }
+        if (bodyStart < 0) {
+            int index = indexOf(HEADERS_END, searchIndex);
+            if (index < 0) {
+                searchIndex = Math.max(searchIndex, buffer.writerIndex() - HEADERS_END.length + 1);
+                return false;
+            }
+            bodyStart = index + HEADERS_END.length;
+            contentLength = parseContentLength(buffer.toString(partStart, index - partStart,
+                    StandardCharsets.US_ASCII));
+            searchIndex = bodyStart;
+        }
+        int partEnd;
+        if (contentLength >= 0) {
+            partEnd = bodyStart + contentLength;
+            if (partEnd > buffer.writerIndex()) {
+                return false;
+            }
+        } else {
+            partEnd = indexOf(delimiter, searchIndex);
+            if (partEnd < 0) {
+                searchIndex = Math.max(searchIndex, buffer.writerIndex() - delimiter.length + 1);
+                return false;
+            }
+        }
+        parts.add(buffer.toString(partStart, partEnd - partStart, StandardCharsets.UTF_8));
+        buffer.readerIndex(partEnd);
+        partStart = -1;
+        bodyStart = -1;
+        contentLength = -1;
+        searchIndex = partEnd;
+        return true;
+    }
+
+    private int indexOf(byte[] pattern, int fromIndex) {
+        int last = buffer.writerIndex() - pattern.length;
+        for (int index = Math.max(fromIndex, buffer.readerIndex()); index <= last; index++) {
+            index = buffer.indexOf(index, last + 1, pattern[0]);
+            if (index < 0) {
+                return -1;
+            }
+            int i = 1;
+            while (i < pattern.length && buffer.getByte(index + i) == pattern[i]) {
+                i++;
+            }
+            if (i == pattern.length) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static int parseContentLength(String headers) {
+        int index = headers.toLowerCase(Locale.ROOT).indexOf(CONTENT_LENGTH);
+        if (index < 0) {
+            return -1;
+        }
+        int end = headers.indexOf("\r\n", index);
+        String value = headers.substring(index + CONTENT_LENGTH.length(), end < 0 ? headers.length() : end).strip();
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Discard the data already parsed, shifting the indexes of the current part.
+     */
+    private void compact() {
+        int discarded = buffer.readerIndex();
+        if (discarded == 0) {
+            return;
+        }
+        buffer.discardReadBytes();
+        if (partStart >= 0) {
+            partStart -= discarded;
+        }
+        if (bodyStart >= 0) {
+            bodyStart -= discarded;
+        }
+        searchIndex = Math.max(0, searchIndex - discarded);
+    }
+}
@@ -26,6 +26,7 @@ import java.net.URL;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
@@ -56,6 +57,7 @@ import org.openhab.binding.ipcamera.internal.InstarHandler;
 import org.openhab.binding.ipcamera.internal.IpCameraActions;
 import org.openhab.binding.ipcamera.internal.IpCameraBindingConstants.FFmpegFormat;
 import org.openhab.binding.ipcamera.internal.IpCameraDynamicStateDescriptionProvider;
+import org.openhab.binding.ipcamera.internal.MultipartStreamParser;
 import org.openhab.binding.ipcamera.internal.MyNettyAuthHandler;
 import org.openhab.binding.ipcamera.internal.onvif.OnvifConnection;
 import org.openhab.binding.ipcamera.internal.servlet.CameraServlet;
@@ -196,7 +198,7 @@ public class IpCameraHandler extends BaseThingHandler {
         private byte[] incomingJpeg = new byte[0];
         private String incomingMessage = "";
         private String contentType = "empty";
-        private String boundary = "";
+        private @Nullable MultipartStreamParser multipartParser;
         private Object reply = new Object();
         private String requestUrl = "";
         private boolean isChunked = false;
@@ -242,7 +244,9 @@ public class IpCameraHandler extends BaseThingHandler {
                                         }
                                     }
                                 } else {
-                                    boundary = Helper.searchString(contentType, "boundary=");
+                                    releaseMultipartParser();
+                                    multipartParser = new MultipartStreamParser(
+                                            Helper.searchString(contentType, "boundary="));
                                 }
                             } else if (contentType.contains("image/jp")) {
                                 if (bytesToRecieve == 0) {
@@ -261,22 +265,29 @@ public class IpCameraHandler extends BaseThingHandler {
                     HttpContent content = (HttpContent) msg;
                     if (mjpegUri.equals(requestUrl) && !(content instanceof LastHttpContent)) {
                         // multiple MJPEG stream packets come back as this.
-                        byte[] chunkedFrame = new byte[content.content().readableBytes()];
-                        content.content().getBytes(content.content().readerIndex(), chunkedFrame);
+                        // The packets are shared with all streams without copying, msg is released below.
                         CameraServlet localServlet = servlet;
                         if (localServlet != null) {
-                            localServlet.openStreams.queueFrame(chunkedFrame);
+                            localServlet.openStreams.queueFrame(content.content());
                         }
                     } else {
                         // Found some cameras use Content-Type: image/jpg instead of image/jpeg
                         if (contentType.contains("image/jp")) {
-                            for (int i = 0; i < content.content().capacity(); i++) {
-                                incomingJpeg[bytesAlreadyRecieved++] = content.content().getByte(i);
+                            ByteBuf buffer = content.content();
+                            int length = buffer.readableBytes();
+                            if (bytesAlreadyRecieved + length > incomingJpeg.length) {
+                                incomingJpeg = Arrays.copyOf(incomingJpeg, bytesAlreadyRecieved + length);
                             }
+                            buffer.getBytes(buffer.readerIndex(), incomingJpeg, bytesAlreadyRecieved, length);
+                            bytesAlreadyRecieved += length;
                             if (content instanceof LastHttpContent) {
-                                processSnapshot(incomingJpeg);
+                                processSnapshot(bytesAlreadyRecieved == incomingJpeg.length ? incomingJpeg
+                                        : Arrays.copyOf(incomingJpeg, bytesAlreadyRecieved));
                                 ctx.close();
                             }
+                        } else if (multipartParser != null) {
+                            // Alarm Streams never have a LastHttpContent as they always stay open//
+                            processMultipartContent(ctx, content);
                         } else { // incomingMessage that is not an IMAGE
                             if (incomingMessage.isEmpty()) {
                                 incomingMessage = content.content().toString(CharsetUtil.UTF_8);
@@ -291,37 +302,6 @@ public class IpCameraHandler extends BaseThingHandler {
                                     super.channelRead(ctx, reply);
                                 }
                             }
-                            // Alarm Streams never have a LastHttpContent as they always stay open//
-                            else if (contentType.contains("multipart")) {
-                                int beginIndex, endIndex;
-                                if (bytesToRecieve == 0) {
-                                    beginIndex = incomingMessage.indexOf("Content-Length:");
-                                    if (beginIndex != -1) {
-                                        endIndex = incomingMessage.indexOf("\r\n", beginIndex);
-                                        if (endIndex != -1) {
-                                            bytesToRecieve = Integer.parseInt(
-                                                    incomingMessage.substring(beginIndex + 15, endIndex).strip());
-                                        }
-                                    }
-                                }
-                                // --boundary and headers are not included in the Content-Length value
-                                if (bytesAlreadyRecieved > bytesToRecieve) {
-                                    // Check if message has a second --boundary
-                                    endIndex = incomingMessage.indexOf("--" + boundary, bytesToRecieve);
-                                    if (endIndex == -1) {
-                                        reply = incomingMessage;
-                                        incomingMessage = "";
-                                        bytesToRecieve = 0;
-                                        bytesAlreadyRecieved = 0;
-                                    } else {
-                                        reply = incomingMessage.substring(0, endIndex);
-                                        incomingMessage = incomingMessage.substring(endIndex, incomingMessage.length());
-                                        bytesToRecieve = 0;// Triggers search next time for Content-Length:
-                                        bytesAlreadyRecieved = incomingMessage.length() - endIndex;
-                                    }
-                                    super.channelRead(ctx, reply);
-                                }
-                            }
                             // Foscam needs this as will other cameras with chunks//
                             if (isChunked && bytesAlreadyRecieved != 0) {
                                 logger.debug("Reply is chunked.");
@@ -343,6 +323,45 @@ public class IpCameraHandler extends BaseThingHandler {
             }
         }
 
+        /**
+         * Send each complete part of a multipart stream on to the next handler as soon as it has been received.
+         */
+        private void processMultipartContent(ChannelHandlerContext ctx, HttpContent content) throws Exception {
+            MultipartStreamParser parser = multipartParser;
+            if (parser == null) {
+                return;
+            }
+            for (String part : parser.parse(content.content())) {
+                super.channelRead(ctx, part);
+            }
+            if (content instanceof LastHttpContent) {
+                String rest = parser.flush();
+                if (!rest.isEmpty()) {
+                    super.channelRead(ctx, rest);
+                }
+            }
+        }
+
+        private void releaseMultipartParser() {
+            MultipartStreamParser parser = multipartParser;
+            if (parser != null) {
+                multipartParser = null;
+                parser.release();
+            }
+        }
+
+        @Override
+        public void channelInactive(@Nullable ChannelHandlerContext ctx) throws Exception {
+            releaseMultipartParser();
+            super.channelInactive(ctx);
+        }
+
+        @Override
+        public void handlerRemoved(@Nullable ChannelHandlerContext ctx) throws Exception {
+            releaseMultipartParser();
+            super.handlerRemoved(ctx);
+        }
+
         @Override
         public void exceptionCaught(@Nullable ChannelHandlerContext ctx, @Nullable Throwable cause) {
             if (cause == null || ctx == null) {
@@ -202,6 +202,9 @@ public class CameraServlet extends IpCameraServlet {
                     } catch (InterruptedException | IOException e) {
                         // Never stop streaming until IOException. Occurs when browser stops the stream.
                         openStreams.removeStream(output);
+                        logger.debug("ipcamera.mjpeg stream sent {} frames at {} fps, {} frames were dropped.",
+                                output.getFramesSent(), String.format("%.1f", output.getFps()),
+                                output.getFramesDropped());
                         logger.debug("Now there are {} ipcamera.mjpeg streams open.", openStreams.getNumberOfStreams());
                         if (openStreams.isEmpty()) {
                             if (output.isSnapshotBased) {
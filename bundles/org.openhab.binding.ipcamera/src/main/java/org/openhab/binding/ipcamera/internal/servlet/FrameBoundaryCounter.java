@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.servlet;
+
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * The {@link FrameBoundaryCounter} counts the parts, i.e. the jpg frames, of an MJPEG stream relayed from a camera,
+ * which arrives in chunks unrelated to the frames. The chunks are scanned for the multipart delimiter, including
+ * delimiters split between two chunks.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class FrameBoundaryCounter {
+    private final byte[] delimiter;
+    // length of the longest delimiter prefix which is also a suffix of delimiter[0..i]
+    private final int[] fallback;
+    // number of delimiter bytes matched at the end of the previous chunk
+    private int matched = 0;
+
+    FrameBoundaryCounter(String boundary) {
+        delimiter = ("--" + boundary).getBytes(StandardCharsets.US_ASCII);
+        fallback = new int[delimiter.length];
+        for (int i = 1, k = 0; i < delimiter.length; i++) {
+            while (k > 0 && delimiter[i] != delimiter[k]) {
+                k = fallback[k - 1];
+            }
+            if (delimiter[i] == delimiter[k]) {
+                k++;
+            }
+            fallback[i] = k;
+        }
+    }
+
+    /**
+     * Create a counter for the boundary of a multipart content type.
+     *
+     * @param contentType the content type of the stream, e.g. {@code multipart/x-mixed-replace; boundary=frame}
+     * @return the counter or null if the content type has no boundary
+     */
+    static @Nullable FrameBoundaryCounter forContentType(String contentType) {
+        int index = contentType.toLowerCase().indexOf("boundary=");
+        if (index < 0) {
+            return null;
+        }
+        String boundary = contentType.substring(index + "boundary=".length());
+        int end = boundary.indexOf(';');
+        boundary = (end < 0 ? boundary : boundary.substring(0, end)).trim();
+        if (boundary.length() > 1 && boundary.startsWith("\"") && boundary.endsWith("\"")) {
+            boundary = boundary.substring(1, boundary.length() - 1);
+        }
+        return boundary.isEmpty() ? null : new FrameBoundaryCounter(boundary);
+    }
+
+    /**
+     * Count the delimiters completed by the next chunk of the stream.
+     *
+     * @param chunk the next chunk, which is not consumed
+     * @return the number of parts started in the chunk
+     */
+    int count(ByteBuf chunk) {
+        int[] parts = new int[1];
+        chunk.forEachByte(b -> {
+            while (matched > 0 && b != delimiter[matched]) {
+                matched = fallback[matched - 1];
+            }
+            if (b == delimiter[matched]) {
+                matched++;
+            }
+            if (matched == delimiter.length) {
+                parts[0]++;
+                matched = fallback[matched - 1];
+            }
+            return true;
+        });
+        return parts[0];
+    }
+}
@@ -18,6 +18,9 @@ import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
 /**
  * The {@link OpenStreams} Keeps track of all open mjpeg streams so the byte[] can be given to all FIFO buffers to allow
  * 1 to many streams without needing to open more than 1 source stream.
@@ -36,6 +39,7 @@ public class OpenStreams {
 
     public synchronized void removeStream(StreamOutput stream) {
         openStreams.remove(stream);
+        stream.clearFrames();
     }
 
     public synchronized int getNumberOfStreams() {
@@ -53,8 +57,23 @@ public class OpenStreams {
     }
 
     public synchronized void queueFrame(byte[] frame) {
+        ByteBuf buffer = Unpooled.wrappedBuffer(frame);
+        try {
+            queueFrame(buffer);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * Queue a frame to all streams without copying it. Each stream gets its own reference to the frame, the caller
+     * keeps its reference and remains responsible for releasing it.
+     *
+     * @param frame the frame to queue
+     */
+    public synchronized void queueFrame(ByteBuf frame) {
         for (StreamOutput stream : openStreams) {
-            stream.queueFrame(frame);
+            stream.queueFrame(frame.retainedDuplicate());
         }
     }
 
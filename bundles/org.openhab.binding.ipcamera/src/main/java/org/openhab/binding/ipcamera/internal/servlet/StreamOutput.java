@@ -15,11 +15,16 @@ package org.openhab.binding.ipcamera.internal.servlet;
 import java.io.IOException;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 
 /**
  * The {@link StreamOutput} Streams mjpeg out to a client
@@ -33,9 +38,28 @@ public class StreamOutput {
     private final String boundary;
     private String contentType;
     private final ServletOutputStream output;
-    private BlockingQueue<byte[]> fifo = new ArrayBlockingQueue<byte[]>(6);
+    // Frames are reference counted buffers shared between all streams, each queued frame holds one reference.
+    private BlockingQueue<QueuedFrame> fifo = new ArrayBlockingQueue<QueuedFrame>(6);
+    // Counts the jpg frames in the chunks of a stream relayed from the camera
+    private @Nullable FrameBoundaryCounter boundaryCounter;
     private boolean connected = false;
     public boolean isSnapshotBased = false;
+    private final long startTime = System.nanoTime();
+    private final AtomicLong framesSent = new AtomicLong();
+    private final AtomicLong framesDropped = new AtomicLong();
+
+    /**
+     * A queued chunk of the stream with the number of jpg frames starting in it
+     */
+    private static class QueuedFrame {
+        private final ByteBuf data;
+        private final int frames;
+
+        private QueuedFrame(ByteBuf data, int frames) {
+            this.data = data;
+            this.frames = frames;
+        }
+    }
 
     public StreamOutput(HttpServletResponse response) throws IOException {
         boundary = "thisMjpegStream";
@@ -50,6 +74,7 @@ public class StreamOutput {
         this.contentType = contentType;
         this.response = response;
         output = response.getOutputStream();
+        boundaryCounter = FrameBoundaryCounter.forContentType(contentType);
         if (!contentType.isEmpty()) {
             sendInitialHeaders();
             connected = true;
@@ -57,32 +82,60 @@ public class StreamOutput {
     }
 
     public void sendSnapshotBasedFrame(byte[] currentSnapshot) throws IOException {
-        String header = "--" + boundary + "\r\n" + "Content-Type: image/jpeg" + "\r\n" + "Content-Length: "
-                + currentSnapshot.length + "\r\n\r\n";
+        sendSnapshotBasedFrame(Unpooled.wrappedBuffer(currentSnapshot));
+    }
+
+    private void sendSnapshotBasedFrame(ByteBuf currentSnapshot) throws IOException {
         if (!connected) {
             sendInitialHeaders();
             // iOS needs to have two jpgs sent for the picture to appear instantly.
-            output.write(header.getBytes());
-            output.write(currentSnapshot);
-            output.write("\r\n".getBytes());
+            writeJpegPart(currentSnapshot);
             connected = true;
         }
+        writeJpegPart(currentSnapshot);
+    }
+
+    /**
+     * Write a jpg as a part of the multipart stream.
+     */
+    private void writeJpegPart(ByteBuf frame) throws IOException {
+        String header = "--" + boundary + "\r\n" + "Content-Type: image/jpeg" + "\r\n" + "Content-Length: "
+                + frame.readableBytes() + "\r\n\r\n";
         output.write(header.getBytes());
-        output.write(currentSnapshot);
+        writeFrame(frame);
         output.write("\r\n".getBytes());
     }
 
-    public void queueFrame(byte[] frame) {
-        try {
-            fifo.add(frame);
-        } catch (IllegalStateException e) {
-            fifo.remove();
-            fifo.add(frame);
+    private void writeFrame(ByteBuf frame) throws IOException {
+        frame.getBytes(frame.readerIndex(), output, frame.readableBytes());
+    }
+
+    /**
+     * Queue a frame to be sent to the client. The stream takes over the reference to the frame. When the client is
+     * too slow to keep up, the oldest queued frame is dropped rather than blocking the caller.
+     *
+     * For a stream relayed from the camera the frame is a chunk of the camera's stream, the jpg frames are counted by
+     * the multipart boundaries in the chunks.
+     *
+     * @param frame the frame, released once sent or dropped
+     */
+    public void queueFrame(ByteBuf frame) {
+        FrameBoundaryCounter counter = boundaryCounter;
+        QueuedFrame queued = new QueuedFrame(frame, isSnapshotBased || counter == null ? 1 : counter.count(frame));
+        while (!fifo.offer(queued)) {
+            QueuedFrame dropped = fifo.poll();
+            if (dropped != null) {
+                dropped.data.release();
+                framesDropped.addAndGet(dropped.frames);
+            }
         }
     }
 
     public void updateContentType(String contentType) {
         this.contentType = contentType;
+        if (!isSnapshotBased) {
+            boundaryCounter = FrameBoundaryCounter.forContentType(contentType);
+        }
         if (!connected) {
             sendInitialHeaders();
             connected = true;
@@ -91,12 +144,51 @@ public class StreamOutput {
 
     public void sendFrame() throws IOException, InterruptedException {
         if (isSnapshotBased) {
-            sendSnapshotBasedFrame(fifo.take());
+            QueuedFrame frame = fifo.take();
+            try {
+                sendSnapshotBasedFrame(frame.data);
+            } finally {
+                frame.data.release();
+            }
+            framesSent.addAndGet(frame.frames);
         } else if (connected) {
-            output.write(fifo.take());
+            QueuedFrame frame = fifo.take();
+            try {
+                writeFrame(frame.data);
+            } finally {
+                frame.data.release();
+            }
+            framesSent.addAndGet(frame.frames);
+        }
+    }
+
+    /**
+     * Release all queued frames
+     */
+    public void clearFrames() {
+        QueuedFrame frame;
+        while ((frame = fifo.poll()) != null) {
+            frame.data.release();
         }
     }
 
+    public long getFramesSent() {
+        return framesSent.get();
+    }
+
+    public long getFramesDropped() {
+        return framesDropped.get();
+    }
+
+    /**
+     * @return the average number of jpg frames per second sent to the client since the stream was opened, for a
+     *         relayed stream without multipart boundary the chunks of the stream are counted
+     */
+    public double getFps() {
+        double seconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+        return seconds > 0 ? framesSent.get() / seconds : 0;
+    }
+
     private void sendInitialHeaders() {
         response.setContentType(contentType);
         response.setHeader("Access-Control-Allow-Origin", "*");
@@ -104,6 +196,7 @@ public class StreamOutput {
     }
 
     public void close() {
+        clearFrames();
         try {
             output.close();
         } catch (IOException e) {
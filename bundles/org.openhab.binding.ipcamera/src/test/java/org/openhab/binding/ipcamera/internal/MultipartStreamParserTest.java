@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Tests the {@link MultipartStreamParser} with alarm streams as sent by Hikvision and Dahua cameras.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MultipartStreamParserTest {
+
+    // ISAPI/Event/notification/alertStream of a Hikvision camera
+    private static final String HIKVISION_BOUNDARY = "boundary";
+    private static final String HIKVISION_MOTION = "<EventNotificationAlert version=\"2.0\" "
+            + "xmlns=\"http://www.hikvision.com/ver20/XMLSchema\">\r\n<ipAddress>192.168.1.64</ipAddress>\r\n"
+            + "<portNo>80</portNo>\r\n<protocol>HTTP</protocol>\r\n<macAddress>44:19:b6:00:00:01</macAddress>\r\n"
+            + "<channelID>1</channelID>\r\n<dateTime>2021-03-14T10:15:02+01:00</dateTime>\r\n"
+            + "<activePostCount>1</activePostCount>\r\n<eventType>VMD</eventType>\r\n"
+            + "<eventState>active</eventState>\r\n<eventDescription>Motion alarm</eventDescription>\r\n"
+            + "</EventNotificationAlert>\r\n";
+    private static final String HIKVISION_VIDEOLOSS = "<EventNotificationAlert version=\"2.0\" "
+            + "xmlns=\"http://www.hikvision.com/ver20/XMLSchema\">\r\n<ipAddress>192.168.1.64</ipAddress>\r\n"
+            + "<portNo>80</portNo>\r\n<protocol>HTTP</protocol>\r\n<macAddress>44:19:b6:00:00:01</macAddress>\r\n"
+            + "<channelID>1</channelID>\r\n<dateTime>2021-03-14T10:15:12+01:00</dateTime>\r\n"
+            + "<activePostCount>0</activePostCount>\r\n<eventType>videoloss</eventType>\r\n"
+            + "<eventState>inactive</eventState>\r\n<eventDescription>videoloss alarm</eventDescription>\r\n"
+            + "</EventNotificationAlert>\r\n";
+
+    // cgi-bin/eventManager.cgi?action=attach&codes=[All] of a Dahua camera, this firmware sends no Content-Length
+    private static final String DAHUA_BOUNDARY = "myboundary";
+    private static final String DAHUA_STREAM = "--myboundary\r\nContent-Type: text/plain\r\n\r\n"
+            + "Code=VideoMotion;action=Start;index=0\r\n\r\n"
+            + "--myboundary\r\nContent-Type: text/plain\r\n\r\nHeartbeat\r\n\r\n"
+            + "--myboundary\r\nContent-Type: text/plain\r\n\r\n"
+            + "Code=CrossLineDetection;action=Start;index=0;data={\r\n   \"Direction\" : \"LeftToRight\"\r\n}\r\n\r\n";
+
+    private static String hikvisionPart(String body) {
+        return "--" + HIKVISION_BOUNDARY + "\r\nContent-Type: application/xml; charset=\"UTF-8\"\r\nContent-Length: "
+                + body.getBytes(StandardCharsets.UTF_8).length + "\r\n\r\n" + body;
+    }
+
+    private static final String HIKVISION_STREAM = hikvisionPart(HIKVISION_MOTION) + "\r\n"
+            + hikvisionPart(HIKVISION_VIDEOLOSS) + "\r\n";
+
+    private static List<String> parse(MultipartStreamParser parser, String stream, int... splits) {
+        byte[] data = stream.getBytes(StandardCharsets.UTF_8);
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= splits.length; i++) {
+            int end = i < splits.length ? splits[i] : data.length;
+            ByteBuf chunk = Unpooled.wrappedBuffer(data, start, end - start);
+            parts.addAll(parser.parse(chunk));
+            chunk.release();
+            start = end;
+        }
+        return parts;
+    }
+
+    @Test
+    public void testHikvisionStream() {
+        MultipartStreamParser parser = new MultipartStreamParser(HIKVISION_BOUNDARY);
+        List<String> parts = parse(parser, HIKVISION_STREAM);
+
+        assertEquals(List.of(hikvisionPart(HIKVISION_MOTION), hikvisionPart(HIKVISION_VIDEOLOSS)), parts);
+        parser.release();
+    }
+
+    @Test
+    public void testHikvisionStreamSplitAtEveryIndex() {
+        // the boundary, the headers and the body are split between the reads
+        List<String> expected = List.of(hikvisionPart(HIKVISION_MOTION), hikvisionPart(HIKVISION_VIDEOLOSS));
+        int length = HIKVISION_STREAM.getBytes(StandardCharsets.UTF_8).length;
+        for (int split = 1; split < length; split++) {
+            MultipartStreamParser parser = new MultipartStreamParser(HIKVISION_BOUNDARY);
+            assertEquals(expected, parse(parser, HIKVISION_STREAM, split), "split at " + split);
+            parser.release();
+        }
+    }
+
+    @Test
+    public void testHikvisionStreamByteByByte() {
+        int length = HIKVISION_STREAM.getBytes(StandardCharsets.UTF_8).length;
+        int[] splits = new int[length - 1];
+        for (int i = 0; i < splits.length; i++) {
+            splits[i] = i + 1;
+        }
+        MultipartStreamParser parser = new MultipartStreamParser(HIKVISION_BOUNDARY);
+        assertEquals(List.of(hikvisionPart(HIKVISION_MOTION), hikvisionPart(HIKVISION_VIDEOLOSS)),
+                parse(parser, HIKVISION_STREAM, splits));
+        parser.release();
+    }
+
+    @Test
+    public void testDahuaStreamWithoutContentLength() {
+        MultipartStreamParser parser = new MultipartStreamParser(DAHUA_BOUNDARY);
+        // boundary of the second part split between reads
+        List<String> parts = parse(parser, DAHUA_STREAM, 88, 100);
+
+        // without a Content-Length a part is complete when the next boundary arrives
+        assertEquals(2, parts.size());
+        assertEquals("--myboundary\r\nContent-Type: text/plain\r\n\r\nCode=VideoMotion;action=Start;index=0\r\n\r\n",
+                parts.get(0));
+        assertEquals("--myboundary\r\nContent-Type: text/plain\r\n\r\nHeartbeat\r\n\r\n", parts.get(1));
+        String rest = parser.flush();
+        assertTrue(rest.startsWith("--myboundary\r\n"));
+        assertTrue(rest.contains("Code=CrossLineDetection;action=Start;index=0;data={"));
+        parser.release();
+    }
+
+    @Test
+    public void testDataBeforeFirstBoundaryIsSkipped() {
+        MultipartStreamParser parser = new MultipartStreamParser(HIKVISION_BOUNDARY);
+        List<String> parts = parse(parser, "\r\n" + HIKVISION_STREAM, 1);
+
+        assertEquals(List.of(hikvisionPart(HIKVISION_MOTION), hikvisionPart(HIKVISION_VIDEOLOSS)), parts);
+        parser.release();
+    }
+
+    @Test
+    public void testReleaseTwice() {
+        MultipartStreamParser parser = new MultipartStreamParser(DAHUA_BOUNDARY);
+        parse(parser, DAHUA_STREAM);
+        parser.release();
+        parser.release();
+    }
+}
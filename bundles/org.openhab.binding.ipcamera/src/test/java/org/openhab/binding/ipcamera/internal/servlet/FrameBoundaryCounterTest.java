@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.ipcamera.internal.servlet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Tests the counting of the jpg frames of a relayed MJPEG stream by {@link FrameBoundaryCounter}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class FrameBoundaryCounterTest {
+
+    private static String part(String body) {
+        return "--myboundary\r\nContent-Type: image/jpeg\r\nContent-Length: " + body.length() + "\r\n\r\n" + body
+                + "\r\n";
+    }
+
+    private static ByteBuf chunk(String data) {
+        byte[] bytes = data.getBytes(StandardCharsets.US_ASCII);
+        return Unpooled.wrappedBuffer(bytes, 0, bytes.length);
+    }
+
+    @Test
+    public void countsPartsNotChunks() {
+        FrameBoundaryCounter counter = FrameBoundaryCounter
+                .forContentType("multipart/x-mixed-replace; boundary=myboundary");
+        assertNotNull(counter);
+        String stream = part("first jpg") + part("second jpg") + part("third jpg");
+
+        // split the stream in chunks of 7 bytes, some delimiters are split between two chunks
+        int frames = 0;
+        int chunks = 0;
+        for (int i = 0; i < stream.length(); i += 7) {
+            frames += counter.count(chunk(stream.substring(i, Math.min(stream.length(), i + 7))));
+            chunks++;
+        }
+
+        assertEquals(3, frames);
+        assertTrue(chunks > 3);
+    }
+
+    @Test
+    public void partialMatchFallsBack() {
+        FrameBoundaryCounter counter = FrameBoundaryCounter.forContentType("multipart/x-mixed-replace;boundary=\"ab\"");
+        assertNotNull(counter);
+
+        // the delimiter is "--ab", a third dash must not reset the match
+        assertEquals(1, counter.count(chunk("x---ab-")));
+        assertEquals(1, counter.count(chunk("-ab")));
+        assertEquals(0, counter.count(chunk("c--a")));
+    }
+
+    @Test
+    public void noBoundary() {
+        assertNull(FrameBoundaryCounter.forContentType("image/jpeg"));
+    }
+}
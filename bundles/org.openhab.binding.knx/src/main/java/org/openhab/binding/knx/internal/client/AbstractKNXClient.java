@@ -12,9 +12,6 @@
  */
 package org.openhab.binding.knx.internal.client;
 
-import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -64,6 +61,10 @@ import tuwien.auto.calimero.process.ProcessListener;
 public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClient {
 
     private static final int MAX_SEND_ATTEMPTS = 2;
+    private static final int STATISTICS_LOG_PERIOD = 60;
+    private static final long MAX_READING_PAUSE_MILLIS = 5000;
+    // weight of the latest read round trip in the moving average
+    private static final double READ_LATENCY_WEIGHT = 0.2;
 
     private final Logger logger = LoggerFactory.getLogger(AbstractKNXClient.class);
     private final KNXTypeMapper typeHelper = new KNXCoreTypeMapper();
@@ -84,9 +85,14 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable DeviceInfoClient deviceInfoClient;
     private @Nullable ScheduledFuture<?> busJob;
     private @Nullable ScheduledFuture<?> connectJob;
+    private @Nullable ScheduledFuture<?> statisticsJob;
 
-    private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
-    private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
+    private final GroupAddressIndex groupAddressIndex = new GroupAddressIndex();
+    private final BusStatistics busStatistics = new BusStatistics();
+    private final ReadDatapointQueue readDatapoints = new ReadDatapointQueue();
+    private volatile double readLatencyMillis;
+    // identifies the chain of read jobs belonging to the current connection
+    private volatile int readJobGeneration;
 
     @FunctionalInterface
     private interface ListenerNotification {
@@ -196,8 +202,12 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
             link.addLinkListener(this);
 
-            busJob = knxScheduler.scheduleWithFixedDelay(() -> readNextQueuedDatapoint(), 0, readingPause,
-                    TimeUnit.MILLISECONDS);
+            readLatencyMillis = 0;
+            int generation = ++readJobGeneration;
+            busJob = knxScheduler.schedule(() -> readNextQueuedDatapoint(generation), 0, TimeUnit.MILLISECONDS);
+            busStatistics.reset();
+            statisticsJob = knxScheduler.scheduleWithFixedDelay(this::logStatistics, STATISTICS_LOG_PERIOD,
+                    STATISTICS_LOG_PERIOD, TimeUnit.SECONDS);
 
             statusUpdateCallback.updateStatus(ThingStatus.ONLINE);
             connectJob = null;
@@ -225,7 +235,9 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private void releaseConnection() {
         logger.debug("Bridge {} is disconnecting from the KNX bus", thingUID);
         readDatapoints.clear();
+        readJobGeneration++;
         busJob = nullify(busJob, j -> j.cancel(true));
+        statisticsJob = nullify(statisticsJob, j -> j.cancel(false));
         deviceInfoClient = null;
         managementProcedures = nullify(managementProcedures, mp -> mp.detach());
         managementClient = nullify(managementClient, mc -> mc.detach());
@@ -251,14 +263,36 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         GroupAddress destination = event.getDestination();
         IndividualAddress source = event.getSourceAddr();
         byte[] asdu = event.getASDU();
+        long receivedNanos = System.nanoTime();
+        busStatistics.telegramReceived();
         logger.trace("Received a {} telegram from '{}' to '{}' with value '{}'", task, source, destination, asdu);
-        for (GroupAddressListener listener : groupAddressListeners) {
-            if (listener.listensTo(destination)) {
-                knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
-            }
+        for (GroupAddressListener listener : groupAddressIndex.getListeners(destination)) {
+            knxScheduler.schedule(() -> {
+                action.apply(listener, source, destination, asdu);
+                busStatistics.telegramDispatched(System.nanoTime() - receivedNanos);
+            }, 0, TimeUnit.SECONDS);
         }
     }
 
+    /**
+     * @return the statistics of the inbound telegrams since the client connected
+     */
+    public BusStatistics getBusStatistics() {
+        return busStatistics;
+    }
+
+    /**
+     * @return the number of group addresses with registered listeners
+     */
+    public int getListenedGroupAddressCount() {
+        return groupAddressIndex.size();
+    }
+
+    private void logStatistics() {
+        String statistics = busStatistics.snapshotAndReset();
+        logger.debug("Bridge {} bus statistics for the last {}s: {}", thingUID, STATISTICS_LOG_PERIOD, statistics);
+    }
+
     /**
      * Transforms a {@link Type} into a datapoint type value for the KNX bus.
      *
@@ -271,8 +305,35 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         return typeHelper.toDPTValue(type, dpt);
     }
 
+    private void readNextQueuedDatapoint(int generation) {
+        try {
+            readQueuedDatapoint();
+        } finally {
+            scheduleNextRead(generation);
+        }
+    }
+
+    /**
+     * Schedule the next read, pacing the reads by the configured reading pause or, if the bus is slower, by the
+     * measured round trip time of recent reads.
+     */
+    private synchronized void scheduleNextRead(int generation) {
+        if (busJob == null || generation != readJobGeneration) {
+            // connection has been released or re-established meanwhile
+            return;
+        }
+        long pause = Math.max(readingPause, Math.min(Math.round(readLatencyMillis), MAX_READING_PAUSE_MILLIS));
+        busJob = knxScheduler.schedule(() -> readNextQueuedDatapoint(generation), pause, TimeUnit.MILLISECONDS);
+    }
+
+    private void updateReadLatency(long startNanos) {
+        double latencyMillis = (System.nanoTime() - startNanos) / 1_000_000.0;
+        readLatencyMillis = readLatencyMillis == 0 ? latencyMillis
+                : READ_LATENCY_WEIGHT * latencyMillis + (1 - READ_LATENCY_WEIGHT) * readLatencyMillis;
+    }
+
     @SuppressWarnings("null")
-    private void readNextQueuedDatapoint() {
+    private void readQueuedDatapoint() {
         if (!connectIfNotAutomatic()) {
             return;
         }
@@ -283,11 +344,16 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         ReadDatapoint datapoint = readDatapoints.poll();
         if (datapoint != null) {
             datapoint.incrementRetries();
+            long startNanos = System.nanoTime();
             try {
-                logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
+                logger.trace("Sending a Group Read Request telegram for {} ({} priority, {} reads queued)",
+                        datapoint.getDatapoint().getMainAddress(), datapoint.getPriority(), readDatapoints.size());
                 processCommunicator.read(datapoint.getDatapoint());
+                updateReadLatency(startNanos);
             } catch (KNXException e) {
+                updateReadLatency(startNanos);
                 if (datapoint.getRetries() < datapoint.getLimit()) {
+                    datapoint.setPriority(ReadPriority.RETRY);
                     readDatapoints.add(datapoint);
                     logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
                             datapoint.getDatapoint().getMainAddress(), e.getMessage());
@@ -367,23 +433,18 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     }
 
     @Override
-    public void readDatapoint(Datapoint datapoint) {
-        synchronized (this) {
-            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, readRetriesLimit);
-            if (!readDatapoints.contains(retryDatapoint)) {
-                readDatapoints.add(retryDatapoint);
-            }
-        }
+    public void readDatapoint(Datapoint datapoint, ReadPriority priority) {
+        readDatapoints.add(new ReadDatapoint(datapoint, readRetriesLimit, priority));
     }
 
     @Override
     public final boolean registerGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.add(listener);
+        return groupAddressIndex.register(listener);
     }
 
     @Override
     public final boolean unregisterGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.remove(listener);
+        return groupAddressIndex.unregister(listener);
     }
 
     @Override
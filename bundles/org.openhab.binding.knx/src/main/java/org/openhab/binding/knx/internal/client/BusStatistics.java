@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Counters for the inbound KNX telegram traffic of a client: telegram rate and the latency of dispatching
+ * telegrams to the {@link org.openhab.binding.knx.internal.handler.GroupAddressListener}s.
+ *
+ * The counters are summarized per period, the summary of the last period and the totals since the client connected
+ * are shown by the {@code knx <bridgeUID> statistics} console command.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class BusStatistics {
+
+    private final LongAdder telegrams = new LongAdder();
+    private final LongAdder dispatches = new LongAdder();
+    private final LongAdder dispatchNanos = new LongAdder();
+    private final LongAccumulator maxDispatchNanos = new LongAccumulator(Long::max, 0L);
+    private volatile long periodStartNanos = System.nanoTime();
+    private final LongAdder totalTelegrams = new LongAdder();
+    private final LongAdder totalDispatches = new LongAdder();
+    private volatile String lastPeriod = "no complete period yet";
+
+    /**
+     * Count an inbound telegram.
+     */
+    public void telegramReceived() {
+        telegrams.increment();
+        totalTelegrams.increment();
+    }
+
+    /**
+     * Record the dispatch of a telegram to a single listener.
+     *
+     * @param nanos time from receiving the telegram until the listener has processed it
+     */
+    public void telegramDispatched(long nanos) {
+        dispatches.increment();
+        totalDispatches.increment();
+        dispatchNanos.add(nanos);
+        maxDispatchNanos.accumulate(nanos);
+    }
+
+    /**
+     * Summarize the statistics of the current period and start a new one.
+     *
+     * @return human readable summary
+     */
+    public String snapshotAndReset() {
+        long now = System.nanoTime();
+        long elapsedNanos = Math.max(1L, now - periodStartNanos);
+        periodStartNanos = now;
+        long telegramCount = telegrams.sumThenReset();
+        long dispatchCount = dispatches.sumThenReset();
+        long totalDispatchNanos = dispatchNanos.sumThenReset();
+        long maxNanos = maxDispatchNanos.getThenReset();
+
+        double telegramsPerSecond = telegramCount * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        double avgDispatchMillis = dispatchCount == 0 ? 0.0 : totalDispatchNanos / (dispatchCount * 1_000_000.0);
+        String summary = String.format(
+                "%d telegrams (%.2f/s), %d dispatches, dispatch latency avg %.3f ms, max %.3f ms", telegramCount,
+                telegramsPerSecond, dispatchCount, avgDispatchMillis, maxNanos / 1_000_000.0);
+        lastPeriod = summary;
+        return summary;
+    }
+
+    /**
+     * Reset all counters, including the totals, e.g. when the client connects.
+     */
+    public void reset() {
+        snapshotAndReset();
+        totalTelegrams.reset();
+        totalDispatches.reset();
+        lastPeriod = "no complete period yet";
+    }
+
+    public long getTotalTelegrams() {
+        return totalTelegrams.sum();
+    }
+
+    public long getTotalDispatches() {
+        return totalDispatches.sum();
+    }
+
+    /**
+     * @return summary of the last complete period
+     */
+    public String getLastPeriod() {
+        return lastPeriod;
+    }
+}
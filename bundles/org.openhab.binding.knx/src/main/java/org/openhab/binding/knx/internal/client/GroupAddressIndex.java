@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Index of the {@link GroupAddressListener}s by group address, used to dispatch inbound telegrams with a single lookup.
+ *
+ * The addresses of a listener are read when it registers, a listener registering again replaces its addresses.
+ * Lookups are lock free, registrations are serialized.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class GroupAddressIndex {
+
+    /**
+     * Group addresses of every registered listener, as they were when the listener registered
+     */
+    private final Map<GroupAddressListener, Set<GroupAddress>> addressesByListener = new ConcurrentHashMap<>();
+    private final Map<GroupAddress, Set<GroupAddressListener>> listenersByAddress = new ConcurrentHashMap<>();
+
+    /**
+     * Register a listener or update the addresses of a registered listener.
+     *
+     * @return true if the listener was not registered before
+     */
+    synchronized boolean register(GroupAddressListener listener) {
+        Set<GroupAddress> previousAddresses = addressesByListener.get(listener);
+        if (previousAddresses != null) {
+            removeFromIndex(listener, previousAddresses);
+        }
+        Set<GroupAddress> addresses = Set.copyOf(listener.getGroupAddresses());
+        addressesByListener.put(listener, addresses);
+        for (GroupAddress address : addresses) {
+            listenersByAddress.computeIfAbsent(address, a -> new CopyOnWriteArraySet<>()).add(listener);
+        }
+        return previousAddresses == null;
+    }
+
+    /**
+     * Unregister a listener.
+     *
+     * @return true if the listener was registered
+     */
+    synchronized boolean unregister(GroupAddressListener listener) {
+        Set<GroupAddress> addresses = addressesByListener.remove(listener);
+        if (addresses == null) {
+            return false;
+        }
+        removeFromIndex(listener, addresses);
+        return true;
+    }
+
+    /**
+     * @return the listeners of the group address, empty if there are none
+     */
+    Set<GroupAddressListener> getListeners(GroupAddress address) {
+        return listenersByAddress.getOrDefault(address, Set.of());
+    }
+
+    /**
+     * @return the number of group addresses with listeners
+     */
+    int size() {
+        return listenersByAddress.size();
+    }
+
+    private void removeFromIndex(GroupAddressListener listener, Set<GroupAddress> addresses) {
+        for (GroupAddress address : addresses) {
+            Set<GroupAddressListener> listeners = listenersByAddress.get(address);
+            if (listeners != null) {
+                listeners.remove(listener);
+                if (listeners.isEmpty()) {
+                    listenersByAddress.remove(address);
+                }
+            }
+        }
+    }
+}
@@ -81,7 +81,19 @@ public interface KNXClient {
      *
      * @param datapoint the datapoint
      */
-    void readDatapoint(Datapoint datapoint);
+    default void readDatapoint(Datapoint datapoint) {
+        readDatapoint(datapoint, ReadPriority.INITIAL);
+    }
+
+    /**
+     * Schedule the given data point for asynchronous reading with the given priority.
+     *
+     * Reads of a group address which is already scheduled for reading are merged with the scheduled read.
+     *
+     * @param datapoint the datapoint
+     * @param priority the priority of the read
+     */
+    void readDatapoint(Datapoint datapoint, ReadPriority priority);
 
     /**
      * Write a command to the KNX bus.
@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Queue of datapoints to be read from the KNX bus, served by {@link ReadPriority}.
+ *
+ * Only one read per group address is queued: queuing a read for a group address which is already queued does not
+ * add another read, but raises the priority of the queued one if needed.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ReadDatapointQueue {
+
+    private final Map<ReadPriority, Deque<ReadDatapoint>> queues = new EnumMap<>(ReadPriority.class);
+    private final Map<GroupAddress, ReadDatapoint> queued = new HashMap<>();
+
+    public ReadDatapointQueue() {
+        for (ReadPriority priority : ReadPriority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Queue the given datapoint, unless a read of the same group address is queued already.
+     *
+     * @param datapoint the datapoint to read
+     * @return {@code true} if the datapoint was queued, {@code false} if it was merged with a queued read
+     */
+    public synchronized boolean add(ReadDatapoint datapoint) {
+        GroupAddress address = datapoint.getDatapoint().getMainAddress();
+        ReadDatapoint queuedDatapoint = queued.get(address);
+        if (queuedDatapoint != null) {
+            if (datapoint.getPriority().isHigherThan(queuedDatapoint.getPriority())) {
+                getQueue(queuedDatapoint.getPriority()).remove(queuedDatapoint);
+                queuedDatapoint.setPriority(datapoint.getPriority());
+                getQueue(queuedDatapoint.getPriority()).addLast(queuedDatapoint);
+            }
+            return false;
+        }
+        queued.put(address, datapoint);
+        getQueue(datapoint.getPriority()).addLast(datapoint);
+        return true;
+    }
+
+    /**
+     * Retrieve and remove the next datapoint to read.
+     *
+     * @return the queued datapoint with the highest priority, or {@code null} if the queue is empty
+     */
+    public synchronized @Nullable ReadDatapoint poll() {
+        for (ReadPriority priority : ReadPriority.values()) {
+            ReadDatapoint datapoint = getQueue(priority).pollFirst();
+            if (datapoint != null) {
+                queued.remove(datapoint.getDatapoint().getMainAddress());
+                return datapoint;
+            }
+        }
+        return null;
+    }
+
+    public synchronized int size() {
+        return queued.size();
+    }
+
+    public synchronized void clear() {
+        queues.values().forEach(Deque::clear);
+        queued.clear();
+    }
+
+    private Deque<ReadDatapoint> getQueue(ReadPriority priority) {
+        Deque<ReadDatapoint> queue = queues.get(priority);
+        if (queue == null) {
+            throw new IllegalStateException("No queue for priority " + priority);
+        }
+        return queue;
+    }
+}
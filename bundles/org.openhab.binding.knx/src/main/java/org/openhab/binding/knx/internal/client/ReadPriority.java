@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Priority classes of queued read requests, in descending order of priority.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public enum ReadPriority {
+    /** explicitly requested reads, e.g. a REFRESH command sent by a UI showing the item */
+    REFRESH,
+    /** initial reads of linked channels after startup or linking */
+    INITIAL,
+    /** periodic reads configured by the read interval */
+    PERIODIC,
+    /** retries of failed reads */
+    RETRY;
+
+    /**
+     * Check whether this priority is higher than the given one.
+     *
+     * @param other the priority to compare with
+     * @return {@code true} if this priority is higher
+     */
+    public boolean isHigherThan(ReadPriority other) {
+        return ordinal() < other.ordinal();
+    }
+}
@@ -25,6 +25,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.openhab.binding.knx.internal.KNXTypeMapper;
 import org.openhab.core.library.types.DateTimeType;
@@ -108,6 +109,31 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     /** stores the default KNX DPT to use for each openHAB type */
     private final Map<Class<? extends Type>, String> defaultDptMap;
 
+    /** caches main and sub number of each KNX datapoint type id, so the id is parsed only once */
+    private final Map<String, DPTNumbers> dptNumbersMap = new ConcurrentHashMap<>();
+
+    /** caches the calimero datapoint type for each KNX datapoint type id, used for outbound values */
+    private final Map<String, DPT> dptMap = new ConcurrentHashMap<>();
+
+    /**
+     * caches a translator for each KNX datapoint type id. Translators are stateful, so they are confined to the
+     * calling thread
+     */
+    private final ThreadLocal<Map<String, DPTXlator>> translators = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * Main and sub number of a KNX datapoint type id such as "14.001"
+     */
+    private static final class DPTNumbers {
+        private final int mainNumber;
+        private final int subNumber;
+
+        private DPTNumbers(int mainNumber, int subNumber) {
+            this.mainNumber = mainNumber;
+            this.subNumber = subNumber;
+        }
+    }
+
     public KNXCoreTypeMapper() {
         @SuppressWarnings("unused")
         final List<Class<?>> xlators = Arrays.<Class<?>> asList(DPTXlator1BitControlled.class,
@@ -574,20 +600,20 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     @Override
     public String toDPTValue(Type type, String dptID) {
         DPT dpt;
-        int mainNumber = getMainNumber(dptID);
+        DPTNumbers dptNumbers = getDPTNumbers(dptID);
+        int mainNumber = dptNumbers.mainNumber;
         if (mainNumber == -1) {
             logger.error("toDPTValue couldn't identify mainnumber in dptID: {}", dptID);
             return null;
         }
-        int subNumber = getSubNumber(dptID);
+        int subNumber = dptNumbers.subNumber;
         if (subNumber == -1) {
             logger.debug("toType: couldn't identify sub number in dptID: {}.", dptID);
             return null;
         }
 
         try {
-            DPTXlator translator = TranslatorTypes.createTranslator(mainNumber, dptID);
-            dpt = translator.getType();
+            dpt = getDPT(mainNumber, dptID);
         } catch (KNXException e) {
             return null;
         }
@@ -674,19 +700,21 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     @Override
     public Type toType(Datapoint datapoint, byte[] data) {
         try {
-            DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
+            DPTXlator translator = getTranslator(datapoint.getMainNumber(), datapoint.getDPT());
             translator.setData(data);
-            String value = translator.getValue();
+            // the string value is only required by some types, it is computed on demand
+            String value = null;
 
             String id = translator.getType().getID();
             logger.trace("toType datapoint DPT = {}", datapoint.getDPT());
 
-            int mainNumber = getMainNumber(id);
+            DPTNumbers dptNumbers = getDPTNumbers(id);
+            int mainNumber = dptNumbers.mainNumber;
             if (mainNumber == -1) {
                 logger.debug("toType: couldn't identify mainnumber in dptID: {}.", id);
                 return null;
             }
-            int subNumber = getSubNumber(id);
+            int subNumber = dptNumbers.subNumber;
             if (subNumber == -1) {
                 logger.debug("toType: couldn't identify sub number in dptID: {}.", id);
                 return null;
@@ -755,7 +783,7 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
                 case 18:
                     DPTXlatorSceneControl translatorSceneControl = (DPTXlatorSceneControl) translator;
                     int decimalValue = translatorSceneControl.getSceneNumber();
-                    if (value.startsWith("learn")) {
+                    if (translator.getValue().startsWith("learn")) {
                         decimalValue += 0x80;
                     }
                     value = String.valueOf(decimalValue);
@@ -824,6 +852,9 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
             if (typeClass.equals(DecimalType.class)) {
                 return new DecimalType(translator.getNumericValue());
             }
+            if (value == null) {
+                value = translator.getValue();
+            }
             if (typeClass.equals(StringType.class)) {
                 return StringType.valueOf(value);
             }
@@ -870,7 +901,7 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     public Class<? extends Type> toTypeClass(String dptId) {
         Class<? extends Type> ohClass = dptTypeMap.get(dptId);
         if (ohClass == null) {
-            int mainNumber = getMainNumber(dptId);
+            int mainNumber = getDPTNumbers(dptId).mainNumber;
             if (mainNumber == -1) {
                 logger.debug("Couldn't convert KNX datapoint type id into openHAB type class for dptId: {}.", dptId);
                 return null;
@@ -956,6 +987,56 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
         }
     }
 
+    /**
+     * Retrieves main and sub number from a DPT ID such as "14.001". The result is cached, so each id is parsed only
+     * once.
+     *
+     * @param dptID String with DPT ID
+     * @return main and sub number, -1 if a number could not be identified
+     */
+    private DPTNumbers getDPTNumbers(String dptID) {
+        if (dptID == null) {
+            throw new IllegalArgumentException("Parameter dptID cannot be null");
+        }
+        return dptNumbersMap.computeIfAbsent(dptID, id -> new DPTNumbers(getMainNumber(id), getSubNumber(id)));
+    }
+
+    /**
+     * Retrieves the calimero datapoint type for a DPT ID. The result is cached.
+     *
+     * @param mainNumber main number of the DPT ID
+     * @param dptID String with DPT ID
+     * @return the datapoint type
+     * @throws KNXException if no translator is available for the DPT ID
+     */
+    private DPT getDPT(int mainNumber, String dptID) throws KNXException {
+        DPT dpt = dptMap.get(dptID);
+        if (dpt == null) {
+            dpt = TranslatorTypes.createTranslator(mainNumber, dptID).getType();
+            dptMap.put(dptID, dpt);
+        }
+        return dpt;
+    }
+
+    /**
+     * Retrieves a translator for a DPT ID. Translators are cached per thread and reused, the caller has to set the
+     * data before using the translator.
+     *
+     * @param mainNumber main number of the DPT ID
+     * @param dptID String with DPT ID
+     * @return the translator
+     * @throws KNXException if no translator is available for the DPT ID
+     */
+    private DPTXlator getTranslator(int mainNumber, String dptID) throws KNXException {
+        Map<String, DPTXlator> threadTranslators = translators.get();
+        DPTXlator translator = threadTranslators.get(dptID);
+        if (translator == null) {
+            translator = TranslatorTypes.createTranslator(mainNumber, dptID);
+            threadTranslators.put(dptID, translator);
+        }
+        return translator;
+    }
+
     /**
      * Retrieves sub number from a DTP ID such as "14.001"
      *
@@ -12,12 +12,15 @@
  */
 package org.openhab.binding.knx.internal.handler;
 
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.knx.internal.client.AbstractKNXClient;
+import org.openhab.binding.knx.internal.client.BusStatistics;
 import org.openhab.binding.knx.internal.client.KNXClient;
 import org.openhab.binding.knx.internal.client.StatusUpdateCallback;
 import org.openhab.core.common.ThreadPoolManager;
@@ -55,6 +58,19 @@ public abstract class KNXBridgeBaseThingHandler extends BaseBridgeHandler implem
         // Nothing to do here
     }
 
+    public List<String> listStatisticsForConsole() {
+        KNXClient client = getClient();
+        if (!(client instanceof AbstractKNXClient) || !client.isConnected()) {
+            return List.of("The bridge is not connected");
+        }
+        AbstractKNXClient knxClient = (AbstractKNXClient) client;
+        BusStatistics statistics = knxClient.getBusStatistics();
+        return List.of("Group addresses with listeners: " + knxClient.getListenedGroupAddressCount(),
+                "Inbound telegrams, last period: " + statistics.getLastPeriod(),
+                "Inbound telegrams since connected: " + statistics.getTotalTelegrams() + " telegrams, "
+                        + statistics.getTotalDispatches() + " dispatches");
+    }
+
     public ScheduledExecutorService getScheduler() {
         return knxScheduler;
     }
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+import tuwien.auto.calimero.KNXFormatException;
+
+/**
+ * Tests the lookup and the update of the {@link GroupAddressIndex}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class GroupAddressIndexTest {
+
+    private static class TestListener implements GroupAddressListener {
+        private final Set<GroupAddress> addresses = new HashSet<>();
+
+        TestListener(GroupAddress... addresses) {
+            this.addresses.addAll(Set.of(addresses));
+        }
+
+        @Override
+        public boolean listensTo(GroupAddress destination) {
+            return addresses.contains(destination);
+        }
+
+        @Override
+        public Set<GroupAddress> getGroupAddresses() {
+            return addresses;
+        }
+
+        @Override
+        public void onGroupWrite(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+
+        @Override
+        public void onGroupRead(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+
+        @Override
+        public void onGroupReadResponse(AbstractKNXClient client, IndividualAddress source,
+                GroupAddress destination, byte[] asdu) {
+        }
+    }
+
+    @Test
+    public void lookup() throws KNXFormatException {
+        GroupAddress a = new GroupAddress("1/1/1");
+        GroupAddress b = new GroupAddress("1/1/2");
+        GroupAddressIndex index = new GroupAddressIndex();
+        TestListener first = new TestListener(a, b);
+        TestListener second = new TestListener(b);
+
+        assertTrue(index.register(first));
+        assertTrue(index.register(second));
+
+        assertEquals(Set.of(first), index.getListeners(a));
+        assertEquals(Set.of(first, second), index.getListeners(new GroupAddress("1/1/2")));
+        assertTrue(index.getListeners(new GroupAddress("1/1/3")).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void registerAgainUpdatesAddresses() throws KNXFormatException {
+        GroupAddress a = new GroupAddress("1/1/1");
+        GroupAddress b = new GroupAddress("1/1/2");
+        GroupAddressIndex index = new GroupAddressIndex();
+        TestListener listener = new TestListener(a);
+        index.register(listener);
+
+        listener.addresses.clear();
+        listener.addresses.add(b);
+        // the index keeps the addresses of the registration until the listener registers again
+        assertEquals(Set.of(listener), index.getListeners(a));
+        assertFalse(index.register(listener));
+
+        assertTrue(index.getListeners(a).isEmpty());
+        assertEquals(Set.of(listener), index.getListeners(b));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void unregister() throws KNXFormatException {
+        GroupAddress a = new GroupAddress("1/1/1");
+        GroupAddressIndex index = new GroupAddressIndex();
+        TestListener first = new TestListener(a);
+        TestListener second = new TestListener(a);
+        index.register(first);
+        index.register(second);
+
+        assertTrue(index.unregister(first));
+        assertEquals(Set.of(second), index.getListeners(a));
+        assertFalse(index.unregister(first));
+
+        assertTrue(index.unregister(second));
+        assertTrue(index.getListeners(a).isEmpty());
+        assertEquals(0, index.size());
+    }
+}
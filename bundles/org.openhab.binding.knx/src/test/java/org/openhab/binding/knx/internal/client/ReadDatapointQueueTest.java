@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXFormatException;
+import tuwien.auto.calimero.datapoint.CommandDP;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ReadDatapointQueueTest {
+
+    private static ReadDatapoint read(String groupAddress, ReadPriority priority) throws KNXFormatException {
+        return new ReadDatapoint(new CommandDP(new GroupAddress(groupAddress), "test", 0, "1.001"), 3, priority);
+    }
+
+    private static String address(@Nullable ReadDatapoint datapoint) {
+        assertNotNull(datapoint);
+        return datapoint.getDatapoint().getMainAddress().toString();
+    }
+
+    @Test
+    public void testPriorityOrder() throws KNXFormatException {
+        ReadDatapointQueue queue = new ReadDatapointQueue();
+        queue.add(read("1/1/1", ReadPriority.PERIODIC));
+        queue.add(read("1/1/2", ReadPriority.INITIAL));
+        queue.add(read("1/1/3", ReadPriority.REFRESH));
+        queue.add(read("1/1/4", ReadPriority.INITIAL));
+
+        assertEquals(4, queue.size());
+        assertEquals("1/1/3", address(queue.poll()));
+        assertEquals("1/1/2", address(queue.poll()));
+        assertEquals("1/1/4", address(queue.poll()));
+        assertEquals("1/1/1", address(queue.poll()));
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testDeduplication() throws KNXFormatException {
+        ReadDatapointQueue queue = new ReadDatapointQueue();
+        assertTrue(queue.add(read("1/1/1", ReadPriority.PERIODIC)));
+        assertTrue(queue.add(read("1/1/2", ReadPriority.INITIAL)));
+        assertFalse(queue.add(read("1/1/1", ReadPriority.PERIODIC)));
+        assertEquals(2, queue.size());
+
+        // a duplicate with higher priority upgrades the queued read
+        assertFalse(queue.add(read("1/1/1", ReadPriority.REFRESH)));
+        assertEquals(2, queue.size());
+        assertEquals("1/1/1", address(queue.poll()));
+        assertEquals("1/1/2", address(queue.poll()));
+        assertNull(queue.poll());
+
+        // a duplicate with lower priority does not downgrade it
+        queue.add(read("1/1/3", ReadPriority.INITIAL));
+        queue.add(read("1/1/3", ReadPriority.RETRY));
+        queue.add(read("1/1/4", ReadPriority.PERIODIC));
+        assertEquals("1/1/3", address(queue.poll()));
+    }
+
+    @Test
+    public void testClear() throws KNXFormatException {
+        ReadDatapointQueue queue = new ReadDatapointQueue();
+        queue.add(read("1/1/1", ReadPriority.PERIODIC));
+        queue.clear();
+        assertEquals(0, queue.size());
+        assertNull(queue.poll());
+        assertTrue(queue.add(read("1/1/1", ReadPriority.PERIODIC)));
+    }
+}
@@ -14,8 +14,20 @@ package org.openhab.binding.knx.internal.dpt;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.types.Type;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXFormatException;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
 
 /**
  *
@@ -24,9 +36,47 @@ import org.openhab.core.library.types.DecimalType;
  */
 public class KNXCoreTypeMapperTest {
 
+    private KNXCoreTypeMapper mapper;
+
+    @BeforeEach
+    public void setup() {
+        mapper = new KNXCoreTypeMapper();
+    }
+
+    private Type toType(String dpt, byte... data) throws KNXFormatException {
+        Datapoint datapoint = new CommandDP(new GroupAddress("1/2/3"), "test", 0, dpt);
+        return mapper.toType(datapoint, data);
+    }
+
+    @Test
+    public void testToType_mixedTraffic() throws KNXFormatException {
+        // translators are reused, so interleave datapoint types and values
+        for (int i = 0; i < 3; i++) {
+            assertEquals(OnOffType.ON, toType("1.001", (byte) 1));
+            assertEquals(new PercentType(100), toType("5.001", (byte) 0xff));
+            assertEquals(OnOffType.OFF, toType("1.001", (byte) 0));
+            assertEquals(OpenClosedType.CLOSED, toType("1.009", (byte) 0));
+            assertEquals(new PercentType(0), toType("5.001", (byte) 0));
+            assertEquals(0, new BigDecimal("20").compareTo(
+                    ((DecimalType) toType("9.001", (byte) 0x07, (byte) 0xd0)).toBigDecimal()));
+            assertEquals(new DecimalType(3), toType("2.001", (byte) 3));
+            assertEquals(new DecimalType(0x80 + 5), toType("18.001", (byte) 0x85));
+            assertEquals(new DecimalType(5), toType("18.001", (byte) 0x05));
+        }
+    }
+
     @Test
     public void testToDPTValue_trailingZeroesStrippedOff() {
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3"), "17.001"));
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3.0"), "17.001"));
     }
+
+    @Test
+    public void testToDPTValue() {
+        assertEquals("on", mapper.toDPTValue(OnOffType.ON, "1.001"));
+        assertEquals("off", mapper.toDPTValue(OnOffType.OFF, "1.001"));
+        assertEquals("42", mapper.toDPTValue(new PercentType(42), "5.001"));
+        assertEquals("20.5", mapper.toDPTValue(new DecimalType(new BigDecimal("20.50")), "9.001"));
+        assertNull(mapper.toDPTValue(OnOffType.ON, "invalid"));
+    }
 }
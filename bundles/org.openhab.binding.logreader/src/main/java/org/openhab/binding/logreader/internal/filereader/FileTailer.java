@@ -12,13 +12,22 @@
  */
 package org.openhab.binding.logreader.internal.filereader;
 
-import java.io.File;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
-import org.apache.commons.io.input.Tailer;
-import org.apache.commons.io.input.TailerListener;
-import org.apache.commons.io.input.TailerListenerAdapter;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.logreader.internal.filereader.api.FileReaderException;
@@ -27,71 +36,203 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Apache Tailer based log file reader implementation.
+ * {@link FileChannel} based log file reader implementation. The file is polled with the refresh rate on a shared
+ * scheduler and new content is read in large blocks, which are split into lines.
+ *
+ * The file is rotated if it was replaced by another file or truncated. The remaining lines of a replaced file are
+ * read before continuing with the new file from its beginning.
  *
  * @author Pauli Anttila - Initial contribution
  */
 @NonNullByDefault
 public class FileTailer extends AbstractLogFileReader implements LogFileReader {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // longer lines are split
+    private static final int MAX_LINE_LENGTH = 1024 * 1024;
+
     private final Logger logger = LoggerFactory.getLogger(FileTailer.class);
 
-    private @Nullable Tailer tailer;
-    private @Nullable ExecutorService executor;
+    private final ScheduledExecutorService scheduler;
+    private final Charset charset = Charset.defaultCharset();
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    // beginning of a line continued in the next block
+    private byte[] partialLine = new byte[0];
+    private int partialLineLength = 0;
 
-    TailerListener logListener = new TailerListenerAdapter() {
+    private @Nullable Path path;
+    private @Nullable ScheduledFuture<?> job;
+    private @Nullable FileChannel channel;
+    private @Nullable Object fileKey;
+    private long position = 0;
+    private boolean end = true;
 
-        @Override
-        public void handle(@Nullable String line) {
-            if (line == null) {
-                return;
+    public FileTailer(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public synchronized void start(String filePath, long refreshRate) throws FileReaderException {
+        try {
+            path = Paths.get(filePath);
+            // tail from the end of the file when it is opened for the first time
+            end = true;
+            logger.debug("Start tailing {}", filePath);
+            job = scheduler.scheduleWithFixedDelay(this::poll, 0, refreshRate, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            throw new FileReaderException(e);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        logger.debug("Shutdown");
+        ScheduledFuture<?> job = this.job;
+        if (job != null) {
+            job.cancel(false);
+            this.job = null;
+        }
+        close();
+        partialLineLength = 0;
+        logger.debug("Shutdown complete");
+    }
+
+    private synchronized void poll() {
+        Path path = this.path;
+        if (path == null || job == null) {
+            return;
+        }
+        try {
+            FileChannel channel = this.channel;
+            if (channel == null) {
+                channel = open(path);
+                if (channel == null) {
+                    return;
+                }
             }
 
-            sendLineToListeners(line);
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                // rotation in progress, continue with the current file until the new one is created
+                readLines(channel);
+                return;
+            }
+            Object fileKey = this.fileKey;
+            Object currentFileKey = attributes.fileKey();
+            boolean replaced = fileKey != null && currentFileKey != null && !fileKey.equals(currentFileKey);
+            if (replaced || attributes.size() < position) {
+                logger.debug("File {} was rotated", path);
+                // read the remaining lines of a replaced file, a truncated file has lost them
+                readLines(channel);
+                flushPartialLine();
+                close();
+                sendFileRotationToListeners();
+                channel = open(path);
+                if (channel == null) {
+                    return;
+                }
+            }
+            readLines(channel);
+        } catch (IOException e) {
+            logger.debug("Reading {} failed: {}", path, e.getMessage());
+            // the file is reopened at the same position at the next poll
+            close();
+            sendExceptionToListeners(e);
         }
+    }
 
-        @Override
-        public void fileNotFound() {
+    private @Nullable FileChannel open(Path path) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
             sendFileNotFoundToListeners();
+            return null;
+        }
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        Object currentFileKey = attributes.fileKey();
+        if (end) {
+            position = channel.size();
+        } else if (!Objects.equals(fileKey, currentFileKey) || channel.size() < position) {
+            // another file than before or a truncated one, which is read from its beginning
+            position = 0;
+            partialLineLength = 0;
         }
+        end = false;
+        fileKey = currentFileKey;
+        this.channel = channel;
+        return channel;
+    }
 
-        @Override
-        public void handle(@Nullable Exception e) {
-            if (e == null) {
-                return;
+    private void close() {
+        FileChannel channel = this.channel;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("Closing {} failed: {}", path, e.getMessage());
             }
+            this.channel = null;
+        }
+    }
 
-            sendExceptionToListeners(e);
+    /**
+     * Read the content appended since the last read and send the completed lines to the listeners.
+     */
+    private void readLines(FileChannel channel) throws IOException {
+        while (true) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                return;
+            }
+            position += read;
+            splitLines(buffer.array(), read);
         }
+    }
 
-        @Override
-        public void fileRotated() {
-            sendFileRotationToListeners();
+    private void splitLines(byte[] data, int length) {
+        int lineStart = 0;
+        for (int i = 0; i < length; i++) {
+            if (data[i] == '\n') {
+                if (partialLineLength > 0) {
+                    appendPartialLine(data, lineStart, i - lineStart);
+                    sendLine(partialLine, 0, partialLineLength);
+                    partialLineLength = 0;
+                } else {
+                    sendLine(data, lineStart, i - lineStart);
+                }
+                lineStart = i + 1;
+            }
         }
-    };
+        if (lineStart < length) {
+            appendPartialLine(data, lineStart, length - lineStart);
+        }
+    }
 
-    @Override
-    public void start(String filePath, long refreshRate) throws FileReaderException {
-        Tailer localTailer = new Tailer(new File(filePath), logListener, refreshRate, true, false, true);
-        executor = Executors.newSingleThreadExecutor();
-        try {
-            logger.debug("Start executor");
-            executor.execute(localTailer);
-            logger.debug("Executor started");
-            this.tailer = localTailer;
-        } catch (Exception e) {
-            throw new FileReaderException(e);
+    private void appendPartialLine(byte[] data, int offset, int length) {
+        if (partialLineLength + length > partialLine.length) {
+            if (partialLineLength + length > MAX_LINE_LENGTH) {
+                flushPartialLine();
+            }
+            partialLine = Arrays.copyOf(partialLine, Math.max(partialLine.length * 2, partialLineLength + length));
         }
+        System.arraycopy(data, offset, partialLine, partialLineLength, length);
+        partialLineLength += length;
     }
 
-    @Override
-    public void stop() {
-        logger.debug("Shutdown");
-        if (tailer != null) {
-            tailer.stop();
+    private void flushPartialLine() {
+        if (partialLineLength > 0) {
+            sendLine(partialLine, 0, partialLineLength);
+            partialLineLength = 0;
         }
-        if (executor != null) {
-            executor.shutdown();
+    }
+
+    private void sendLine(byte[] data, int offset, int length) {
+        if (length > 0 && data[offset + length - 1] == '\r') {
+            length--;
         }
-        logger.debug("Shutdown complite");
+        sendLineToListeners(new String(data, offset, length, charset));
     }
 }
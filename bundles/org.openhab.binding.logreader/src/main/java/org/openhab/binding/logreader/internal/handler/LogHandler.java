@@ -15,6 +15,7 @@ package org.openhab.binding.logreader.internal.handler;
 import static org.openhab.binding.logreader.internal.LogReaderBindingConstants.*;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -22,6 +23,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.logreader.internal.config.LogReaderConfiguration;
 import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
 import org.openhab.binding.logreader.internal.filereader.api.LogFileReader;
+import org.openhab.binding.logreader.internal.searchengine.MultiPatternMatcher;
 import org.openhab.binding.logreader.internal.searchengine.SearchEngine;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.DecimalType;
@@ -46,6 +48,11 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class LogHandler extends BaseThingHandler implements FileReaderListener {
+    // bits of the search engines in the results of the line matcher
+    private static final int ERROR = 1;
+    private static final int WARNING = 1 << 1;
+    private static final int CUSTOM = 1 << 2;
+
     private final Logger logger = LoggerFactory.getLogger(LogHandler.class);
 
     private final LogFileReader fileReader;
@@ -55,6 +62,7 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
     private @Nullable SearchEngine errorEngine;
     private @Nullable SearchEngine warningEngine;
     private @Nullable SearchEngine customEngine;
+    private @Nullable MultiPatternMatcher lineMatcher;
 
     public LogHandler(Thing thing, LogFileReader fileReader) {
         super(thing);
@@ -98,11 +106,18 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
         clearCounters();
 
         try {
-            warningEngine = new SearchEngine(configuration.warningPatterns, configuration.warningBlacklistingPatterns);
-            errorEngine = new SearchEngine(configuration.errorPatterns, configuration.errorBlacklistingPatterns);
+            SearchEngine warningEngine = new SearchEngine(configuration.warningPatterns,
+                    configuration.warningBlacklistingPatterns);
+            SearchEngine errorEngine = new SearchEngine(configuration.errorPatterns,
+                    configuration.errorBlacklistingPatterns);
             String customPatterns = configuration.customPatterns;
-            customEngine = new SearchEngine(customPatterns != null ? customPatterns : "",
+            SearchEngine customEngine = new SearchEngine(customPatterns != null ? customPatterns : "",
                     configuration.customBlacklistingPatterns);
+            // the order of the engines defines the bits of the results
+            lineMatcher = new MultiPatternMatcher(List.of(errorEngine, warningEngine, customEngine));
+            this.warningEngine = warningEngine;
+            this.errorEngine = errorEngine;
+            this.customEngine = customEngine;
         } catch (PatternSyntaxException e) {
             logger.debug("Illegal search pattern syntax '{}'. ", e.getMessage(), e);
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.CONFIGURATION_ERROR, e.getMessage());
@@ -188,17 +203,30 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
             updateStatus(ThingStatus.ONLINE);
         }
 
-        if (errorEngine != null && errorEngine.isMatching(line)) {
+        MultiPatternMatcher lineMatcher = this.lineMatcher;
+        if (lineMatcher == null) {
+            return;
+        }
+        // all patterns are searched in a single pass over the line
+        int matches = lineMatcher.match(line);
+        if (matches == 0) {
+            return;
+        }
+
+        SearchEngine errorEngine = this.errorEngine;
+        if (errorEngine != null && (matches & ERROR) != 0) {
             updateChannelIfLinked(CHANNEL_ERRORS, new DecimalType(errorEngine.getMatchCount()));
             updateChannelIfLinked(CHANNEL_LASTERROR, new StringType(line));
             triggerChannel(CHANNEL_NEWERROR, line);
         }
-        if (warningEngine != null && warningEngine.isMatching(line)) {
+        SearchEngine warningEngine = this.warningEngine;
+        if (warningEngine != null && (matches & WARNING) != 0) {
             updateChannelIfLinked(CHANNEL_WARNINGS, new DecimalType(warningEngine.getMatchCount()));
             updateChannelIfLinked(CHANNEL_LASTWARNING, new StringType(line));
             triggerChannel(CHANNEL_NEWWARNING, line);
         }
-        if (customEngine != null && customEngine.isMatching(line)) {
+        SearchEngine customEngine = this.customEngine;
+        if (customEngine != null && (matches & CUSTOM) != 0) {
             updateChannelIfLinked(CHANNEL_CUSTOMEVENTS, new DecimalType(customEngine.getMatchCount()));
             updateChannelIfLinked(CHANNEL_LASTCUSTOMEVENT, new StringType(line));
             triggerChannel(CHANNEL_NEWCUSTOM, line);
@@ -0,0 +1,419 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * This class matches a line against the patterns of several {@link SearchEngine}s in a single pass.
+ *
+ * A literal which is contained in every match is extracted from each pattern where possible. The literals of all
+ * patterns are combined into one Aho-Corasick automaton, which scans the line once. The regular expression of a
+ * pattern is then only evaluated if its literal was found in the line, or if no literal could be extracted from it.
+ * Patterns used by several engines are evaluated only once per line.
+ *
+ * Instances are not thread safe.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MultiPatternMatcher {
+
+    private static final byte UNKNOWN = 0;
+    private static final byte FOUND = 1;
+    private static final byte NOT_FOUND = 2;
+
+    private final List<SearchEngine> engines;
+    private final int[][] enginePatterns;
+    private final int[][] engineBlacklistingPatterns;
+
+    private final Pattern[] patterns;
+    // index of the literal of each pattern, -1 if the pattern has none
+    private final int[] patternLiterals;
+    private final LiteralAutomaton automaton;
+
+    // state of the current line
+    private final boolean[] literalFound;
+    private final byte[] patternFound;
+
+    /**
+     * Combine the patterns of the given search engines.
+     *
+     * @param engines the search engines, at most 32.
+     */
+    public MultiPatternMatcher(List<SearchEngine> engines) {
+        if (engines.size() > Integer.SIZE) {
+            throw new IllegalArgumentException("Too many search engines");
+        }
+        this.engines = engines;
+        Map<String, Integer> patternIndex = new HashMap<>();
+        List<Pattern> patternList = new ArrayList<>();
+        enginePatterns = new int[engines.size()][];
+        engineBlacklistingPatterns = new int[engines.size()][];
+        for (int i = 0; i < engines.size(); i++) {
+            enginePatterns[i] = index(engines.get(i).getPatterns(), patternIndex, patternList);
+            engineBlacklistingPatterns[i] = index(engines.get(i).getBlacklistingPatterns(), patternIndex, patternList);
+        }
+        patterns = patternList.toArray(new Pattern[0]);
+
+        Map<String, Integer> literalIndex = new HashMap<>();
+        patternLiterals = new int[patterns.length];
+        for (int i = 0; i < patterns.length; i++) {
+            String literal = requiredLiteral(patterns[i]);
+            patternLiterals[i] = literal == null ? -1
+                    : literalIndex.computeIfAbsent(literal, key -> literalIndex.size());
+        }
+        String[] literals = new String[literalIndex.size()];
+        literalIndex.forEach((literal, index) -> literals[index] = literal);
+        automaton = new LiteralAutomaton(literals);
+
+        literalFound = new boolean[literals.length];
+        patternFound = new byte[patterns.length];
+    }
+
+    /**
+     * Match the line against all search engines and increase the match count of the matching engines.
+     *
+     * @param line the line to search in.
+     * @return a bit mask of the matching engines, bit i is set if engine i of the list matched.
+     */
+    public int match(String line) {
+        Arrays.fill(literalFound, false);
+        Arrays.fill(patternFound, UNKNOWN);
+        automaton.scan(line, literalFound);
+
+        int result = 0;
+        for (int i = 0; i < enginePatterns.length; i++) {
+            if (findAny(enginePatterns[i], line) && !findAny(engineBlacklistingPatterns[i], line)) {
+                engines.get(i).incrementMatchCount();
+                result |= 1 << i;
+            }
+        }
+        return result;
+    }
+
+    private boolean findAny(int[] patternIds, String line) {
+        for (int patternId : patternIds) {
+            if (find(patternId, line)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean find(int patternId, String line) {
+        byte found = patternFound[patternId];
+        if (found == UNKNOWN) {
+            int literal = patternLiterals[patternId];
+            if (literal >= 0 && !literalFound[literal]) {
+                found = NOT_FOUND;
+            } else {
+                found = patterns[patternId].matcher(line).find() ? FOUND : NOT_FOUND;
+            }
+            patternFound[patternId] = found;
+        }
+        return found == FOUND;
+    }
+
+    private static int[] index(List<Pattern> patterns, Map<String, Integer> patternIndex, List<Pattern> patternList) {
+        int[] ids = new int[patterns.size()];
+        for (int i = 0; i < ids.length; i++) {
+            Pattern pattern = patterns.get(i);
+            ids[i] = patternIndex.computeIfAbsent(pattern.pattern(), key -> {
+                patternList.add(pattern);
+                return patternList.size() - 1;
+            });
+        }
+        return ids;
+    }
+
+    /**
+     * Extract the longest literal which is contained in every match of the pattern. Only the top level of the
+     * pattern is considered; groups, character classes and optional characters end a literal.
+     *
+     * @param pattern the compiled pattern
+     * @return the literal or null if none could be determined.
+     */
+    static @Nullable String requiredLiteral(Pattern pattern) {
+        String regex = pattern.pattern();
+        if (pattern.flags() != 0 || regex.contains("(?") || regex.contains("\\Q")) {
+            // flags change the meaning of the characters
+            return null;
+        }
+        StringBuilder best = new StringBuilder();
+        StringBuilder current = new StringBuilder();
+        int i = 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            switch (c) {
+                case '\\':
+                    if (i + 1 >= regex.length()) {
+                        return null;
+                    }
+                    char escaped = regex.charAt(i + 1);
+                    if (Character.isLetterOrDigit(escaped)) {
+                        // character class, boundary, back reference or character given by its code
+                        i = skipEscape(regex, i + 1);
+                        if (i < 0) {
+                            return null;
+                        }
+                        endLiteral(current, best);
+                    } else {
+                        current.append(escaped);
+                        i += 2;
+                    }
+                    break;
+                case '[':
+                case '(':
+                    i = skipNested(regex, i);
+                    if (i < 0) {
+                        return null;
+                    }
+                    endLiteral(current, best);
+                    break;
+                case '*':
+                case '?':
+                    // the previous character is optional
+                    if (current.length() > 0) {
+                        current.setLength(current.length() - 1);
+                    }
+                    endLiteral(current, best);
+                    i = skipQuantifierMode(regex, i + 1);
+                    break;
+                case '+':
+                    // the previous character is present at least once
+                    endLiteral(current, best);
+                    i = skipQuantifierMode(regex, i + 1);
+                    break;
+                case '{':
+                    int end = regex.indexOf('}', i);
+                    if (end < 0) {
+                        return null;
+                    }
+                    if (regex.charAt(i + 1) == '0' && current.length() > 0) {
+                        current.setLength(current.length() - 1);
+                    }
+                    endLiteral(current, best);
+                    i = skipQuantifierMode(regex, end + 1);
+                    break;
+                case '.':
+                case '^':
+                case '$':
+                    endLiteral(current, best);
+                    i++;
+                    break;
+                case '|':
+                    return null;
+                default:
+                    current.append(c);
+                    i++;
+            }
+        }
+        endLiteral(current, best);
+        return best.length() > 0 ? best.toString() : null;
+    }
+
+    private static void endLiteral(StringBuilder current, StringBuilder best) {
+        if (current.length() > best.length()) {
+            best.setLength(0);
+            best.append(current);
+        }
+        current.setLength(0);
+    }
+
+    /**
+     * Skip an escape sequence starting with a letter or digit, including its arguments like the digits of
+     * {@code \x41}, {@code \u0041} and {@code \0101}, or the name of {@code \k<name>}.
+     *
+     * @param index the index of the character after the backslash
+     * @return the index after the escape sequence, -1 if it is incomplete.
+     */
+    private static int skipEscape(String regex, int index) {
+        char escaped = regex.charAt(index);
+        int i = index + 1;
+        switch (escaped) {
+            case 'x':
+                if (i < regex.length() && regex.charAt(i) == '{') {
+                    return skipTo(regex, i, '}');
+                }
+                i += 2;
+                break;
+            case 'u':
+                i += 4;
+                break;
+            case '0':
+                while (i < regex.length() && i < index + 4 && regex.charAt(i) >= '0' && regex.charAt(i) <= '7') {
+                    i++;
+                }
+                break;
+            case 'c':
+                i++;
+                break;
+            case 'k':
+                return skipTo(regex, i, '>');
+            case 'p':
+            case 'P':
+            case 'N':
+            case 'b':
+                // property, named character or boundary type in braces
+                if (i < regex.length() && regex.charAt(i) == '{') {
+                    return skipTo(regex, i, '}');
+                } else if (escaped == 'p' || escaped == 'P') {
+                    // one letter property name
+                    i++;
+                }
+                break;
+            default:
+                // back references may consist of several digits
+                while (Character.isDigit(escaped) && i < regex.length() && Character.isDigit(regex.charAt(i))) {
+                    i++;
+                }
+        }
+        return i <= regex.length() ? i : -1;
+    }
+
+    private static int skipTo(String regex, int index, char end) {
+        int i = regex.indexOf(end, index);
+        return i < 0 ? -1 : i + 1;
+    }
+
+    private static int skipQuantifierMode(String regex, int index) {
+        // lazy or possessive quantifier
+        if (index < regex.length() && (regex.charAt(index) == '?' || regex.charAt(index) == '+')) {
+            return index + 1;
+        }
+        return index;
+    }
+
+    /**
+     * Skip a group or character class including nested ones.
+     *
+     * @return the index after the closing bracket, -1 if there is none.
+     */
+    private static int skipNested(String regex, int start) {
+        int depth = 0;
+        boolean inClass = false;
+        for (int i = start; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (inClass) {
+                if (c == ']' && i > start + 1 && regex.charAt(i - 1) != '[') {
+                    inClass = false;
+                    if (depth == 0) {
+                        return i + 1;
+                    }
+                }
+            } else if (c == '[') {
+                inClass = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+                if (depth == 0) {
+                    return i + 1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Aho-Corasick automaton finding all literals contained in a text in one pass.
+     */
+    static class LiteralAutomaton {
+        private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+        private final List<Integer> failures = new ArrayList<>();
+        private final List<int[]> outputs = new ArrayList<>();
+
+        public LiteralAutomaton(String[] literals) {
+            addState();
+            for (int literal = 0; literal < literals.length; literal++) {
+                int state = 0;
+                for (char c : literals[literal].toCharArray()) {
+                    Integer next = transitions.get(state).get(c);
+                    if (next == null) {
+                        next = addState();
+                        transitions.get(state).put(c, next);
+                    }
+                    state = next;
+                }
+                outputs.set(state, append(outputs.get(state), literal));
+            }
+
+            // breadth first computation of the failure transitions
+            Queue<Integer> queue = new ArrayDeque<>(transitions.get(0).values());
+            while (!queue.isEmpty()) {
+                int state = queue.remove();
+                for (Map.Entry<Character, Integer> transition : transitions.get(state).entrySet()) {
+                    int next = transition.getValue();
+                    queue.add(next);
+                    int failure = next(failures.get(state), transition.getKey());
+                    failures.set(next, failure);
+                    for (int literal : outputs.get(failure)) {
+                        outputs.set(next, append(outputs.get(next), literal));
+                    }
+                }
+            }
+        }
+
+        public void scan(String text, boolean[] found) {
+            if (outputs.size() == 1) {
+                return;
+            }
+            int state = 0;
+            for (int i = 0; i < text.length(); i++) {
+                state = next(state, text.charAt(i));
+                for (int literal : outputs.get(state)) {
+                    found[literal] = true;
+                }
+            }
+        }
+
+        private int next(int state, char c) {
+            while (true) {
+                Integer next = transitions.get(state).get(c);
+                if (next != null) {
+                    return next;
+                }
+                if (state == 0) {
+                    return 0;
+                }
+                state = failures.get(state);
+            }
+        }
+
+        private int addState() {
+            transitions.add(new HashMap<>());
+            failures.add(0);
+            outputs.add(new int[0]);
+            return transitions.size() - 1;
+        }
+
+        private static int[] append(int[] values, int value) {
+            int[] result = Arrays.copyOf(values, values.length + 1);
+            result[values.length] = value;
+            return result;
+        }
+    }
+}
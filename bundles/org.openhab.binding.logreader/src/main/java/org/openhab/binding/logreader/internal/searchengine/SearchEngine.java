@@ -62,6 +62,18 @@ public class SearchEngine {
         return false;
     }
 
+    List<Pattern> getPatterns() {
+        return matchers;
+    }
+
+    List<Pattern> getBlacklistingPatterns() {
+        return blacklistingMatchers;
+    }
+
+    void incrementMatchCount() {
+        matchCount++;
+    }
+
     public long getMatchCount() {
         return matchCount;
     }
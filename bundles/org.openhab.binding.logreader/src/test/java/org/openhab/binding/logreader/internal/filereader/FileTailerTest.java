@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.filereader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
+
+/**
+ * Tests for the {@link FileTailer}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class FileTailerTest {
+    private static final long REFRESH_RATE = 20; // in ms
+    private static final String ROTATED = "<rotated>";
+    private static final String NOT_FOUND = "<not found>";
+
+    private @TempDir @NonNullByDefault({}) Path directory;
+    private @NonNullByDefault({}) Path file;
+    private @NonNullByDefault({}) ScheduledExecutorService scheduler;
+    private @NonNullByDefault({}) FileTailer tailer;
+    private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    public void setUp() {
+        file = directory.resolve("openhab.log");
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        tailer = new FileTailer(scheduler);
+        tailer.registerListener(new FileReaderListener() {
+            @Override
+            public void fileNotFound() {
+                events.add(NOT_FOUND);
+            }
+
+            @Override
+            public void fileRotated() {
+                events.add(ROTATED);
+            }
+
+            @Override
+            public void handle(@Nullable String line) {
+                events.add(String.valueOf(line));
+            }
+
+            @Override
+            public void handle(@Nullable Exception ex) {
+                events.add("<exception " + ex + ">");
+            }
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        tailer.stop();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void appendedLinesAreRead() throws Exception {
+        write("existing line\n", false);
+        start();
+
+        write("first\r\nsec", true);
+        assertEvents("first");
+        write("ond\nthird\n", true);
+        assertEvents("second", "third");
+    }
+
+    @Test
+    public void truncatedFileIsReadFromItsBeginning() throws Exception {
+        write("existing line\n", false);
+        start();
+        write("first\n", true);
+        assertEvents("first");
+
+        write("new\n", false);
+        assertEvents(ROTATED, "new");
+        write("appended\n", true);
+        assertEvents("appended");
+    }
+
+    @Test
+    public void remainingLinesOfReplacedFileAreRead() throws Exception {
+        write("existing line\n", false);
+        start();
+        write("first\n", true);
+        assertEvents("first");
+
+        // the rotated file is written to before the new file is noticed
+        synchronized (tailer) {
+            write("last of old file\nunterminated", true);
+            Files.move(file, directory.resolve("openhab.log.1"));
+            Files.writeString(file, "first of new file\n", Charset.defaultCharset());
+        }
+        assertEvents("last of old file", "unterminated", ROTATED, "first of new file");
+    }
+
+    @Test
+    public void missingFileIsTailedOnceCreated() throws Exception {
+        start();
+        assertEquals(NOT_FOUND, events.poll(5, TimeUnit.SECONDS));
+
+        // like an existing file, a created file is tailed from its end
+        write("created\n", false);
+        waitForEvents();
+        events.removeIf(NOT_FOUND::equals);
+        write("appended\n", true);
+        assertEvents("appended");
+    }
+
+    private void start() throws Exception {
+        tailer.start(file.toString(), REFRESH_RATE);
+        // wait until the file was opened
+        waitForEvents();
+    }
+
+    private void waitForEvents() throws InterruptedException {
+        Thread.sleep(10 * REFRESH_RATE);
+    }
+
+    private void write(String content, boolean append) throws IOException {
+        if (append) {
+            Files.writeString(file, content, Charset.defaultCharset(), StandardOpenOption.APPEND);
+        } else {
+            Files.writeString(file, content, Charset.defaultCharset(), StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        }
+    }
+
+    private void assertEvents(String... expected) throws InterruptedException {
+        for (String event : expected) {
+            assertEquals(event, events.poll(5, TimeUnit.SECONDS));
+        }
+        assertEquals(List.of(), List.copyOf(events));
+    }
+}
@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.logreader.internal.searchengine.MultiPatternMatcher.LiteralAutomaton;
+
+/**
+ * Tests for the {@link MultiPatternMatcher}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MultiPatternMatcherTest {
+
+    @Test
+    public void requiredLiteralOfPlainPatterns() {
+        assertEquals("ERROR", literal("ERROR"));
+        assertEquals("WARN", literal("WARN+"));
+        assertEquals("WAR", literal("WARN?"));
+        assertEquals("WAR", literal("WARN*"));
+        assertEquals("WAR", literal("WARN{0,2}"));
+        assertEquals("Exception", literal("[a-z]+Exception"));
+        assertEquals(" failed", literal("(foo|bar) failed"));
+        assertEquals("a.b", literal("a\\.b"));
+        assertEquals(" started", literal("^\\w+ started$"));
+        assertNull(literal("ERROR|WARN"));
+        assertNull(literal(".*"));
+        assertNull(literal("(?i)error"));
+        assertNull(literal("\\Qa+b\\E"));
+        assertNull(MultiPatternMatcher.requiredLiteral(Pattern.compile("error", Pattern.CASE_INSENSITIVE)));
+    }
+
+    @Test
+    public void requiredLiteralSkipsArgumentsOfEscapes() {
+        assertEquals("BC", literal("\\x41BC"));
+        assertEquals("BC", literal("\\x{41}BC"));
+        assertEquals("BC", literal("\\u0041BC"));
+        assertEquals("BC", literal("\\0101BC"));
+        assertEquals("BC", literal("\\cABC"));
+        assertEquals("BC", literal("\\p{Lu}BC"));
+        assertEquals("BC", literal("\\pLBC"));
+        assertEquals("BC", literal("\\b{g}BC"));
+        assertEquals("BC", literal("(A)\\1BC"));
+        assertEquals(" ERROR", literal("\\x41\\u0041\\0101 ERROR"));
+    }
+
+    @Test
+    public void escapedCharactersAreMatched() {
+        // the lines are not filtered out by a wrong literal of the pattern
+        assertMatches("\\x41BC", "ABC");
+        assertMatches("\\u0041BC", "ABC");
+        assertMatches("\\0101BC", "ABC");
+        assertMatches("\\x{41}12", "A12");
+        assertMatches("(?<level>WARN) \\k<level>", "WARN WARN");
+        assertMatches("(E)\\1RROR", "EERROR");
+    }
+
+    @Test
+    public void enginesAreMatchedTogether() {
+        SearchEngine errors = new SearchEngine("ERROR", null);
+        SearchEngine warnings = new SearchEngine("WARN+|WARNING", "ignored");
+        SearchEngine custom = new SearchEngine("[0-9]+ ms", null);
+        MultiPatternMatcher matcher = new MultiPatternMatcher(List.of(errors, warnings, custom));
+
+        assertEquals(0b001, matcher.match("ERROR something failed"));
+        assertEquals(0b010, matcher.match("WARN something is odd"));
+        assertEquals(0b000, matcher.match("WARN this is ignored"));
+        assertEquals(0b101, matcher.match("ERROR took 1000 ms"));
+        assertEquals(0b000, matcher.match("INFO all fine"));
+
+        assertEquals(2, errors.getMatchCount());
+        assertEquals(1, warnings.getMatchCount());
+        assertEquals(1, custom.getMatchCount());
+    }
+
+    @Test
+    public void automatonFindsOverlappingLiterals() {
+        String[] literals = { "he", "she", "his", "hers" };
+
+        assertArrayEquals(new boolean[] { true, true, false, true }, scan(literals, "ushers"));
+        assertArrayEquals(new boolean[] { true, false, true, false }, scan(literals, "this is here"));
+        assertArrayEquals(new boolean[] { false, false, false, false }, scan(literals, "nothing"));
+    }
+
+    @Test
+    public void automatonFindsLiteralsWithSharedSuffix() {
+        String[] literals = { "ERROR", "RROR", "OR", "FATAL ERROR" };
+
+        assertArrayEquals(new boolean[] { true, true, true, false }, scan(literals, "[ERROR] failed"));
+        assertArrayEquals(new boolean[] { true, true, true, true }, scan(literals, "FATAL ERROR"));
+        assertArrayEquals(new boolean[] { false, false, true, false }, scan(literals, "FATAL ERR OR"));
+    }
+
+    @Test
+    public void automatonFindsLiteralsAfterFailedPrefix() {
+        String[] literals = { "abcd", "bcx" };
+
+        assertArrayEquals(new boolean[] { false, true }, scan(literals, "abcx"));
+        assertArrayEquals(new boolean[] { true, false }, scan(literals, "aabcd"));
+    }
+
+    private static @Nullable String literal(String regex) {
+        return MultiPatternMatcher.requiredLiteral(Pattern.compile(regex));
+    }
+
+    private static void assertMatches(String regex, String line) {
+        SearchEngine engine = new SearchEngine(regex, null);
+        MultiPatternMatcher matcher = new MultiPatternMatcher(List.of(engine));
+        assertEquals(1, matcher.match(line), regex);
+    }
+
+    private static boolean[] scan(String[] literals, String text) {
+        boolean[] found = new boolean[literals.length];
+        new LiteralAutomaton(literals).scan(text, found);
+        return found;
+    }
+}
@@ -22,8 +22,11 @@ import org.openhab.binding.modbus.discovery.ModbusDiscoveryListener;
 import org.openhab.binding.modbus.discovery.ModbusDiscoveryParticipant;
 import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
+import org.openhab.core.storage.StorageService;
 import org.openhab.core.thing.ThingTypeUID;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,6 +42,22 @@ public class SunspecDiscoveryParticipant implements ModbusDiscoveryParticipant {
 
     private final Logger logger = LoggerFactory.getLogger(SunspecDiscoveryParticipant.class);
 
+    /**
+     * Name of the storage holding the discovered model maps
+     */
+    private static final String MODEL_CACHE_STORAGE = "org.openhab.binding.modbus.sunspec.models";
+
+    /**
+     * Model maps discovered earlier, shared by all discovery processes
+     */
+    private final SunspecModelCache modelCache;
+
+    @Activate
+    public SunspecDiscoveryParticipant(@Reference StorageService storageService) {
+        modelCache = new SunspecModelCache(
+                storageService.getStorage(MODEL_CACHE_STORAGE, String.class.getClassLoader()));
+    }
+
     @Override
     public Set<ThingTypeUID> getSupportedThingTypeUIDs() {
         return new HashSet<ThingTypeUID>(SUPPORTED_THING_TYPES_UIDS.values());
@@ -48,7 +67,7 @@ public class SunspecDiscoveryParticipant implements ModbusDiscoveryParticipant {
     public void startDiscovery(ModbusEndpointThingHandler handler, ModbusDiscoveryListener listener) {
         logger.trace("Starting sunspec discovery");
         try {
-            new SunspecDiscoveryProcess(handler, listener).detectModel();
+            new SunspecDiscoveryProcess(handler, listener, modelCache).detectModel();
         } catch (EndpointNotInitializedException ex) {
             logger.debug("Could not start discovery process");
             listener.discoveryFinished();
@@ -14,8 +14,10 @@ package org.openhab.binding.modbus.sunspec.internal.discovery;
 
 import static org.openhab.binding.modbus.sunspec.internal.SunSpecConstants.*;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -27,6 +29,7 @@ import org.openhab.binding.modbus.handler.EndpointNotInitializedException;
 import org.openhab.binding.modbus.handler.ModbusEndpointThingHandler;
 import org.openhab.binding.modbus.sunspec.internal.dto.CommonModelBlock;
 import org.openhab.binding.modbus.sunspec.internal.dto.ModelBlock;
+import org.openhab.binding.modbus.sunspec.internal.dto.SunspecModelMap;
 import org.openhab.binding.modbus.sunspec.internal.parser.CommonModelParser;
 import org.openhab.core.config.discovery.DiscoveryResult;
 import org.openhab.core.config.discovery.DiscoveryResultBuilder;
@@ -50,6 +53,10 @@ import org.slf4j.LoggerFactory;
  * It scans trough the defined model items and notifies the
  * discovery service about the discovered devices
  *
+ * The discovered model map is persisted per endpoint. Later discoveries
+ * only verify the SunS identifier and the common block with a single read
+ * and skip the slow walk of the model chain if the device is unchanged.
+ *
  * @author Nagy Attila Gabor - Initial contribution
  */
 @NonNullByDefault
@@ -113,13 +120,28 @@ public class SunspecDiscoveryProcess {
      */
     private ModbusCommunicationInterface comms;
 
+    /**
+     * Persistent cache of discovered model maps
+     */
+    private final SunspecModelCache modelCache;
+
+    /**
+     * Key of this endpoint in the model cache
+     */
+    private final String modelCacheKey;
+
+    /**
+     * Model map collected while walking the model chain
+     */
+    private final SunspecModelMap modelMap = new SunspecModelMap();
+
     /**
      * New instances of this class should get a reference to the handler
      *
      * @throws EndpointNotInitializedException
      */
-    public SunspecDiscoveryProcess(ModbusEndpointThingHandler handler, ModbusDiscoveryListener listener)
-            throws EndpointNotInitializedException {
+    public SunspecDiscoveryProcess(ModbusEndpointThingHandler handler, ModbusDiscoveryListener listener,
+            SunspecModelCache modelCache) throws EndpointNotInitializedException {
         this.handler = handler;
 
         ModbusCommunicationInterface localComms = handler.getCommunicationInterface();
@@ -130,6 +152,8 @@ public class SunspecDiscoveryProcess {
         }
         slaveId = handler.getSlaveId();
         this.listener = listener;
+        this.modelCache = modelCache;
+        modelCacheKey = handler.getUID().getAsString() + ":" + slaveId;
         commonBlockParser = new CommonModelParser();
         possibleAddresses = new ConcurrentLinkedQueue<>();
         // Preferred and alternate base registers
@@ -146,7 +170,89 @@ public class SunspecDiscoveryProcess {
      * @throws EndpointNotInitializedException
      */
     public void detectModel() {
+        SunspecModelMap cachedModelMap = modelCache.get(modelCacheKey);
+        if (cachedModelMap != null && cachedModelMap.commonBlock != null && !cachedModelMap.models.isEmpty()) {
+            verifyCachedModelMap(cachedModelMap);
+        } else {
+            scanNextAddress();
+        }
+    }
 
+    /**
+     * Read the identifier and the first common block of the cached model map
+     * with a single request to verify the device has not changed
+     */
+    private void verifyCachedModelMap(SunspecModelMap cachedModelMap) {
+        CommonModelBlock cachedCommonBlock = Objects.requireNonNull(cachedModelMap.commonBlock);
+        logger.trace("Verifying cached SunSpec model map at address {}", cachedModelMap.baseAddress);
+
+        ModbusReadRequestBlueprint request = new ModbusReadRequestBlueprint(slaveId,
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, cachedModelMap.baseAddress, // Start address
+                SUNSPEC_ID_SIZE + MODEL_HEADER_SIZE + cachedCommonBlock.length, // number or words to return
+                maxTries);
+
+        comms.submitOneTimePoll(request,
+                result -> result.getRegisters().ifPresent(registers -> cachedHeaderReceived(cachedModelMap, registers)),
+                failure -> {
+                    logger.debug("Could not verify cached SunSpec model map: {}", failure.getCause().getMessage());
+                    discardCachedModelMap();
+                });
+    }
+
+    /**
+     * We received the identifier and the common block of a cached model map
+     */
+    private void cachedHeaderReceived(SunspecModelMap cachedModelMap, ModbusRegisterArray registers) {
+        Optional<DecimalType> id = ModbusBitUtilities.extractStateFromRegisters(registers, 0, ValueType.UINT32);
+        if (!id.isPresent() || id.get().longValue() != SUNSPEC_ID) {
+            logger.debug("Cached SunSpec model map is stale, SunS identifier not found at address {}",
+                    cachedModelMap.baseAddress);
+            discardCachedModelMap();
+            return;
+        }
+
+        byte[] bytes = registers.getBytes();
+        CommonModelBlock commonBlock = commonBlockParser
+                .parse(new ModbusRegisterArray(Arrays.copyOfRange(bytes, SUNSPEC_ID_SIZE * 2, bytes.length)));
+        if (!isSameDevice(Objects.requireNonNull(cachedModelMap.commonBlock), commonBlock)) {
+            logger.debug("Cached SunSpec model map is stale, device has changed");
+            discardCachedModelMap();
+            return;
+        }
+
+        logger.debug("Using cached SunSpec model map with {} blocks", cachedModelMap.models.size());
+        for (SunspecModelMap.Model model : cachedModelMap.models) {
+            ModelBlock block = model.block;
+            if (block == null || model.commonBlock == null) {
+                continue;
+            }
+            lastCommonBlock = model.commonBlock;
+            createDiscoveryResult(block);
+        }
+        listener.discoveryFinished();
+    }
+
+    /**
+     * Drop the cached model map and walk the model chain instead
+     */
+    private void discardCachedModelMap() {
+        modelCache.remove(modelCacheKey);
+        scanNextAddress();
+    }
+
+    /**
+     * Returns true, if the common blocks describe the same device
+     */
+    private boolean isSameDevice(CommonModelBlock cached, CommonModelBlock current) {
+        return cached.length == current.length && cached.deviceAddress == current.deviceAddress
+                && cached.manufacturer.equals(current.manufacturer) && cached.model.equals(current.model)
+                && cached.version.equals(current.version) && cached.serialNumber.equals(current.serialNumber);
+    }
+
+    /**
+     * Walk the model chain starting from the next possible base address
+     */
+    private void scanNextAddress() {
         if (possibleAddresses.isEmpty()) {
             parsingFinished();
             return;
@@ -175,11 +281,12 @@ public class SunspecDiscoveryProcess {
         if (!id.isPresent() || id.get().longValue() != SUNSPEC_ID) {
             logger.debug("Could not find SunSpec DID at address {}, received: {}, expected: {}", baseAddress, id,
                     SUNSPEC_ID);
-            detectModel();
+            scanNextAddress();
             return;
         }
 
         logger.trace("Header looks correct");
+        modelMap.baseAddress = baseAddress;
         baseAddress += SUNSPEC_ID_SIZE;
 
         lookForModelBlock();
@@ -260,7 +367,11 @@ public class SunspecDiscoveryProcess {
      */
     private void parseCommonBlock(ModbusRegisterArray registers) {
         logger.trace("Got common block data: {}", registers);
-        lastCommonBlock = commonBlockParser.parse(registers);
+        CommonModelBlock commonBlock = commonBlockParser.parse(registers);
+        lastCommonBlock = commonBlock;
+        if (modelMap.commonBlock == null) {
+            modelMap.commonBlock = commonBlock;
+        }
         lookForModelBlock(); // Continue parsing
     }
 
@@ -304,6 +415,11 @@ public class SunspecDiscoveryProcess {
                 .withLabel(commonBlock.manufacturer + " " + commonBlock.model).build();
 
         listener.thingDiscovered(result);
+
+        SunspecModelMap.Model model = new SunspecModelMap.Model();
+        model.block = block;
+        model.commonBlock = commonBlock;
+        modelMap.models.add(model);
     }
 
     /**
@@ -311,6 +427,9 @@ public class SunspecDiscoveryProcess {
      * Now we have to report back to the handler the common block and the block we were looking for
      */
     private void parsingFinished() {
+        if (!modelMap.models.isEmpty() && modelMap.commonBlock != null) {
+            modelCache.put(modelCacheKey, modelMap);
+        }
         listener.discoveryFinished();
     }
 
@@ -336,6 +455,6 @@ public class SunspecDiscoveryProcess {
 
         logger.warn("Error with read at address {}: {} {}", baseAddress, cls, msg);
 
-        detectModel();
+        scanNextAddress();
     }
 }
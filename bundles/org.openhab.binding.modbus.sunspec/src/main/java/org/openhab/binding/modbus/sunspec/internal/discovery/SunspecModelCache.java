@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.sunspec.internal.discovery;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.modbus.sunspec.internal.dto.SunspecModelMap;
+import org.openhab.core.storage.Storage;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+
+/**
+ * Persistent cache of the model maps discovered per endpoint
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SunspecModelCache {
+
+    /**
+     * Storage holding the model maps as json
+     */
+    private final Storage<String> storage;
+
+    private final Gson gson = new Gson();
+
+    public SunspecModelCache(Storage<String> storage) {
+        this.storage = storage;
+    }
+
+    /**
+     * Returns the cached model map
+     *
+     * @param key the endpoint key
+     * @return the model map or null if there is no valid cached map
+     */
+    public @Nullable SunspecModelMap get(String key) {
+        String json = storage.get(key);
+        if (json == null) {
+            return null;
+        }
+        try {
+            return gson.fromJson(json, SunspecModelMap.class);
+        } catch (JsonSyntaxException e) {
+            storage.remove(key);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the model map of the endpoint
+     */
+    public void put(String key, SunspecModelMap modelMap) {
+        storage.put(key, gson.toJson(modelMap));
+    }
+
+    /**
+     * Removes the model map of the endpoint
+     */
+    public void remove(String key) {
+        storage.remove(key);
+    }
+}
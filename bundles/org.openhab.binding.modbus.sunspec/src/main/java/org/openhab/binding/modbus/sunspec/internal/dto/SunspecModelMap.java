@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.sunspec.internal.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Model map discovered on a SunSpec endpoint. It is persisted
+ * so that later discoveries can skip walking the model chain
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SunspecModelMap {
+
+    /**
+     * Address of the SunS identifier in 16bit words
+     */
+    public int baseAddress;
+
+    /**
+     * The first common block found after the identifier. This is
+     * used to verify that the device has not changed
+     */
+    public @Nullable CommonModelBlock commonBlock;
+
+    /**
+     * Supported model blocks found on the device
+     */
+    public List<Model> models = new ArrayList<>();
+
+    /**
+     * A model block with the common block describing it
+     */
+    public static class Model {
+        public @Nullable ModelBlock block;
+        public @Nullable CommonModelBlock commonBlock;
+    }
+}
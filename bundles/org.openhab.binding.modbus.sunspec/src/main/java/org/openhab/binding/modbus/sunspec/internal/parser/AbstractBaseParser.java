@@ -15,14 +15,14 @@ package org.openhab.binding.modbus.sunspec.internal.parser;
 import java.util.Optional;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.openhab.core.io.transport.modbus.ModbusBitUtilities;
-import org.openhab.core.io.transport.modbus.ModbusConstants.ValueType;
 import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
-import org.openhab.core.library.types.DecimalType;
 
 /**
  * Base class for parsers with some helper methods
  *
+ * Values are decoded directly from the registers (big endian, high word first) without intermediate
+ * {@link org.openhab.core.library.types.DecimalType} objects, as the model blocks are parsed on every poll.
+ *
  * @author Nagy Attila Gabor - Initial contribution
  *
  */
@@ -37,8 +37,8 @@ public class AbstractBaseParser {
      * @return the parsed value or empty if the field is not implemented
      */
     protected Optional<Short> extractOptionalInt16(ModbusRegisterArray raw, int index) {
-        return ModbusBitUtilities.extractStateFromRegisters(raw, index, ValueType.INT16).map(DecimalType::shortValue)
-                .filter(value -> value != (short) 0x8000);
+        short value = (short) register(raw, index);
+        return value == (short) 0x8000 ? Optional.empty() : Optional.of(value);
     }
 
     /**
@@ -61,8 +61,8 @@ public class AbstractBaseParser {
      * @return the parsed value or empty if the field is not implemented
      */
     protected Optional<Integer> extractOptionalUInt16(ModbusRegisterArray raw, int index) {
-        return ModbusBitUtilities.extractStateFromRegisters(raw, index, ValueType.UINT16).map(DecimalType::intValue)
-                .filter(value -> value != 0xffff);
+        int value = register(raw, index);
+        return value == 0xffff ? Optional.empty() : Optional.of(value);
     }
 
     /**
@@ -85,8 +85,8 @@ public class AbstractBaseParser {
      * @return the parsed value or empty if the field is not implemented
      */
     protected Optional<Long> extractOptionalAcc32(ModbusRegisterArray raw, int index) {
-        return ModbusBitUtilities.extractStateFromRegisters(raw, index, ValueType.INT32).map(DecimalType::longValue)
-                .filter(value -> value != 0);
+        long value = (int) ((register(raw, index) << 16) | register(raw, index + 1));
+        return value == 0 ? Optional.empty() : Optional.of(value);
     }
 
     /**
@@ -109,8 +109,7 @@ public class AbstractBaseParser {
      * @return the parsed value or empty if the field is not implemented
      */
     protected Optional<Short> extractOptionalSunSSF(ModbusRegisterArray raw, int index) {
-        return ModbusBitUtilities.extractStateFromRegisters(raw, index, ValueType.INT16).map(DecimalType::shortValue)
-                .filter(value -> value != (short) 0x8000);
+        return extractOptionalInt16(raw, index);
     }
 
     /**
@@ -123,4 +122,20 @@ public class AbstractBaseParser {
     protected Short extractSunSSF(ModbusRegisterArray raw, int index) {
         return extractOptionalSunSSF(raw, index).orElse((short) 0);
     }
+
+    /**
+     * Returns the unsigned 16bit value of the register
+     *
+     * @param raw the register array to extract from
+     * @param index the address of the field
+     * @return the register value
+     * @throws IllegalArgumentException if the index is out of bounds
+     */
+    private int register(ModbusRegisterArray raw, int index) {
+        if (index < 0 || index >= raw.size()) {
+            throw new IllegalArgumentException(
+                    String.format("Index=%d is out-of-bounds given registers of size %d", index, raw.size()));
+        }
+        return raw.getRegister(index);
+    }
 }
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.sunspec.internal.parser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Optional;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.modbus.sunspec.internal.dto.InverterModelBlock;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+
+/**
+ * Tests the decoding of inverter model blocks by the {@link InverterModelParser}
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InverterModelParserTest {
+
+    // three phase inverter block (model 103) without DC current and voltage, cabinet and other temperatures
+    private static final int[] THREE_PHASE = { //
+            0x0067, 0x0032, // model id, length
+            0x04d2, 0x019b, 0x019c, 0x019b, 0xfffe, // A, AphA, AphB, AphC, A_SF
+            0x0fa0, 0x0faa, 0x0f96, 0x0906, 0x0908, 0x0901, 0xffff, // PPVphAB/BC/CA, PhVphA/B/C, V_SF
+            0x2026, 0x0000, 0x1389, 0xfffe, // W, W_SF, Hz, Hz_SF
+            0x206c, 0x0000, 0xfe3e, 0x0000, 0xd986, 0xfffe, // VA, VA_SF, VAr, VAr_SF, PF, PF_SF
+            0x0112, 0xa880, 0x0000, // WH, WH_SF
+            0xffff, 0x8000, 0xffff, 0x8000, 0x2134, 0x0000, // DCA, DCA_SF, DCV, DCV_SF, DCW, DCW_SF
+            0x8000, 0x01c4, 0x8000, 0x8000, 0xffff, // TmpCab, TmpSnk, TmpTrns, TmpOt, Tmp_SF
+            0x0004, 0xffff, // St, StVnd
+            0x0000, 0x0000, 0x0000, 0x0000, 0x0000, 0x0000, // Evt1, Evt2, EvtVnd1
+            0x0000, 0x0000, 0x0000, 0x0000, 0x0000, 0x0000 }; // EvtVnd2, EvtVnd3, EvtVnd4
+
+    private final InverterModelParser parser = new InverterModelParser();
+
+    @Test
+    public void parseThreePhaseBlock() {
+        InverterModelBlock block = parser.parse(registers(THREE_PHASE));
+
+        assertEquals(103, block.phaseConfiguration);
+        assertEquals(50, block.length);
+        assertEquals(1234, block.acCurrentTotal);
+        assertEquals(411, block.acCurrentPhaseA);
+        assertEquals(Optional.of(412), block.acCurrentPhaseB);
+        assertEquals(Optional.of(411), block.acCurrentPhaseC);
+        assertEquals((short) -2, block.acCurrentSF);
+
+        assertEquals(Optional.of(4000), block.acVoltageAB);
+        assertEquals(2310, block.acVoltageAtoN);
+        assertEquals(Optional.of(2305), block.acVoltageCtoN);
+        assertEquals((short) -1, block.acVoltageSF);
+
+        assertEquals((short) 8230, block.acPower);
+        assertEquals((short) 0, block.acPowerSF);
+        assertEquals(5001, block.acFrequency);
+        assertEquals((short) -2, block.acFrequencySF);
+        assertEquals(Optional.of((short) 8300), block.acApparentPower);
+        assertEquals(Optional.of((short) -450), block.acReactivePower);
+        assertEquals(Optional.of((short) -9850), block.acPowerFactor);
+        assertEquals(Optional.of((short) -2), block.acPowerFactorSF);
+        assertEquals(18_000_000L, block.acEnergyLifetime);
+
+        assertEquals(Optional.empty(), block.dcCurrent);
+        assertEquals(Optional.empty(), block.dcCurrentSF);
+        assertEquals(Optional.empty(), block.dcVoltage);
+        assertEquals(Optional.of((short) 8500), block.dcPower);
+
+        // a mandatory field which is not implemented gets its default value
+        assertEquals((short) 0, block.temperatureCabinet);
+        assertEquals(Optional.of((short) 452), block.temperatureHeatsink);
+        assertEquals(Optional.empty(), block.temperatureTransformer);
+        assertEquals(4, block.status);
+        assertEquals(Optional.empty(), block.statusVendor);
+    }
+
+    @Test
+    public void parseShortBlock() {
+        int[] header = { 0x0065, 0x0032, 0x04d2 };
+
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(registers(header)));
+    }
+
+    static ModbusRegisterArray registers(int... values) {
+        byte[] bytes = new byte[values.length * 2];
+        for (int i = 0; i < values.length; i++) {
+            bytes[2 * i] = (byte) (values[i] >> 8);
+            bytes[2 * i + 1] = (byte) values[i];
+        }
+        return new ModbusRegisterArray(bytes);
+    }
+}
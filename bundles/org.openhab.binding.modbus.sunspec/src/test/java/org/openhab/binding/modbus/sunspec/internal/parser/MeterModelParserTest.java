@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.sunspec.internal.parser;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.openhab.binding.modbus.sunspec.internal.parser.InverterModelParserTest.registers;
+
+import java.util.Optional;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.modbus.sunspec.internal.dto.MeterModelBlock;
+
+/**
+ * Tests the decoding of meter model blocks by the {@link MeterModelParser}
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MeterModelParserTest {
+
+    // wye connected three phase meter block (model 203) without line to line voltages and reactive power
+    private static final int[] WYE_PHASE = { //
+            0x00cb, 0x0069, // model id, length
+            0x05f3, 0x0200, 0x01f2, 0x0201, 0xfffe, // A, AphA, AphB, AphC, A_SF
+            0x0901, 0x08fd, 0x0906, 0x0900, // PhV, PhVphA, PhVphB, PhVphC
+            0x0f96, 0x8000, 0x8000, 0x8000, 0xffff, // PPV, PPVphAB, PPVphBC, PPVphCA, V_SF
+            0x1386, 0xfffe, // Hz, Hz_SF
+            0xf2ac, 0xfb96, 0xfb82, 0xfb94, 0x0000, // W, WphA, WphB, WphC, W_SF
+            0x0dac, 0x8000, 0x8000, 0x8000, 0x0000, // VA, VAphA, VAphB, VAphC, VA_SF
+            0x8000, 0x8000, 0x8000, 0x8000, 0x8000, // VAR, VARphA, VARphB, VARphC, VAR_SF
+            0xfc31, 0x8000, 0x8000, 0x8000, 0xfffd, // PF, PFphA, PFphB, PFphC, PF_SF
+            0x0001, 0x86a0, 0x0000, 0x0000, 0x0000, 0x0000, 0x0000, 0x0000, // TotWhExp, TotWhExpPhA/B/C
+            0x0098, 0x9680, 0x0000, 0x0000, 0x0000, 0x0000, 0x0000, 0x0000, // TotWhImp, TotWhImpPhA/B/C
+            0x0000, // TotWh_SF
+            0x0000, 0x0000, 0x0000, 0x0000, 0x0000, 0x0000, 0x0000, 0x0000, // TotVAhExp, TotVAhExpPhA/B/C
+            0x0000, 0x0000, 0x0000, 0x0000, 0x0000, 0x0000, 0x0000, 0x0000, // TotVAhImp, TotVAhImpPhA/B/C
+            0x8000, // TotVAh_SF
+            0x0000, 0x0000, 0x0000, 0x0000, 0x0000, 0x0000, 0x0000, 0x0000, // TotVArhImpQ1, TotVArhImpQ1PhA/B/C
+            0x0000, 0x0000, 0x0000, 0x0000, 0x0000, 0x0000, 0x0000, 0x0000, // TotVArhImpQ2, TotVArhImpQ2PhA/B/C
+            0x0000, 0x0000, 0x0000, 0x0000, 0x0000, 0x0000, 0x0000, 0x0000, // TotVArhExpQ3, TotVArhExpQ3PhA/B/C
+            0x0000, 0x0000, 0x0000, 0x0000, 0x0000, 0x0000, 0x0000, 0x0000, // TotVArhExpQ4, TotVArhExpQ4PhA/B/C
+            0x8000, // TotVArh_SF
+            0x0000, 0x0000 }; // Evt
+
+    private final MeterModelParser parser = new MeterModelParser();
+
+    @Test
+    public void parseWyePhaseBlock() {
+        MeterModelBlock block = parser.parse(registers(WYE_PHASE));
+
+        assertEquals(203, block.sunspecDID);
+        assertEquals(105, block.length);
+        assertEquals((short) 1523, block.acCurrentTotal);
+        assertEquals(Optional.of((short) 498), block.phaseB.acPhaseCurrent);
+        assertEquals((short) -2, block.acCurrentSF);
+
+        assertEquals(Optional.of((short) 2305), block.acVoltageLineToNAverage);
+        assertEquals(Optional.of((short) 2301), block.phaseA.acVoltageToN);
+        assertEquals(Optional.of((short) 3990), block.acVoltageLineToLineAverage);
+        assertEquals(Optional.empty(), block.phaseA.acVoltageToNext);
+        assertEquals((short) -1, block.acVoltageSF);
+
+        assertEquals((short) 4998, block.acFrequency);
+        assertEquals(Optional.of((short) -2), block.acFrequencySF);
+
+        // negative power is fed into the grid
+        assertEquals((short) -3412, block.acRealPowerTotal);
+        assertEquals(Optional.of((short) -1130), block.phaseA.acRealPower);
+        assertEquals(Optional.of((short) -1150), block.phaseB.acRealPower);
+        assertEquals(Optional.of((short) -1132), block.phaseC.acRealPower);
+        assertEquals(Optional.of((short) 3500), block.acApparentPowerTotal);
+        assertEquals(Optional.empty(), block.phaseA.acApparentPower);
+        assertEquals(Optional.empty(), block.acReactivePowerTotal);
+        assertEquals(Optional.empty(), block.acReactivePowerSF);
+        assertEquals(Optional.of((short) -975), block.acPowerFactor);
+        assertEquals(Optional.of((short) -3), block.acPowerFactorSF);
+
+        // unimplemented accumulators are zero
+        assertEquals(Optional.of(100_000L), block.acExportedRealEnergyTotal);
+        assertEquals(Optional.empty(), block.phaseA.acExportedRealEnergy);
+        assertEquals(10_000_000L, block.acImportedRealEnergyTotal);
+        assertEquals((short) 0, block.acRealEnergySF);
+        assertEquals(Optional.empty(), block.acImportedApparentEnergyTotal);
+        assertEquals(Optional.empty(), block.acApparentEnergySF);
+        assertEquals(Optional.empty(), block.acExportedReactiveEnergyQ4Total);
+        assertEquals(Optional.empty(), block.acReactiveEnergySF);
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.Optional;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusBitUtilities;
+import org.openhab.core.io.transport.modbus.ModbusConstants.ValueType;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.library.types.DecimalType;
+
+/**
+ * The {@link ModbusReadExtractionPlan} is the read configuration of a data thing (value type, read index and sub
+ * index), compiled once against the poller request.
+ *
+ * The plan is able to extract the raw bits of the configured value directly from the polled registers (or bits) into
+ * a primitive <code>long</code>. This allows the data thing to detect unchanged data cheaply, without constructing
+ * {@link DecimalType} and without running transformations.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public final class ModbusReadExtractionPlan {
+
+    private final ValueType valueType;
+    /**
+     * Index of first register (or bit) of the value, relative to poll start
+     */
+    private final int registerOffset;
+    /**
+     * Number of registers holding the value
+     */
+    private final int registerCount;
+    /**
+     * With value types smaller than 16 bits: shift and mask of the value within the register
+     */
+    private final int shift;
+    private final int mask;
+    /**
+     * Index passed to {@link ModbusBitUtilities#extractStateFromRegisters(ModbusRegisterArray, int, ValueType)}
+     */
+    private final int extractIndex;
+
+    private ModbusReadExtractionPlan(ValueType valueType, int registerOffset, int subIndex) {
+        this.valueType = valueType;
+        this.registerOffset = registerOffset;
+        int bits = valueType.getBits();
+        if (bits >= 16) {
+            registerCount = bits / 16;
+            shift = 0;
+            mask = 0xffff;
+            extractIndex = registerOffset;
+        } else {
+            registerCount = 1;
+            shift = subIndex * bits;
+            mask = (1 << bits) - 1;
+            extractIndex = registerOffset * (16 / bits) + subIndex;
+        }
+    }
+
+    /**
+     * Compile read parameters into extraction plan
+     *
+     * @param valueType value type to read
+     * @param readIndex absolute index of the register (or coil/discrete input) to read
+     * @param subIndex index of the item within the register with value types smaller than 16 bits, 0 otherwise
+     * @param pollStart absolute index of the first register (or coil/discrete input) polled
+     * @return compiled plan
+     */
+    public static ModbusReadExtractionPlan compile(ValueType valueType, int readIndex, int subIndex, int pollStart) {
+        return new ModbusReadExtractionPlan(valueType, readIndex - pollStart, subIndex);
+    }
+
+    public ValueType getValueType() {
+        return valueType;
+    }
+
+    /**
+     * Index used with {@link ModbusBitUtilities#extractStateFromRegisters(ModbusRegisterArray, int, ValueType)}
+     *
+     * @return extract index
+     */
+    public int getExtractIndex() {
+        return extractIndex;
+    }
+
+    /**
+     * Extract raw bits of the value from the registers
+     *
+     * The returned value is not interpreted according to value type (e.g. sign or floating point), it is merely
+     * the bits of the registers packed into a long, the first register being the most significant. It is suitable
+     * for detecting changed data.
+     *
+     * @param registers polled registers
+     * @return raw bits of the value
+     * @throws IllegalArgumentException when the value is out of bounds of the registers
+     */
+    public long extractRaw(ModbusRegisterArray registers) {
+        if (registerOffset < 0 || registerOffset + registerCount > registers.size()) {
+            throw new IllegalArgumentException(String.format(
+                    "Index=%d with type=%s is out-of-bounds given registers of size %d", registerOffset, valueType,
+                    registers.size()));
+        }
+        if (registerCount == 1) {
+            return (registers.getRegister(registerOffset) >>> shift) & mask;
+        }
+        long raw = 0;
+        for (int i = 0; i < registerCount; i++) {
+            raw = (raw << 16) | registers.getRegister(registerOffset + i);
+        }
+        return raw;
+    }
+
+    /**
+     * Extract raw bit from the polled coils or discrete inputs
+     *
+     * @param bits polled bits
+     * @return 1 if the bit is set, 0 otherwise
+     */
+    public long extractRaw(BitArray bits) {
+        return bits.getBit(registerOffset) ? 1L : 0L;
+    }
+
+    /**
+     * Decode the value from the registers, taking value type into account
+     *
+     * @param registers polled registers
+     * @return decoded value, or empty with floating point NaN or infinity
+     */
+    public Optional<DecimalType> decode(ModbusRegisterArray registers) {
+        return ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, valueType);
+    }
+
+    @Override
+    public String toString() {
+        return "ModbusReadExtractionPlan(valueType=" + valueType + ", registerOffset=" + registerOffset
+                + ", registerCount=" + registerCount + ", shift=" + shift + ", extractIndex=" + extractIndex + ")";
+    }
+}
@@ -35,6 +35,7 @@ import org.openhab.binding.modbus.handler.ModbusPollerThingHandler;
 import org.openhab.binding.modbus.internal.CascadedValueTransformationImpl;
 import org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal;
 import org.openhab.binding.modbus.internal.ModbusConfigurationException;
+import org.openhab.binding.modbus.internal.ModbusReadExtractionPlan;
 import org.openhab.binding.modbus.internal.SingleValueTransformation;
 import org.openhab.binding.modbus.internal.ValueTransformation;
 import org.openhab.binding.modbus.internal.config.ModbusDataConfiguration;
@@ -135,6 +136,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile @Nullable CascadedValueTransformationImpl writeTransformation;
     private volatile Optional<Integer> readIndex = Optional.empty();
     private volatile Optional<Integer> readSubIndex = Optional.empty();
+    private volatile @Nullable ModbusReadExtractionPlan readExtractionPlan;
     private volatile Optional<Integer> writeStart = Optional.empty();
     private volatile Optional<Integer> writeSubIndex = Optional.empty();
     private volatile int pollStart;
@@ -151,6 +153,10 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile Map<String, ChannelUID> channelCache = new HashMap<>();
     private volatile Map<ChannelUID, Long> channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
     private volatile Map<ChannelUID, State> channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+    // raw value of last read, and the resulting (transformed) data channel states
+    private volatile boolean lastRawValuePresent;
+    private volatile long lastRawValue;
+    private volatile Map<ChannelUID, State> lastDataChannelStates = Collections.emptyMap();
 
     private volatile LocalDateTime lastStatusInfoUpdate = LocalDateTime.MIN;
     private volatile ThingStatusInfo statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE,
@@ -467,6 +473,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         writeTransformation = null;
         readIndex = Optional.empty();
         readSubIndex = Optional.empty();
+        readExtractionPlan = null;
         writeStart = Optional.empty();
         writeSubIndex = Optional.empty();
         pollStart = 0;
@@ -484,6 +491,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, null);
         channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
         channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        invalidateLastRawValue();
     }
 
     @Override
@@ -576,6 +584,13 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         }
         readTransformation = new CascadedValueTransformationImpl(config.getReadTransform());
         validateReadIndex();
+        ValueType localReadValueType = readValueType;
+        if (isReadEnabled && localReadValueType != null && readRequest != null) {
+            readExtractionPlan = ModbusReadExtractionPlan.compile(localReadValueType, readIndex.get(),
+                    readSubIndex.orElse(0), pollStart);
+        } else {
+            readExtractionPlan = null;
+        }
     }
 
     private void validateAndParseWriteParameters(ModbusDataConfiguration config) throws ModbusConfigurationException {
@@ -816,39 +831,26 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         } else if (!isReadEnabled) {
             return;
         }
-        ValueType readValueType = this.readValueType;
-        if (readValueType == null) {
+        ModbusReadExtractionPlan plan = this.readExtractionPlan;
+        if (plan == null) {
             return;
         }
-        State numericState;
-
-        // extractIndex:
-        // e.g. with bit, extractIndex=4 means 5th bit (from right) ("10.4" -> 5th bit of register 10, "10.4" -> 5th bit
-        // of register 10)
-        // bit of second register)
-        // e.g. with 8bit integer, extractIndex=3 means high byte of second register
-        //
-        // with <16 bit types, this is the index of the N'th 1-bit/8-bit item. Each register has 16/2 items,
-        // respectively.
-        // with >=16 bit types, this is index of first register
-        int extractIndex;
-        if (readValueType.getBits() >= 16) {
-            // Invariant, checked in initialize
-            assert readSubIndex.orElse(0) == 0;
-            extractIndex = readIndex.get() - pollStart;
-        } else {
-            int subIndex = readSubIndex.orElse(0);
-            int itemsPerRegister = 16 / readValueType.getBits();
-            extractIndex = (readIndex.get() - pollStart) * itemsPerRegister + subIndex;
+        long rawValue = plan.extractRaw(registers);
+        if (isUnchangedRawValue(rawValue)) {
+            Map<ChannelUID, State> values = processUnchangedValue();
+            logger.debug("Thing {} raw value {} unchanged, channels updated: {}. Registers {} for request {}",
+                    thing.getUID(), rawValue, values, registers, request);
+            return;
         }
-        numericState = ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, readValueType)
-                .map(state -> (State) state).orElse(UnDefType.UNDEF);
+        State numericState = plan.decode(registers).map(state -> (State) state).orElse(UnDefType.UNDEF);
         boolean boolValue = !numericState.equals(DecimalType.ZERO);
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
+        lastRawValue = rawValue;
+        lastRawValuePresent = true;
         logger.debug(
                 "Thing {} channels updated: {}. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> numeric value {} and boolValue={}. Registers {} for request {}",
-                thing.getUID(), values, readValueType, readIndex, readSubIndex.orElse(0), extractIndex, numericState,
-                boolValue, registers, request);
+                thing.getUID(), values, plan.getValueType(), readIndex, readSubIndex.orElse(0),
+                plan.getExtractIndex(), numericState, boolValue, registers, request);
     }
 
     private synchronized void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
@@ -857,9 +859,22 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         } else if (!isReadEnabled) {
             return;
         }
-        boolean boolValue = bits.getBit(readIndex.get() - pollStart);
+        ModbusReadExtractionPlan plan = this.readExtractionPlan;
+        if (plan == null) {
+            return;
+        }
+        long rawValue = plan.extractRaw(bits);
+        if (isUnchangedRawValue(rawValue)) {
+            Map<ChannelUID, State> values = processUnchangedValue();
+            logger.debug("Thing {} raw value {} unchanged, channels updated: {}. Bits {} for request {}",
+                    thing.getUID(), rawValue, values, bits, request);
+            return;
+        }
+        boolean boolValue = rawValue != 0L;
         DecimalType numericState = boolValue ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
+        lastRawValue = rawValue;
+        lastRawValuePresent = true;
         logger.debug(
                 "Thing {} channels updated: {}. readValueType={}, readIndex={} -> numeric value {} and boolValue={}. Bits {} for request {}",
                 thing.getUID(), values, readValueType, readIndex, numericState, boolValue, bits, request);
@@ -951,6 +966,47 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         }
     }
 
+    @Override
+    public synchronized void channelLinked(ChannelUID channelUID) {
+        // Cached data channel states do not cover the newly linked channel
+        invalidateLastRawValue();
+        super.channelLinked(channelUID);
+    }
+
+    @Override
+    public synchronized void channelUnlinked(ChannelUID channelUID) {
+        invalidateLastRawValue();
+        super.channelUnlinked(channelUID);
+    }
+
+    private void invalidateLastRawValue() {
+        lastRawValuePresent = false;
+        lastRawValue = 0L;
+        lastDataChannelStates = Collections.emptyMap();
+    }
+
+    private boolean isUnchangedRawValue(long rawValue) {
+        return lastRawValuePresent && lastRawValue == rawValue;
+    }
+
+    /**
+     * Update linked channels when polled data has not changed since last read
+     *
+     * Data channel states computed with last read are re-used as-is, avoiding value type conversion and
+     * transformations. Channels are still updated according to updateUnchangedValuesEveryMillis.
+     *
+     * @return updated channel data
+     */
+    private Map<ChannelUID, State> processUnchangedValue() {
+        Map<ChannelUID, State> states = new HashMap<>(lastDataChannelStates);
+        ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
+        if (isLinked(lastReadSuccessUID)) {
+            states.put(lastReadSuccessUID, new DateTimeType());
+        }
+        updateExpiredChannels(states);
+        return states;
+    }
+
     /**
      * Update linked channels
      *
@@ -1018,6 +1074,7 @@ public class ModbusDataThingHandler extends BaseThingHandler {
                         localReadTransformation.isIdentityTransform() ? "<identity>" : localReadTransformation);
             }
         });
+        lastDataChannelStates = new HashMap<>(states);
 
         ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
         if (isLinked(lastReadSuccessUID)) {
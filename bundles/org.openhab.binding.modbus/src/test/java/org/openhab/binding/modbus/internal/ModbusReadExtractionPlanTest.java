@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.io.transport.modbus.ModbusConstants.ValueType;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.library.types.DecimalType;
+
+/**
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusReadExtractionPlanTest {
+
+    private static final ModbusRegisterArray REGISTERS = new ModbusRegisterArray(new byte[] { (byte) 0x12, (byte) 0x34,
+            (byte) 0xff, (byte) 0xfd, (byte) 0x00, (byte) 0x01, (byte) 0x80, (byte) 0x05 });
+
+    @Test
+    public void testInt16() {
+        ModbusReadExtractionPlan plan = ModbusReadExtractionPlan.compile(ValueType.INT16, 11, 0, 10);
+        assertEquals(1, plan.getExtractIndex());
+        assertEquals(0xfffdL, plan.extractRaw(REGISTERS));
+        assertEquals(new DecimalType(-3), plan.decode(REGISTERS).get());
+    }
+
+    @Test
+    public void testUint16() {
+        ModbusReadExtractionPlan plan = ModbusReadExtractionPlan.compile(ValueType.UINT16, 11, 0, 10);
+        assertEquals(0xfffdL, plan.extractRaw(REGISTERS));
+        assertEquals(new DecimalType(65533), plan.decode(REGISTERS).get());
+    }
+
+    @Test
+    public void testInt32() {
+        ModbusReadExtractionPlan plan = ModbusReadExtractionPlan.compile(ValueType.INT32, 12, 0, 10);
+        assertEquals(2, plan.getExtractIndex());
+        assertEquals(0x00018005L, plan.extractRaw(REGISTERS));
+        assertEquals(new DecimalType(0x00018005), plan.decode(REGISTERS).get());
+    }
+
+    @Test
+    public void testInt64() {
+        ModbusReadExtractionPlan plan = ModbusReadExtractionPlan.compile(ValueType.INT64, 10, 0, 10);
+        assertEquals(0x1234fffd00018005L, plan.extractRaw(REGISTERS));
+    }
+
+    @Test
+    public void testInt8() {
+        // high byte of the second register
+        ModbusReadExtractionPlan plan = ModbusReadExtractionPlan.compile(ValueType.INT8, 11, 1, 10);
+        assertEquals(3, plan.getExtractIndex());
+        assertEquals(0xffL, plan.extractRaw(REGISTERS));
+        assertEquals(new DecimalType(-1), plan.decode(REGISTERS).get());
+
+        // low byte of the second register
+        plan = ModbusReadExtractionPlan.compile(ValueType.INT8, 11, 0, 10);
+        assertEquals(2, plan.getExtractIndex());
+        assertEquals(0xfdL, plan.extractRaw(REGISTERS));
+        assertEquals(new DecimalType(-3), plan.decode(REGISTERS).get());
+    }
+
+    @Test
+    public void testBit() {
+        ModbusReadExtractionPlan plan = ModbusReadExtractionPlan.compile(ValueType.BIT, 13, 15, 10);
+        assertEquals(3 * 16 + 15, plan.getExtractIndex());
+        assertEquals(1L, plan.extractRaw(REGISTERS));
+        assertEquals(new DecimalType(1), plan.decode(REGISTERS).get());
+
+        plan = ModbusReadExtractionPlan.compile(ValueType.BIT, 13, 1, 10);
+        assertEquals(0L, plan.extractRaw(REGISTERS));
+        assertEquals(DecimalType.ZERO, plan.decode(REGISTERS).get());
+    }
+
+    @Test
+    public void testChangeDetection() {
+        ModbusReadExtractionPlan plan = ModbusReadExtractionPlan.compile(ValueType.UINT16, 0, 0, 0);
+        ModbusRegisterArray changedOtherRegister = new ModbusRegisterArray(
+                new byte[] { (byte) 0x12, (byte) 0x34, (byte) 0x00, (byte) 0x00 });
+        ModbusRegisterArray changedOwnRegister = new ModbusRegisterArray(
+                new byte[] { (byte) 0x12, (byte) 0x35, (byte) 0xff, (byte) 0xfd });
+        assertEquals(plan.extractRaw(REGISTERS), plan.extractRaw(changedOtherRegister));
+        assertNotEquals(plan.extractRaw(REGISTERS), plan.extractRaw(changedOwnRegister));
+    }
+
+    @Test
+    public void testOutOfBounds() {
+        ModbusReadExtractionPlan plan = ModbusReadExtractionPlan.compile(ValueType.INT32, 13, 0, 10);
+        assertThrows(IllegalArgumentException.class, () -> plan.extractRaw(REGISTERS));
+    }
+}
@@ -15,15 +15,21 @@ package org.openhab.binding.network.internal;
 import java.io.IOException;
 import java.net.Inet4Address;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -35,6 +41,7 @@ import org.openhab.binding.network.internal.utils.NetworkUtils;
 import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
 import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
 import org.openhab.binding.network.internal.utils.PingResult;
+import org.openhab.binding.network.internal.utils.ProbeExecutor;
 import org.openhab.core.cache.ExpiringCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -77,9 +84,14 @@ public class PresenceDetection implements IPRequestReceivedCallback {
 
     /// State variables (cannot be final because of test dependency injections)
     ExpiringCacheAsync<PresenceDetectionValue> cache;
+    Executor probeExecutor = ProbeExecutor.getInstance();
     private final PresenceDetectionListener updateListener;
     private @Nullable ScheduledFuture<?> refreshJob;
-    protected @Nullable ExecutorService executorService;
+    // completed when the ongoing presence detection is finished, null if there is none
+    protected @Nullable CompletableFuture<Void> detection;
+    private final List<Probe> probes = new ArrayList<>();
+    private long detectionStartInMS;
+    private long detectionStartNanos;
     private String dhcpState = "off";
     Integer currentCheck = 0;
     int detectionChecks;
@@ -279,14 +291,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(callback);
     }
 
-    public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
-    }
-
     /**
      * Perform a presence detection with ICMP-, ARP ping and
-     * TCP connection attempts simultaneously. A fixed thread pool will be created with as many
-     * thread as necessary to perform all tests at once.
+     * TCP connection attempts simultaneously. The pings are run by the {@link ProbeExecutor} shared by all presence
+     * detections, the TCP connection attempts are performed asynchronously.
      *
      * This is a NO-OP, if there is already an ongoing detection or if the cached value
      * is not expired yet.
@@ -300,7 +308,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * @return Return true if a presence detection is performed and false otherwise.
      */
     public boolean performPresenceDetection(boolean waitForDetectionToFinish) {
-        if (executorService != null) {
+        if (detection != null) {
             logger.debug(
                     "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
                     hostname, tcpPorts);
@@ -327,46 +335,35 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             return false;
         }
 
-        final ExecutorService executorService = getThreadsFor(detectionChecks);
-        this.executorService = executorService;
+        final CompletableFuture<Void> detection = new CompletableFuture<>();
+        detectionStartInMS = System.currentTimeMillis();
+        detectionStartNanos = System.nanoTime();
+        this.detection = detection;
 
+        // TCP connection attempts do not block a thread, they call checkIfFinished() when done
         for (Integer tcpPort : tcpPorts) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + String.valueOf(tcpPort));
-                performServicePing(tcpPort);
-                checkIfFinished();
-            });
+            performServicePing(tcpPort);
         }
 
-        // ARP ping for IPv4 addresses. Use single executor for Windows tool and
-        // each own executor for each network interface for other tools
+        // ARP ping for IPv4 addresses. Use single probe for Windows tool and
+        // each own probe for each network interface for other tools
         if (arpPingMethod == ArpPingUtilEnum.ELI_FULKERSON_ARP_PING_FOR_WINDOWS) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionARP_" + hostname + " ");
-                // arp-ping.exe tool capable of handling multiple interfaces by itself
-                performARPping("");
-                checkIfFinished();
-            });
+            // arp-ping.exe tool capable of handling multiple interfaces by itself
+            executeProbe(detection, () -> performARPping(""));
         } else if (interfaceNames != null) {
             for (final String interfaceName : interfaceNames) {
-                executorService.execute(() -> {
-                    Thread.currentThread().setName("presenceDetectionARP_" + hostname + " " + interfaceName);
-                    performARPping(interfaceName);
-                    checkIfFinished();
-                });
+                executeProbe(detection, () -> performARPping(interfaceName));
             }
         }
 
         // ICMP ping
         if (pingMethod != null) {
-            executorService.execute(() -> {
+            executeProbe(detection, () -> {
                 if (pingMethod != IpPingMethodEnum.JAVA_PING) {
-                    Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
                     performSystemPing();
                 } else {
                     performJavaPing();
                 }
-                checkIfFinished();
             });
         }
 
@@ -377,28 +374,51 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return true;
     }
 
+    /**
+     * Run a probe of the given presence detection on the shared probe executor.
+     */
+    private void executeProbe(CompletableFuture<Void> detection, Runnable probe) {
+        Probe task = new Probe(() -> {
+            probe.run();
+            checkIfFinished(detection);
+        });
+        synchronized (this) {
+            probes.add(task);
+        }
+        probeExecutor.execute(task);
+    }
+
+    /**
+     * Cancel the probes of the presence detection, interrupting the probes still running.
+     */
+    private synchronized void cancelProbes() {
+        probes.forEach(probe -> probe.cancel(true));
+        probes.clear();
+    }
+
     /**
      * Calls updateListener.finalDetectionResult() with a final result value.
      * Safe to be called from different threads. After a call to this method,
-     * the presence detection process is finished and all threads are forcefully
-     * shut down.
+     * the presence detection process is finished and all probes still running are
+     * forcefully cancelled.
      */
     private synchronized void submitFinalResult() {
         // Do nothing if we are not in a detection process
-        ExecutorService service = executorService;
-        if (service == null) {
+        CompletableFuture<Void> detection = this.detection;
+        if (detection == null) {
             return;
         }
         // Finish the detection process
-        service.shutdownNow();
-        executorService = null;
+        this.detection = null;
         detectionChecks = 0;
 
         PresenceDetectionValue v;
 
         // The cache will be expired by now if cache_time < timeoutInMS. But the device might be actually reachable.
-        // Therefore use lastSeenInMS here and not cache.isExpired() to determine if we got a ping response.
-        if (lastSeenInMS + timeoutInMS + 100 < System.currentTimeMillis()) {
+        // Therefore use lastSeenInMS here and not cache.isExpired() to determine if we got a ping response. Probes
+        // which waited for the probe executor may have run long after the detection started.
+        long seenSinceInMS = Math.min(detectionStartInMS, System.currentTimeMillis() - timeoutInMS - 100);
+        if (lastSeenInMS < seenSinceInMS) {
             // We haven't seen the device in the detection process
             v = new PresenceDetectionValue(hostname, -1);
         } else {
@@ -412,6 +432,8 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             destination.invalidateValue();
         }
         updateListener.finalDetectionResult(v);
+        cancelProbes();
+        detection.complete(null);
     }
 
     /**
@@ -419,8 +441,13 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * If the counter equals the total checks,the final result is submitted. This will
      * happen way before the "timeoutInMS", if all checks were successful.
      * Thread safe.
+     *
+     * @param detection the presence detection the check belongs to, checks of a finished detection are ignored
      */
-    private synchronized void checkIfFinished() {
+    private synchronized void checkIfFinished(@Nullable CompletableFuture<Void> detection) {
+        if (detection == null || detection != this.detection) {
+            return;
+        }
         currentCheck += 1;
         if (currentCheck < detectionChecks) {
             return;
@@ -429,25 +456,65 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     }
 
     /**
-     * Waits for the presence detection threads to finish. Returns immediately
+     * Waits for the presence detection probes to finish. Returns immediately
      * if no presence detection is performed right now.
+     *
+     * The timeout of a probe starts when the probe executor runs it, probes still waiting for a thread of the
+     * shared executor are waited for and not counted as a miss.
      */
     public void waitForPresenceDetection() {
-        ExecutorService service = executorService;
-        if (service == null) {
+        CompletableFuture<Void> detection = this.detection;
+        if (detection == null) {
             return;
         }
+        long timeout = TimeUnit.MILLISECONDS.toNanos(timeoutInMS + 100);
         try {
-            // We may get interrupted here by cancelRefreshJob().
-            service.awaitTermination(timeoutInMS + 100, TimeUnit.MILLISECONDS);
+            while (true) {
+                long now = System.nanoTime();
+                long deadline = getProbesDeadline(now, timeout);
+                if (now - deadline >= 0) {
+                    submitFinalResult();
+                    return;
+                }
+                try {
+                    // We may get interrupted here by cancelRefreshJob().
+                    detection.get(deadline - now, TimeUnit.NANOSECONDS);
+                    return;
+                } catch (TimeoutException e) {
+                    // check if probes started in the meantime
+                }
+            }
+        } catch (ExecutionException e) {
             submitFinalResult();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt(); // Reset interrupt flag
-            service.shutdownNow();
-            executorService = null;
+            cancelProbes();
+            this.detection = null;
         }
     }
 
+    /**
+     * Get the time the probes of the ongoing presence detection time out. The TCP connection attempts start with the
+     * detection, the other probes when they are run by the probe executor.
+     *
+     * @param now the current time in ns
+     * @param timeout the timeout of a probe in ns
+     * @return the deadline in ns
+     */
+    private synchronized long getProbesDeadline(long now, long timeout) {
+        long deadline = detectionStartNanos + timeout;
+        for (Probe probe : probes) {
+            if (probe.isDone()) {
+                continue;
+            }
+            long probeDeadline = probe.isStarted() ? probe.startTime + timeout : now + timeout;
+            if (probeDeadline - deadline > 0) {
+                deadline = probeDeadline;
+            }
+        }
+        return deadline;
+    }
+
     /**
      * If the cached PresenceDetectionValue has not expired yet, the cached version
      * is returned otherwise a new reachable PresenceDetectionValue is created with
@@ -473,24 +540,28 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return v;
     }
 
+    /**
+     * Performs a TCP connection attempt to the given port asynchronously and calls checkIfFinished() when done.
+     *
+     * @param tcpPort The tcp port
+     */
     protected void performServicePing(int tcpPort) {
         logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
-        try {
-            InetAddress destinationAddress = destination.getValue();
-            if (destinationAddress != null) {
-                networkUtils.servicePing(destinationAddress.getHostAddress(), tcpPort, timeoutInMS).ifPresent(o -> {
+        CompletableFuture<Void> detection = this.detection;
+        InetAddress destinationAddress = destination.getValue();
+        if (destinationAddress == null) {
+            checkIfFinished(detection);
+            return;
+        }
+        networkUtils.servicePingAsync(new InetSocketAddress(destinationAddress, tcpPort), timeoutInMS)
+                .thenAccept(o -> {
                     if (o.isSuccess()) {
                         PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION,
                                 getLatency(o, preferResponseTimeAsLatency));
                         v.addReachableTcpService(tcpPort);
                         updateListener.partialDetectionResult(v);
                     }
-                });
-            }
-        } catch (IOException e) {
-            // This should not happen and might be a user configuration issue, we log a warning message therefore.
-            logger.warn("Could not create a socket connection", e);
-        }
+                }).whenComplete((result, e) -> checkIfFinished(detection));
     }
 
     /**
@@ -654,4 +725,27 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             dhcpState = "off";
         }
     }
+
+    /**
+     * A probe run by the probe executor, which remembers when it was started.
+     */
+    private static class Probe extends FutureTask<@Nullable Void> {
+        private volatile boolean started;
+        private volatile long startTime;
+
+        public Probe(Runnable runnable) {
+            super(runnable, null);
+        }
+
+        @Override
+        public void run() {
+            startTime = System.nanoTime();
+            started = true;
+            super.run();
+        }
+
+        public boolean isStarted() {
+            return started;
+        }
+    }
 }
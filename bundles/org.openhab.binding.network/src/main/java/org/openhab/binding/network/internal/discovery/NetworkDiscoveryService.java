@@ -19,10 +19,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -48,16 +45,20 @@ import org.slf4j.LoggerFactory;
 /**
  * The {@link NetworkDiscoveryService} is responsible for discovering devices on
  * the current Network. It uses every Network Interface which is connected to a network.
- * It tries common TCP ports to connect to, ICMP pings and ARP pings.
+ * It tries common TCP ports to connect to, ICMP pings and ARP pings. The network is scanned with a budget of
+ * packets per second by a {@link SubnetScanner}.
  *
  * @author Marc Mettke - Initial contribution
  * @author David Graeff - Rewritten
  */
 @NonNullByDefault
 @Component(service = DiscoveryService.class, configurationPid = "discovery.network")
-public class NetworkDiscoveryService extends AbstractDiscoveryService implements PresenceDetectionListener {
+public class NetworkDiscoveryService extends AbstractDiscoveryService
+        implements PresenceDetectionListener, SubnetScanner.ScanListener {
     static final int PING_TIMEOUT_IN_MS = 500;
     static final int MAXIMUM_IPS_PER_INTERFACE = 255;
+    static final String PARAMETER_PACKETS_PER_SECOND = "packetsPerSecond";
+    static final int DEFAULT_PACKETS_PER_SECOND = 200;
     private static final long DISCOVERY_RESULT_TTL = TimeUnit.MINUTES.toSeconds(10);
     private final Logger logger = LoggerFactory.getLogger(NetworkDiscoveryService.class);
 
@@ -66,8 +67,8 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     // TCP port 1025 (Xbox / MS-RPC)
     private Set<Integer> tcpServicePorts = Collections
             .unmodifiableSet(Stream.of(80, 548, 554, 1025).collect(Collectors.toSet()));
-    private AtomicInteger scannedIPcount = new AtomicInteger(0);
-    private @Nullable ExecutorService executorService = null;
+    private @Nullable SubnetScanner scanner = null;
+    private int packetsPerSecond = DEFAULT_PACKETS_PER_SECOND;
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
     private final NetworkUtils networkUtils = new NetworkUtils();
 
@@ -92,13 +93,24 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         // configuration, the values are automatically available in all handlers. Because they all
         // share the same instance.
         configuration.update(new Configuration(config).as(NetworkBindingConfiguration.class));
+        Object packetsPerSecond = config != null ? config.get(PARAMETER_PACKETS_PER_SECOND) : null;
+        try {
+            this.packetsPerSecond = packetsPerSecond != null ? Integer.parseInt(packetsPerSecond.toString())
+                    : DEFAULT_PACKETS_PER_SECOND;
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid discovery packets per second '{}', using {}", packetsPerSecond,
+                    DEFAULT_PACKETS_PER_SECOND);
+            this.packetsPerSecond = DEFAULT_PACKETS_PER_SECOND;
+        }
     }
 
     @Override
     @Deactivate
     protected void deactivate() {
-        if (executorService != null) {
-            executorService.shutdown();
+        SubnetScanner scanner = this.scanner;
+        if (scanner != null) {
+            scanner.stop();
+            this.scanner = null;
         }
         super.deactivate();
     }
@@ -120,63 +132,64 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     public void finalDetectionResult(PresenceDetectionValue value) {
     }
 
+    @Override
+    public void tcpServiceReachable(String ip, int port) {
+        newServiceDevice(ip, port);
+    }
+
+    @Override
+    public synchronized void scanFinished(SubnetScanner scanner) {
+        if (scanner != this.scanner) {
+            // a scanner which was stopped in the meantime
+            return;
+        }
+        logger.trace("Scan of {} IPs successful", scanner.getScannedIPcount());
+        stopScan();
+    }
+
     /**
-     * Starts the DiscoveryThread for each IP on each interface on the network
+     * Starts the scan of each IP on each interface on the network
      */
     @Override
-    protected void startScan() {
-        if (executorService == null) {
-            executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
-        }
-        final ExecutorService service = executorService;
-        if (service == null) {
+    protected synchronized void startScan() {
+        if (scanner != null) {
             return;
         }
         removeOlderResults(getTimestampOfLastScan(), null);
-        logger.trace("Starting Network Device Discovery");
+        logger.trace("Starting Network Device Discovery with {} packets per second", packetsPerSecond);
 
         final Set<String> networkIPs = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE);
-        scannedIPcount.set(0);
-
-        for (String ip : networkIPs) {
-            final PresenceDetection s = new PresenceDetection(this, 2000);
-            s.setHostname(ip);
-            s.setIOSDevice(true);
-            s.setUseDhcpSniffing(false);
-            s.setTimeout(PING_TIMEOUT_IN_MS);
-            // Ping devices
-            s.setUseIcmpPing(true);
-            s.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
-            // TCP devices
-            s.setServicePorts(tcpServicePorts);
-
-            service.execute(() -> {
-                Thread.currentThread().setName("Discovery thread " + ip);
-                s.performPresenceDetection(true);
-                int count = scannedIPcount.incrementAndGet();
-                if (count == networkIPs.size()) {
-                    logger.trace("Scan of {} IPs successful", scannedIPcount);
-                    stopScan();
-                }
-            });
-        }
+        SubnetScanner scanner = new SubnetScanner(scheduler, networkUtils, networkIPs, tcpServicePorts,
+                PING_TIMEOUT_IN_MS, packetsPerSecond, this::pingDevice, this);
+        this.scanner = scanner;
+        scanner.start();
+    }
+
+    /**
+     * Ping a device, the TCP ports are probed by the {@link SubnetScanner}.
+     * The results are reported to {@link #partialDetectionResult(PresenceDetectionValue)}.
+     */
+    private void pingDevice(String ip) {
+        final PresenceDetection s = new PresenceDetection(this, 2000);
+        s.setHostname(ip);
+        s.setIOSDevice(true);
+        s.setUseDhcpSniffing(false);
+        s.setTimeout(PING_TIMEOUT_IN_MS);
+        s.setUseIcmpPing(true);
+        s.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
+        s.setServicePorts(Collections.emptySet());
+        s.performPresenceDetection(false);
     }
 
     @Override
     protected synchronized void stopScan() {
         super.stopScan();
-        final ExecutorService service = executorService;
-        if (service == null) {
+        SubnetScanner scanner = this.scanner;
+        if (scanner == null) {
             return;
         }
-
-        try {
-            service.awaitTermination(PING_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // Reset interrupt flag
-        }
-        service.shutdown();
-        executorService = null;
+        scanner.stop();
+        this.scanner = null;
     }
 
     public static ThingUID createServiceUID(String ip, int tcpPort) {
@@ -185,7 +198,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link startScan}.
+     * Submit newly discovered devices. This method is called while scanning in {@link #startScan()}.
      *
      * @param ip The device IP
      * @param tcpPort The TCP port
@@ -228,7 +241,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Submit newly discovered devices. This method is called by the spawned threads in {@link startScan}.
+     * Submit newly discovered devices. This method is called while scanning in {@link #startScan()}.
      *
      * @param ip The device IP
      */
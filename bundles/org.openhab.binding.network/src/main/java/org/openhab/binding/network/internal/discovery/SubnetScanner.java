@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import java.net.InetSocketAddress;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.ProbeExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link SubnetScanner} sweeps a list of IP addresses with a budget of packets per second. The TCP ports of each
+ * address are probed with non-blocking connection attempts, which are multiplexed on a single selector thread. An
+ * additional host probe, like pings, can be started for each address.
+ *
+ * Reachable services are reported as soon as they are found.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SubnetScanner {
+    private static final int TICKS_PER_SECOND = 10;
+    // packets of the host probe, one ICMP ping and one ARP ping
+    private static final int HOST_PROBE_PACKETS = 2;
+    // host probes are not started while this many blocking probes wait for a thread
+    private static final int MAX_PROBE_QUEUE_DEPTH = 64;
+
+    /**
+     * Receives the results of a {@link SubnetScanner}
+     */
+    public interface ScanListener {
+        /**
+         * Called when a TCP connection to the given address and port could be established
+         */
+        void tcpServiceReachable(String ip, int port);
+
+        /**
+         * Called when all addresses have been scanned, not if the scan was stopped
+         *
+         * @param scanner the finished scanner
+         */
+        void scanFinished(SubnetScanner scanner);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(SubnetScanner.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final NetworkUtils networkUtils;
+    private final Iterator<String> ips;
+    private final Set<Integer> tcpPorts;
+    private final int timeoutInMS;
+    private final double packetsPerTick;
+    private final int packetsPerHost;
+    private final @Nullable Consumer<String> hostProbe;
+    private final ScanListener listener;
+
+    private final AtomicInteger pendingConnects = new AtomicInteger();
+    private final AtomicInteger scannedIPcount = new AtomicInteger();
+    private @Nullable ScheduledFuture<?> sweepJob;
+    private double budget = 0;
+    private boolean sweepDone = false;
+    private boolean finished = false;
+
+    /**
+     * @param scheduler the scheduler to run the sweep on
+     * @param networkUtils the network utils to perform the TCP connection attempts
+     * @param ips the IP addresses to scan
+     * @param tcpPorts the TCP ports to probe on each address
+     * @param timeoutInMS the timeout of each TCP connection attempt
+     * @param packetsPerSecond the maximum number of probe packets sent per second
+     * @param hostProbe started for each address if not null, it has to report its results itself
+     * @param listener receives the results of the scan
+     */
+    public SubnetScanner(ScheduledExecutorService scheduler, NetworkUtils networkUtils, Collection<String> ips,
+            Set<Integer> tcpPorts, int timeoutInMS, int packetsPerSecond, @Nullable Consumer<String> hostProbe,
+            ScanListener listener) {
+        this.scheduler = scheduler;
+        this.networkUtils = networkUtils;
+        this.ips = ips.iterator();
+        this.tcpPorts = tcpPorts;
+        this.timeoutInMS = timeoutInMS;
+        this.packetsPerTick = Math.max(1, packetsPerSecond) / (double) TICKS_PER_SECOND;
+        this.packetsPerHost = Math.max(1, tcpPorts.size() + (hostProbe != null ? HOST_PROBE_PACKETS : 0));
+        this.hostProbe = hostProbe;
+        this.listener = listener;
+    }
+
+    public synchronized void start() {
+        sweepJob = scheduler.scheduleAtFixedRate(this::sweep, 0, 1000 / TICKS_PER_SECOND, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop the scan, connection attempts in progress are still reported but the listener is not notified of the end
+     * of the scan
+     */
+    public synchronized void stop() {
+        endSweep();
+        finished = true;
+    }
+
+    /**
+     * Return the number of addresses scanned so far
+     */
+    public int getScannedIPcount() {
+        return scannedIPcount.get();
+    }
+
+    private void sweep() {
+        synchronized (this) {
+            if (sweepDone) {
+                return;
+            }
+            // unused budget is only kept for one second to not create bursts
+            budget = Math.min(budget + packetsPerTick, packetsPerTick * TICKS_PER_SECOND + packetsPerHost);
+            while (budget >= packetsPerHost && ips.hasNext()) {
+                if (hostProbe != null && ProbeExecutor.getInstance().getQueueDepth() >= MAX_PROBE_QUEUE_DEPTH) {
+                    logger.trace("Probe executor busy, delaying scan");
+                    break;
+                }
+                budget -= packetsPerHost;
+                scan(ips.next());
+            }
+            if (ips.hasNext()) {
+                return;
+            }
+            endSweep();
+        }
+        logger.trace("Sweep of {} IPs done, waiting for {} connection attempts", scannedIPcount, pendingConnects);
+        checkFinished();
+    }
+
+    private synchronized void endSweep() {
+        ScheduledFuture<?> sweepJob = this.sweepJob;
+        if (sweepJob != null) {
+            sweepJob.cancel(false);
+            this.sweepJob = null;
+        }
+        sweepDone = true;
+    }
+
+    private void scan(String ip) {
+        scannedIPcount.incrementAndGet();
+        for (int port : tcpPorts) {
+            pendingConnects.incrementAndGet();
+            networkUtils.servicePingAsync(new InetSocketAddress(ip, port), timeoutInMS).thenAccept(result -> {
+                if (result.isSuccess()) {
+                    listener.tcpServiceReachable(ip, port);
+                }
+            }).whenComplete((result, e) -> {
+                pendingConnects.decrementAndGet();
+                checkFinished();
+            });
+        }
+        Consumer<String> hostProbe = this.hostProbe;
+        if (hostProbe != null) {
+            hostProbe.accept(ip);
+        }
+    }
+
+    private void checkFinished() {
+        synchronized (this) {
+            if (finished || !sweepDone || pendingConnects.get() > 0) {
+                return;
+            }
+            finished = true;
+        }
+        listener.scanFinished(this);
+    }
+}
@@ -34,6 +34,7 @@ import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.SystemUtils;
@@ -53,6 +54,8 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class NetworkUtils {
+    private static final TcpConnectProber TCP_CONNECT_PROBER = new TcpConnectProber();
+
     private final Logger logger = LoggerFactory.getLogger(NetworkUtils.class);
 
     private LatencyParser latencyParser = new LatencyParser();
@@ -168,6 +171,18 @@ public class NetworkUtils {
         }
     }
 
+    /**
+     * Try to establish a tcp connection to the given address without blocking the calling thread. The result is not
+     * successful if a timeout occurred or the connection was denied.
+     *
+     * @param address The IP address and tcp port
+     * @param timeout Timeout in ms
+     * @return A future completed with the ping result information
+     */
+    public CompletableFuture<PingResult> servicePingAsync(InetSocketAddress address, int timeout) {
+        return TCP_CONNECT_PROBER.connect(address, timeout);
+    }
+
     /**
      * Return the working method for the native system ping. If no native ping
      * works JavaPing is returned.
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.common.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ProbeExecutor} runs the blocking probes (ICMP and ARP pings) of all presence detections of the binding
+ * on a bounded number of threads. Probes exceeding the number of threads are queued.
+ *
+ * The latency of the probes and the queue depth are logged on debug level periodically.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ProbeExecutor implements Executor {
+    private static final int MAX_THREADS = 16;
+    private static final long THREAD_KEEP_ALIVE = 60; // in s
+    private static final long STATISTICS_LOG_PERIOD = TimeUnit.MINUTES.toNanos(5);
+
+    private static final ProbeExecutor INSTANCE = new ProbeExecutor();
+
+    private final Logger logger = LoggerFactory.getLogger(ProbeExecutor.class);
+    private final ThreadPoolExecutor executor;
+
+    // statistics since last log
+    private long lastStatisticsLog = System.nanoTime();
+    private long probes = 0;
+    private long totalWaitTime = 0;
+    private long maxWaitTime = 0;
+    private long totalProbeTime = 0;
+    private long maxProbeTime = 0;
+    private int maxQueueDepth = 0;
+
+    private ProbeExecutor() {
+        this(MAX_THREADS);
+    }
+
+    /**
+     * Create an executor of its own, the presence detections share the one of {@link #getInstance()}
+     *
+     * @param maxThreads the maximum number of probes run at the same time
+     */
+    ProbeExecutor(int maxThreads) {
+        executor = new ThreadPoolExecutor(maxThreads, maxThreads, THREAD_KEEP_ALIVE, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new NamedThreadFactory("network-probe", true));
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Stop the threads of an executor created for its own, queued probes are not run
+     */
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Get the executor shared by all presence detections
+     */
+    public static ProbeExecutor getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void execute(Runnable probe) {
+        long queuedTime = System.nanoTime();
+        executor.execute(() -> {
+            long startTime = System.nanoTime();
+            try {
+                probe.run();
+            } finally {
+                long endTime = System.nanoTime();
+                recordProbe(startTime - queuedTime, endTime - startTime);
+            }
+        });
+        int queueDepth = executor.getQueue().size();
+        synchronized (this) {
+            maxQueueDepth = Math.max(maxQueueDepth, queueDepth);
+        }
+    }
+
+    /**
+     * Record a probe which was not run by this executor, like an asynchronous TCP connection attempt.
+     *
+     * @param probeTime the duration of the probe in ns
+     */
+    public void recordProbe(long probeTime) {
+        recordProbe(0, probeTime);
+    }
+
+    /**
+     * Return the number of probes waiting for a thread
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    private synchronized void recordProbe(long waitTime, long probeTime) {
+        probes++;
+        totalWaitTime += waitTime;
+        maxWaitTime = Math.max(maxWaitTime, waitTime);
+        totalProbeTime += probeTime;
+        maxProbeTime = Math.max(maxProbeTime, probeTime);
+
+        long now = System.nanoTime();
+        if (now - lastStatisticsLog < STATISTICS_LOG_PERIOD) {
+            return;
+        }
+        logger.debug(
+                "{} probes, latency average {} ms / maximum {} ms, waited average {} ms / maximum {} ms, queue depth {} / maximum {}",
+                probes, TimeUnit.NANOSECONDS.toMillis(totalProbeTime / probes),
+                TimeUnit.NANOSECONDS.toMillis(maxProbeTime), TimeUnit.NANOSECONDS.toMillis(totalWaitTime / probes),
+                TimeUnit.NANOSECONDS.toMillis(maxWaitTime), getQueueDepth(), maxQueueDepth);
+        lastStatisticsLog = now;
+        probes = 0;
+        totalWaitTime = 0;
+        maxWaitTime = 0;
+        totalProbeTime = 0;
+        maxProbeTime = 0;
+        maxQueueDepth = 0;
+    }
+}
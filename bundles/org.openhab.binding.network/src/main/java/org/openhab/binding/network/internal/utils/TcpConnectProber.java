@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.Channel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link TcpConnectProber} performs TCP connection attempts without blocking a thread per attempt. All pending
+ * connection attempts are multiplexed by a single selector thread, which ends when there are no more attempts.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TcpConnectProber {
+    private static final long IDLE_TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+
+    private final Logger logger = LoggerFactory.getLogger(TcpConnectProber.class);
+    private final Queue<PendingConnect> newConnects = new ConcurrentLinkedQueue<>();
+    private @Nullable Selector selector;
+
+    /**
+     * Try to establish a tcp connection to the given address. The result is not successful if a timeout occurred or
+     * the connection was denied.
+     *
+     * @param address The address and port
+     * @param timeoutInMS Timeout in ms
+     * @return a future completed with the ping result
+     */
+    public CompletableFuture<PingResult> connect(InetSocketAddress address, int timeoutInMS) {
+        PendingConnect connect = new PendingConnect(TimeUnit.MILLISECONDS.toNanos(timeoutInMS));
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            if (channel.connect(address)) {
+                channel.close();
+                connect.complete(true);
+            } else {
+                connect.channel = channel;
+                newConnects.add(connect);
+                wakeup();
+            }
+        } catch (IOException e) {
+            logger.trace("TCP connection to {} failed: {}", address, e.getMessage());
+            if (connect.channel != null && !newConnects.remove(connect)) {
+                // the selector could not be started, but a selector started meanwhile has taken over the connect
+                return connect.result;
+            }
+            closeQuietly(channel);
+            connect.complete(false);
+        }
+        return connect.result;
+    }
+
+    private synchronized void wakeup() throws IOException {
+        Selector selector = this.selector;
+        if (selector == null) {
+            Selector newSelector = Selector.open();
+            this.selector = newSelector;
+            Thread thread = new Thread(() -> run(newSelector), "OH-binding-network-tcpprobe");
+            thread.setDaemon(true);
+            thread.start();
+        } else {
+            selector.wakeup();
+        }
+    }
+
+    private void run(Selector selector) {
+        try {
+            while (true) {
+                registerNewConnects(selector);
+                long now = System.nanoTime();
+                long nextDeadline = now + TimeUnit.MILLISECONDS.toNanos(IDLE_TIMEOUT);
+                for (SelectionKey key : selector.keys()) {
+                    PendingConnect connect = (PendingConnect) key.attachment();
+                    nextDeadline = Math.min(nextDeadline, connect.deadline);
+                }
+                selector.select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextDeadline - now)));
+
+                Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+                while (selectedKeys.hasNext()) {
+                    SelectionKey key = selectedKeys.next();
+                    selectedKeys.remove();
+                    finishConnect(key);
+                }
+                expireConnects(selector);
+
+                synchronized (this) {
+                    if (selector.keys().isEmpty() && newConnects.isEmpty()) {
+                        // idle, the thread is started again by the next connection attempt
+                        this.selector = null;
+                        selector.close();
+                        return;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("TCP connection prober failed: {}", e.getMessage());
+            synchronized (this) {
+                this.selector = null;
+            }
+            for (SelectionKey key : selector.keys()) {
+                if (key.isValid()) {
+                    complete(key, false);
+                }
+            }
+            PendingConnect connect;
+            while ((connect = newConnects.poll()) != null) {
+                closeQuietly(connect.channel);
+                connect.complete(false);
+            }
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private void registerNewConnects(Selector selector) {
+        PendingConnect connect;
+        while ((connect = newConnects.poll()) != null) {
+            SocketChannel channel = connect.channel;
+            if (channel == null) {
+                continue;
+            }
+            try {
+                channel.register(selector, SelectionKey.OP_CONNECT, connect);
+            } catch (IOException e) {
+                closeQuietly(channel);
+                connect.complete(false);
+            }
+        }
+    }
+
+    private void finishConnect(SelectionKey key) {
+        try {
+            complete(key, ((SocketChannel) key.channel()).finishConnect());
+        } catch (IOException e) {
+            // refused, unreachable
+            complete(key, false);
+        }
+    }
+
+    private void expireConnects(Selector selector) {
+        long now = System.nanoTime();
+        for (SelectionKey key : selector.keys()) {
+            if (key.isValid() && now - ((PendingConnect) key.attachment()).deadline >= 0) {
+                complete(key, false);
+            }
+        }
+    }
+
+    private void complete(SelectionKey key, boolean success) {
+        key.cancel();
+        closeQuietly(key.channel());
+        ((PendingConnect) key.attachment()).complete(success);
+    }
+
+    private static void closeQuietly(@Nullable Channel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private static class PendingConnect {
+        private final CompletableFuture<PingResult> result = new CompletableFuture<>();
+        private final long startTime = System.nanoTime();
+        private final long deadline;
+        private @Nullable SocketChannel channel;
+
+        public PendingConnect(long timeout) {
+            deadline = startTime + timeout;
+        }
+
+        public void complete(boolean success) {
+            long probeTime = System.nanoTime() - startTime;
+            ProbeExecutor.getInstance().recordProbe(probeTime);
+            result.complete(new PingResult(success, TimeUnit.NANOSECONDS.toMillis(probeTime)));
+        }
+    }
+}
@@ -21,7 +21,10 @@ import static org.mockito.Mockito.*;
 import java.io.IOException;
 import java.net.UnknownHostException;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -93,7 +96,7 @@ public class PresenceDetectionTest {
     // We will check if they spawn and return in time.
     @Test
     public void threadCountTest() {
-        assertNull(subject.executorService);
+        assertNull(subject.detection);
 
         doNothing().when(subject).performARPping(any());
         doNothing().when(subject).performJavaPing();
@@ -104,11 +107,11 @@ public class PresenceDetectionTest {
 
         // Thread count: ARP + ICMP + 1*TCP
         assertThat(subject.detectionChecks, is(3));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.detection);
 
         subject.waitForPresenceDetection();
         assertThat(subject.detectionChecks, is(0));
-        assertNull(subject.executorService);
+        assertNull(subject.detection);
     }
 
     @Test
@@ -117,7 +120,8 @@ public class PresenceDetectionTest {
                 anyString(), anyInt());
         doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils)
                 .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt());
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
+        doReturn(CompletableFuture.completedFuture(new PingResult(true, 10))).when(networkUtils)
+                .servicePingAsync(any(), anyInt());
 
         assertTrue(subject.performPresenceDetection(false));
         subject.waitForPresenceDetection();
@@ -140,25 +144,27 @@ public class PresenceDetectionTest {
                 anyString(), anyInt());
         doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils)
                 .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt());
-        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
+        CompletableFuture<PingResult> tcpResult = new CompletableFuture<>();
+        doReturn(tcpResult).when(networkUtils).servicePingAsync(any(), anyInt());
 
-        doReturn(executorService).when(subject).getThreadsFor(anyInt());
+        subject.probeExecutor = executorService;
 
         // We expect no valid value
         assertTrue(subject.cache.isExpired());
         // Get value will issue a PresenceDetection internally.
         subject.getValue(callback);
         verify(subject).performPresenceDetection(eq(false));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.detection);
         // There should be no straight callback yet
         verify(callback, times(0)).accept(any());
 
-        // Perform the different presence detection threads now
+        // Perform the different presence detection probes now, the TCP connection attempt is not run by the executor
         ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(executorService, times(3)).execute(capture.capture());
+        verify(executorService, times(2)).execute(capture.capture());
         for (Runnable r : capture.getAllValues()) {
             r.run();
         }
+        tcpResult.complete(new PingResult(true, 10));
         // "Wait" for the presence detection to finish
         subject.waitForPresenceDetection();
 
@@ -176,6 +182,36 @@ public class PresenceDetectionTest {
         verify(callback, times(2)).accept(any());
     }
 
+    @Test
+    public void queuedProbesAreNotCountedAsMiss() throws Exception {
+        doReturn(Optional.of(new PingResult(true, 10))).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING),
+                anyString(), anyInt());
+        doReturn(Optional.of(new PingResult(false, 10))).when(networkUtils)
+                .nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(), any(), anyInt());
+        doReturn(CompletableFuture.completedFuture(new PingResult(false, 10))).when(networkUtils)
+                .servicePingAsync(any(), anyInt());
+
+        // the probes are queued, as all threads of the executor are busy
+        List<Runnable> queuedProbes = new CopyOnWriteArrayList<>();
+        subject.probeExecutor = queuedProbes::add;
+
+        assertTrue(subject.performPresenceDetection(false));
+        CompletableFuture<Void> waiting = CompletableFuture.runAsync(subject::waitForPresenceDetection);
+
+        // waiting longer than the timeout does not time out the probes which have not been started yet
+        Thread.sleep(1000);
+        assertFalse(waiting.isDone());
+        verify(listener, never()).finalDetectionResult(any());
+
+        queuedProbes.forEach(Runnable::run);
+        waiting.get(5, TimeUnit.SECONDS);
+
+        ArgumentCaptor<PresenceDetectionValue> capture = ArgumentCaptor.forClass(PresenceDetectionValue.class);
+        verify(listener).finalDetectionResult(capture.capture());
+        assertTrue(capture.getValue().isReachable());
+        assertThat(capture.getValue().getSuccessfulDetectionTypes(), is("ICMP_PING"));
+    }
+
     @Test
     public void reuseValueTests() throws InterruptedException, IOException {
         final long START_TIME = 1000L;
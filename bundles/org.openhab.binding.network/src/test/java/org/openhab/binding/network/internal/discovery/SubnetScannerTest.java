@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.discovery;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.PingResult;
+
+/**
+ * Tests the {@link SubnetScanner} against a simulated subnet of loopback addresses.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SubnetScannerTest {
+    private static final int TIMEOUT_IN_MS = 500;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final List<ServerSocket> serverSockets = new ArrayList<>();
+    private final Set<String> reachable = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    private final SubnetScanner.ScanListener listener = new SubnetScanner.ScanListener() {
+        @Override
+        public void tcpServiceReachable(String ip, int port) {
+            reachable.add(ip + ":" + port);
+        }
+
+        @Override
+        public void scanFinished(SubnetScanner scanner) {
+            finished.countDown();
+        }
+    };
+
+    @BeforeEach
+    public void setUp() {
+        reachable.clear();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        scheduler.shutdownNow();
+        for (ServerSocket serverSocket : serverSockets) {
+            serverSocket.close();
+        }
+    }
+
+    private int listen(String ip, int port) throws IOException {
+        ServerSocket serverSocket = new ServerSocket();
+        serverSockets.add(serverSocket);
+        serverSocket.bind(new InetSocketAddress(InetAddress.getByName(ip), port));
+        return serverSocket.getLocalPort();
+    }
+
+    private static List<String> subnet(String prefix, int count) {
+        List<String> ips = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            ips.add(prefix + i);
+        }
+        return ips;
+    }
+
+    @Test
+    @EnabledOnOs(OS.LINUX) // the whole 127.0.0.0/8 network is only routed to the loopback interface on Linux
+    public void findsListeningHostsOfSubnet() throws IOException, InterruptedException {
+        int port = listen("127.0.0.2", 0);
+        listen("127.0.0.5", port);
+
+        SubnetScanner scanner = new SubnetScanner(scheduler, new NetworkUtils(), subnet("127.0.0.", 8), Set.of(port),
+                TIMEOUT_IN_MS, 1000, null, listener);
+        scanner.start();
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals(8, scanner.getScannedIPcount());
+        assertEquals(Set.of("127.0.0.2:" + port, "127.0.0.5:" + port), reachable);
+    }
+
+    @Test
+    public void findsListeningPorts() throws IOException, InterruptedException {
+        int port = listen("127.0.0.1", 0);
+        int closedPort = listen("127.0.0.1", 0);
+        serverSockets.remove(serverSockets.size() - 1).close();
+
+        SubnetScanner scanner = new SubnetScanner(scheduler, new NetworkUtils(), List.of("127.0.0.1"),
+                Set.of(port, closedPort), TIMEOUT_IN_MS, 1000, null, listener);
+        scanner.start();
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals(Set.of("127.0.0.1:" + port), reachable);
+    }
+
+    @Test
+    public void respectsPacketBudget() throws IOException, InterruptedException {
+        int port = listen("127.0.0.1", 0);
+        List<String> ips = Collections.nCopies(20, "127.0.0.1");
+
+        // 50 packets per second are 5 hosts with one port per tick of 100 ms
+        long start = System.nanoTime();
+        SubnetScanner scanner = new SubnetScanner(scheduler, new NetworkUtils(), ips, Set.of(port), TIMEOUT_IN_MS,
+                50, null, listener);
+        scanner.start();
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals(20, scanner.getScannedIPcount());
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(250));
+    }
+
+    @Test
+    public void stopEndsScan() throws InterruptedException {
+        List<String> ips = Collections.nCopies(100, "127.0.0.1");
+        List<String> probed = Collections.synchronizedList(new ArrayList<>());
+
+        SubnetScanner scanner = new SubnetScanner(scheduler, new NetworkUtils(), ips, Set.of(), TIMEOUT_IN_MS, 10,
+                probed::add, listener);
+        scanner.start();
+        Thread.sleep(250);
+        scanner.stop();
+        int scanned = scanner.getScannedIPcount();
+        Thread.sleep(250);
+
+        assertTrue(scanned < 100);
+        assertEquals(scanned, scanner.getScannedIPcount());
+        assertEquals(scanned, probed.size());
+    }
+
+    @Test
+    public void stoppedScanIsNotReportedFinished() throws InterruptedException {
+        List<CompletableFuture<PingResult>> connects = Collections.synchronizedList(new ArrayList<>());
+        NetworkUtils networkUtils = new NetworkUtils() {
+            @Override
+            public CompletableFuture<PingResult> servicePingAsync(InetSocketAddress address, int timeout) {
+                CompletableFuture<PingResult> connect = new CompletableFuture<>();
+                connects.add(connect);
+                return connect;
+            }
+        };
+
+        SubnetScanner scanner = new SubnetScanner(scheduler, networkUtils, List.of("127.0.0.1"), Set.of(80),
+                TIMEOUT_IN_MS, 1000, null, listener);
+        scanner.start();
+        Thread.sleep(250);
+        scanner.stop();
+
+        // the connection attempt in progress completes after the scan was stopped
+        assertEquals(1, connects.size());
+        connects.get(0).complete(new PingResult(true, 1));
+        assertEquals(Set.of("127.0.0.1:80"), reachable);
+        assertEquals(1, finished.getCount());
+    }
+}
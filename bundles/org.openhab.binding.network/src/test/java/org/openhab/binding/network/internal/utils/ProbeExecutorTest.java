@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the executor shared by the presence detections to run blocking probes.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ProbeExecutorTest {
+    private static final int MAX_THREADS = 4;
+    private static final int TIMEOUT = 5; // in s
+
+    private @NonNullByDefault({}) ProbeExecutor probeExecutor;
+
+    @BeforeEach
+    public void setUp() {
+        probeExecutor = new ProbeExecutor(MAX_THREADS);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        probeExecutor.shutdown();
+    }
+
+    @Test
+    public void probesAreRun() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(3);
+        for (int i = 0; i < 3; i++) {
+            probeExecutor.execute(done::countDown);
+        }
+        assertTrue(done.await(TIMEOUT, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void excessProbesAreQueued() throws InterruptedException {
+        int probes = MAX_THREADS + 4;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch allThreadsBusy = new CountDownLatch(MAX_THREADS);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(probes);
+
+        for (int i = 0; i < probes; i++) {
+            probeExecutor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                allThreadsBusy.countDown();
+                try {
+                    release.await(TIMEOUT, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(allThreadsBusy.await(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(probes - MAX_THREADS, probeExecutor.getQueueDepth());
+
+        release.countDown();
+        assertTrue(done.await(TIMEOUT, TimeUnit.SECONDS));
+        assertEquals(MAX_THREADS, maxRunning.get());
+        assertEquals(0, probeExecutor.getQueueDepth());
+    }
+
+    @Test
+    public void failingProbeDoesNotStopExecutor() throws InterruptedException {
+        probeExecutor.execute(() -> {
+            throw new IllegalStateException("probe failed");
+        });
+        CountDownLatch done = new CountDownLatch(1);
+        probeExecutor.execute(done::countDown);
+        assertTrue(done.await(TIMEOUT, TimeUnit.SECONDS));
+    }
+}
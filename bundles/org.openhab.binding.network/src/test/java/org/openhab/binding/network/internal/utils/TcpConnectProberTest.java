@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the asynchronous TCP connection attempts.
+ *
+ * @author agent - Initial contribution
+ */
+public class TcpConnectProberTest {
+    private static final int TIMEOUT = 5; // in s
+
+    private final TcpConnectProber prober = new TcpConnectProber();
+
+    @Test
+    public void connectToListeningPortSucceeds() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            PingResult result = prober.connect(address(server.getLocalPort()), 2000).get(TIMEOUT, TimeUnit.SECONDS);
+
+            assertTrue(result.isSuccess());
+            assertTrue(result.getExecutionTimeInMS() < 2000);
+        }
+    }
+
+    @Test
+    public void connectToClosedPortFails() throws Exception {
+        PingResult result = prober.connect(address(unusedPort()), 2000).get(TIMEOUT, TimeUnit.SECONDS);
+
+        assertFalse(result.isSuccess());
+    }
+
+    @Test
+    public void concurrentConnectsAreMultiplexed() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            int closedPort = unusedPort();
+            List<CompletableFuture<PingResult>> open = new ArrayList<>();
+            List<CompletableFuture<PingResult>> closed = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                open.add(prober.connect(address(server.getLocalPort()), 2000));
+                closed.add(prober.connect(address(closedPort), 2000));
+            }
+
+            for (CompletableFuture<PingResult> result : open) {
+                assertTrue(result.get(TIMEOUT, TimeUnit.SECONDS).isSuccess());
+            }
+            for (CompletableFuture<PingResult> result : closed) {
+                assertFalse(result.get(TIMEOUT, TimeUnit.SECONDS).isSuccess());
+            }
+        }
+    }
+
+    @Test
+    public void connectTimesOut() throws Exception {
+        List<Socket> clients = new ArrayList<>();
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            // fill the backlog of the server, which does not accept connections, further connection attempts hang
+            while (true) {
+                Socket client = new Socket();
+                clients.add(client);
+                try {
+                    client.connect(address(server.getLocalPort()), 200);
+                } catch (SocketTimeoutException e) {
+                    break;
+                }
+                assertTrue(clients.size() < 100, "backlog of server not exhausted");
+            }
+
+            PingResult result = prober.connect(address(server.getLocalPort()), 200).get(TIMEOUT, TimeUnit.SECONDS);
+
+            assertFalse(result.isSuccess());
+            assertTrue(result.getExecutionTimeInMS() >= 200);
+        } finally {
+            for (Socket client : clients) {
+                client.close();
+            }
+        }
+    }
+
+    private static InetSocketAddress address(int port) {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+    }
+
+    private static int unusedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
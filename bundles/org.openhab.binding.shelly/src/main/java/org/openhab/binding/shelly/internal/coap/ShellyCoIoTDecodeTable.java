@@ -0,0 +1,434 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.coap;
+
+import static org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.COIOT_TAG_GENERIC;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDescrBlk;
+import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDescrSen;
+import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotSensor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ShellyCoIoTDecodeTable} is compiled from the device description and decodes the CoIoT status messages
+ * (e.g. {"G":[[0,1101,1],[0,4101,12.5]]}) without a JSON parser.
+ *
+ * The sensor definitions are sorted by id, so a sensor is found by a binary search. Each entry keeps the sensor value
+ * of the last message. A sensor is reported as changed if its value or another value of the same block (e.g. output
+ * and brightness of a light) changed. Events and alarms are always reported.
+ *
+ * The table is not thread safe, the handler serializes the status updates.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ShellyCoIoTDecodeTable {
+    private final Logger logger = LoggerFactory.getLogger(ShellyCoIoTDecodeTable.class);
+
+    public static class Entry {
+        public final int id;
+        public final CoIotDescrSen sen;
+        public final CoIotDescrBlk blk;
+        public final CoIotSensor value = new CoIotSensor();
+
+        private final int block;
+        private final boolean always;
+        private boolean hasValue = false;
+        private boolean changed = false;
+        private long received = -1;
+
+        private Entry(int id, CoIotDescrSen sen, CoIotDescrBlk blk, int block) {
+            this.id = id;
+            this.sen = sen;
+            this.blk = blk;
+            this.block = block;
+            String type = sen.type != null ? sen.type.toUpperCase() : "";
+            always = type.equals("EV") || type.equals("EVC") || type.equals("A");
+            value.id = Integer.toString(id);
+            value.valueStr = "";
+            value.value = -1;
+        }
+    }
+
+    private final String thingName;
+    private final int[] ids;
+    private final Entry[] entries;
+    private final boolean[] blockChanged;
+
+    // entries received by the last message in message order
+    private final List<Entry> received = new ArrayList<>();
+    private final List<CoIotSensor> sensorUpdates = new ArrayList<>();
+    private long messages = 0;
+
+    // parser state
+    private String json = "";
+    private int pos;
+    private boolean escaped;
+
+    /**
+     * Compile the sensor definitions of the device description. The sensor definitions must already be fixed by
+     * {@link ShellyCoIoTInterface#fixDescription(CoIotDescrSen, Map)}.
+     *
+     * @param thingName thing name for logging
+     * @param sensorMap sensor definitions by id
+     * @param blkMap block definitions by id
+     */
+    public ShellyCoIoTDecodeTable(String thingName, Map<String, CoIotDescrSen> sensorMap,
+            Map<String, CoIotDescrBlk> blkMap) {
+        this.thingName = thingName;
+        List<String> blocks = new ArrayList<>();
+        List<Entry> list = new ArrayList<>();
+        for (CoIotDescrSen sen : sensorMap.values()) {
+            CoIotDescrBlk blk = sen.links != null ? blkMap.get(sen.links) : null;
+            if (blk == null) {
+                logger.debug("{}: Unable to find BLK for link {} from sen.id={}", thingName, sen.links, sen.id);
+                continue;
+            }
+            try {
+                int block = blocks.indexOf(sen.links);
+                if (block < 0) {
+                    block = blocks.size();
+                    blocks.add(sen.links);
+                }
+                list.add(new Entry(Integer.parseInt(sen.id), sen, blk, block));
+            } catch (NumberFormatException e) {
+                logger.debug("{}: Invalid sensor id {}, skip sensor definition", thingName, sen.id);
+            }
+        }
+        list.sort(Comparator.comparingInt(e -> e.id));
+        entries = list.toArray(new Entry[0]);
+        ids = new int[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            ids[i] = entries[i].id;
+        }
+        blockChanged = new boolean[blocks.size()];
+    }
+
+    public boolean isEmpty() {
+        return entries.length == 0;
+    }
+
+    /**
+     * Forget the values of the last messages, so all sensors are reported as changed by the next message.
+     */
+    public void reset() {
+        for (Entry entry : entries) {
+            entry.hasValue = false;
+        }
+    }
+
+    /**
+     * Decode a status message. The devices sometimes send malformed JSON (missing or duplicate commas between the
+     * sensors), which is accepted.
+     *
+     * @param payload status message
+     * @return the sensors received by this message in message order
+     * @throws IllegalArgumentException if the payload has an invalid format
+     */
+    public List<Entry> decode(String payload) throws IllegalArgumentException {
+        json = payload;
+        pos = 0;
+        messages++;
+        received.clear();
+        sensorUpdates.clear();
+        Arrays.fill(blockChanged, false);
+
+        expect('{');
+        expect('"');
+        if (!json.startsWith(COIOT_TAG_GENERIC + "\"", pos)) {
+            throw new IllegalArgumentException("Sensor list expected");
+        }
+        pos += COIOT_TAG_GENERIC.length() + 1;
+        expect(':');
+        expect('[');
+        while (true) {
+            char c = nextToken();
+            if (c == ']') {
+                break;
+            } else if (c == ',') {
+                pos++;
+                continue;
+            }
+            expect('[');
+            parseInt(); // always 0
+            expect(',');
+            int id = parseInt();
+            expect(',');
+            int index = Arrays.binarySearch(ids, id);
+            Entry entry = index >= 0 ? entries[index] : null;
+            parseValue(entry);
+            expect(']');
+            if (entry == null) {
+                logger.debug("{}: Unable to find sensor definition for id={}, payload={}", thingName, id, payload);
+            } else if (entry.received != messages) {
+                entry.received = messages;
+                received.add(entry);
+                sensorUpdates.add(entry.value);
+                blockChanged[entry.block] |= entry.changed;
+            }
+        }
+        return received;
+    }
+
+    /**
+     * @return the values of the last message in message order
+     */
+    public List<CoIotSensor> getSensorUpdates() {
+        return sensorUpdates;
+    }
+
+    /**
+     * @return true if the value or another value of the same block changed with the last message, or if the sensor
+     *         is an event or alarm
+     */
+    public boolean isChanged(Entry entry) {
+        return entry.always || blockChanged[entry.block];
+    }
+
+    private void parseValue(@Nullable Entry entry) {
+        char c = nextToken();
+        if (c == '"') {
+            int end = findStringEnd();
+            if (entry != null) {
+                CoIotSensor s = entry.value;
+                boolean equal;
+                if (escaped) {
+                    String value = parseString(end);
+                    equal = entry.hasValue && s.valueArray == null && s.valueStr.equals(value);
+                    s.valueStr = value;
+                } else {
+                    int length = end - pos - 1;
+                    equal = entry.hasValue && s.valueArray == null && s.valueStr.length() == length
+                            && json.regionMatches(pos + 1, s.valueStr, 0, length);
+                    if (!equal) {
+                        s.valueStr = json.substring(pos + 1, end);
+                    }
+                }
+                s.value = -1;
+                s.valueArray = null;
+                setChanged(entry, !equal);
+            }
+            pos = end + 1;
+        } else if (c == '[') {
+            List<Object> values = new ArrayList<>();
+            pos++;
+            while (nextToken() != ']') {
+                if (json.charAt(pos) == ',') {
+                    pos++;
+                } else if (json.charAt(pos) == '"') {
+                    int end = findStringEnd();
+                    values.add(parseString(end));
+                    pos = end + 1;
+                } else {
+                    // skip null and other values
+                    skipLiteral();
+                }
+            }
+            pos++;
+            if (entry != null) {
+                CoIotSensor s = entry.value;
+                boolean equal = entry.hasValue && values.equals(s.valueArray);
+                s.valueArray = values;
+                s.valueStr = "";
+                s.value = -1;
+                setChanged(entry, !equal);
+            }
+        } else {
+            int start = pos;
+            double value = parseNumber();
+            if (pos == start) {
+                // null or another literal
+                skipLiteral();
+            }
+            if (entry != null) {
+                CoIotSensor s = entry.value;
+                boolean equal = entry.hasValue && s.valueArray == null && s.valueStr.isEmpty()
+                        && Double.compare(s.value, value) == 0;
+                s.value = value;
+                s.valueStr = "";
+                s.valueArray = null;
+                setChanged(entry, !equal);
+            }
+        }
+    }
+
+    private static void setChanged(Entry entry, boolean changed) {
+        entry.changed = changed;
+        entry.hasValue = true;
+    }
+
+    private char nextToken() {
+        while (pos < json.length() && Character.isWhitespace(json.charAt(pos))) {
+            pos++;
+        }
+        if (pos >= json.length()) {
+            throw new IllegalArgumentException("Unexpected end of sensor list");
+        }
+        return json.charAt(pos);
+    }
+
+    private void expect(char expected) {
+        if (nextToken() != expected) {
+            throw new IllegalArgumentException("'" + expected + "' expected at " + pos);
+        }
+        pos++;
+    }
+
+    /**
+     * Find the closing quote of the string at the current position and check whether the string contains escapes.
+     *
+     * @return the position of the closing quote
+     */
+    private int findStringEnd() {
+        escaped = false;
+        int end = pos + 1;
+        while (end < json.length()) {
+            char c = json.charAt(end);
+            if (c == '"') {
+                return end;
+            } else if (c == '\\') {
+                escaped = true;
+                end++;
+            }
+            end++;
+        }
+        throw new IllegalArgumentException("Unterminated string at " + pos);
+    }
+
+    /**
+     * @param end the position of the closing quote as returned by {@link #findStringEnd()}
+     * @return the string at the current position without escapes
+     */
+    private String parseString(int end) {
+        if (!escaped) {
+            return json.substring(pos + 1, end);
+        }
+        StringBuilder value = new StringBuilder(end - pos);
+        for (int i = pos + 1; i < end; i++) {
+            char c = json.charAt(i);
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            c = json.charAt(++i);
+            switch (c) {
+                case 'b':
+                    value.append('\b');
+                    break;
+                case 'f':
+                    value.append('\f');
+                    break;
+                case 'n':
+                    value.append('\n');
+                    break;
+                case 'r':
+                    value.append('\r');
+                    break;
+                case 't':
+                    value.append('\t');
+                    break;
+                case 'u':
+                    if (i + 4 >= end) {
+                        throw new IllegalArgumentException("Invalid unicode escape at " + i);
+                    }
+                    try {
+                        value.append((char) Integer.parseInt(json.substring(i + 1, i + 5), 16));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid unicode escape at " + i);
+                    }
+                    i += 4;
+                    break;
+                default:
+                    // \", \\ and \/
+                    value.append(c);
+            }
+        }
+        return value.toString();
+    }
+
+    private void skipLiteral() {
+        int start = pos;
+        while (pos < json.length() && Character.isLetter(json.charAt(pos))) {
+            pos++;
+        }
+        if (pos == start) {
+            throw new IllegalArgumentException("Unexpected character at " + pos);
+        }
+    }
+
+    private int parseInt() {
+        nextToken();
+        boolean negative = json.charAt(pos) == '-';
+        if (negative) {
+            pos++;
+        }
+        int start = pos;
+        int value = 0;
+        while (pos < json.length() && Character.isDigit(json.charAt(pos))) {
+            value = value * 10 + json.charAt(pos) - '0';
+            pos++;
+        }
+        if (pos == start) {
+            throw new IllegalArgumentException("Number expected at " + pos);
+        }
+        return negative ? -value : value;
+    }
+
+    private double parseNumber() {
+        int start = pos;
+        boolean negative = json.charAt(pos) == '-';
+        if (negative) {
+            pos++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean fraction = false;
+        while (pos < json.length()) {
+            char c = json.charAt(pos);
+            if (Character.isDigit(c)) {
+                mantissa = mantissa * 10 + c - '0';
+                digits++;
+                scale += fraction ? 1 : 0;
+            } else if (c == '.' && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+            pos++;
+        }
+        if (digits == 0) {
+            pos = start;
+            return -1;
+        }
+        char c = pos < json.length() ? json.charAt(pos) : ' ';
+        if (c == 'e' || c == 'E' || digits > 15) {
+            // rarely used, leave it to the JDK
+            while (pos < json.length() && "0123456789+-eE".indexOf(json.charAt(pos)) >= 0) {
+                pos++;
+            }
+            return Double.parseDouble(json.substring(start, pos));
+        }
+        double value = scale == 0 ? mantissa : mantissa / Math.pow(10, scale);
+        return negative ? -value : value;
+    }
+}
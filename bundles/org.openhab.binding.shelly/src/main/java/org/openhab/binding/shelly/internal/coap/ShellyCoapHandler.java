@@ -42,9 +42,7 @@ import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDescrBlk;
 import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDescrSen;
 import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDevDescrTypeAdapter;
 import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDevDescription;
-import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotGenericSensorList;
 import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotSensor;
-import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotSensorTypeAdapter;
 import org.openhab.binding.shelly.internal.config.ShellyThingConfiguration;
 import org.openhab.binding.shelly.internal.handler.ShellyBaseHandler;
 import org.openhab.binding.shelly.internal.handler.ShellyColorUtils;
@@ -86,10 +84,15 @@ public class ShellyCoapHandler implements ShellyCoapListener {
 
     private long coiotMessages = 0;
     private long coiotErrors = 0;
+    // packet rate: messages of the current and the last completed minute
+    private long rateMinute = -1;
+    private int rateMessages = 0;
+    private int lastRate = 0;
     private int lastSerial = -1;
     private String lastPayload = "";
     private Map<String, CoIotDescrBlk> blkMap = new LinkedHashMap<>();
     private Map<String, CoIotDescrSen> sensorMap = new LinkedHashMap<>();
+    private volatile ShellyCoIoTDecodeTable decodeTable;
     private ShellyDeviceProfile profile;
     private ShellyHttpApi api;
 
@@ -100,9 +103,9 @@ public class ShellyCoapHandler implements ShellyCoapListener {
         this.api = thingHandler.getApi();
         this.coapServer = coapServer;
         this.coiot = new ShellyCoIoTVersion2(thingName, thingHandler, blkMap, sensorMap); // Default: V2
+        this.decodeTable = new ShellyCoIoTDecodeTable(thingName, sensorMap, blkMap);
 
         gsonBuilder.registerTypeAdapter(CoIotDevDescription.class, new CoIotDevDescrTypeAdapter());
-        gsonBuilder.registerTypeAdapter(CoIotGenericSensorList.class, new CoIotSensorTypeAdapter());
         gson = gsonBuilder.create();
     }
 
@@ -128,7 +131,7 @@ public class ShellyCoapHandler implements ShellyCoapListener {
                 String ps = substringAfter(profile.coiotEndpoint, ":");
                 coiotPort = Integer.parseInt(ps);
             }
-            coapServer.start(config.localIp, coiotPort, this);
+            coapServer.start(config.localIp, coiotPort, config.deviceIp, profile.mac, this);
             statusClient = new CoapClient(completeUrl(config.deviceIp, coiotPort, COLOIT_URI_DEVSTATUS))
                     .setTimeout((long) SHELLY_API_TIMEOUT_MS).useNONs().setEndpoint(coapServer.getEndpoint());
             @Nullable
@@ -176,36 +179,15 @@ public class ShellyCoapHandler implements ShellyCoapListener {
             return;
         }
 
+        // the server dispatches only messages of this device (matched by IP or MAC address)
         List<Option> options = response.getOptions().asSortedList();
-        String ip = response.getSourceContext().getPeerAddress().toString();
-        boolean match = ip.contains(config.deviceIp);
-        if (!match) {
-            // We can't identify device by IP, so we need to check the CoAP header's Global Device ID
-            for (Option opt : options) {
-                if (opt.getNumber() == COIOT_OPTION_GLOBAL_DEVID) {
-                    String devid = opt.getStringValue();
-                    if (devid.contains("#")) {
-                        // Format: <device type>#<mac address>#<coap version>
-                        String macid = substringBetween(devid, "#", "#");
-                        if (profile.mac.toUpperCase().contains(macid.toUpperCase())) {
-                            match = true;
-                            break;
-                        }
-                    }
-                }
-            }
-        }
-        if (!match) {
-            // other instance
-            return;
-        }
-
         String payload = "";
         String devId = "";
         String uri = "";
         int serial = -1;
         try {
             coiotMessages++;
+            countPacket();
             if (logger.isDebugEnabled()) {
                 logger.debug("{}: CoIoT Message from {} (MID={}): {}", thingName,
                         response.getSourceContext().getPeerAddress(), response.getMID(), response.getPayloadString());
@@ -273,12 +255,10 @@ public class ShellyCoapHandler implements ShellyCoapListener {
                 return;
             }
 
-            // fixed malformed JSON :-(
-            payload = fixJSON(payload);
-
             try {
                 if (uri.equalsIgnoreCase(COLOIT_URI_DEVDESC) || (uri.isEmpty() && payload.contains(COIOT_TAG_BLK))) {
-                    handleDeviceDescription(devId, payload);
+                    // fixed malformed JSON :-(
+                    handleDeviceDescription(devId, fixJSON(payload));
                 } else if (uri.equalsIgnoreCase(COLOIT_URI_DEVSTATUS)
                         || (uri.isEmpty() && payload.contains(COIOT_TAG_GENERIC))) {
                     handleStatusUpdate(devId, payload, serial);
@@ -358,6 +338,10 @@ public class ShellyCoapHandler implements ShellyCoapListener {
                 discover();
                 return;
             }
+
+            // compile the decode table for the status updates
+            sensorMap.replaceAll((id, sen) -> coiot.fixDescription(sen, blkMap));
+            decodeTable = new ShellyCoIoTDecodeTable(thingName, sensorMap, blkMap);
         } catch (JsonSyntaxException e) {
             logger.warn("{}: Unable to parse CoAP Device Description! JSON={}", thingName, payload);
         } catch (NullPointerException | IllegalArgumentException e) {
@@ -410,7 +394,7 @@ public class ShellyCoapHandler implements ShellyCoapListener {
      *            ignored.
      * @throws ShellyApiException
      */
-    private void handleStatusUpdate(String devId, String payload, int serial) throws ShellyApiException {
+    private synchronized void handleStatusUpdate(String devId, String payload, int serial) throws ShellyApiException {
         logger.debug("{}: CoIoT Sensor data {} (serial={})", thingName, payload, serial);
         if (blkMap.isEmpty()) {
             // send discovery packet
@@ -429,38 +413,28 @@ public class ShellyCoapHandler implements ShellyCoapListener {
             handleDeviceDescription(devId, savedDescr);
         }
 
-        // Parse Json,
-        CoIotGenericSensorList list = fromJson(gson, fixJSON(payload), CoIotGenericSensorList.class);
-        if (list.generic == null) {
-            logger.debug("{}: Sensor list has invalid format! Payload: {}", devId, payload);
-            return;
-        }
-
-        List<CoIotSensor> sensorUpdates = list.generic;
+        // Decode the sensor values, the device description was compiled into the decode table
+        ShellyCoIoTDecodeTable table = decodeTable;
+        List<ShellyCoIoTDecodeTable.Entry> entries = table.decode(payload);
+        List<CoIotSensor> sensorUpdates = table.getSensorUpdates();
         Map<String, State> updates = new TreeMap<String, State>();
-        logger.debug("{}: {} CoAP sensor updates received", thingName, sensorUpdates.size());
+        logger.debug("{}: {} CoAP sensor updates received", thingName, sensorUpdates.size());
         int failed = 0;
+        int unchanged = 0;
         ShellyColorUtils col = new ShellyColorUtils();
-        for (int i = 0; i < sensorUpdates.size(); i++) {
+        for (int i = 0; i < entries.size(); i++) {
+            ShellyCoIoTDecodeTable.Entry entry = entries.get(i);
+            CoIotSensor s = entry.value;
+            CoIotDescrSen sen = entry.sen;
             try {
-                CoIotSensor s = sensorUpdates.get(i);
-                CoIotDescrSen sen = sensorMap.get(s.id);
-                if (sen == null) {
-                    logger.debug("{}: Unable to sensor definition for id={}, payload={}", thingName, s.id, payload);
-                    continue;
-                }
-                // find matching sensor definition from device description, use the Link ID as index
-                CoIotDescrBlk element = null;
-                sen = coiot.fixDescription(sen, blkMap);
-                element = blkMap.get(sen.links);
-                if (element == null) {
-                    logger.debug("{}: Unable to find BLK for link {} from sen.id={}, payload={}", thingName, sen.links,
-                            sen.id, payload);
+                if (!table.isChanged(entry)) {
+                    // value and the other values of this block are unchanged, channels are up to date
+                    unchanged++;
                     continue;
                 }
                 logger.trace("{}:  Sensor value[{}]: id={}, Value={} ({}, Type={}, Range={}, Link={}: {})", thingName,
                         i, s.id, getString(s.valueStr).isEmpty() ? s.value : s.valueStr, sen.desc, sen.type, sen.range,
-                        sen.links, element.desc);
+                        sen.links, entry.blk.desc);
 
                 if (!coiot.handleStatusUpdate(sensorUpdates, sen, serial, s, updates, col)) {
                     logger.debug("{}: CoIoT data for id {}, type {}/{} not processed, value={}; payload={}", thingName,
@@ -473,8 +447,11 @@ public class ShellyCoapHandler implements ShellyCoapListener {
                         payload, e);
             }
         }
+        if (unchanged > 0) {
+            logger.trace("{}: {} unchanged sensor values skipped", thingName, unchanged);
+        }
 
-        if (!updates.isEmpty()) {
+        if (!updates.isEmpty() || unchanged > 0) {
             int updated = 0;
             for (Map.Entry<String, State> u : updates.entrySet()) {
                 String key = u.getKey();
@@ -639,6 +616,7 @@ public class ShellyCoapHandler implements ShellyCoapListener {
     private void resetSerial() {
         lastSerial = -1;
         lastPayload = "";
+        decodeTable.reset();
     }
 
     public int getVersion() {
@@ -678,6 +656,27 @@ public class ShellyCoapHandler implements ShellyCoapListener {
         return coiotErrors;
     }
 
+    /**
+     * Return the number of messages received during the last completed minute
+     */
+    public synchronized int getPacketRate() {
+        long minute = System.currentTimeMillis() / 60000;
+        if (minute == rateMinute) {
+            return lastRate;
+        }
+        return minute == rateMinute + 1 ? rateMessages : 0;
+    }
+
+    private synchronized void countPacket() {
+        long minute = System.currentTimeMillis() / 60000;
+        if (minute != rateMinute) {
+            lastRate = minute == rateMinute + 1 ? rateMessages : 0;
+            rateMinute = minute;
+            rateMessages = 0;
+        }
+        rateMessages++;
+    }
+
     public void dispose() {
         stop();
     }
@@ -12,20 +12,24 @@
  */
 package org.openhab.binding.shelly.internal.coap;
 
-import static org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.COIOT_PORT;
+import static org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.*;
+import static org.openhab.binding.shelly.internal.util.ShellyUtils.substringBetween;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.californium.core.CoapResource;
 import org.eclipse.californium.core.CoapServer;
 import org.eclipse.californium.core.coap.CoAP;
 import org.eclipse.californium.core.coap.CoAP.Code;
 import org.eclipse.californium.core.coap.CoAP.ResponseCode;
+import org.eclipse.californium.core.coap.Option;
 import org.eclipse.californium.core.coap.Request;
 import org.eclipse.californium.core.coap.Response;
 import org.eclipse.californium.core.network.CoapEndpoint;
@@ -40,10 +44,17 @@ import org.slf4j.LoggerFactory;
 /**
  * The {@link ShellyCoapServer} implements the UDP listener and status event processor (for /cit/s messages)
  *
+ * Each inbound message is dispatched to the listener of the sending device only. The listener is looked up by the
+ * peer address of the message, and by the MAC address included in the Global Device ID otherwise. The MAC addresses
+ * are learned from the messages received from the device IPs, so a device is still found after its IP changed.
+ *
  * @author Markus Michels - Initial contribution
  */
 @NonNullByDefault
 public class ShellyCoapServer {
+    // the Global Device ID includes the last 3 bytes of the MAC address
+    private static final int MAC_ID_LENGTH = 6;
+
     private final Logger logger = LoggerFactory.getLogger(ShellyCoapServer.class);
 
     boolean started = false;
@@ -51,6 +62,9 @@ public class ShellyCoapServer {
     private @Nullable UdpMulticastConnector statusConnector;
     private CoapServer server = new CoapServer(NetworkConfig.getStandard(), COIOT_PORT);
     private final Set<ShellyCoapListener> coapListeners = ConcurrentHashMap.newKeySet();
+    private final Map<String, ShellyCoapListener> listenersByIp = new ConcurrentHashMap<>();
+    private final Map<String, ShellyCoapListener> listenersByMac = new ConcurrentHashMap<>();
+    private final AtomicLong unknownMessages = new AtomicLong();
 
     protected class ShellyStatusListener extends CoapResource {
         private ShellyCoapServer listener;
@@ -78,8 +92,17 @@ public class ShellyCoapServer {
         }
     }
 
-    public synchronized void start(String localIp, int port, ShellyCoapListener listener)
-            throws UnknownHostException, SocketException {
+    /**
+     * Start the server if not yet done and register the listener for messages of a device
+     *
+     * @param localIp local IP address to bind to
+     * @param port CoIoT port
+     * @param deviceIp IP address of the device
+     * @param deviceMac MAC address of the device, empty if not known yet
+     * @param listener receives the messages of the device
+     */
+    public synchronized void start(String localIp, int port, String deviceIp, String deviceMac,
+            ShellyCoapListener listener) throws UnknownHostException, SocketException {
         if (!started) {
             logger.debug("Initializing CoIoT listener (local IP={}:{})", localIp, port);
             NetworkConfig nc = NetworkConfig.getStandard();
@@ -98,13 +121,77 @@ public class ShellyCoapServer {
             started = true;
         }
 
-        if (!coapListeners.contains(listener)) {
-            coapListeners.add(listener);
+        coapListeners.add(listener);
+        removeFromIndex(listener);
+        String ip = deviceIp;
+        try {
+            ip = InetAddress.getByName(deviceIp).getHostAddress();
+        } catch (UnknownHostException e) {
+            logger.debug("Unable to resolve device address {}, messages are assigned by MAC address", deviceIp);
+        }
+        listenersByIp.put(ip, listener);
+        String macId = getMacId(deviceMac.replace(":", ""));
+        if (!macId.isEmpty()) {
+            listenersByMac.put(macId, listener);
         }
     }
 
     protected void processResponse(Response response) {
-        coapListeners.forEach(listener -> listener.processResponse(response));
+        String macId = getMacId(response);
+        ShellyCoapListener listener = null;
+        InetAddress peer = response.getSourceContext().getPeerAddress().getAddress();
+        if (peer != null) {
+            listener = listenersByIp.get(peer.getHostAddress());
+        }
+        if (listener != null) {
+            if (!macId.isEmpty() && listenersByMac.get(macId) != listener) {
+                listenersByMac.put(macId, listener);
+            }
+        } else if (!macId.isEmpty()) {
+            listener = listenersByMac.get(macId);
+        }
+
+        if (listener != null) {
+            listener.processResponse(response);
+        } else {
+            long count = unknownMessages.incrementAndGet();
+            logger.trace("CoIoT message from unknown device {} (MAC ID {}), {} unknown messages so far",
+                    response.getSourceContext().getPeerAddress(), macId, count);
+        }
+    }
+
+    /**
+     * Extract the MAC ID from the Global Device ID option (format: <device type>#<mac address>#<coap version>)
+     *
+     * @return upper case MAC ID or an empty string if the message has none
+     */
+    private static String getMacId(Response response) {
+        for (Option opt : response.getOptions().getOthers()) {
+            if (opt.getNumber() == COIOT_OPTION_GLOBAL_DEVID) {
+                String devid = opt.getStringValue();
+                if (devid.contains("#")) {
+                    return getMacId(substringBetween(devid, "#", "#"));
+                }
+            }
+        }
+        return "";
+    }
+
+    private static String getMacId(String mac) {
+        String macId = mac.toUpperCase();
+        return macId.length() > MAC_ID_LENGTH ? macId.substring(macId.length() - MAC_ID_LENGTH) : macId;
+    }
+
+    private void removeFromIndex(ShellyCoapListener listener) {
+        listenersByIp.values().removeIf(l -> l == listener);
+        listenersByMac.values().removeIf(l -> l == listener);
+    }
+
+    /**
+     * Return the number of messages which could not be assigned to a device
+     */
+    public long getUnknownMessageCount() {
+        return unknownMessages.get();
     }
 
     public static Response createResponse(Request request) {
@@ -127,6 +214,7 @@ public class ShellyCoapServer {
      */
     public void stop(ShellyCoapListener listener) {
         coapListeners.remove(listener);
+        removeFromIndex(listener);
         if (coapListeners.isEmpty()) {
             stop();
         }
@@ -138,6 +226,8 @@ public class ShellyCoapServer {
             server.stop();
             statusEndpoint.stop();
             coapListeners.clear();
+            listenersByIp.clear();
+            listenersByMac.clear();
             started = false;
             logger.debug("CoAP Listener stopped");
         }
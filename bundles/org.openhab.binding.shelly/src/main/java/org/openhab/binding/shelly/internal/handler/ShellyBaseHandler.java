@@ -564,6 +564,7 @@ public class ShellyBaseHandler extends BaseThingHandler implements ShellyDeviceL
         stats.lastUptime = getLong(status.uptime);
         stats.coiotMessages = coap.getMessageCount();
         stats.coiotErrors = coap.getErrorCount();
+        stats.coiotPacketRate = coap.getPacketRate();
 
         if (!alarm.isEmpty()) {
             postEvent(alarm, false);
@@ -35,6 +35,7 @@ public class ShellyDeviceStats {
     public long lastAlarmTs = 0;
     public long coiotMessages = 0;
     public long coiotErrors = 0;
+    public int coiotPacketRate = 0;
     public int wifiRssi = 0;
     public int maxInternalTemp = 0;
 
@@ -50,6 +51,7 @@ public class ShellyDeviceStats {
         prop.put("lastAlarmTs", ShellyUtils.convertTimestamp(lastAlarmTs));
         prop.put("coiotMessages", String.valueOf(coiotMessages));
         prop.put("coiotErrors", String.valueOf(coiotErrors));
+        prop.put("coiotPacketRate", String.valueOf(coiotPacketRate));
         prop.put("wifiRssi", String.valueOf(wifiRssi));
         return prop;
     }
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.coap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDescrBlk;
+import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDescrSen;
+import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDevDescrTypeAdapter;
+import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotDevDescription;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * The {@link ShellyCoIoTDecodeTableTest} tests the decoding of CoIoT status messages with the sensor definitions of
+ * a recorded device description.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ShellyCoIoTDecodeTableTest {
+    // /cit/d of a Shelly i3 (CoIoT v2), the description of the device block contains escaped quotes
+    private static final String DEVICE_DESCRIPTION = "{\"blk\":[{\"I\":1,\"D\":\"sensor_0\"},"
+            + "{\"I\":2,\"D\":\"sensor_1\"},{\"I\":4,\"D\":\"device \\\"i3\\\"\"}],"
+            + "\"sen\":[{\"I\":9103,\"T\":\"EVC\",\"D\":\"cfgChanged\",\"R\":\"U16\",\"L\":4},"
+            + "{\"I\":2101,\"T\":\"S\",\"D\":\"input\",\"R\":\"0/1\",\"L\":1},"
+            + "{\"I\":2102,\"T\":\"EV\",\"D\":\"inputEvent\",\"R\":[\"S/SS/SSS/L/SL/LS\",\"\"],\"L\":1},"
+            + "{\"I\":2103,\"T\":\"EVC\",\"D\":\"inputEventCnt\",\"R\":\"U16\",\"L\":1},"
+            + "{\"I\":2201,\"T\":\"S\",\"D\":\"input\",\"R\":\"0/1\",\"L\":2},"
+            + "{\"I\":2202,\"T\":\"EV\",\"D\":\"inputEvent\",\"R\":[\"S/SS/SSS/L/SL/LS\",\"\"],\"L\":2},"
+            + "{\"I\":2203,\"T\":\"EVC\",\"D\":\"inputEventCnt\",\"R\":\"U16\",\"L\":2},"
+            + "{\"I\":3115,\"T\":\"S\",\"D\":\"sensorError\",\"R\":\"0/1\",\"L\":4}]}";
+
+    // /cit/s of the same device
+    private static final String STATUS = "{\"G\":[[0,9103,0],[0,2101,0],[0,2102,\"\"],[0,2103,0],[0,2201,1],"
+            + "[0,2202,\"S\"],[0,2203,3],[0,3115,0]]}";
+
+    private final Map<String, CoIotDescrSen> sensorMap = new LinkedHashMap<>();
+    private final Map<String, CoIotDescrBlk> blkMap = new LinkedHashMap<>();
+
+    @BeforeEach
+    public void setUp() {
+        Gson gson = new GsonBuilder().registerTypeAdapter(CoIotDevDescription.class, new CoIotDevDescrTypeAdapter())
+                .create();
+        CoIotDevDescription descr = gson.fromJson(DEVICE_DESCRIPTION, CoIotDevDescription.class);
+        descr.blk.forEach(blk -> blkMap.put(blk.id, blk));
+        descr.sen.forEach(sen -> sensorMap.put(sen.id, sen));
+    }
+
+    @Test
+    public void decodeStatus() {
+        ShellyCoIoTDecodeTable table = new ShellyCoIoTDecodeTable("test", sensorMap, blkMap);
+        assertEquals("device \"i3\"", blkMap.get("4").desc);
+
+        List<ShellyCoIoTDecodeTable.Entry> entries = table.decode(STATUS);
+
+        assertEquals(List.of(9103, 2101, 2102, 2103, 2201, 2202, 2203, 3115),
+                entries.stream().map(e -> e.id).collect(Collectors.toList()));
+        assertEquals(1, entries.get(4).value.value);
+        assertEquals("S", entries.get(5).value.valueStr);
+        assertEquals(3, entries.get(6).value.value);
+        assertTrue(entries.stream().allMatch(table::isChanged));
+    }
+
+    @Test
+    public void unchangedValuesAreSkipped() {
+        ShellyCoIoTDecodeTable table = new ShellyCoIoTDecodeTable("test", sensorMap, blkMap);
+        table.decode(STATUS);
+
+        List<ShellyCoIoTDecodeTable.Entry> entries = table.decode(STATUS.replace("[0,2201,1]", "[0,2201,0]"));
+
+        // the input of the second block changed, events are always reported
+        assertEquals(List.of(9103, 2102, 2103, 2201, 2202, 2203),
+                entries.stream().filter(table::isChanged).map(e -> e.id).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void escapedStrings() {
+        ShellyCoIoTDecodeTable table = new ShellyCoIoTDecodeTable("test", sensorMap, blkMap);
+
+        String status = "{\"G\":[[0,2102,\"a \\\"quoted\\\", escaped\\\\ \\u0041\"],"
+                + "[0,2202,[\"x\\\"]\",null]],[0,2201,1]]}";
+        List<ShellyCoIoTDecodeTable.Entry> entries = table.decode(status);
+
+        assertEquals(List.of(2102, 2202, 2201), entries.stream().map(e -> e.id).collect(Collectors.toList()));
+        assertEquals("a \"quoted\", escaped\\ A", entries.get(0).value.valueStr);
+        assertEquals(List.of("x\"]"), entries.get(1).value.valueArray);
+        assertEquals(1, entries.get(2).value.value);
+
+        // an unchanged escaped string is not reported as changed
+        status = "{\"G\":[[0,3115,\"\\\"err\\\"\"]]}";
+        assertTrue(table.isChanged(table.decode(status).get(0)));
+        entries = table.decode(status);
+        assertEquals("\"err\"", entries.get(0).value.valueStr);
+        assertFalse(table.isChanged(entries.get(0)));
+        assertTrue(table.isChanged(table.decode(status.replace("err", "error")).get(0)));
+    }
+
+    @Test
+    public void invalidPayload() {
+        ShellyCoIoTDecodeTable table = new ShellyCoIoTDecodeTable("test", sensorMap, blkMap);
+
+        assertThrows(IllegalArgumentException.class, () -> table.decode("{\"G\":[[0,2102,\"unterminated\\\"]]}"));
+        assertThrows(IllegalArgumentException.class, () -> table.decode("{\"X\":[]}"));
+    }
+}
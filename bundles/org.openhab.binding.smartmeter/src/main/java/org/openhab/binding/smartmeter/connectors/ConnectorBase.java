@@ -44,6 +44,7 @@ public abstract class ConnectorBase<T> implements IMeterReaderConnector<T> {
      */
     private String portName;
     public static final int NUMBER_OF_RETRIES = 3;
+    private final MeterStatistics statistics = new MeterStatistics();
 
     /**
      * Contructor for basic members.
@@ -159,6 +160,11 @@ public abstract class ConnectorBase<T> implements IMeterReaderConnector<T> {
         }
     }
 
+    @Override
+    public MeterStatistics getStatistics() {
+        return statistics;
+    }
+
     /**
      * Gets the name of the serial port.
      *
@@ -52,4 +52,11 @@ public interface IMeterReaderConnector<T> {
      *
      */
     void closeConnection();
+
+    /**
+     * Gets the statistics of the frames read by this connector.
+     *
+     * @return the statistics
+     */
+    MeterStatistics getStatistics();
 }
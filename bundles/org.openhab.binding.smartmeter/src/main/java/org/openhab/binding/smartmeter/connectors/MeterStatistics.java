@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smartmeter.connectors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Counts the frames received from a meter device, the frames which were dropped or had a CRC error, and the time
+ * needed to decode the frames.
+ *
+ * The frame rate and the decode times are measured over the interval since the last call of
+ * {@link #listForConsole()}, the counters are totals since the device was created.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MeterStatistics {
+
+    private long frames;
+    private long crcErrors;
+    private long droppedFrames;
+
+    // interval since the statistics were listed last
+    private long intervalStart = System.nanoTime();
+    private long intervalFrames;
+    private long intervalDecoded;
+    private long intervalDecodeNanos;
+    private long intervalMaxDecodeNanos;
+
+    /**
+     * A complete frame with a valid CRC was received.
+     */
+    public synchronized void frameReceived() {
+        frames++;
+        intervalFrames++;
+    }
+
+    /**
+     * A frame was decoded.
+     *
+     * @param decodeNanos time needed to decode the frame in nanoseconds
+     */
+    public synchronized void frameDecoded(long decodeNanos) {
+        intervalDecoded++;
+        intervalDecodeNanos += decodeNanos;
+        intervalMaxDecodeNanos = Math.max(intervalMaxDecodeNanos, decodeNanos);
+    }
+
+    /**
+     * A frame was received with an invalid CRC.
+     */
+    public synchronized void crcError() {
+        crcErrors++;
+    }
+
+    /**
+     * Frames were dropped, because newer frames were already received or the values of the previous frame are still
+     * processed.
+     *
+     * @param count number of dropped frames
+     */
+    public synchronized void framesDropped(long count) {
+        droppedFrames += count;
+    }
+
+    public synchronized long getFrames() {
+        return frames;
+    }
+
+    public synchronized long getCrcErrors() {
+        return crcErrors;
+    }
+
+    public synchronized long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    /**
+     * Lists the statistics for the console and starts a new measuring interval.
+     *
+     * @return the lines to print
+     */
+    public synchronized List<String> listForConsole() {
+        long now = System.nanoTime();
+        double seconds = Math.max(now - intervalStart, 1) / 1e9;
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "Frames: %d received, %.2f per second during the last %.0f s", frames,
+                intervalFrames / seconds, seconds));
+        lines.add("Frames with an invalid checksum: " + crcErrors);
+        lines.add("Frames dropped: " + droppedFrames);
+        lines.add(String.format(Locale.ROOT, "Decode time: %.3f ms average, %.3f ms maximum during the last %.0f s",
+                intervalDecoded == 0 ? 0 : intervalDecodeNanos / 1e6 / intervalDecoded, intervalMaxDecodeNanos / 1e6,
+                seconds));
+
+        intervalStart = now;
+        intervalFrames = 0;
+        intervalDecoded = 0;
+        intervalDecodeNanos = 0;
+        intervalMaxDecodeNanos = 0;
+        return lines;
+    }
+}
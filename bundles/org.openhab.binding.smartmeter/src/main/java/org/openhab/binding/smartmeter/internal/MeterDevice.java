@@ -15,7 +15,7 @@ package org.openhab.binding.smartmeter.internal;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -30,11 +30,13 @@ import javax.measure.Quantity;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.smartmeter.connectors.IMeterReaderConnector;
+import org.openhab.binding.smartmeter.connectors.MeterStatistics;
 import org.openhab.binding.smartmeter.internal.helper.ProtocolMode;
 import org.openhab.core.io.transport.serial.SerialPortManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.reactivex.BackpressureOverflowStrategy;
 import io.reactivex.Flowable;
 import io.reactivex.disposables.Disposable;
 import io.reactivex.plugins.RxJavaPlugins;
@@ -62,6 +64,14 @@ public abstract class MeterDevice<T> {
      * Map of all values captured from the device during the read request.
      */
     private Map<String, MeterValue<?>> valueCache;
+    /**
+     * Values of the previous read request, only changed values are notified to the listeners.
+     */
+    private Map<String, MeterValue<?>> previousValues;
+    /**
+     * Notify all values after the next read request, e.g. after a reading error.
+     */
+    private volatile boolean resendValues;
     private byte @Nullable [] initMessage;
     /**
      * The id of the SML device from openHAB configuration.
@@ -77,7 +87,8 @@ public abstract class MeterDevice<T> {
             byte @Nullable [] initMessage, int baudrate, int baudrateChangeDelay, ProtocolMode protocolMode) {
         super();
         this.deviceId = deviceId;
-        this.valueCache = new HashMap<>();
+        this.valueCache = new LinkedHashMap<>();
+        this.previousValues = new LinkedHashMap<>();
         this.valueChangeListeners = new CopyOnWriteArrayList<>();
         this.printMeterInfo = true;
         this.connector = createConnector(serialPortManagerSupplier, serialPort, baudrate, baudrateChangeDelay,
@@ -150,6 +161,15 @@ public abstract class MeterDevice<T> {
         return new ArrayList<>(this.valueCache.keySet());
     }
 
+    /**
+     * Gets the statistics of the frames read from the device.
+     *
+     * @return the statistics of the connector.
+     */
+    public MeterStatistics getStatistics() {
+        return connector.getStatistics();
+    }
+
     /**
      * Read values from this device an store them locally against their OBIS code.
      *
@@ -157,6 +177,9 @@ public abstract class MeterDevice<T> {
      * by {@code period} seconds.
      * If its still failing, the connection will be closed and opened again.
      *
+     * At most one payload is buffered while the values of the previous payload are processed, older payloads are
+     * dropped.
+     *
      * @return The {@link Disposable} which needs to be disposed whenever not used anymore.
      *
      */
@@ -174,19 +197,29 @@ public abstract class MeterDevice<T> {
                                 ex.getMessage(), RETRY_DELAY, getDeviceId(), ex);
                     }
                     connector.closeConnection();
+                    resendValues = true;
                     notifyReadingError(ex);
                 }).doOnCancel(connector::closeConnection).doOnComplete(connector::closeConnection).share()
                 .retryWhen(
                         publisher -> publisher.delay(RETRY_DELAY, TimeUnit.SECONDS, Schedulers.from(executorService)))
-                .subscribeOn(Schedulers.from(executorService), true).subscribe((value) -> {
-                    Map<String, MeterValue<?>> obisCodes = new HashMap<>(valueCache);
+                .onBackpressureBuffer(1, () -> getStatistics().framesDropped(1),
+                        BackpressureOverflowStrategy.DROP_OLDEST)
+                .subscribeOn(Schedulers.from(executorService), true)
+                .observeOn(Schedulers.from(executorService), false, 1).subscribe((value) -> {
+                    Map<String, MeterValue<?>> obisCodes = valueCache;
+                    valueCache = previousValues;
+                    previousValues = obisCodes;
                     clearValueCache();
                     populateValueCache(value);
+                    notifyChangedValues();
+                    resendValues = false;
                     printInfo();
-                    Collection<String> newObisCodes = getObisCodes();
                     // notify every removed obis code.
-                    obisCodes.values().stream().filter((val) -> !newObisCodes.contains(val.getObisCode()))
-                            .forEach((val) -> notifyValuesRemoved(val));
+                    for (MeterValue<?> val : obisCodes.values()) {
+                        if (!valueCache.containsKey(val.getObisCode())) {
+                            notifyValuesRemoved(val);
+                        }
+                    }
                 });
     }
 
@@ -213,15 +246,28 @@ public abstract class MeterDevice<T> {
      * @param value The value to add.
      */
     protected <Q extends Quantity<Q>> void addObisCache(MeterValue<Q> value) {
-        logger.debug("Value changed: {}", value);
         this.valueCache.put(value.getObisCode(), value);
-        this.valueChangeListeners.forEach((listener) -> {
-            try {
-                listener.valueChanged(value);
-            } catch (Exception e) {
-                logger.error("Meter listener failed", e);
+    }
+
+    /**
+     * Notifies the listeners about the values which changed, or whose status changed, since the previous read request.
+     *
+     * The listeners are notified after all values of the read request were cached, so they can get the other values
+     * a value depends on, e.g. the status with the negate bit.
+     */
+    private void notifyChangedValues() {
+        for (MeterValue<?> value : valueCache.values()) {
+            if (resendValues || !value.equals(previousValues.get(value.getObisCode()))) {
+                logger.debug("Value changed: {}", value);
+                this.valueChangeListeners.forEach((listener) -> {
+                    try {
+                        listener.valueChanged(value);
+                    } catch (Exception e) {
+                        logger.error("Meter listener failed", e);
+                    }
+                });
             }
-        });
+        }
     }
 
     @Override
@@ -134,6 +134,19 @@ public class SmartMeterHandler extends BaseThingHandler {
         }
     }
 
+    /**
+     * Lists the statistics of the communication with the device for the console.
+     *
+     * @return the lines to print
+     */
+    public List<String> listStatisticsForConsole() {
+        MeterDevice<?> device = this.smlDevice;
+        if (device == null) {
+            return List.of("The device is not initialized");
+        }
+        return device.getStatistics().listForConsole();
+    }
+
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
         if (command instanceof RefreshType) {
@@ -201,6 +214,13 @@ public class SmartMeterHandler extends BaseThingHandler {
                     if (state != null) {
                         updateState(channel.getUID(), state);
                     }
+                    // the negation of other channels may depend on this value, they are not notified if unchanged
+                    for (Channel dependentChannel : getThing().getChannels()) {
+                        if (!dependentChannel.getUID().equals(channel.getUID())
+                                && conformity.dependsOn(dependentChannel, obis, getThing(), smlDevice)) {
+                            updateOBISChannel(dependentChannel.getUID());
+                        }
+                    }
 
                     updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE);
                 } else {
@@ -22,6 +22,7 @@ import org.openhab.binding.smartmeter.SmartMeterBindingConstants;
 import org.openhab.binding.smartmeter.internal.MeterDevice;
 import org.openhab.binding.smartmeter.internal.MeterValue;
 import org.openhab.binding.smartmeter.internal.ObisCode;
+import org.openhab.binding.smartmeter.internal.conformity.negate.NegateBitParser;
 import org.openhab.binding.smartmeter.internal.conformity.negate.NegateHandler;
 import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.library.unit.Units;
@@ -97,6 +98,27 @@ public enum Conformity {
                 return currentState;
             });
         }
+
+        @Override
+        public boolean dependsOn(Channel channel, String obis, Thing thing, MeterDevice<?> device) {
+            if (hasNegateProperty(channel)) {
+                return super.dependsOn(channel, obis, thing, device);
+            }
+            // only power values are negated, the negate bit is read from the status obis 96.5.5 or from the status of
+            // obis 1.8.0
+            String channelObis = channel.getProperties().get(SmartMeterBindingConstants.CHANNEL_PROPERTY_OBIS);
+            MeterValue<?> value = channelObis != null ? device.getMeterValue(channelObis) : null;
+            if (value == null || !Units.WATT.isCompatible(value.getUnit())) {
+                return false;
+            }
+            try {
+                ObisCode obisCode = ObisCode.from(obis);
+                return obisCode.matches((byte) 0x60, (byte) 0x05, (byte) 0x05)
+                        || obisCode.matches((byte) 0x01, (byte) 0x08, (byte) 0x00);
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
     };
 
     private static final Logger logger = LoggerFactory.getLogger(Conformity.class);
@@ -152,6 +174,38 @@ public enum Conformity {
         }
     }
 
+    /**
+     * Gets whether the state of the channel depends on the value or status of another OBIS code, e.g. on its negate
+     * bit. The channel needs to be updated again when that value changed.
+     *
+     * @param channel The {@link Channel} which state may depend on the other value.
+     * @param obis The OBIS code of the other value.
+     * @param thing The {@link Thing} where the channel belongs to.
+     * @param device The {@link MeterDevice} for the Thing.
+     * @return whether the state depends on the value.
+     */
+    public boolean dependsOn(Channel channel, String obis, Thing thing, MeterDevice<?> device) {
+        String negateProperty = (String) channel.getConfiguration()
+                .get(SmartMeterBindingConstants.CONFIGURATION_CHANNEL_NEGATE);
+        if (negateProperty == null || negateProperty.trim().isEmpty()) {
+            return false;
+        }
+        try {
+            Channel negateChannel = thing
+                    .getChannel(NegateBitParser.parseNegateProperty(negateProperty).getNegateChannelId());
+            return negateChannel != null
+                    && obis.equals(negateChannel.getProperties().get(SmartMeterBindingConstants.CHANNEL_PROPERTY_OBIS));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean hasNegateProperty(Channel channel) {
+        String negateProperty = (String) channel.getConfiguration()
+                .get(SmartMeterBindingConstants.CONFIGURATION_CHANNEL_NEGATE);
+        return negateProperty != null && !negateProperty.trim().isEmpty();
+    }
+
     /**
      * Applies any changes according to the conformity and returns the new value.
      *
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smartmeter.internal.console;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.smartmeter.internal.SmartMeterHandler;
+import org.openhab.core.io.console.Console;
+import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
+import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.core.thing.Thing;
+import org.openhab.core.thing.ThingRegistry;
+import org.openhab.core.thing.ThingUID;
+import org.openhab.core.thing.binding.ThingHandler;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The {@link SmartMeterCommandExtension} is responsible for handling console commands
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class SmartMeterCommandExtension extends AbstractConsoleCommandExtension {
+
+    private static final String STATISTICS = "statistics";
+
+    private final ThingRegistry thingRegistry;
+
+    @Activate
+    public SmartMeterCommandExtension(final @Reference ThingRegistry thingRegistry) {
+        super("smartmeter", "Interact with the SmartMeter binding.");
+        this.thingRegistry = thingRegistry;
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 2 && STATISTICS.equals(args[1])) {
+            Thing thing = null;
+            try {
+                thing = thingRegistry.get(new ThingUID(args[0]));
+            } catch (IllegalArgumentException e) {
+                thing = null;
+            }
+            ThingHandler thingHandler = thing != null ? thing.getHandler() : null;
+            if (thing == null) {
+                console.println("Bad thing id '" + args[0] + "'");
+                printUsage(console);
+            } else if (!(thingHandler instanceof SmartMeterHandler)) {
+                console.println("'" + args[0] + "' is not an initialized SmartMeter thingUID");
+                printUsage(console);
+            } else {
+                ((SmartMeterHandler) thingHandler).listStatisticsForConsole().forEach(console::println);
+            }
+        } else {
+            printUsage(console);
+        }
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return List.of(buildCommandUsage("<thingUID> " + STATISTICS,
+                "show the frames received from the meter, the frames with errors and the decode time"));
+    }
+}
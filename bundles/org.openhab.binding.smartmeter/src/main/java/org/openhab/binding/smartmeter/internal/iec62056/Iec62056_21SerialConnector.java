@@ -81,6 +81,7 @@ public class Iec62056_21SerialConnector extends ConnectorBase<DataMessage> {
         if (iec21Port != null) {
             DataMessage dataMessage = iec21Port.read();
             logger.debug("Datamessage read: {}", dataMessage);
+            getStatistics().frameReceived();
             return dataMessage;
         }
         throw new IOException("SerialPort was not yet created!");
@@ -100,6 +101,7 @@ public class Iec62056_21SerialConnector extends ConnectorBase<DataMessage> {
                         @Override
                         public void newDataMessage(@Nullable DataMessage dataMessage) {
                             logger.debug("Datamessage read: {}", dataMessage);
+                            getStatistics().frameReceived();
                             emitter.onNext(dataMessage);
                         }
 
@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smartmeter.internal.sml;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.smartmeter.connectors.MeterStatistics;
+
+/**
+ * Reads the frames of the SML transport protocol version 1 into reused buffers without decoding them.
+ *
+ * A frame starts with the escape sequence 1b1b1b1b 01010101 and ends with 1b1b1b1b 1a followed by the number of
+ * padding bytes and the CRC16 (X.25) over the whole frame. The frame is aligned to 4 bytes, escape sequences in the data
+ * are doubled. Frames with an invalid CRC are skipped, so only the latest valid frame has to be decoded.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+final class SmlFrameReader {
+
+    private static final int END = 0x1a;
+    private static final int ESCAPE_SEQUENCE = 0x1b1b1b1b;
+    private static final int START_SEQUENCE = 0x01010101;
+    private static final long START_WINDOW = ((long) ESCAPE_SEQUENCE << 32) | START_SEQUENCE;
+    private static final int MAX_FRAME_SIZE = 64 * 1024;
+
+    private static final int[] CRC_TABLE = new int[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            int crc = i;
+            for (int bit = 0; bit < 8; bit++) {
+                crc = (crc & 1) != 0 ? (crc >>> 1) ^ 0x8408 : crc >>> 1;
+            }
+            CRC_TABLE[i] = crc;
+        }
+    }
+
+    private final MeterStatistics statistics;
+
+    // frame being read and latest complete frame, the buffers are swapped when a frame is complete
+    private byte[] frame = new byte[1024];
+    private int frameLength;
+    private byte[] latest = new byte[1024];
+    private int latestLength;
+
+    SmlFrameReader(MeterStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * Reads the next frame. Data before the start sequence is skipped, frames with an invalid CRC or format are
+     * counted and skipped.
+     *
+     * @param is stream to read from
+     * @throws IOException if the stream could not be read
+     */
+    void readFrame(DataInputStream is) throws IOException {
+        while (true) {
+            waitForStart(is);
+            if (readFrameData(is)) {
+                byte[] buffer = latest;
+                latest = frame;
+                latestLength = frameLength;
+                frame = buffer;
+                statistics.frameReceived();
+                return;
+            }
+            statistics.crcError();
+        }
+    }
+
+    /**
+     * @return whether a frame was read since the last call of {@link #clear()}
+     */
+    boolean hasFrame() {
+        return latestLength > 0;
+    }
+
+    /**
+     * Forgets the latest frame.
+     */
+    void clear() {
+        latestLength = 0;
+    }
+
+    /**
+     * @return stream of the raw bytes of the latest frame, which can be decoded by the jSML transport
+     */
+    DataInputStream getLatestFrame() {
+        return new DataInputStream(new ByteArrayInputStream(latest, 0, latestLength));
+    }
+
+    /**
+     * Skips the data until the start sequence was read.
+     */
+    private void waitForStart(DataInputStream is) throws IOException {
+        long window = 0;
+        while (window != START_WINDOW) {
+            window = (window << 8) | is.readUnsignedByte();
+        }
+        frameLength = 0;
+        append(ESCAPE_SEQUENCE);
+        append(START_SEQUENCE);
+    }
+
+    /**
+     * Reads the words of the frame until the end sequence.
+     *
+     * @return true if the frame was complete with a valid CRC
+     */
+    private boolean readFrameData(DataInputStream is) throws IOException {
+        while (frameLength < MAX_FRAME_SIZE) {
+            int word = is.readInt();
+            if (word != ESCAPE_SEQUENCE) {
+                append(word);
+                continue;
+            }
+            int next = is.readInt();
+            if (next == ESCAPE_SEQUENCE) {
+                // escaped data, the raw bytes are kept for the decoder
+                append(word);
+                append(next);
+            } else if (next == START_SEQUENCE) {
+                // a new frame started before the current frame was complete
+                statistics.crcError();
+                frameLength = 0;
+                append(ESCAPE_SEQUENCE);
+                append(START_SEQUENCE);
+            } else if (next >>> 24 == END) {
+                append(word);
+                append(next);
+                int crc = crc16(frame, 0, frameLength - 2);
+                int received = ((frame[frameLength - 2] & 0xff) << 8) | (frame[frameLength - 1] & 0xff);
+                // the CRC is sent in little endian byte order, some meters send it in big endian
+                return received == (Integer.reverseBytes(crc) >>> 16) || received == crc;
+            } else {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private void append(int word) {
+        if (frameLength + 4 > frame.length) {
+            byte[] buffer = new byte[frame.length * 2];
+            System.arraycopy(frame, 0, buffer, 0, frameLength);
+            frame = buffer;
+        }
+        frame[frameLength++] = (byte) (word >>> 24);
+        frame[frameLength++] = (byte) (word >>> 16);
+        frame[frameLength++] = (byte) (word >>> 8);
+        frame[frameLength++] = (byte) word;
+    }
+
+    /**
+     * Calculates the CRC16 (X.25) of the given bytes.
+     */
+    static int crc16(byte[] data, int offset, int length) {
+        int crc = 0xffff;
+        for (int i = offset; i < offset + length; i++) {
+            crc = (crc >>> 8) ^ CRC_TABLE[(crc ^ data[i]) & 0xff];
+        }
+        return crc ^ 0xffff;
+    }
+}
@@ -117,11 +117,7 @@ public final class SmlMeterReader extends MeterDevice<SmlFile> {
                     SmlValueExtractor valueExtractor = new SmlValueExtractor(entry);
                     String obis = valueExtractor.getObisCode();
 
-                    MeterValue<?> smlValue = getMeterValue(obis);
-
-                    if (smlValue == null) {
-                        smlValue = valueExtractor.getSmlValue();
-                    }
+                    MeterValue<?> smlValue = valueExtractor.getSmlValue();
 
                     SmlStatus status = entry.getStatus();
                     if (status != null) {
@@ -18,7 +18,6 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.text.MessageFormat;
-import java.util.Stack;
 import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -54,6 +53,7 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
     @Nullable
     private DataOutputStream os;
     private int baudrate;
+    private final SmlFrameReader frameReader = new SmlFrameReader(getStatistics());
 
     /**
      * Constructor to create a serial connector instance.
@@ -88,17 +88,29 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
             }
         }
 
-        // read out the whole buffer. We are only interested in the most recent SML file.
-        Stack<SmlFile> smlFiles = new Stack<>();
+        // read out the whole buffer. We are only interested in the most recent SML file, so the older frames are only
+        // checked and skipped without decoding them.
+        DataInputStream is = this.is;
+        if (is == null) {
+            throw new IOException(getPortName() + " : Connection is not open.");
+        }
+        frameReader.clear();
+        int frames = 0;
         do {
-            logger.trace("Reading {}. SML message", smlFiles.size() + 1);
-            smlFiles.push(TRANSPORT.getSMLFile(is));
-        } while (is != null && is.available() > 0);
-        if (smlFiles.isEmpty()) {
+            logger.trace("Reading {}. SML message", frames + 1);
+            frameReader.readFrame(is);
+            frames++;
+        } while (is.available() > 0);
+        if (!frameReader.hasFrame()) {
             throw new IOException(getPortName() + " : There is no SML file in buffer. Try to increase Refresh rate.");
         }
-        logger.debug("{} : Read {} SML files from Buffer", this.getPortName(), smlFiles.size());
-        return smlFiles.pop();
+        logger.debug("{} : Read {} SML files from Buffer", this.getPortName(), frames);
+        getStatistics().framesDropped(frames - 1);
+
+        long start = System.nanoTime();
+        SmlFile smlFile = TRANSPORT.getSMLFile(frameReader.getLatestFrame());
+        getStatistics().frameDecoded(System.nanoTime() - start);
+        return smlFile;
     }
 
     @Override
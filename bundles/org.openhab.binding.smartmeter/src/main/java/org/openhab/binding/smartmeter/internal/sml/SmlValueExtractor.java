@@ -13,6 +13,8 @@
 package org.openhab.binding.smartmeter.internal.sml;
 
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.measure.Quantity;
 
@@ -33,6 +35,18 @@ import org.openmuc.jsml.structures.SmlListEntry;
 @NonNullByDefault
 public final class SmlValueExtractor {
 
+    // powers of ten for all scalers from -128 to 127
+    private static final double[] SCALERS = new double[256];
+    // OBIS codes by their five bytes, the meters send the same few codes in every SML file
+    private static final int MAX_CACHED_OBIS = 256;
+    private static final Map<Long, String> OBIS_CACHE = new ConcurrentHashMap<>();
+
+    static {
+        for (int i = 0; i < SCALERS.length; i++) {
+            SCALERS[i] = Math.pow(10, i - 128);
+        }
+    }
+
     /**
      * Stores the original value object from jSML
      */
@@ -115,16 +129,10 @@ public final class SmlValueExtractor {
         int scaler = 0;
 
         if (smlListEntry.getScaler().isSelected()) {
-            byte scalerByte = smlListEntry.getScaler().getVal();
-
-            scaler = Integer.parseInt(String.format("%02x", scalerByte), 16);
-
-            if (scaler > 127) {
-                scaler -= 256;
-            }
+            scaler = smlListEntry.getScaler().getVal();
         }
 
-        return Math.pow(10, scaler);
+        return SCALERS[scaler + 128];
     }
 
     /**
@@ -136,24 +144,24 @@ public final class SmlValueExtractor {
         return originalValue * getScaler();
     }
 
-    /**
-     * Byte to Integer conversion.
-     *
-     * @param byte to convert to Integer.
-     */
-    private static int byteToInt(byte b) {
-        return Integer.parseInt(String.format("%02x", b), 16);
-    }
-
     /**
      * Converts hex encoded OBIS to formatted string.
      *
      * @return the hex encoded OBIS code as readable string.
      */
     protected static String getObisAsString(byte[] octetBytes) {
-        String formattedObis = String.format(SmartMeterBindingConstants.OBIS_FORMAT_MINIMAL, byteToInt(octetBytes[0]),
-                byteToInt(octetBytes[1]), byteToInt(octetBytes[2]), byteToInt(octetBytes[3]), byteToInt(octetBytes[4]));
-
+        long key = 0;
+        for (int i = 0; i < 5; i++) {
+            key = (key << 8) | (octetBytes[i] & 0xff);
+        }
+        String formattedObis = OBIS_CACHE.get(key);
+        if (formattedObis == null) {
+            formattedObis = String.format(SmartMeterBindingConstants.OBIS_FORMAT_MINIMAL, octetBytes[0] & 0xff,
+                    octetBytes[1] & 0xff, octetBytes[2] & 0xff, octetBytes[3] & 0xff, octetBytes[4] & 0xff);
+            if (OBIS_CACHE.size() < MAX_CACHED_OBIS) {
+                OBIS_CACHE.put(key, formattedObis);
+            }
+        }
         return formattedObis;
     }
 
@@ -12,13 +12,17 @@
  */
 package org.openhab.binding.smartmeter;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import javax.measure.Quantity;
@@ -55,10 +59,71 @@ public class TestMeterReading {
         MeterValueListener changeListener = Mockito.mock(MeterValueListener.class);
         meter.addValueChangeListener(changeListener);
         Disposable disposable = meter.readValues(5000, Executors.newScheduledThreadPool(1), period);
+        try {
+            verify(changeListener, after(executionCount * period.toMillis() + period.toMillis() / 2).never())
+                    .errorOccurred(any());
+            // the value did not change, so it is only notified once
+            verify(changeListener, times(1)).valueChanged(any());
+        } finally {
+            disposable.dispose();
+        }
+    }
+
+    @Test
+    public void testChangedValues() throws Exception {
+        final Duration period = Duration.ofSeconds(1);
+        final int executionCount = 5;
+        AtomicInteger counter = new AtomicInteger();
+        MockMeterReaderConnector connector = getMockedConnector(false, () -> new Object());
+        MeterDevice<Object> meter = getMeterDevice(connector, () -> String.valueOf(counter.incrementAndGet()));
+        MeterValueListener changeListener = Mockito.mock(MeterValueListener.class);
+        meter.addValueChangeListener(changeListener);
+        Disposable disposable = meter.readValues(5000, Executors.newScheduledThreadPool(1), period);
         try {
             verify(changeListener, after(executionCount * period.toMillis() + period.toMillis() / 2).never())
                     .errorOccurred(any());
             verify(changeListener, times(executionCount)).valueChanged(any());
+            verify(changeListener, never()).valueRemoved(any());
+        } finally {
+            disposable.dispose();
+        }
+    }
+
+    @Test
+    public void testNotifiedAfterAllValuesRead() throws Exception {
+        final Duration period = Duration.ofSeconds(1);
+        MockMeterReaderConnector connector = getMockedConnector(false, () -> new Object());
+        List<String> otherValues = new CopyOnWriteArrayList<>();
+        MeterDevice<Object> meter = new MeterDevice<Object>(() -> mock(SerialPortManager.class), "id", "port", null,
+                9600, 0, ProtocolMode.SML) {
+
+            @Override
+            protected @NonNull IMeterReaderConnector<Object> createConnector(
+                    @NonNull Supplier<@NonNull SerialPortManager> serialPortManagerSupplier, @NonNull String serialPort,
+                    int baudrate, int baudrateChangeDelay, @NonNull ProtocolMode protocolMode) {
+                return connector;
+            }
+
+            @Override
+            protected <Q extends @NonNull Quantity<Q>> void populateValueCache(Object smlFile) {
+                addObisCache(new MeterValue("123", "333", null));
+                addObisCache(new MeterValue("96.5.5", "32", null));
+            }
+        };
+        MeterValueListener changeListener = Mockito.mock(MeterValueListener.class);
+        doAnswer(invocation -> {
+            MeterValue<?> value = invocation.getArgument(0);
+            if ("123".equals(value.getObisCode())) {
+                // the status read after the value is already available when the value is notified
+                otherValues.add(String.valueOf(meter.getValue("96.5.5")));
+            }
+            return null;
+        }).when(changeListener).valueChanged(any());
+        meter.addValueChangeListener(changeListener);
+        Disposable disposable = meter.readValues(5000, Executors.newScheduledThreadPool(1), period);
+        try {
+            verify(changeListener, after(period.toMillis() * 2).times(2)).valueChanged(any());
+            assertEquals(List.of("32"), otherValues);
         } finally {
             disposable.dispose();
         }
@@ -136,6 +201,10 @@ public class TestMeterReading {
     }
 
     MeterDevice<Object> getMeterDevice(ConnectorBase<Object> connector) {
+        return getMeterDevice(connector, () -> "333");
+    }
+
+    MeterDevice<Object> getMeterDevice(ConnectorBase<Object> connector, Supplier<String> valueSupplier) {
         return new MeterDevice<Object>(() -> mock(SerialPortManager.class), "id", "port", null, 9600, 0,
                 ProtocolMode.SML) {
 
@@ -148,7 +217,7 @@ public class TestMeterReading {
 
             @Override
             protected <Q extends @NonNull Quantity<Q>> void populateValueCache(Object smlFile) {
-                addObisCache(new MeterValue("123", "333", null));
+                addObisCache(new MeterValue("123", valueSupplier.get(), null));
             }
         };
     }
@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smartmeter.internal.sml;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.smartmeter.connectors.MeterStatistics;
+import org.openhab.core.util.HexUtils;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class TestSmlFrameReader {
+
+    // SML data with an escaped escape sequence
+    private static final String DATA = "7605010203046200620072630101760101070000000000000b00000000000000000000010163abcd"
+            + "1b1b1b1b1b1b1b1b7605010203056200620072";
+
+    @Test
+    public void testCrc() {
+        // check value of CRC-16/X-25
+        byte[] data = "123456789".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(0x906e, SmlFrameReader.crc16(data, 0, data.length));
+    }
+
+    @Test
+    public void testReadLatestFrame() throws IOException {
+        MeterStatistics statistics = new MeterStatistics();
+        SmlFrameReader reader = new SmlFrameReader(statistics);
+        byte[] first = frame("01", false);
+        byte[] second = frame("0203", false);
+        DataInputStream is = stream(HexUtils.hexToBytes("0102031b1b"), first, second);
+
+        reader.readFrame(is);
+        reader.readFrame(is);
+
+        assertTrue(reader.hasFrame());
+        assertArrayEquals(second, reader.getLatestFrame().readAllBytes());
+        assertEquals(2, statistics.getFrames());
+        assertEquals(0, statistics.getCrcErrors());
+    }
+
+    @Test
+    public void testSkipInvalidCrc() throws IOException {
+        MeterStatistics statistics = new MeterStatistics();
+        SmlFrameReader reader = new SmlFrameReader(statistics);
+        byte[] valid = frame("05", false);
+        DataInputStream is = stream(frame("04", true), valid);
+
+        reader.readFrame(is);
+
+        assertArrayEquals(valid, reader.getLatestFrame().readAllBytes());
+        assertEquals(1, statistics.getFrames());
+        assertEquals(1, statistics.getCrcErrors());
+        reader.clear();
+        assertFalse(reader.hasFrame());
+        assertThrows(EOFException.class, () -> reader.readFrame(is));
+    }
+
+    private static byte[] frame(String message, boolean corrupt) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        String data = DATA + message;
+        int padding = (4 - data.length() / 2 % 4) % 4;
+        out.writeBytes(HexUtils.hexToBytes("1b1b1b1b01010101" + data + "00".repeat(padding) + "1b1b1b1b1a"));
+        out.write(padding);
+        byte[] bytes = out.toByteArray();
+        int crc = SmlFrameReader.crc16(bytes, 0, bytes.length) ^ (corrupt ? 1 : 0);
+        out.write(crc);
+        out.write(crc >>> 8);
+        return out.toByteArray();
+    }
+
+    private static DataInputStream stream(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+    }
+}
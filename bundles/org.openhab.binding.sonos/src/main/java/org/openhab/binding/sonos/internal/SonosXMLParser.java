@@ -17,14 +17,17 @@ import java.io.StringReader;
 import java.net.URL;
 import java.text.MessageFormat;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+
 import org.apache.commons.lang3.StringEscapeUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -35,7 +38,6 @@ import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.XMLReader;
 import org.xml.sax.helpers.DefaultHandler;
-import org.xml.sax.helpers.XMLReaderFactory;
 
 /**
  * The {@link SonosXMLParser} is a class of helper functions
@@ -83,6 +85,55 @@ public class SonosXMLParser {
         desc
     }
 
+    /**
+     * Readers are pooled per thread, as creating a reader costs more than parsing the small documents sent by the
+     * players. A document embedded in an entry is parsed while the reader of the thread is still in use, it gets a
+     * reader of its own.
+     */
+    private static final ThreadLocal<PooledReader> XML_READERS = ThreadLocal.withInitial(PooledReader::new);
+    private static final DefaultHandler NO_OP_HANDLER = new DefaultHandler();
+
+    private static class PooledReader {
+        private @Nullable XMLReader reader;
+        private boolean inUse;
+    }
+
+    private static void parse(DefaultHandler handler, InputSource source) throws IOException, SAXException {
+        PooledReader pooled = XML_READERS.get();
+        if (pooled.inUse) {
+            XMLReader reader = createXMLReader();
+            reader.setContentHandler(handler);
+            reader.parse(source);
+            return;
+        }
+        XMLReader reader = pooled.reader;
+        if (reader == null) {
+            reader = createXMLReader();
+            pooled.reader = reader;
+        }
+        pooled.inUse = true;
+        reader.setContentHandler(handler);
+        try {
+            reader.parse(source);
+        } finally {
+            // do not retain the handler and its results until the next parse
+            reader.setContentHandler(NO_OP_HANDLER);
+            pooled.inUse = false;
+        }
+    }
+
+    private static XMLReader createXMLReader() throws SAXException {
+        try {
+            SAXParserFactory factory = SAXParserFactory.newInstance();
+            factory.setNamespaceAware(true);
+            XMLReader reader = factory.newSAXParser().getXMLReader();
+            reader.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            return reader;
+        } catch (ParserConfigurationException e) {
+            throw new SAXException(e);
+        }
+    }
+
     /**
      * @param xml
      * @return a list of alarms from the given xml string.
@@ -92,9 +143,7 @@ public class SonosXMLParser {
     public static List<SonosAlarm> getAlarmsFromStringResult(String xml) {
         AlarmHandler handler = new AlarmHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             LOGGER.error("Could not parse Alarms from string '{}'", xml);
         } catch (SAXException s) {
@@ -112,9 +161,7 @@ public class SonosXMLParser {
     public static List<SonosEntry> getEntriesFromString(String xml) {
         EntryHandler handler = new EntryHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             LOGGER.error("Could not parse Entries from string '{}'", xml);
         } catch (SAXException s) {
@@ -133,12 +180,9 @@ public class SonosXMLParser {
      * @throws SAXException
      */
     public static @Nullable SonosResourceMetaData getResourceMetaData(String xml) throws SAXException {
-        XMLReader reader = XMLReaderFactory.createXMLReader();
-        reader.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
         ResourceMetaDataHandler handler = new ResourceMetaDataHandler();
-        reader.setContentHandler(handler);
         try {
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             LOGGER.error("Could not parse Resource MetaData from String '{}'", xml);
         } catch (SAXException s) {
@@ -157,9 +201,7 @@ public class SonosXMLParser {
     public static List<SonosZoneGroup> getZoneGroupFromXML(String xml) {
         ZoneGroupHandler handler = new ZoneGroupHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse ZoneGroup from string '{}'", xml);
@@ -173,9 +215,7 @@ public class SonosXMLParser {
     public static List<String> getRadioTimeFromXML(String xml) {
         OpmlHandler handler = new OpmlHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse RadioTime from string '{}'", xml);
@@ -187,11 +227,21 @@ public class SonosXMLParser {
     }
 
     public static Map<String, String> getRenderingControlFromXML(String xml) {
-        RenderingControlEventHandler handler = new RenderingControlEventHandler();
+        return getRenderingControlFromXML(xml, null);
+    }
+
+    /**
+     * Decode a rendering control LastChange event, keeping only the variables which differ from the current state.
+     *
+     * @param xml the LastChange event
+     * @param currentState the current values of the state variables, or null to keep all variables
+     * @return the changed variables, in document order
+     */
+    public static Map<String, String> getRenderingControlFromXML(String xml,
+            @Nullable Map<String, String> currentState) {
+        RenderingControlEventHandler handler = new RenderingControlEventHandler(currentState);
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse Rendering Control from string '{}'", xml);
@@ -202,11 +252,20 @@ public class SonosXMLParser {
     }
 
     public static Map<String, String> getAVTransportFromXML(String xml) {
-        AVTransportEventHandler handler = new AVTransportEventHandler();
+        return getAVTransportFromXML(xml, null);
+    }
+
+    /**
+     * Decode an AV transport LastChange event, keeping only the variables which differ from the current state.
+     *
+     * @param xml the LastChange event
+     * @param currentState the current values of the state variables, or null to keep all variables
+     * @return the changed variables, in document order
+     */
+    public static Map<String, String> getAVTransportFromXML(String xml, @Nullable Map<String, String> currentState) {
+        AVTransportEventHandler handler = new AVTransportEventHandler(currentState);
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse AV Transport from string '{}'", xml);
@@ -219,9 +278,7 @@ public class SonosXMLParser {
     public static SonosMetaData getMetaDataFromXML(String xml) {
         MetaDataHandler handler = new MetaDataHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse MetaData from string '{}'", xml);
@@ -235,9 +292,7 @@ public class SonosXMLParser {
     public static List<SonosMusicService> getMusicServicesFromXML(String xml) {
         MusicServiceHandler handler = new MusicServiceHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(handler, new InputSource(new StringReader(xml)));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse music services from string '{}'", xml);
@@ -664,7 +719,35 @@ public class SonosXMLParser {
         }
     }
 
-    private static class AVTransportEventHandler extends DefaultHandler {
+    /**
+     * Base class of the LastChange event handlers, collecting the changed state variables in a single pass.
+     */
+    private abstract static class LastChangeEventHandler extends DefaultHandler {
+
+        private final @Nullable Map<String, String> currentState;
+        private final Map<String, String> changes = new LinkedHashMap<>();
+
+        LastChangeEventHandler(@Nullable Map<String, String> currentState) {
+            this.currentState = currentState;
+        }
+
+        protected void putIfChanged(String variable, String value) {
+            if (isChanged(variable, value)) {
+                changes.put(variable, value);
+            }
+        }
+
+        protected boolean isChanged(String variable, String value) {
+            Map<String, String> state = currentState;
+            return state == null || !value.equals(state.get(variable));
+        }
+
+        public Map<String, String> getChanges() {
+            return changes;
+        }
+    }
+
+    private static class AVTransportEventHandler extends LastChangeEventHandler {
 
         /*
          * <Event xmlns="urn:schemas-upnp-org:metadata-1-0/AVT/" xmlns:r="urn:schemas-rinconnetworks-com:metadata-1-0/">
@@ -713,7 +796,22 @@ public class SonosXMLParser {
          * </Event>
          */
 
-        private final Map<String, String> changes = new HashMap<>();
+        AVTransportEventHandler(@Nullable Map<String, String> currentState) {
+            super(currentState);
+        }
+
+        @Override
+        protected boolean isChanged(String variable, String value) {
+            // these variables are also handled as CurrentURI/CurrentURIMetaData, which may differ
+            switch (variable) {
+                case "AVTransportURI":
+                    return super.isChanged(variable, value) || super.isChanged("CurrentURI", value);
+                case "AVTransportURIMetaData":
+                    return super.isChanged(variable, value) || super.isChanged("CurrentURIMetaData", value);
+                default:
+                    return super.isChanged(variable, value);
+            }
+        }
 
         @Override
         public void startElement(@Nullable String uri, @Nullable String localName, @Nullable String qName,
@@ -728,14 +826,10 @@ public class SonosXMLParser {
             } else {
                 String val = attributes == null ? null : attributes.getValue("val");
                 if (val != null) {
-                    changes.put(localName, val);
+                    putIfChanged(localName, val);
                 }
             }
         }
-
-        public Map<String, String> getChanges() {
-            return changes;
-        }
     }
 
     private static class MetaDataHandler extends DefaultHandler {
@@ -841,13 +935,15 @@ public class SonosXMLParser {
         }
     }
 
-    private static class RenderingControlEventHandler extends DefaultHandler {
-
-        private final Map<String, String> changes = new HashMap<>();
+    private static class RenderingControlEventHandler extends LastChangeEventHandler {
 
         private boolean getPresetName = false;
         private @Nullable String presetName;
 
+        RenderingControlEventHandler(@Nullable Map<String, String> currentState) {
+            super(currentState);
+        }
+
         @Override
         public void startElement(@Nullable String uri, @Nullable String localName, @Nullable String qName,
                 @Nullable Attributes attributes) throws SAXException {
@@ -863,7 +959,7 @@ public class SonosXMLParser {
                     channel = attributes == null ? null : attributes.getValue("channel");
                     val = attributes == null ? null : attributes.getValue("val");
                     if (channel != null && val != null) {
-                        changes.put(qName + channel, val);
+                        putIfChanged(qName + channel, val);
                     }
                     break;
                 case "Bass":
@@ -881,7 +977,7 @@ public class SonosXMLParser {
                 case "HeightChannelLevel":
                     val = attributes == null ? null : attributes.getValue("val");
                     if (val != null) {
-                        changes.put(qName, val);
+                        putIfChanged(qName, val);
                     }
                     break;
                 case "PresetNameList":
@@ -906,14 +1002,10 @@ public class SonosXMLParser {
                 getPresetName = false;
                 String preset = presetName;
                 if (qName != null && preset != null) {
-                    changes.put(qName, preset);
+                    putIfChanged(qName, preset);
                 }
             }
         }
-
-        public Map<String, String> getChanges() {
-            return changes;
-        }
     }
 
     private static class MusicServiceHandler extends DefaultHandler {
@@ -938,10 +1030,8 @@ public class SonosXMLParser {
     public static @Nullable String getRoomName(String descriptorXML) {
         RoomNameHandler roomNameHandler = new RoomNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(roomNameHandler);
             URL url = new URL(descriptorXML);
-            reader.parse(new InputSource(url.openStream()));
+            parse(roomNameHandler, new InputSource(url.openStream()));
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos room name from string '{}'", descriptorXML);
         }
@@ -977,10 +1067,8 @@ public class SonosXMLParser {
     public static @Nullable String parseModelDescription(URL descriptorURL) {
         ModelNameHandler modelNameHandler = new ModelNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(modelNameHandler);
             URL url = new URL(descriptorURL.toString());
-            reader.parse(new InputSource(url.openStream()));
+            parse(modelNameHandler, new InputSource(url.openStream()));
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos model name from string '{}'", descriptorURL.toString());
         }
@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.sonos.internal;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link SonosZoneGroupCache} shares the parsed zone group topology between the players of a household.
+ *
+ * Every player of a household receives the same ZoneGroupState through its ZoneGroupTopology subscription and the
+ * players look up their group on most events and commands. The state is parsed once per distinct value and the
+ * parsed groups are shared by all the players, instead of every player parsing its own copy on every lookup.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SonosZoneGroupCache {
+
+    /**
+     * Number of distinct states kept, enough for a few households and a topology change being propagated
+     */
+    private static final int MAX_ENTRIES = 8;
+
+    private final Map<String, List<SonosZoneGroup>> zoneGroups = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, List<SonosZoneGroup>> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Get the zone groups of a ZoneGroupState value.
+     *
+     * @param zoneGroupState the ZoneGroupState XML
+     * @return the parsed zone groups, shared by all the callers with the same state
+     */
+    public List<SonosZoneGroup> getZoneGroups(String zoneGroupState) {
+        synchronized (zoneGroups) {
+            List<SonosZoneGroup> groups = zoneGroups.get(zoneGroupState);
+            if (groups != null) {
+                return groups;
+            }
+        }
+        List<SonosZoneGroup> groups = List.copyOf(SonosXMLParser.getZoneGroupFromXML(zoneGroupState));
+        synchronized (zoneGroups) {
+            zoneGroups.put(zoneGroupState, groups);
+        }
+        return groups;
+    }
+}
@@ -43,6 +43,7 @@ import org.openhab.binding.sonos.internal.SonosResourceMetaData;
 import org.openhab.binding.sonos.internal.SonosStateDescriptionOptionProvider;
 import org.openhab.binding.sonos.internal.SonosXMLParser;
 import org.openhab.binding.sonos.internal.SonosZoneGroup;
+import org.openhab.binding.sonos.internal.SonosZoneGroupCache;
 import org.openhab.binding.sonos.internal.SonosZonePlayerState;
 import org.openhab.binding.sonos.internal.config.ZonePlayerConfiguration;
 import org.openhab.core.io.net.http.HttpUtil;
@@ -170,6 +171,7 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     private final ThingRegistry localThingRegistry;
     private final UpnpIOService service;
     private final @Nullable String opmlUrl;
+    private final SonosZoneGroupCache zoneGroupCache;
     private final SonosStateDescriptionOptionProvider stateDescriptionProvider;
 
     private ZonePlayerConfiguration configuration = new ZonePlayerConfiguration();
@@ -203,10 +205,12 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     }
 
     public ZonePlayerHandler(ThingRegistry thingRegistry, Thing thing, UpnpIOService upnpIOService,
-            @Nullable String opmlUrl, SonosStateDescriptionOptionProvider stateDescriptionProvider) {
+            @Nullable String opmlUrl, SonosStateDescriptionOptionProvider stateDescriptionProvider,
+            SonosZoneGroupCache zoneGroupCache) {
         super(thing);
         this.localThingRegistry = thingRegistry;
         this.opmlUrl = opmlUrl;
+        this.zoneGroupCache = zoneGroupCache;
         logger.debug("Creating a ZonePlayerHandler for thing '{}'", getThing().getUID());
         this.service = upnpIOService;
         this.stateDescriptionProvider = stateDescriptionProvider;
@@ -276,14 +280,18 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
                 addSubscription();
 
-                if (isLinked(ZONENAME)) {
+                // Only poll the state variables which are not kept up to date by the events of an active
+                // subscription
+                if (isLinked(ZONENAME) && !isEvented(SERVICE_DEVICE_PROPERTIES, "ZoneName")) {
                     updateCurrentZoneName();
                 }
-                if (isLinked(LED)) {
+                if (isLinked(LED) && !isEvented(SERVICE_DEVICE_PROPERTIES, "LEDState")) {
                     updateLed();
                 }
                 // Action GetRemainingSleepTimerDuration is failing for a group slave member (error code 500)
-                if (isLinked(SLEEPTIMER) && isCoordinator()) {
+                // The remaining duration is not evented, it has to be polled while a sleep timer is running
+                if (isLinked(SLEEPTIMER) && isCoordinator() && (!isEvented(SERVICE_AV_TRANSPORT, "SleepTimerGeneration")
+                        || !"0".equals(stateMap.get("SleepTimerGeneration")))) {
                     updateSleepTimerDuration();
                 }
             } catch (Exception e) {
@@ -477,8 +485,10 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         }
 
         if (getThing().getStatus() == ThingStatus.ONLINE) {
-            logger.trace("Received pair '{}':'{}' (service '{}') for thing '{}'",
-                    new Object[] { variable, value, service, this.getThing().getUID() });
+            if (logger.isTraceEnabled()) {
+                logger.trace("Received pair '{}':'{}' (service '{}') for thing '{}'",
+                        new Object[] { variable, value, service, this.getThing().getUID() });
+            }
 
             String oldValue = this.stateMap.get(variable);
             if (shouldIgnoreVariableUpdate(variable, value, oldValue)) {
@@ -488,8 +498,9 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
             this.stateMap.put(variable, value);
 
             // pre-process some variables, eg XML processing
+            // LastChange events are decoded into the variables which differ from the current state only
             if (SERVICE_AV_TRANSPORT.equals(service) && "LastChange".equals(variable)) {
-                Map<String, String> parsedValues = SonosXMLParser.getAVTransportFromXML(value);
+                Map<String, String> parsedValues = SonosXMLParser.getAVTransportFromXML(value, stateMap);
                 parsedValues.forEach((variable1, value1) -> {
                     // Update the transport state after the update of the media information
                     // to not break the notification mechanism
@@ -511,7 +522,7 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
             }
 
             if (SERVICE_RENDERING_CONTROL.equals(service) && "LastChange".equals(variable)) {
-                Map<String, String> parsedValues = SonosXMLParser.getRenderingControlFromXML(value);
+                Map<String, String> parsedValues = SonosXMLParser.getRenderingControlFromXML(value, stateMap);
                 parsedValues.forEach((variable1, value1) -> {
                     onValueReceived(variable1, value1, service);
                 });
@@ -532,10 +543,15 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
                     updateChannel(REPEAT);
                     dispatchOnAllGroupMembers(variable, value, service);
                     break;
+                case "LEDState": // service DeviceProperties
+                    stateMap.put("CurrentLEDState", value);
+                    updateChannel(LED);
+                    break;
                 case "CurrentLEDState":
                     updateChannel(LED);
                     break;
                 case "ZoneName":
+                    stateMap.put("CurrentZoneName", value);
                     updateState(ZONENAME, new StringType(value));
                     break;
                 case "CurrentZoneName":
@@ -1079,6 +1095,22 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         return service.isRegistered(this);
     }
 
+    /**
+     * Check whether a state variable is kept up to date by the events of an active subscription.
+     *
+     * @param subscription the subscribed service
+     * @param variable the state variable
+     * @return true if the subscription is active and the variable has been received through its events
+     */
+    private boolean isEvented(String subscription, String variable) {
+        synchronized (upnpLock) {
+            if (!Boolean.TRUE.equals(subscriptionState.get(subscription))) {
+                return false;
+            }
+        }
+        return stateMap.containsKey(variable);
+    }
+
     private void addSubscription() {
         synchronized (upnpLock) {
             // Set up GENA Subscriptions
@@ -1954,7 +1986,7 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
     private Collection<SonosZoneGroup> getZoneGroups() {
         String zoneGroupState = stateMap.get("ZoneGroupState");
-        return zoneGroupState == null ? Collections.emptyList() : SonosXMLParser.getZoneGroupFromXML(zoneGroupState);
+        return zoneGroupState == null ? Collections.emptyList() : zoneGroupCache.getZoneGroups(zoneGroupState);
     }
 
     /**
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.sonos.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.SAXException;
+
+/**
+ * Tests the parsing of entries with embedded resource meta data by {@link SonosXMLParser}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SonosXMLParserTest {
+
+    private final Logger logger = LoggerFactory.getLogger(SonosXMLParserTest.class);
+
+    private static final String DIDL_START = "<DIDL-Lite xmlns:dc=\"http://purl.org/dc/elements/1.1/\" "
+            + "xmlns:upnp=\"urn:schemas-upnp-org:metadata-1-0/upnp/\" "
+            + "xmlns:r=\"urn:schemas-rinconnetworks-com:metadata-1-0/\" "
+            + "xmlns=\"urn:schemas-upnp-org:metadata-1-0/DIDL-Lite/\">";
+
+    private static String favorite(int index) {
+        String resourceMetaData = DIDL_START + "<item id=\"100c2068station" + index + "\" parentID=\"0\" restricted=\"true\">"
+                + "<dc:title>Station " + index + "</dc:title><upnp:class>object.item.audioItem.audioBroadcast</upnp:class>"
+                + "<desc id=\"cdudn\" nameSpace=\"urn:schemas-rinconnetworks-com:metadata-1-0/\">SA_RINCON3_" + index
+                + "</desc></item></DIDL-Lite>";
+        return "<item id=\"FV:2/" + index + "\" parentID=\"FV:2\" restricted=\"false\">" + "<dc:title>Favorite "
+                + index + "</dc:title><upnp:class>object.itemobject.item.sonos-favorite</upnp:class>"
+                + "<res protocolInfo=\"x-sonosapi-stream:*:*:*\">x-sonosapi-stream:s" + index + "</res>"
+                + "<r:resMD>" + resourceMetaData.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
+                        .replace("\"", "&quot;")
+                + "</r:resMD></item>";
+    }
+
+    private static String favorites(int count) {
+        StringBuilder xml = new StringBuilder(DIDL_START);
+        for (int i = 0; i < count; i++) {
+            xml.append(favorite(i));
+        }
+        return xml.append("</DIDL-Lite>").toString();
+    }
+
+    @Test
+    public void testEntriesWithResourceMetaData() {
+        List<SonosEntry> entries = SonosXMLParser.getEntriesFromString(favorites(3));
+
+        assertEquals(3, entries.size());
+        for (int i = 0; i < 3; i++) {
+            SonosEntry entry = entries.get(i);
+            assertEquals("FV:2/" + i, entry.getId());
+            assertEquals("Favorite " + i, entry.getTitle());
+            assertEquals("x-sonosapi-stream:s" + i, entry.getRes());
+            SonosResourceMetaData metaData = entry.getResourceMetaData();
+            assertNotNull(metaData);
+            assertEquals("100c2068station" + i, metaData.getId());
+            assertEquals("Station " + i, metaData.getTitle());
+            assertEquals("object.item.audioItem.audioBroadcast", metaData.getUpnpClass());
+            assertEquals("SA_RINCON3_" + i, metaData.getDesc());
+        }
+    }
+
+    @Test
+    public void testRepeatedParsingReusesReader() throws SAXException {
+        String xml = favorites(20);
+        long start = System.nanoTime();
+        for (int i = 0; i < 200; i++) {
+            List<SonosEntry> entries = SonosXMLParser.getEntriesFromString(xml);
+            assertEquals(20, entries.size());
+            assertNotNull(entries.get(19).getResourceMetaData());
+        }
+        // the parser reused after the nested parsing must still work for other documents
+        SonosResourceMetaData metaData = SonosXMLParser.getResourceMetaData(DIDL_START
+                + "<item id=\"1\" parentID=\"0\"><dc:title>Single</dc:title></item></DIDL-Lite>");
+        assertNotNull(metaData);
+        assertEquals("Single", metaData.getTitle());
+        logger.debug("Parsed 200 documents with 20 entries in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+}
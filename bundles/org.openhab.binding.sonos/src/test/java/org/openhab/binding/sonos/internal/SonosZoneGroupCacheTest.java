@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2010-2021 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.sonos.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the sharing of the parsed zone groups by {@link SonosZoneGroupCache}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SonosZoneGroupCacheTest {
+
+    private static String zoneGroupState(String livingRoomCoordinator) {
+        return "<ZoneGroupState><ZoneGroups>" //
+                + "<ZoneGroup Coordinator=\"" + livingRoomCoordinator + "\" ID=\"RINCON_A:1\">"
+                + "<ZoneGroupMember UUID=\"RINCON_A\" ZoneName=\"Living Room\"/>"
+                + "<ZoneGroupMember UUID=\"RINCON_B\" ZoneName=\"Kitchen\"/></ZoneGroup>"
+                + "<ZoneGroup Coordinator=\"RINCON_C\" ID=\"RINCON_C:2\">"
+                + "<ZoneGroupMember UUID=\"RINCON_C\" ZoneName=\"Bedroom\"/></ZoneGroup>"
+                + "</ZoneGroups></ZoneGroupState>";
+    }
+
+    @Test
+    public void playersShareTheParsedGroups() {
+        SonosZoneGroupCache cache = new SonosZoneGroupCache();
+
+        // every player receives its own copy of the same state
+        List<SonosZoneGroup> groups = cache.getZoneGroups(zoneGroupState("RINCON_A"));
+        assertSame(groups, cache.getZoneGroups(zoneGroupState("RINCON_A")));
+
+        assertEquals(2, groups.size());
+        assertEquals("RINCON_A", groups.get(0).getCoordinator());
+        assertEquals(List.of("RINCON_A", "RINCON_B"), groups.get(0).getMembers());
+        assertEquals(List.of("RINCON_C"), groups.get(1).getMembers());
+    }
+
+    @Test
+    public void changedStateIsParsed() {
+        SonosZoneGroupCache cache = new SonosZoneGroupCache();
+        List<SonosZoneGroup> groups = cache.getZoneGroups(zoneGroupState("RINCON_A"));
+
+        List<SonosZoneGroup> changedGroups = cache.getZoneGroups(zoneGroupState("RINCON_B"));
+
+        assertNotSame(groups, changedGroups);
+        assertEquals("RINCON_B", changedGroups.get(0).getCoordinator());
+        assertEquals("RINCON_A", cache.getZoneGroups(zoneGroupState("RINCON_A")).get(0).getCoordinator());
+    }
+}
@@ -237,6 +237,8 @@ public class SysteminfoHandler extends BaseThingHandler {
     }
 
     private void publishData(Set<ChannelUID> channels) {
+        // all channels of this cycle are served from one sample of the system information
+        systeminfo.startRefreshCycle();
         Iterator<ChannelUID> iter = channels.iterator();
         while (iter.hasNext()) {
             ChannelUID channeUID = iter.next();
@@ -318,6 +320,9 @@ public class SysteminfoHandler extends BaseThingHandler {
                 case CHANNEL_SENSORS_FAN_SPEED:
                     state = systeminfo.getSensorsFanSpeed(deviceIndex);
                     break;
+                case CHANNEL_CPU_LOAD:
+                    state = systeminfo.getCpuLoad();
+                    break;
                 case CHANNEL_CPU_LOAD_1:
                     state = systeminfo.getCpuLoad1();
                     break;
@@ -520,6 +525,7 @@ public class SysteminfoHandler extends BaseThingHandler {
         if (thing.getStatus().equals(ThingStatus.ONLINE)) {
             if (command instanceof RefreshType) {
                 logger.debug("Refresh command received for channel {}!", channelUID);
+                systeminfo.startRefreshCycle();
                 publishDataForChannel(channelUID);
             } else {
                 logger.debug("Unsupported command {}! Supported commands: REFRESH", command);
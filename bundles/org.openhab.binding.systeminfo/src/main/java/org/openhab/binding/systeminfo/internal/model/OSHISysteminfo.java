@@ -14,7 +14,10 @@ package org.openhab.binding.systeminfo.internal.model;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -76,6 +79,32 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     public static final int PRECISION_AFTER_DECIMAL_SIGN = 1;
 
+    /**
+     * Number of the current refresh cycle. The dynamic attributes of a device are updated at most once per cycle,
+     * all channels updated in the cycle are served from this sample.
+     */
+    private int refreshCycle;
+    private final Map<Object, Integer> sampledDevices = new IdentityHashMap<>();
+    private final Map<Integer, ProcessSample> processSamples = new HashMap<>();
+    private long @Nullable [] cpuTicks;
+    private int cpuLoadCycle = -1;
+    private @Nullable BigDecimal cpuLoad;
+
+    /**
+     * The process of the current and of the previous refresh cycle, the CPU usage is calculated from the difference.
+     */
+    private static class ProcessSample {
+        final int refreshCycle;
+        final OSProcess process;
+        final @Nullable OSProcess previous;
+
+        ProcessSample(int refreshCycle, OSProcess process, @Nullable OSProcess previous) {
+            this.refreshCycle = refreshCycle;
+            this.process = process;
+            this.previous = previous;
+        }
+    }
+
     /**
      * Some of the methods used in this constructor execute native code and require execute permissions
      *
@@ -119,12 +148,38 @@ public class OSHISysteminfo implements SysteminfoInterface {
         return devices[index];
     }
 
-    private OSProcess getProcess(int pid) throws DeviceNotFoundException {
+    private synchronized ProcessSample getProcessSample(int pid) throws DeviceNotFoundException {
+        ProcessSample sample = processSamples.get(pid);
+        if (sample != null && sample.refreshCycle == refreshCycle) {
+            return sample;
+        }
         OSProcess process = operatingSystem.getProcess(pid);
         if (process == null) {
+            processSamples.remove(pid);
             throw new DeviceNotFoundException("Error while getting information for process with PID " + pid);
         }
-        return process;
+        sample = new ProcessSample(refreshCycle, process, sample != null ? sample.process : null);
+        processSamples.put(pid, sample);
+        return sample;
+    }
+
+    private OSProcess getProcess(int pid) throws DeviceNotFoundException {
+        return getProcessSample(pid).process;
+    }
+
+    /**
+     * Updates the attributes of a device, if they were not updated in the current refresh cycle yet.
+     */
+    private synchronized void updateAttributes(Object device, Runnable update) {
+        Integer sampledCycle = sampledDevices.put(device, refreshCycle);
+        if (sampledCycle == null || sampledCycle != refreshCycle) {
+            update.run();
+        }
+    }
+
+    @Override
+    public synchronized void startRefreshCycle() {
+        refreshCycle++;
     }
 
     @Override
@@ -204,7 +259,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getStorageTotal(int index) throws DeviceNotFoundException {
         OSFileStore fileStore = getDevice(fileStores, index);
-        fileStore.updateAttributes();
+        updateAttributes(fileStore, fileStore::updateAttributes);
         long totalSpace = fileStore.getTotalSpace();
         totalSpace = getSizeInMB(totalSpace);
         return new DecimalType(totalSpace);
@@ -213,7 +268,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getStorageAvailable(int index) throws DeviceNotFoundException {
         OSFileStore fileStore = getDevice(fileStores, index);
-        fileStore.updateAttributes();
+        updateAttributes(fileStore, fileStore::updateAttributes);
         long freeSpace = fileStore.getUsableSpace();
         freeSpace = getSizeInMB(freeSpace);
         return new DecimalType(freeSpace);
@@ -222,7 +277,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getStorageUsed(int index) throws DeviceNotFoundException {
         OSFileStore fileStore = getDevice(fileStores, index);
-        fileStore.updateAttributes();
+        updateAttributes(fileStore, fileStore::updateAttributes);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         long usedSpace = totalSpace - freeSpace;
@@ -233,7 +288,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public @Nullable DecimalType getStorageAvailablePercent(int deviceIndex) throws DeviceNotFoundException {
         OSFileStore fileStore = getDevice(fileStores, deviceIndex);
-        fileStore.updateAttributes();
+        updateAttributes(fileStore, fileStore::updateAttributes);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         if (totalSpace > 0) {
@@ -248,7 +303,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public @Nullable DecimalType getStorageUsedPercent(int deviceIndex) throws DeviceNotFoundException {
         OSFileStore fileStore = getDevice(fileStores, deviceIndex);
-        fileStore.updateAttributes();
+        updateAttributes(fileStore, fileStore::updateAttributes);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         long usedSpace = totalSpace - freeSpace;
@@ -285,7 +340,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public StringType getNetworkIp(int index) throws DeviceNotFoundException {
         NetworkIF netInterface = getDevice(networks, index);
-        netInterface.updateAttributes();
+        updateAttributes(netInterface, netInterface::updateAttributes);
         String[] ipAddresses = netInterface.getIPv4addr();
         String ipv4 = getDevice(ipAddresses, 0);
         return new StringType(ipv4);
@@ -348,7 +403,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public @Nullable DecimalType getBatteryRemainingTime(int index) throws DeviceNotFoundException {
         PowerSource powerSource = getDevice(powerSources, index);
-        powerSource.updateAttributes();
+        updateAttributes(powerSource, powerSource::updateAttributes);
         double remainingTimeInSeconds = powerSource.getTimeRemainingEstimated();
         // The getTimeRemaining() method returns (-1.0) if is calculating or (-2.0) if the time is unlimited.
         BigDecimal remainingTime = getTimeInMinutes(remainingTimeInSeconds);
@@ -358,7 +413,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getBatteryRemainingCapacity(int index) throws DeviceNotFoundException {
         PowerSource powerSource = getDevice(powerSources, index);
-        powerSource.updateAttributes();
+        updateAttributes(powerSource, powerSource::updateAttributes);
         double remainingCapacity = powerSource.getRemainingCapacityPercent();
         BigDecimal remainingCapacityPercents = getPercentsValue(remainingCapacity);
         return new DecimalType(remainingCapacityPercents);
@@ -485,6 +540,23 @@ public class OSHISysteminfo implements SysteminfoInterface {
         return timeInMinutes;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The load is calculated from the CPU ticks since the previous refresh cycle, which read the load.
+     */
+    @Override
+    public synchronized @Nullable DecimalType getCpuLoad() {
+        if (cpuLoadCycle != refreshCycle) {
+            cpuLoadCycle = refreshCycle;
+            long[] previousTicks = cpuTicks;
+            cpuLoad = previousTicks == null ? null : getPercentsValue(cpu.getSystemCpuLoadBetweenTicks(previousTicks));
+            cpuTicks = cpu.getSystemCpuLoadTicks();
+        }
+        BigDecimal load = cpuLoad;
+        return load != null ? new DecimalType(load) : null;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -562,7 +634,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getNetworkPacketsReceived(int networkIndex) throws DeviceNotFoundException {
         NetworkIF network = getDevice(networks, networkIndex);
-        network.updateAttributes();
+        updateAttributes(network, network::updateAttributes);
         long packRecv = network.getPacketsRecv();
         return new DecimalType(packRecv);
     }
@@ -570,7 +642,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getNetworkPacketsSent(int networkIndex) throws DeviceNotFoundException {
         NetworkIF network = getDevice(networks, networkIndex);
-        network.updateAttributes();
+        updateAttributes(network, network::updateAttributes);
         long packSent = network.getPacketsSent();
         return new DecimalType(packSent);
     }
@@ -578,7 +650,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getNetworkDataSent(int networkIndex) throws DeviceNotFoundException {
         NetworkIF network = getDevice(networks, networkIndex);
-        network.updateAttributes();
+        updateAttributes(network, network::updateAttributes);
         long bytesSent = network.getBytesSent();
         return new DecimalType(getSizeInMB(bytesSent));
     }
@@ -586,7 +658,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getNetworkDataReceived(int networkIndex) throws DeviceNotFoundException {
         NetworkIF network = getDevice(networks, networkIndex);
-        network.updateAttributes();
+        updateAttributes(network, network::updateAttributes);
         long bytesRecv = network.getBytesRecv();
         return new DecimalType(getSizeInMB(bytesRecv));
     }
@@ -605,8 +677,11 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public @Nullable DecimalType getProcessCpuUsage(int pid) throws DeviceNotFoundException {
         if (pid > 0) {
-            OSProcess process = getProcess(pid);
-            double cpuUsageRaw = (process.getKernelTime() + process.getUserTime()) / process.getUpTime();
+            ProcessSample sample = getProcessSample(pid);
+            OSProcess previous = sample.previous;
+            // the usage since the previous refresh cycle, or since the start of the process for the first cycle
+            double cpuUsageRaw = previous != null ? sample.process.getProcessCpuLoadBetweenTicks(previous)
+                    : sample.process.getProcessCpuLoadCumulative();
             BigDecimal cpuUsage = getPercentsValue(cpuUsageRaw);
             return new DecimalType(cpuUsage);
         } else {
@@ -31,6 +31,12 @@ public interface SysteminfoInterface {
      */
     public void initializeSysteminfo();
 
+    /**
+     * Start a new refresh cycle. The dynamic information of each device is sampled at most once per cycle, all
+     * channels updated in the cycle get the values of this sample.
+     */
+    public void startRefreshCycle();
+
     // Operating system info
     /**
      * Get the Family of the operating system /e.g. Windows,Unix,.../
@@ -71,6 +77,13 @@ public interface SysteminfoInterface {
      */
     public DecimalType getCpuPhysicalCores();
 
+    /**
+     * Returns the system CPU load since the previous refresh cycle, which requested the load.
+     *
+     * @return the load in percent or null, if no information is available yet
+     */
+    public @Nullable DecimalType getCpuLoad();
+
     /**
      * Returns the system load average for the last minute.
      *